@@ -77,6 +77,35 @@ public abstract class LeaderConfig {
         return 5000L;
     }
 
+    /**
+     * How long the leader may confirm its leadership without a quorum round after a successful one. Zero disables
+     * leader leases.
+     */
+    @Value.Default
+    public long leaderLeaseDurationMs() {
+        return 0L;
+    }
+
+    /**
+     * If true, the acceptor and learner store their rounds in append-only segments rather than one file per round.
+     * An existing log is migrated on startup, and its files are kept until {@link #deleteMigratedLegacyPaxosLogs()}
+     * is set. Once rounds have been written to segments, this must not be disabled again, as the old files are no
+     * longer updated.
+     */
+    @Value.Default
+    public boolean useSegmentedPaxosLogs() {
+        return false;
+    }
+
+    /**
+     * If true, the files of a paxos log that has been migrated to segments are deleted on startup. Set this once the
+     * migration has been checked. Requires {@link #useSegmentedPaxosLogs()}.
+     */
+    @Value.Default
+    public boolean deleteMigratedLegacyPaxosLogs() {
+        return false;
+    }
+
     @Value.Check
     protected final void check() {
         Preconditions.checkState(quorumSize() > leaders().size() / 2,
@@ -91,6 +120,10 @@ public abstract class LeaderConfig {
                 "Learner log directory '%s' does not exist and cannot be created.", learnerLogDir());
         Preconditions.checkArgument(acceptorLogDir().exists() || acceptorLogDir().mkdirs(),
                 "Acceptor log directory '%s' does not exist and cannot be created.", acceptorLogDir());
+        Preconditions.checkArgument(leaderLeaseDurationMs() >= 0,
+                "Leader lease duration must be non-negative; found '%s'.", leaderLeaseDurationMs());
+        Preconditions.checkArgument(useSegmentedPaxosLogs() || !deleteMigratedLegacyPaxosLogs(),
+                "Migrated legacy paxos logs can only be deleted if segmented paxos logs are used.");
     }
 
     @JsonIgnore
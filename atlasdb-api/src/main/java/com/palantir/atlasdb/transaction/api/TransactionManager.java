@@ -156,7 +156,8 @@ public interface TransactionManager extends AutoCloseable {
 
     /**
      * Clear the timestamp cache. This is mostly useful for tests that perform operations that would invalidate
-     * the cache, although this can also be used to free up some memory.
+     * the cache, although this can also be used to free up some memory. Cached values of write-once tables, if any,
+     * are cleared as well.
      */
     void clearTimestampCache();
 
@@ -46,6 +46,7 @@ import com.palantir.atlasdb.keyvalue.cassandra.CassandraClient;
 import com.palantir.atlasdb.keyvalue.cassandra.CqlQuery;
 import com.palantir.atlasdb.keyvalue.cassandra.HiddenTables;
 import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.qos.QueryPriorities;
 import com.palantir.atlasdb.transaction.impl.TransactionConstants;
 
 @SuppressWarnings({"all"}) // thrift variable names.
@@ -73,6 +74,7 @@ public class QosCassandraClient implements CassandraClient {
             List<ByteBuffer> keys, SlicePredicate predicate, ConsistencyLevel consistency_level)
             throws InvalidRequestException, UnavailableException, TimedOutException, TException {
         return qosClient.executeRead(
+                QueryPriorities.current(),
                 () -> client.multiget_slice(kvsMethodName, tableRef, keys, predicate, consistency_level),
                 ThriftQueryWeighers.multigetSlice(keys, ZERO_ESTIMATE_DETERMINING_FUNCTION.apply(tableRef)));
     }
@@ -82,6 +84,7 @@ public class QosCassandraClient implements CassandraClient {
             KeyRange range, ConsistencyLevel consistency_level)
             throws InvalidRequestException, UnavailableException, TimedOutException, TException {
         return qosClient.executeRead(
+                QueryPriorities.current(),
                 () -> client.get_range_slices(kvsMethodName, tableRef, predicate, range, consistency_level),
                 ThriftQueryWeighers.getRangeSlices(range, ZERO_ESTIMATE_DETERMINING_FUNCTION.apply(tableRef)));
     }
@@ -91,6 +94,7 @@ public class QosCassandraClient implements CassandraClient {
             ConsistencyLevel consistency_level)
             throws InvalidRequestException, UnavailableException, TimedOutException, TException {
         qosClient.executeWrite(
+                QueryPriorities.current(),
                 () -> {
                     client.batch_mutate(kvsMethodName, mutation_map, consistency_level);
                     return null;
@@ -103,6 +107,7 @@ public class QosCassandraClient implements CassandraClient {
             ConsistencyLevel consistency_level)
             throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException, TException {
         return qosClient.executeRead(
+                QueryPriorities.current(),
                 () -> client.get(tableReference, key, column, consistency_level),
                 ThriftQueryWeighers.get(ZERO_ESTIMATE_DETERMINING_FUNCTION.apply(tableReference)));
     }
@@ -120,6 +125,7 @@ public class QosCassandraClient implements CassandraClient {
             throws InvalidRequestException, UnavailableException, TimedOutException, SchemaDisagreementException,
             TException {
         return qosClient.executeRead(
+                QueryPriorities.current(),
                 () -> client.execute_cql3_query(cqlQuery, compression, consistency),
                 ThriftQueryWeighers.EXECUTE_CQL3_QUERY);
     }
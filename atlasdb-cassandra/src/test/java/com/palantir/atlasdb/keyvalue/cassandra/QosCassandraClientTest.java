@@ -17,6 +17,7 @@
 package com.palantir.atlasdb.keyvalue.cassandra;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,6 +43,8 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.cassandra.qos.QosCassandraClient;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.SlicePredicates;
 import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.qos.QueryPriorities;
+import com.palantir.atlasdb.qos.QueryPriority;
 
 public class QosCassandraClientTest {
     private static final ByteBuffer ROW_KEY = ByteBuffer.wrap(PtBytes.toBytes("key"));
@@ -64,7 +67,7 @@ public class QosCassandraClientTest {
     public void multigetSliceChecksLimit() throws TException, LimitExceededException {
         client.multiget_slice("get", TEST_TABLE, ImmutableList.of(ROW_KEY), SLICE_PREDICATE, ConsistencyLevel.ANY);
 
-        verify(qosClient, times(1)).executeRead(any(), any());
+        verify(qosClient, times(1)).executeRead(eq(QueryPriority.INTERACTIVE), any(), any());
         verifyNoMoreInteractions(qosClient);
     }
 
@@ -72,7 +75,7 @@ public class QosCassandraClientTest {
     public void batchMutateChecksLimit() throws TException, LimitExceededException {
         client.batch_mutate("put", ImmutableMap.of(), ConsistencyLevel.ANY);
 
-        verify(qosClient, times(1)).executeWrite(any(), any());
+        verify(qosClient, times(1)).executeWrite(eq(QueryPriority.INTERACTIVE), any(), any());
         verifyNoMoreInteractions(qosClient);
     }
 
@@ -81,7 +84,7 @@ public class QosCassandraClientTest {
         CqlQuery query = new CqlQuery("SELECT * FROM test_table LIMIT 1");
         client.execute_cql3_query(query, Compression.NONE, ConsistencyLevel.ANY);
 
-        verify(qosClient, times(1)).executeRead(any(), any());
+        verify(qosClient, times(1)).executeRead(eq(QueryPriority.INTERACTIVE), any(), any());
         verifyNoMoreInteractions(qosClient);
     }
 
@@ -89,7 +92,16 @@ public class QosCassandraClientTest {
     public void getRangeSlicesChecksLimit() throws TException, LimitExceededException {
         client.get_range_slices("get", TEST_TABLE, SLICE_PREDICATE, new KeyRange(), ConsistencyLevel.ANY);
 
-        verify(qosClient, times(1)).executeRead(any(), any());
+        verify(qosClient, times(1)).executeRead(eq(QueryPriority.INTERACTIVE), any(), any());
+        verifyNoMoreInteractions(qosClient);
+    }
+
+    @Test
+    public void passesOnThePriorityOfTheCurrentThread() throws TException {
+        QueryPriorities.runWithPriority(QueryPriority.BACKGROUND, () -> client.get_range_slices(
+                "get", TEST_TABLE, SLICE_PREDICATE, new KeyRange(), ConsistencyLevel.ANY));
+
+        verify(qosClient, times(1)).executeRead(eq(QueryPriority.BACKGROUND), any(), any());
         verifyNoMoreInteractions(qosClient);
     }
 
@@ -184,6 +184,14 @@ public final class TableMetadataPersistence {
      * <code>SNAPPY = 2;</code>
      */
     SNAPPY(1, 2),
+    /**
+     * <code>LZ4 = 3;</code>
+     */
+    LZ4(2, 3),
+    /**
+     * <code>DEFLATE = 4;</code>
+     */
+    DEFLATE(3, 4),
     ;
 
     /**
@@ -194,6 +202,14 @@ public final class TableMetadataPersistence {
      * <code>SNAPPY = 2;</code>
      */
     public static final int SNAPPY_VALUE = 2;
+    /**
+     * <code>LZ4 = 3;</code>
+     */
+    public static final int LZ4_VALUE = 3;
+    /**
+     * <code>DEFLATE = 4;</code>
+     */
+    public static final int DEFLATE_VALUE = 4;
 
 
     public final int getNumber() { return value; }
@@ -202,6 +218,8 @@ public final class TableMetadataPersistence {
       switch (value) {
         case 1: return NONE;
         case 2: return SNAPPY;
+        case 3: return LZ4;
+        case 4: return DEFLATE;
         default: return null;
       }
     }
@@ -1027,6 +1045,57 @@ public final class TableMetadataPersistence {
      * <code>optional .com.palantir.atlasdb.protos.generated.LogSafety nameLogSafety = 12 [default = UNSAFE];</code>
      */
     com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety getNameLogSafety();
+
+    /**
+     * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+     *
+     * <pre>
+     * Compression applied to all values of the table by the key value service layer.
+     * </pre>
+     */
+    boolean hasKvsCompression();
+    /**
+     * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+     *
+     * <pre>
+     * Compression applied to all values of the table by the key value service layer.
+     * </pre>
+     */
+    com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression getKvsCompression();
+
+    /**
+     * <code>optional bool writeOnce = 14;</code>
+     *
+     * <pre>
+     * Every cell of the table is written at most once and never overwritten or deleted.
+     * </pre>
+     */
+    boolean hasWriteOnce();
+    /**
+     * <code>optional bool writeOnce = 14;</code>
+     *
+     * <pre>
+     * Every cell of the table is written at most once and never overwritten or deleted.
+     * </pre>
+     */
+    boolean getWriteOnce();
+
+    /**
+     * <code>optional bytes compressionDictionary = 15;</code>
+     *
+     * <pre>
+     * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+     * </pre>
+     */
+    boolean hasCompressionDictionary();
+    /**
+     * <code>optional bytes compressionDictionary = 15;</code>
+     *
+     * <pre>
+     * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+     * </pre>
+     */
+    com.google.protobuf.ByteString getCompressionDictionary();
   }
   /**
    * Protobuf type {@code com.palantir.atlasdb.protos.generated.TableMetadata}
@@ -1186,6 +1255,27 @@ public final class TableMetadataPersistence {
               }
               break;
             }
+            case 104: {
+              int rawValue = input.readEnum();
+              com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression value = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(13, rawValue);
+              } else {
+                bitField0_ |= 0x00001000;
+                kvsCompression_ = value;
+              }
+              break;
+            }
+            case 112: {
+              bitField0_ |= 0x00002000;
+              writeOnce_ = input.readBool();
+              break;
+            }
+            case 122: {
+              bitField0_ |= 0x00004000;
+              compressionDictionary_ = input.readBytes();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1418,6 +1508,75 @@ public final class TableMetadataPersistence {
       return nameLogSafety_;
     }
 
+    public static final int KVSCOMPRESSION_FIELD_NUMBER = 13;
+    private com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression kvsCompression_;
+    /**
+     * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+     *
+     * <pre>
+     * Compression applied to all values of the table by the key value service layer.
+     * </pre>
+     */
+    public boolean hasKvsCompression() {
+      return ((bitField0_ & 0x00001000) == 0x00001000);
+    }
+    /**
+     * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+     *
+     * <pre>
+     * Compression applied to all values of the table by the key value service layer.
+     * </pre>
+     */
+    public com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression getKvsCompression() {
+      return kvsCompression_;
+    }
+
+    public static final int WRITEONCE_FIELD_NUMBER = 14;
+    private boolean writeOnce_;
+    /**
+     * <code>optional bool writeOnce = 14;</code>
+     *
+     * <pre>
+     * Every cell of the table is written at most once and never overwritten or deleted.
+     * </pre>
+     */
+    public boolean hasWriteOnce() {
+      return ((bitField0_ & 0x00002000) == 0x00002000);
+    }
+    /**
+     * <code>optional bool writeOnce = 14;</code>
+     *
+     * <pre>
+     * Every cell of the table is written at most once and never overwritten or deleted.
+     * </pre>
+     */
+    public boolean getWriteOnce() {
+      return writeOnce_;
+    }
+
+    public static final int COMPRESSIONDICTIONARY_FIELD_NUMBER = 15;
+    private com.google.protobuf.ByteString compressionDictionary_;
+    /**
+     * <code>optional bytes compressionDictionary = 15;</code>
+     *
+     * <pre>
+     * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+     * </pre>
+     */
+    public boolean hasCompressionDictionary() {
+      return ((bitField0_ & 0x00004000) == 0x00004000);
+    }
+    /**
+     * <code>optional bytes compressionDictionary = 15;</code>
+     *
+     * <pre>
+     * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getCompressionDictionary() {
+      return compressionDictionary_;
+    }
+
     private void initFields() {
       rowName_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.NameMetadataDescription.getDefaultInstance();
       columns_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ColumnMetadataDescription.getDefaultInstance();
@@ -1431,6 +1590,9 @@ public final class TableMetadataPersistence {
       explicitCompressionBlockSizeKiloBytes_ = 0;
       appendHeavyAndReadLight_ = false;
       nameLogSafety_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety.UNSAFE;
+      kvsCompression_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression.NONE;
+      writeOnce_ = false;
+      compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1501,6 +1663,15 @@ public final class TableMetadataPersistence {
       if (((bitField0_ & 0x00000800) == 0x00000800)) {
         output.writeEnum(12, nameLogSafety_.getNumber());
       }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        output.writeEnum(13, kvsCompression_.getNumber());
+      }
+      if (((bitField0_ & 0x00002000) == 0x00002000)) {
+        output.writeBool(14, writeOnce_);
+      }
+      if (((bitField0_ & 0x00004000) == 0x00004000)) {
+        output.writeBytes(15, compressionDictionary_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -1558,6 +1729,18 @@ public final class TableMetadataPersistence {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(12, nameLogSafety_.getNumber());
       }
+      if (((bitField0_ & 0x00001000) == 0x00001000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(13, kvsCompression_.getNumber());
+      }
+      if (((bitField0_ & 0x00002000) == 0x00002000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(14, writeOnce_);
+      }
+      if (((bitField0_ & 0x00004000) == 0x00004000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(15, compressionDictionary_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -1709,6 +1892,12 @@ public final class TableMetadataPersistence {
         bitField0_ = (bitField0_ & ~0x00000400);
         nameLogSafety_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety.UNSAFE;
         bitField0_ = (bitField0_ & ~0x00000800);
+        kvsCompression_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression.NONE;
+        bitField0_ = (bitField0_ & ~0x00001000);
+        writeOnce_ = false;
+        bitField0_ = (bitField0_ & ~0x00002000);
+        compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00004000);
         return this;
       }
 
@@ -1793,6 +1982,18 @@ public final class TableMetadataPersistence {
           to_bitField0_ |= 0x00000800;
         }
         result.nameLogSafety_ = nameLogSafety_;
+        if (((from_bitField0_ & 0x00001000) == 0x00001000)) {
+          to_bitField0_ |= 0x00001000;
+        }
+        result.kvsCompression_ = kvsCompression_;
+        if (((from_bitField0_ & 0x00002000) == 0x00002000)) {
+          to_bitField0_ |= 0x00002000;
+        }
+        result.writeOnce_ = writeOnce_;
+        if (((from_bitField0_ & 0x00004000) == 0x00004000)) {
+          to_bitField0_ |= 0x00004000;
+        }
+        result.compressionDictionary_ = compressionDictionary_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1845,6 +2046,15 @@ public final class TableMetadataPersistence {
         if (other.hasNameLogSafety()) {
           setNameLogSafety(other.getNameLogSafety());
         }
+        if (other.hasKvsCompression()) {
+          setKvsCompression(other.getKvsCompression());
+        }
+        if (other.hasWriteOnce()) {
+          setWriteOnce(other.getWriteOnce());
+        }
+        if (other.hasCompressionDictionary()) {
+          setCompressionDictionary(other.getCompressionDictionary());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -2459,6 +2669,156 @@ public final class TableMetadataPersistence {
         return this;
       }
 
+      private com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression kvsCompression_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression.NONE;
+      /**
+       * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+       *
+       * <pre>
+       * Compression applied to all values of the table by the key value service layer.
+       * </pre>
+       */
+      public boolean hasKvsCompression() {
+        return ((bitField0_ & 0x00001000) == 0x00001000);
+      }
+      /**
+       * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+       *
+       * <pre>
+       * Compression applied to all values of the table by the key value service layer.
+       * </pre>
+       */
+      public com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression getKvsCompression() {
+        return kvsCompression_;
+      }
+      /**
+       * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+       *
+       * <pre>
+       * Compression applied to all values of the table by the key value service layer.
+       * </pre>
+       */
+      public Builder setKvsCompression(com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00001000;
+        kvsCompression_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional .com.palantir.atlasdb.protos.generated.Compression kvsCompression = 13 [default = NONE];</code>
+       *
+       * <pre>
+       * Compression applied to all values of the table by the key value service layer.
+       * </pre>
+       */
+      public Builder clearKvsCompression() {
+        bitField0_ = (bitField0_ & ~0x00001000);
+        kvsCompression_ = com.palantir.atlasdb.protos.generated.TableMetadataPersistence.Compression.NONE;
+        onChanged();
+        return this;
+      }
+
+      private boolean writeOnce_ ;
+      /**
+       * <code>optional bool writeOnce = 14;</code>
+       *
+       * <pre>
+       * Every cell of the table is written at most once and never overwritten or deleted.
+       * </pre>
+       */
+      public boolean hasWriteOnce() {
+        return ((bitField0_ & 0x00002000) == 0x00002000);
+      }
+      /**
+       * <code>optional bool writeOnce = 14;</code>
+       *
+       * <pre>
+       * Every cell of the table is written at most once and never overwritten or deleted.
+       * </pre>
+       */
+      public boolean getWriteOnce() {
+        return writeOnce_;
+      }
+      /**
+       * <code>optional bool writeOnce = 14;</code>
+       *
+       * <pre>
+       * Every cell of the table is written at most once and never overwritten or deleted.
+       * </pre>
+       */
+      public Builder setWriteOnce(boolean value) {
+        bitField0_ |= 0x00002000;
+        writeOnce_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool writeOnce = 14;</code>
+       *
+       * <pre>
+       * Every cell of the table is written at most once and never overwritten or deleted.
+       * </pre>
+       */
+      public Builder clearWriteOnce() {
+        bitField0_ = (bitField0_ & ~0x00002000);
+        writeOnce_ = false;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.ByteString compressionDictionary_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes compressionDictionary = 15;</code>
+       *
+       * <pre>
+       * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+       * </pre>
+       */
+      public boolean hasCompressionDictionary() {
+        return ((bitField0_ & 0x00004000) == 0x00004000);
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 15;</code>
+       *
+       * <pre>
+       * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getCompressionDictionary() {
+        return compressionDictionary_;
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 15;</code>
+       *
+       * <pre>
+       * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+       * </pre>
+       */
+      public Builder setCompressionDictionary(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00004000;
+        compressionDictionary_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes compressionDictionary = 15;</code>
+       *
+       * <pre>
+       * Preset dictionary shared by all columns of the table whose compression supports one, such as DEFLATE.
+       * </pre>
+       */
+      public Builder clearCompressionDictionary() {
+        bitField0_ = (bitField0_ & ~0x00004000);
+        compressionDictionary_ = getDefaultInstance().getCompressionDictionary();
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:com.palantir.atlasdb.protos.generated.TableMetadata)
     }
 
@@ -9153,7 +9513,7 @@ public final class TableMetadataPersistence {
     java.lang.String[] descriptorData = {
       "\nEmain/proto/com/palantir/atlasdb/protos" +
       "/TableMetadataPersistence.proto\022%com.pal" +
-      "antir.atlasdb.protos.generated\"\355\005\n\rTable" +
+      "antir.atlasdb.protos.generated\"\361\006\n\rTable" +
       "Metadata\022O\n\007rowName\030\001 \002(\0132>.com.palantir" +
       ".atlasdb.protos.generated.NameMetadataDe" +
       "scription\022Q\n\007columns\030\002 \002(\0132@.com.palanti" +
@@ -9172,68 +9532,72 @@ public final class TableMetadataPersistence {
       "sionBlockSizeKiloBytes\030\n \001(\005\022\037\n\027appendHe" +
       "avyAndReadLight\030\013 \001(\010\022O\n\rnameLogSafety\030\014",
       " \001(\01620.com.palantir.atlasdb.protos.gener" +
-      "ated.LogSafety:\006UNSAFE\"\274\001\n\027NameMetadataD" +
-      "escription\022R\n\tnameParts\030\001 \003(\0132?.com.pala" +
-      "ntir.atlasdb.protos.generated.NameCompon" +
-      "entDescription\022(\n\025hasFirstComponentHash\030" +
-      "\002 \001(\010:\005falseB\002\030\001\022#\n\030numberOfComponentsHa" +
-      "shed\030\003 \001(\005:\0010\"\277\002\n\030NameComponentDescripti" +
-      "on\022\025\n\rcomponentName\030\001 \002(\t\022>\n\004type\030\002 \002(\0162" +
-      "0.com.palantir.atlasdb.protos.generated." +
-      "ValueType\022D\n\005order\030\003 \002(\01625.com.palantir.",
-      "atlasdb.protos.generated.ValueByteOrder\022" +
-      "\035\n\025hasUniformPartitioner\030\004 \001(\010\022\032\n\022explic" +
-      "itPartitions\030\005 \003(\t\022K\n\tlogSafety\030\006 \001(\01620." +
-      "com.palantir.atlasdb.protos.generated.Lo" +
-      "gSafety:\006UNSAFE\"\310\001\n\031ColumnMetadataDescri" +
-      "ption\022S\n\014namedColumns\030\001 \003(\0132=.com.palant" +
-      "ir.atlasdb.protos.generated.NamedColumnD" +
-      "escription\022V\n\rdynamicColumn\030\002 \001(\0132?.com." +
-      "palantir.atlasdb.protos.generated.Dynami" +
-      "cColumnDescription\"\300\001\n\030DynamicColumnDesc",
-      "ription\022V\n\016columnNameDesc\030\001 \002(\0132>.com.pa" +
-      "lantir.atlasdb.protos.generated.NameMeta" +
-      "dataDescription\022L\n\005value\030\002 \002(\0132=.com.pal" +
-      "antir.atlasdb.protos.generated.ColumnVal" +
-      "ueDescription\"\330\001\n\026NamedColumnDescription" +
-      "\022\021\n\tshortName\030\001 \002(\t\022\020\n\010longName\030\002 \002(\t\022L\n" +
-      "\005value\030\003 \002(\0132=.com.palantir.atlasdb.prot" +
-      "os.generated.ColumnValueDescription\022K\n\tl" +
-      "ogSafety\030\004 \001(\01620.com.palantir.atlasdb.pr" +
-      "otos.generated.LogSafety:\006UNSAFE\"\274\003\n\026Col",
-      "umnValueDescription\022>\n\004type\030\001 \002(\01620.com." +
-      "palantir.atlasdb.protos.generated.ValueT" +
-      "ype\022\021\n\tclassName\030\002 \001(\t\022M\n\013compression\030\003 " +
-      "\001(\01622.com.palantir.atlasdb.protos.genera" +
-      "ted.Compression:\004NONE\022H\n\006format\030\004 \001(\01628." +
-      "com.palantir.atlasdb.protos.generated.Co" +
-      "lumnValueFormat\022\032\n\022canonicalClassName\030\005 " +
-      "\001(\t\022\037\n\023protoFileDescriptor\030\006 \001(\014B\002\030\001\022\030\n\020" +
-      "protoMessageName\030\007 \001(\t\022_\n\027protoFileDescr" +
-      "iptorTree\030\010 \001(\0132>.com.palantir.atlasdb.p",
-      "rotos.generated.FileDescriptorTreeProto\"" +
-      "\214\001\n\027FileDescriptorTreeProto\022\033\n\023protoFile" +
-      "Descriptor\030\001 \002(\014\022T\n\014dependencies\030\002 \003(\0132>" +
-      ".com.palantir.atlasdb.protos.generated.F" +
-      "ileDescriptorTreeProto*\305\001\n\tValueType\022\014\n\010" +
-      "VAR_LONG\020\001\022\016\n\nFIXED_LONG\020\002\022\n\n\006STRING\020\003\022\010" +
-      "\n\004BLOB\020\004\022\023\n\017VAR_SIGNED_LONG\020\005\022\034\n\030FIXED_L" +
-      "ONG_LITTLE_ENDIAN\020\006\022\016\n\nSHA256HASH\020\007\022\016\n\nV" +
-      "AR_STRING\020\010\022\027\n\023NULLABLE_FIXED_LONG\020\t\022\016\n\n" +
-      "SIZED_BLOB\020\n\022\010\n\004UUID\020\013*#\n\013Compression\022\010\n",
-      "\004NONE\020\001\022\n\n\006SNAPPY\020\002*N\n\021ColumnValueFormat" +
-      "\022\t\n\005PROTO\020\001\022\017\n\013PERSISTABLE\020\002\022\016\n\nVALUE_TY" +
-      "PE\020\003\022\r\n\tPERSISTER\020\004*/\n\016ValueByteOrder\022\r\n" +
-      "\tASCENDING\020\001\022\016\n\nDESCENDING\020\002*\215\001\n\024TableCo" +
-      "nflictHandler\022\016\n\nIGNORE_ALL\020\001\022\030\n\024RETRY_O" +
-      "N_WRITE_WRITE\020\002\022\032\n\026RETRY_ON_VALUE_CHANGE" +
-      "D\020\003\022\020\n\014SERIALIZABLE\020\004\022\035\n\031RETRY_ON_WRITE_" +
-      "WRITE_CELL\020\005*F\n\rCachePriority\022\013\n\007COLDEST" +
-      "\020\000\022\010\n\004COLD\020 \022\010\n\004WARM\020@\022\007\n\003HOT\020`\022\013\n\007HOTTE" +
-      "ST\020\177**\n\021PartitionStrategy\022\013\n\007ORDERED\020\000\022\010",
-      "\n\004HASH\020\001*<\n\rSweepStrategy\022\013\n\007NOTHING\020\000\022\020" +
-      "\n\014CONSERVATIVE\020\001\022\014\n\010THOROUGH\020\002*!\n\tLogSaf" +
-      "ety\022\010\n\004SAFE\020\000\022\n\n\006UNSAFE\020\001"
+      "ated.LogSafety:\006UNSAFE\022P\n\016kvsCompression" +
+      "\030\r \001(\01622.com.palantir.atlasdb.protos.gen" +
+      "erated.Compression:\004NONE\022\021\n\twriteOnce\030\016 " +
+      "\001(\010\022\035\n\025compressionDictionary\030\017 \001(\014\"\274\001\n\027N" +
+      "ameMetadataDescription\022R\n\tnameParts\030\001 \003(" +
+      "\0132?.com.palantir.atlasdb.protos.generate" +
+      "d.NameComponentDescription\022(\n\025hasFirstCo" +
+      "mponentHash\030\002 \001(\010:\005falseB\002\030\001\022#\n\030numberOf" +
+      "ComponentsHashed\030\003 \001(\005:\0010\"\277\002\n\030NameCompon",
+      "entDescription\022\025\n\rcomponentName\030\001 \002(\t\022>\n" +
+      "\004type\030\002 \002(\01620.com.palantir.atlasdb.proto" +
+      "s.generated.ValueType\022D\n\005order\030\003 \002(\01625.c" +
+      "om.palantir.atlasdb.protos.generated.Val" +
+      "ueByteOrder\022\035\n\025hasUniformPartitioner\030\004 \001" +
+      "(\010\022\032\n\022explicitPartitions\030\005 \003(\t\022K\n\tlogSaf" +
+      "ety\030\006 \001(\01620.com.palantir.atlasdb.protos." +
+      "generated.LogSafety:\006UNSAFE\"\310\001\n\031ColumnMe" +
+      "tadataDescription\022S\n\014namedColumns\030\001 \003(\0132" +
+      "=.com.palantir.atlasdb.protos.generated.",
+      "NamedColumnDescription\022V\n\rdynamicColumn\030" +
+      "\002 \001(\0132?.com.palantir.atlasdb.protos.gene" +
+      "rated.DynamicColumnDescription\"\300\001\n\030Dynam" +
+      "icColumnDescription\022V\n\016columnNameDesc\030\001 " +
+      "\002(\0132>.com.palantir.atlasdb.protos.genera" +
+      "ted.NameMetadataDescription\022L\n\005value\030\002 \002" +
+      "(\0132=.com.palantir.atlasdb.protos.generat" +
+      "ed.ColumnValueDescription\"\330\001\n\026NamedColum" +
+      "nDescription\022\021\n\tshortName\030\001 \002(\t\022\020\n\010longN" +
+      "ame\030\002 \002(\t\022L\n\005value\030\003 \002(\0132=.com.palantir.",
+      "atlasdb.protos.generated.ColumnValueDesc" +
+      "ription\022K\n\tlogSafety\030\004 \001(\01620.com.palanti" +
+      "r.atlasdb.protos.generated.LogSafety:\006UN" +
+      "SAFE\"\274\003\n\026ColumnValueDescription\022>\n\004type\030" +
+      "\001 \002(\01620.com.palantir.atlasdb.protos.gene" +
+      "rated.ValueType\022\021\n\tclassName\030\002 \001(\t\022M\n\013co" +
+      "mpression\030\003 \001(\01622.com.palantir.atlasdb.p" +
+      "rotos.generated.Compression:\004NONE\022H\n\006for" +
+      "mat\030\004 \001(\01628.com.palantir.atlasdb.protos." +
+      "generated.ColumnValueFormat\022\032\n\022canonical",
+      "ClassName\030\005 \001(\t\022\037\n\023protoFileDescriptor\030\006" +
+      " \001(\014B\002\030\001\022\030\n\020protoMessageName\030\007 \001(\t\022_\n\027pr" +
+      "otoFileDescriptorTree\030\010 \001(\0132>.com.palant" +
+      "ir.atlasdb.protos.generated.FileDescript" +
+      "orTreeProto\"\214\001\n\027FileDescriptorTreeProto\022" +
+      "\033\n\023protoFileDescriptor\030\001 \002(\014\022T\n\014dependen" +
+      "cies\030\002 \003(\0132>.com.palantir.atlasdb.protos" +
+      ".generated.FileDescriptorTreeProto*\305\001\n\tV" +
+      "alueType\022\014\n\010VAR_LONG\020\001\022\016\n\nFIXED_LONG\020\002\022\n" +
+      "\n\006STRING\020\003\022\010\n\004BLOB\020\004\022\023\n\017VAR_SIGNED_LONG\020",
+      "\005\022\034\n\030FIXED_LONG_LITTLE_ENDIAN\020\006\022\016\n\nSHA25" +
+      "6HASH\020\007\022\016\n\nVAR_STRING\020\010\022\027\n\023NULLABLE_FIXE" +
+      "D_LONG\020\t\022\016\n\nSIZED_BLOB\020\n\022\010\n\004UUID\020\013*9\n\013Co" +
+      "mpression\022\010\n\004NONE\020\001\022\n\n\006SNAPPY\020\002\022\007\n\003LZ4\020\003" +
+      "\022\013\n\007DEFLATE\020\004*N\n\021ColumnValueFormat\022\t\n\005PR" +
+      "OTO\020\001\022\017\n\013PERSISTABLE\020\002\022\016\n\nVALUE_TYPE\020\003\022\r" +
+      "\n\tPERSISTER\020\004*/\n\016ValueByteOrder\022\r\n\tASCEN" +
+      "DING\020\001\022\016\n\nDESCENDING\020\002*\215\001\n\024TableConflict" +
+      "Handler\022\016\n\nIGNORE_ALL\020\001\022\030\n\024RETRY_ON_WRIT" +
+      "E_WRITE\020\002\022\032\n\026RETRY_ON_VALUE_CHANGED\020\003\022\020\n",
+      "\014SERIALIZABLE\020\004\022\035\n\031RETRY_ON_WRITE_WRITE_" +
+      "CELL\020\005*F\n\rCachePriority\022\013\n\007COLDEST\020\000\022\010\n\004" +
+      "COLD\020 \022\010\n\004WARM\020@\022\007\n\003HOT\020`\022\013\n\007HOTTEST\020\177**" +
+      "\n\021PartitionStrategy\022\013\n\007ORDERED\020\000\022\010\n\004HASH" +
+      "\020\001*<\n\rSweepStrategy\022\013\n\007NOTHING\020\000\022\020\n\014CONS" +
+      "ERVATIVE\020\001\022\014\n\010THOROUGH\020\002*!\n\tLogSafety\022\010\n" +
+      "\004SAFE\020\000\022\n\n\006UNSAFE\020\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -9252,7 +9616,7 @@ public final class TableMetadataPersistence {
     internal_static_com_palantir_atlasdb_protos_generated_TableMetadata_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_palantir_atlasdb_protos_generated_TableMetadata_descriptor,
-        new java.lang.String[] { "RowName", "Columns", "ConflictHandler", "CachePriority", "PartitionStrategy", "RangeScanAllowed", "ExplicitCompression", "NegativeLookups", "SweepStrategy", "ExplicitCompressionBlockSizeKiloBytes", "AppendHeavyAndReadLight", "NameLogSafety", });
+        new java.lang.String[] { "RowName", "Columns", "ConflictHandler", "CachePriority", "PartitionStrategy", "RangeScanAllowed", "ExplicitCompression", "NegativeLookups", "SweepStrategy", "ExplicitCompressionBlockSizeKiloBytes", "AppendHeavyAndReadLight", "NameLogSafety", "KvsCompression", "WriteOnce", "CompressionDictionary", });
     internal_static_com_palantir_atlasdb_protos_generated_NameMetadataDescription_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_com_palantir_atlasdb_protos_generated_NameMetadataDescription_fieldAccessorTable = new
@@ -310,17 +310,20 @@ public final class AllValueTypesTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component0Bytes = EncodingUtils.encodeUnsignedVarLong(component0);
-            byte[] component1Bytes = EncodingUtils.encodeSignedVarLong(component1);
-            byte[] component2Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ component2);
-            byte[] component3Bytes = EncodingUtils.encodeLittleEndian(component3);
-            byte[] component4Bytes = component4.getBytes();
             byte[] component5Bytes = EncodingUtils.encodeVarString(component5);
-            byte[] component8Bytes = EncodingUtils.encodeSizedBytes(component8);
-            byte[] component9Bytes = EncodingUtils.encodeNullableFixedLong(component9);
-            byte[] component10Bytes = EncodingUtils.encodeUUID(component10);
-            byte[] blobComponentBytes = blobComponent;
-            return EncodingUtils.add(component0Bytes, component1Bytes, component2Bytes, component3Bytes, component4Bytes, component5Bytes, component8Bytes, component9Bytes, component10Bytes, blobComponentBytes);
+            byte[] __output = new byte[EncodingUtils.sizeOfUnsignedVarLong(component0) + EncodingUtils.sizeOfSignedVarLong(component1) + 8 + 8 + 32 + component5Bytes.length + EncodingUtils.sizeOfSizedBytes(component8) + 9 + 16 + blobComponent.length];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(component0, __output, __index);
+            __index = EncodingUtils.encodeSignedVarLong(component1, __output, __index);
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ component2, __output, __index);
+            __index = EncodingUtils.encodeLittleEndian(component3, __output, __index);
+            __index = EncodingUtils.encodeBytes(component4.getBytes(), __output, __index);
+            __index = EncodingUtils.encodeBytes(component5Bytes, __output, __index);
+            __index = EncodingUtils.encodeSizedBytes(component8, __output, __index);
+            __index = EncodingUtils.encodeNullableFixedLong(component9, __output, __index);
+            __index = EncodingUtils.encodeUUID(component10, __output, __index);
+            __index = EncodingUtils.encodeBytes(blobComponent, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<AllValueTypesTestRow> BYTES_HYDRATOR = new Hydrator<AllValueTypesTestRow>() {
@@ -338,7 +341,7 @@ public final class AllValueTypesTestTable implements
                 Sha256Hash component4 = new Sha256Hash(EncodingUtils.get32Bytes(__input, __index));
                 __index += 32;
                 String component5 = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(component5);
+                __index += EncodingUtils.sizeOfDecodedVarString(component5);
                 byte[] component8 = EncodingUtils.decodeSizedBytes(__input, __index);
                 __index += EncodingUtils.sizeOfSizedBytes(component8);
                 Long component9 = EncodingUtils.decodeNullableFixedLong(__input,__index);
@@ -1073,6 +1076,7 @@ public final class AllValueTypesTestTable implements
 
     public static final class AllValueTypesTestRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private AllValueTypesTestRow rowName;
 
         public static AllValueTypesTestRowResult of(RowResult<byte[]> row) {
             return new AllValueTypesTestRowResult(row);
@@ -1084,7 +1088,10 @@ public final class AllValueTypesTestTable implements
 
         @Override
         public AllValueTypesTestRow getRowName() {
-            return AllValueTypesTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = AllValueTypesTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<AllValueTypesTestRowResult, AllValueTypesTestRow> getRowNameFun() {
@@ -2253,5 +2260,5 @@ public final class AllValueTypesTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "m62HNZyLfiSwGJe89IYpsg==";
+    static String __CLASS_HASH = "Eko2fDvwGoshyWAMNIi5hA==";
 }
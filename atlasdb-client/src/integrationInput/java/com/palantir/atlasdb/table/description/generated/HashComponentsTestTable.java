@@ -186,10 +186,13 @@ public final class HashComponentsTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] component1Bytes = EncodingUtils.encodeUnsignedVarLong(component1);
             byte[] component2Bytes = EncodingUtils.encodeVarString(component2);
-            return EncodingUtils.add(hashOfRowComponentsBytes, component1Bytes, component2Bytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(component1) + component2Bytes.length];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(component1, __output, __index);
+            __index = EncodingUtils.encodeBytes(component2Bytes, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<HashComponentsTestRow> BYTES_HYDRATOR = new Hydrator<HashComponentsTestRow>() {
@@ -201,31 +204,40 @@ public final class HashComponentsTestTable implements
                 Long component1 = EncodingUtils.decodeUnsignedVarLong(__input, __index);
                 __index += EncodingUtils.sizeOfUnsignedVarLong(component1);
                 String component2 = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(component2);
+                __index += EncodingUtils.sizeOfDecodedVarString(component2);
                 return new HashComponentsTestRow(hashOfRowComponents, component1, component2);
             }
         };
 
         public static long computeHashFirstComponents(long component1, String component2) {
-            byte[] component1Bytes = EncodingUtils.encodeUnsignedVarLong(component1);
             byte[] component2Bytes = EncodingUtils.encodeVarString(component2);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(component1Bytes, component2Bytes)).asLong();
+            byte[] __hashed = new byte[EncodingUtils.sizeOfUnsignedVarLong(component1) + component2Bytes.length];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(component1, __hashed, __index);
+            __index = EncodingUtils.encodeBytes(component2Bytes, __hashed, __index);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         public static RangeRequest.Builder createPrefixRangeUnsorted(long component1, String component2) {
             long hashOfRowComponents = computeHashFirstComponents(component1, component2);
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] component1Bytes = EncodingUtils.encodeUnsignedVarLong(component1);
             byte[] component2Bytes = EncodingUtils.encodeVarString(component2);
-            return RangeRequest.builder().prefixRange(EncodingUtils.add(hashOfRowComponentsBytes, component1Bytes, component2Bytes));
+            byte[] __prefix = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(component1) + component2Bytes.length];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __prefix, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(component1, __prefix, __index);
+            __index = EncodingUtils.encodeBytes(component2Bytes, __prefix, __index);
+            return RangeRequest.builder().prefixRange(__prefix);
         }
 
         public static Prefix prefixUnsorted(long component1, String component2) {
             long hashOfRowComponents = computeHashFirstComponents(component1, component2);
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] component1Bytes = EncodingUtils.encodeUnsignedVarLong(component1);
             byte[] component2Bytes = EncodingUtils.encodeVarString(component2);
-            return new Prefix(EncodingUtils.add(hashOfRowComponentsBytes, component1Bytes, component2Bytes));
+            byte[] __prefix = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(component1) + component2Bytes.length];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __prefix, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(component1, __prefix, __index);
+            __index = EncodingUtils.encodeBytes(component2Bytes, __prefix, __index);
+            return new Prefix(__prefix);
         }
 
         @Override
@@ -336,6 +348,7 @@ public final class HashComponentsTestTable implements
 
     public static final class HashComponentsTestRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private HashComponentsTestRow rowName;
 
         public static HashComponentsTestRowResult of(RowResult<byte[]> row) {
             return new HashComponentsTestRowResult(row);
@@ -347,7 +360,10 @@ public final class HashComponentsTestTable implements
 
         @Override
         public HashComponentsTestRow getRowName() {
-            return HashComponentsTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = HashComponentsTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<HashComponentsTestRowResult, HashComponentsTestRow> getRowNameFun() {
@@ -775,5 +791,5 @@ public final class HashComponentsTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "N0r8rTta9qcxehzWbQu7MQ==";
+    static String __CLASS_HASH = "w8/tsVlQPZEd39UNjJ+H8g==";
 }
@@ -175,8 +175,8 @@ public final class SchemaApiTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component1Bytes = PtBytes.toBytes(component1);
-            return EncodingUtils.add(component1Bytes);
+            byte[] __output = PtBytes.toBytes(component1);
+            return __output;
         }
 
         public static final Hydrator<SchemaApiTestRow> BYTES_HYDRATOR = new Hydrator<SchemaApiTestRow>() {
@@ -353,6 +353,7 @@ public final class SchemaApiTestTable implements
 
     public static final class SchemaApiTestRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private SchemaApiTestRow rowName;
 
         public static SchemaApiTestRowResult of(RowResult<byte[]> row) {
             return new SchemaApiTestRowResult(row);
@@ -364,7 +365,10 @@ public final class SchemaApiTestTable implements
 
         @Override
         public SchemaApiTestRow getRowName() {
-            return SchemaApiTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = SchemaApiTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<SchemaApiTestRowResult, SchemaApiTestRow> getRowNameFun() {
@@ -871,5 +875,5 @@ public final class SchemaApiTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "5qdVJNmNbPw5F+15Dz/tGw==";
+    static String __CLASS_HASH = "KQ1rdC+2yjT37fq61xIQtQ==";
 }
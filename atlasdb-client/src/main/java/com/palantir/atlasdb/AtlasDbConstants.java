@@ -117,6 +117,9 @@ public final class AtlasDbConstants {
     public static final int DEFAULT_STREAM_IN_MEMORY_THRESHOLD = 4 * 1024 * 1024;
 
     public static final long DEFAULT_TIMESTAMP_CACHE_SIZE = 1_000_000;
+    public static final long DEFAULT_WRITE_ONCE_TABLE_CACHE_SIZE_BYTES = 64 * 1024 * 1024;
+    public static final boolean DEFAULT_ENABLE_KVS_COMPRESSION = false;
+    public static final int DEFAULT_KVS_COMPRESSION_THRESHOLD_BYTES = 1024;
 
     public static final int MAX_TABLE_PREFIX_LENGTH = 7;
     public static final int MAX_OVERFLOW_TABLE_PREFIX_LENGTH = 6;
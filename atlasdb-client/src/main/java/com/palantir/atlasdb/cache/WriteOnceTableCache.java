@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.table.description.TableDefinition;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+
+/**
+ * A cache of committed values of write-once tables (see {@link TableDefinition#writeOnce()}), shared by all
+ * transactions of a transaction manager and bounded by the approximate number of bytes it holds. Whether a table is
+ * write-once is read from its persisted {@link TableMetadata}.
+ * <p>
+ * A cell of a write-once table is never overwritten or deleted, so once a transaction with start timestamp T has read a
+ * committed value, every transaction starting at or after T will read the same value. Each entry remembers the lowest
+ * such start timestamp and is only served to transactions starting at or after it. Absent cells are never cached, as
+ * they may still be written.
+ * <p>
+ * Truncating, dropping or recreating a table, or changing its metadata, does not go through transactions, so
+ * {@link #invalidateTable(TableReference)} must be called whenever that happens; {@link
+ * WriteOnceTableInvalidatingKeyValueService} does so for the table operations made through it. Whether a table is
+ * write-once is also re-read from its metadata every minute, to pick up changes made by other clients.
+ */
+public final class WriteOnceTableCache {
+    private static final WriteOnceTableCache DISABLED = new WriteOnceTableCache(ImmutableSet.of(), 0);
+    private static final long WRITE_ONCE_FLAG_EXPIRY_SECONDS = 60;
+
+    // Rough per-entry cost of the cache entry, key, cell and value objects on top of the byte arrays themselves.
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final LoadingCache<TableReference, Boolean> writeOnceTables;
+    private final boolean cachingEnabled;
+    private final Cache<CellReference, CachedValue> cache;
+
+    @VisibleForTesting
+    WriteOnceTableCache(Set<TableReference> tables, long maxSizeBytes) {
+        this(fixedWriteOnceTables(ImmutableSet.copyOf(tables)), maxSizeBytes);
+    }
+
+    private WriteOnceTableCache(LoadingCache<TableReference, Boolean> writeOnceTables, long maxSizeBytes) {
+        this.writeOnceTables = writeOnceTables;
+        this.cachingEnabled = maxSizeBytes > 0;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(Math.max(maxSizeBytes, 0))
+                .weigher(WriteOnceTableCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Creates a cache that reads which tables are write-once from the metadata stored in the given key value service.
+     * Write-once tables are recognised, so that writes to them can be checked, even if caching is disabled by a
+     * non-positive maximum size.
+     */
+    public static WriteOnceTableCache create(KeyValueService keyValueService, long maxSizeBytes) {
+        LoadingCache<TableReference, Boolean> writeOnceTables = CacheBuilder.newBuilder()
+                .expireAfterWrite(WRITE_ONCE_FLAG_EXPIRY_SECONDS, TimeUnit.SECONDS)
+                .build(new CacheLoader<TableReference, Boolean>() {
+                    @Override
+                    public Boolean load(TableReference tableRef) {
+                        byte[] metadata = keyValueService.getMetadataForTable(tableRef);
+                        return metadata != null
+                                && metadata.length != 0
+                                && TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(metadata).isWriteOnce();
+                    }
+                });
+        WriteOnceTableCache writeOnceTableCache = new WriteOnceTableCache(writeOnceTables, maxSizeBytes);
+        if (writeOnceTableCache.cachingEnabled) {
+            AtlasDbMetrics.registerCache(writeOnceTableCache.cache,
+                    MetricRegistry.name(WriteOnceTableCache.class, "committedValues"));
+        }
+        return writeOnceTableCache;
+    }
+
+    private static LoadingCache<TableReference, Boolean> fixedWriteOnceTables(Set<TableReference> tables) {
+        return CacheBuilder.newBuilder().build(new CacheLoader<TableReference, Boolean>() {
+            @Override
+            public Boolean load(TableReference tableRef) {
+                return tables.contains(tableRef);
+            }
+        });
+    }
+
+    public static WriteOnceTableCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Whether the given table is declared write-once in its metadata, regardless of whether its values are cached.
+     */
+    public boolean isWriteOnce(TableReference tableRef) {
+        return writeOnceTables.getUnchecked(tableRef);
+    }
+
+    public boolean isCached(TableReference tableRef) {
+        return cachingEnabled && isWriteOnce(tableRef);
+    }
+
+    /**
+     * Returns the cached values of the given cells that are visible to a transaction with the given start timestamp.
+     * Cells that are not cached are omitted from the result.
+     */
+    public Map<Cell, byte[]> getIfPresent(TableReference tableRef, Set<Cell> cells, long startTimestamp) {
+        if (!isCached(tableRef)) {
+            return ImmutableMap.of();
+        }
+        Map<Cell, byte[]> hits = Maps.newHashMap();
+        for (Cell cell : cells) {
+            CachedValue cached = cache.getIfPresent(new CellReference(tableRef, cell));
+            if (cached != null && cached.visibleFrom <= startTimestamp) {
+                hits.put(cell, cached.contents);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Caches values read by a transaction with the given start timestamp. Only values that passed snapshot isolation
+     * filtering, and so are known to be committed before that timestamp, may be passed here; in particular a
+     * transaction's own uncommitted writes must never be cached. Empty values, which denote deletes, are ignored.
+     */
+    public void putCommittedValues(TableReference tableRef, Map<Cell, byte[]> values, long startTimestamp) {
+        if (!isCached(tableRef)) {
+            return;
+        }
+        for (Map.Entry<Cell, byte[]> entry : values.entrySet()) {
+            byte[] contents = entry.getValue();
+            if (contents == null || contents.length == 0) {
+                continue;
+            }
+            CellReference key = new CellReference(tableRef, entry.getKey());
+            CachedValue existing = cache.getIfPresent(key);
+            if (existing == null || existing.visibleFrom > startTimestamp) {
+                cache.put(key, new CachedValue(contents, startTimestamp));
+            }
+        }
+    }
+
+    /**
+     * Forgets whether the given table is write-once and drops its cached values. Must be called after the table is
+     * created, dropped or truncated, or its metadata changes.
+     */
+    public void invalidateTable(TableReference tableRef) {
+        writeOnceTables.invalidate(tableRef);
+        cache.asMap().keySet().removeIf(key -> key.tableRef.equals(tableRef));
+    }
+
+    public void clear() {
+        writeOnceTables.invalidateAll();
+        cache.invalidateAll();
+    }
+
+    @VisibleForTesting
+    long size() {
+        return cache.size();
+    }
+
+    private static int weigh(CellReference key, CachedValue value) {
+        return ENTRY_OVERHEAD_BYTES
+                + key.cell.getRowName().length
+                + key.cell.getColumnName().length
+                + value.contents.length;
+    }
+
+    private static final class CellReference {
+        private final TableReference tableRef;
+        private final Cell cell;
+        private final int hashCode;
+
+        CellReference(TableReference tableRef, Cell cell) {
+            this.tableRef = tableRef;
+            this.cell = cell;
+            this.hashCode = 31 * tableRef.hashCode() + cell.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            CellReference that = (CellReference) other;
+            return hashCode == that.hashCode
+                    && Objects.equals(cell, that.cell)
+                    && Objects.equals(tableRef, that.tableRef);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class CachedValue {
+        private final byte[] contents;
+        private final long visibleFrom;
+
+        CachedValue(byte[] contents, long visibleFrom) {
+            this.contents = contents;
+            this.visibleFrom = visibleFrom;
+        }
+    }
+}
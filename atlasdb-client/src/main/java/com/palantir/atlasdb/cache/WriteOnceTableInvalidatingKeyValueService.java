@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
+
+/**
+ * This kvs wrapper invalidates the {@link WriteOnceTableCache} entries of every table that is created, dropped,
+ * truncated, has a range deleted or has its metadata changed through it, so that transactions do not keep serving
+ * values or write-once flags that no longer hold.
+ */
+public final class WriteOnceTableInvalidatingKeyValueService extends ForwardingKeyValueService {
+    private final KeyValueService delegate;
+    private final WriteOnceTableCache writeOnceTableCache;
+
+    private WriteOnceTableInvalidatingKeyValueService(KeyValueService delegate,
+            WriteOnceTableCache writeOnceTableCache) {
+        this.delegate = delegate;
+        this.writeOnceTableCache = writeOnceTableCache;
+    }
+
+    public static KeyValueService create(KeyValueService delegate, WriteOnceTableCache writeOnceTableCache) {
+        return new WriteOnceTableInvalidatingKeyValueService(delegate, writeOnceTableCache);
+    }
+
+    @Override
+    protected KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] tableMetadata) {
+        try {
+            delegate().createTable(tableRef, tableMetadata);
+        } finally {
+            writeOnceTableCache.invalidateTable(tableRef);
+        }
+    }
+
+    @Override
+    public void createTables(Map<TableReference, byte[]> tableRefToTableMetadata) {
+        try {
+            delegate().createTables(tableRefToTableMetadata);
+        } finally {
+            invalidateTables(tableRefToTableMetadata.keySet());
+        }
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        try {
+            delegate().dropTable(tableRef);
+        } finally {
+            writeOnceTableCache.invalidateTable(tableRef);
+        }
+    }
+
+    @Override
+    public void dropTables(Set<TableReference> tableRefs) {
+        try {
+            delegate().dropTables(tableRefs);
+        } finally {
+            invalidateTables(tableRefs);
+        }
+    }
+
+    @Override
+    public void truncateTable(TableReference tableRef) {
+        try {
+            delegate().truncateTable(tableRef);
+        } finally {
+            writeOnceTableCache.invalidateTable(tableRef);
+        }
+    }
+
+    @Override
+    public void truncateTables(Set<TableReference> tableRefs) {
+        try {
+            delegate().truncateTables(tableRefs);
+        } finally {
+            invalidateTables(tableRefs);
+        }
+    }
+
+    @Override
+    public void deleteRange(TableReference tableRef, RangeRequest range) {
+        try {
+            delegate().deleteRange(tableRef, range);
+        } finally {
+            writeOnceTableCache.invalidateTable(tableRef);
+        }
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        try {
+            delegate().putMetadataForTable(tableRef, metadata);
+        } finally {
+            writeOnceTableCache.invalidateTable(tableRef);
+        }
+    }
+
+    @Override
+    public void putMetadataForTables(Map<TableReference, byte[]> tableRefToMetadata) {
+        try {
+            delegate().putMetadataForTables(tableRefToMetadata);
+        } finally {
+            invalidateTables(tableRefToMetadata.keySet());
+        }
+    }
+
+    private void invalidateTables(Set<TableReference> tableRefs) {
+        tableRefs.forEach(writeOnceTableCache::invalidateTable);
+    }
+}
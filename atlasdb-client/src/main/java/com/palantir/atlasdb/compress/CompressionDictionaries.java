@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Longs;
+
+/**
+ * Trains preset dictionaries for values compressed with DEFLATE, see
+ * {@link CompressionUtils#compress(byte[], com.palantir.atlasdb.table.description.ColumnValueDescription.Compression,
+ * byte[])}, from sample values.
+ * <p>
+ * Training picks the segments of the samples that contain the most byte sequences occurring across many samples,
+ * greedily and without counting a sequence twice. Deflate encodes nearby matches more cheaply than distant ones, so
+ * the most valuable segments are placed at the end of the dictionary, closest to the compressed data.
+ */
+public final class CompressionDictionaries {
+    private static final int GRAM_SIZE = Longs.BYTES;
+    private static final int SEGMENT_SIZE = 64;
+    private static final int SEGMENT_STRIDE = SEGMENT_SIZE / 4;
+
+    private CompressionDictionaries() {
+        // utility
+    }
+
+    public static byte[] train(Iterable<byte[]> samples) {
+        return train(samples, CompressionUtils.MAX_DICTIONARY_SIZE);
+    }
+
+    /**
+     * Returns a dictionary of at most {@code maxSize} bytes built from segments of the given samples. The dictionary
+     * may be shorter than {@code maxSize}, or empty, if the samples share little content.
+     */
+    public static byte[] train(Iterable<byte[]> samples, int maxSize) {
+        Preconditions.checkArgument(maxSize > 0 && maxSize <= CompressionUtils.MAX_DICTIONARY_SIZE,
+                "Dictionary size must be between 1 and %s bytes", CompressionUtils.MAX_DICTIONARY_SIZE);
+        List<byte[]> sampleList = ImmutableList.copyOf(samples);
+        Map<Long, Integer> documentFrequencies = countDocumentFrequencies(sampleList);
+
+        PriorityQueue<Segment> candidates = new PriorityQueue<>();
+        for (int i = 0; i < sampleList.size(); i++) {
+            byte[] sample = sampleList.get(i);
+            for (int offset = 0; offset + GRAM_SIZE <= sample.length; offset += SEGMENT_STRIDE) {
+                Segment segment = new Segment(i, offset, Math.min(SEGMENT_SIZE, sample.length - offset));
+                segment.score = score(sample, segment, documentFrequencies, Sets.newHashSet());
+                if (segment.score > 0) {
+                    candidates.add(segment);
+                }
+            }
+        }
+
+        // Segment scores only ever decrease as grams are covered, so a segment whose refreshed score is still at
+        // least that of the next candidate is the best remaining choice.
+        Set<Long> covered = Sets.newHashSet();
+        Deque<Segment> chosen = new ArrayDeque<>();
+        int size = 0;
+        while (!candidates.isEmpty() && size < maxSize) {
+            Segment best = candidates.poll();
+            byte[] sample = sampleList.get(best.sample);
+            best.score = score(sample, best, documentFrequencies, covered);
+            if (best.score <= 0) {
+                continue;
+            }
+            if (!candidates.isEmpty() && best.score < candidates.peek().score) {
+                candidates.add(best);
+                continue;
+            }
+            best.length = Math.min(best.length, maxSize - size);
+            forEachGram(sample, best, covered::add);
+            chosen.addFirst(best);
+            size += best.length;
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+        for (Segment segment : chosen) {
+            dictionary.write(sampleList.get(segment.sample), segment.offset, segment.length);
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static Map<Long, Integer> countDocumentFrequencies(List<byte[]> samples) {
+        Map<Long, Integer> frequencies = Maps.newHashMap();
+        for (byte[] sample : samples) {
+            Set<Long> grams = Sets.newHashSet();
+            forEachGram(sample, new Segment(0, 0, sample.length), grams::add);
+            for (Long gram : grams) {
+                frequencies.merge(gram, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * Sums the document frequencies of the distinct grams in the segment that are not already covered. Grams found in
+     * only one sample cannot help compress other values and are not counted.
+     */
+    private static long score(byte[] sample, Segment segment, Map<Long, Integer> frequencies, Set<Long> covered) {
+        Set<Long> seen = Sets.newHashSet();
+        long[] score = {0};
+        forEachGram(sample, segment, gram -> {
+            if (!covered.contains(gram) && seen.add(gram)) {
+                int frequency = frequencies.getOrDefault(gram, 0);
+                if (frequency > 1) {
+                    score[0] += frequency;
+                }
+            }
+        });
+        return score[0];
+    }
+
+    private static void forEachGram(byte[] sample, Segment segment, GramConsumer consumer) {
+        int end = segment.offset + segment.length;
+        for (int i = segment.offset; i + GRAM_SIZE <= end; i++) {
+            consumer.accept(Longs.fromBytes(sample[i], sample[i + 1], sample[i + 2], sample[i + 3],
+                    sample[i + 4], sample[i + 5], sample[i + 6], sample[i + 7]));
+        }
+    }
+
+    private interface GramConsumer {
+        void accept(long gram);
+    }
+
+    private static final class Segment implements Comparable<Segment> {
+        private final int sample;
+        private final int offset;
+        private int length;
+        private long score;
+
+        Segment(int sample, int offset, int length) {
+            this.sample = sample;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(Segment other) {
+            // highest score first
+            return Long.compare(other.score, score);
+        }
+    }
+}
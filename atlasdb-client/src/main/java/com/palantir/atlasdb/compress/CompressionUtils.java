@@ -16,40 +16,99 @@
 package com.palantir.atlasdb.compress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.annotation.Nullable;
 
 import org.xerial.snappy.Snappy;
 
+import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.common.base.Throwables;
 
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * One-shot compression of values. Compression is done into a per-thread scratch buffer that is reused across calls, so
+ * that compressing a value allocates only the exactly sized result rather than a worst-case sized buffer and a copy.
+ */
 public final class CompressionUtils {
+    /**
+     * The largest dictionary that is useful for {@link Compression#DEFLATE}, as deflate can only refer back this far.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    // Values larger than this are compressed into freshly allocated buffers, so that threads do not pin large buffers.
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+    private static final int LZ4_HEADER_SIZE = Integer.BYTES;
+
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private static final ThreadLocal<byte[]> scratchBuffer = ThreadLocal.withInitial(() -> new byte[0]);
+    private static final ThreadLocal<Deflater> deflater = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> inflater = ThreadLocal.withInitial(Inflater::new);
+
     private CompressionUtils() {
         // empty
     }
 
     public static byte[] compress(byte[] bytes, Compression compressionType) {
-        if (compressionType == Compression.SNAPPY) {
-            return compressWithSnappy(bytes);
-        } else if (compressionType == Compression.NONE) {
-            return bytes;
-        } else {
-            throw new UnsupportedOperationException();
-        }
+        return compress(bytes, compressionType, null);
     }
 
     public static byte[] decompress(byte[] bytes, Compression compressionType) {
-        if (compressionType == Compression.SNAPPY) {
-            return decompressWithSnappy(bytes);
-        } else if (compressionType == Compression.NONE) {
-            return bytes;
-        } else {
-            throw new UnsupportedOperationException();
+        return decompress(bytes, compressionType, null);
+    }
+
+    /**
+     * Compresses the given bytes, optionally using a preset dictionary. Dictionaries are only supported by
+     * {@link Compression#DEFLATE}, and the same dictionary must be used to decompress.
+     */
+    public static byte[] compress(byte[] bytes, Compression compressionType, @Nullable byte[] dictionary) {
+        checkDictionarySupported(compressionType, dictionary);
+        switch (compressionType) {
+            case NONE:
+                return bytes;
+            case SNAPPY:
+                return compressWithSnappy(bytes);
+            case LZ4:
+                return compressWithLz4(bytes);
+            case DEFLATE:
+                return compressWithDeflate(bytes, dictionary);
+            default:
+                throw new UnsupportedOperationException("Unsupported compression type " + compressionType);
+        }
+    }
+
+    public static byte[] decompress(byte[] bytes, Compression compressionType, @Nullable byte[] dictionary) {
+        checkDictionarySupported(compressionType, dictionary);
+        switch (compressionType) {
+            case NONE:
+                return bytes;
+            case SNAPPY:
+                return decompressWithSnappy(bytes);
+            case LZ4:
+                return decompressWithLz4(bytes);
+            case DEFLATE:
+                return decompressWithDeflate(bytes, dictionary);
+            default:
+                throw new UnsupportedOperationException("Unsupported compression type " + compressionType);
         }
     }
 
     public static byte[] compressWithSnappy(byte[] bytes) {
         try {
-            return Snappy.compress(bytes);
+            byte[] buffer = scratchBuffer(Snappy.maxCompressedLength(bytes.length));
+            int compressedLength = Snappy.rawCompress(bytes, 0, bytes.length, buffer, 0);
+            return Arrays.copyOf(buffer, compressedLength);
         } catch (IOException e) {
             throw Throwables.throwUncheckedException(e);
         }
@@ -65,4 +124,117 @@ public final class CompressionUtils {
             throw Throwables.throwUncheckedException(e);
         }
     }
+
+    /**
+     * Compresses with LZ4 into {@code [uncompressed length][LZ4 block]}, as the LZ4 block format does not record the
+     * uncompressed length itself.
+     */
+    public static byte[] compressWithLz4(byte[] bytes) {
+        byte[] buffer = scratchBuffer(LZ4_HEADER_SIZE + LZ4_COMPRESSOR.maxCompressedLength(bytes.length));
+        ByteBuffer.wrap(buffer).putInt(bytes.length);
+        int compressedLength = LZ4_COMPRESSOR.compress(
+                bytes, 0, bytes.length, buffer, LZ4_HEADER_SIZE, buffer.length - LZ4_HEADER_SIZE);
+        return Arrays.copyOf(buffer, LZ4_HEADER_SIZE + compressedLength);
+    }
+
+    public static byte[] decompressWithLz4(byte[] bytes) {
+        if (bytes.length < LZ4_HEADER_SIZE) {
+            throw new IllegalArgumentException("Cannot decompress these bytes using LZ4");
+        }
+        int uncompressedLength = ByteBuffer.wrap(bytes).getInt();
+        if (uncompressedLength < 0) {
+            throw new IllegalArgumentException("Cannot decompress these bytes using LZ4");
+        }
+        byte[] uncompressed = new byte[uncompressedLength];
+        try {
+            int read = LZ4_DECOMPRESSOR.decompress(bytes, LZ4_HEADER_SIZE, uncompressed, 0, uncompressedLength);
+            if (LZ4_HEADER_SIZE + read != bytes.length) {
+                throw new IllegalArgumentException("Cannot decompress these bytes using LZ4");
+            }
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("Cannot decompress these bytes using LZ4", e);
+        }
+        return uncompressed;
+    }
+
+    /**
+     * Compresses in the zlib format, optionally with a preset dictionary. Dictionaries make compression of small
+     * values, which otherwise have too little content to find repetitions in, much more effective. The zlib format
+     * records a checksum of the dictionary, so decompressing with a different dictionary fails rather than returning
+     * garbage.
+     */
+    public static byte[] compressWithDeflate(byte[] bytes, @Nullable byte[] dictionary) {
+        Deflater compressor = deflater.get();
+        try {
+            if (dictionary != null) {
+                compressor.setDictionary(dictionary);
+            }
+            compressor.setInput(bytes);
+            compressor.finish();
+            // zlib's deflateBound for the default window and memory level, plus the header and dictionary id
+            int bound = bytes.length + (bytes.length >> 12) + (bytes.length >> 14) + (bytes.length >> 25) + 17;
+            byte[] buffer = scratchBuffer(bound);
+            int length = compressor.deflate(buffer);
+            while (!compressor.finished()) {
+                buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                length += compressor.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            compressor.reset();
+        }
+    }
+
+    public static byte[] decompressWithDeflate(byte[] bytes, @Nullable byte[] dictionary) {
+        Inflater decompressor = inflater.get();
+        try {
+            decompressor.setInput(bytes);
+            byte[] buffer = scratchBuffer(Math.max(64, 4 * bytes.length));
+            int length = 0;
+            while (!decompressor.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                }
+                int read = decompressor.inflate(buffer, length, buffer.length - length);
+                if (read == 0) {
+                    if (decompressor.needsDictionary()) {
+                        if (dictionary == null) {
+                            throw new IllegalArgumentException("These bytes were compressed using a dictionary");
+                        }
+                        decompressor.setDictionary(dictionary);
+                    } else if (decompressor.needsInput()) {
+                        throw new IllegalArgumentException("Cannot decompress these truncated bytes using Deflate");
+                    }
+                }
+                length += read;
+            }
+            return Arrays.copyOf(buffer, length);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Cannot decompress these bytes using Deflate", e);
+        } finally {
+            decompressor.reset();
+        }
+    }
+
+    private static void checkDictionarySupported(Compression compressionType, @Nullable byte[] dictionary) {
+        Preconditions.checkArgument(dictionary == null || compressionType == Compression.DEFLATE,
+                "Compression type %s does not support dictionaries", compressionType);
+    }
+
+    /**
+     * Returns this thread's scratch buffer if it is at least the requested size, growing it if this is within the limit
+     * on reused buffers. Callers must copy out of the buffer before the next call on the same thread.
+     */
+    private static byte[] scratchBuffer(int minimumSize) {
+        byte[] buffer = scratchBuffer.get();
+        if (buffer.length >= minimumSize) {
+            return buffer;
+        }
+        if (minimumSize > MAX_REUSED_BUFFER_SIZE) {
+            return new byte[minimumSize];
+        }
+        buffer = new byte[Math.max(minimumSize, Math.min(2 * buffer.length, MAX_REUSED_BUFFER_SIZE))];
+        scratchBuffer.set(buffer);
+        return buffer;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Append-only storage for encoded keys and values, carved out of large slabs that are either heap byte arrays or
+ * off-heap direct buffers. Records are addressed by a long packing the slab index into the high 32 bits and the
+ * offset within the slab into the low 32 bits. Space is never reclaimed; the arena is dropped as a whole.
+ * <p>
+ * Records are written before their address is published to other threads through a concurrent index, which provides
+ * the necessary happens-before edge for readers.
+ */
+@ThreadSafe
+final class ByteArena {
+    static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private final int slabSize;
+    private final boolean offHeap;
+    private final List<ByteBuffer> slabs = new CopyOnWriteArrayList<>();
+    private final AtomicLong bytesAllocated = new AtomicLong();
+
+    @GuardedBy("this")
+    private int currentSlab = -1;
+    @GuardedBy("this")
+    private int currentOffset;
+
+    ByteArena(int slabSize, boolean offHeap) {
+        this.slabSize = slabSize;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Stores a key as {@code [row length][row][column length][column][timestamp]}.
+     */
+    long writeKey(byte[] row, byte[] col, long timestamp) {
+        long address = allocate(2 * Integer.BYTES + row.length + col.length + Long.BYTES);
+        ByteBuffer buffer = writableSlice(address);
+        buffer.putInt(row.length).put(row).putInt(col.length).put(col).putLong(timestamp);
+        return address;
+    }
+
+    /**
+     * Stores a value as {@code [length][contents]}.
+     */
+    long writeValue(byte[] contents) {
+        long address = allocate(Integer.BYTES + contents.length);
+        writableSlice(address).putInt(contents.length).put(contents);
+        return address;
+    }
+
+    byte[] readValue(long address) {
+        ByteBuffer slab = slab(address);
+        int offset = offset(address);
+        byte[] contents = new byte[slab.getInt(offset)];
+        ByteBuffer source = slab.duplicate();
+        source.position(offset + Integer.BYTES);
+        source.get(contents);
+        return contents;
+    }
+
+    ByteBuffer slab(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    long bytesAllocated() {
+        return bytesAllocated.get();
+    }
+
+    private synchronized long allocate(int size) {
+        if (currentSlab < 0 || currentOffset + size > slabs.get(currentSlab).capacity()) {
+            slabs.add(offHeap
+                    ? ByteBuffer.allocateDirect(Math.max(size, slabSize))
+                    : ByteBuffer.allocate(Math.max(size, slabSize)));
+            currentSlab = slabs.size() - 1;
+            currentOffset = 0;
+        }
+        long address = ((long) currentSlab << 32) | currentOffset;
+        currentOffset += size;
+        bytesAllocated.addAndGet(size);
+        return address;
+    }
+
+    private ByteBuffer writableSlice(long address) {
+        ByteBuffer buffer = slab(address).duplicate();
+        buffer.position(offset(address));
+        return buffer;
+    }
+}
@@ -0,0 +1,750 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
+import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.annotation.Output;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.remoting3.tracing.Tracers;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+
+/**
+ * In-memory (non-durable) key-value store with the same semantics as {@link InMemoryKeyValueService}, but with a much
+ * smaller heap footprint per stored version.
+ * <p>
+ * Keys and values are encoded into large slabs of a per-table {@link ByteArena}, either on or off heap. The sorted
+ * index over them holds a single small object per (cell, timestamp) pointing into the arena, rather than a key object,
+ * two key arrays and a value array. This makes it practical to load benchmark and test data sets of several gigabytes
+ * without the garbage collector dominating the run. Space of deleted or overwritten versions is only reclaimed when
+ * the table is truncated or dropped.
+ * <p>
+ * Intended for testing and benchmarking use only.
+ */
+@ThreadSafe
+public class CompactInMemoryKeyValueService extends AbstractKeyValueService {
+    private final ConcurrentMap<TableReference, Table> tables = Maps.newConcurrentMap();
+    private final ConcurrentMap<TableReference, byte[]> tableMetadata = Maps.newConcurrentMap();
+    private final boolean offHeap;
+    private final int slabSize;
+
+    public CompactInMemoryKeyValueService(boolean offHeap) {
+        this(offHeap, ByteArena.DEFAULT_SLAB_SIZE,
+                Tracers.wrap(PTExecutors.newFixedThreadPool(16, PTExecutors.newNamedThreadFactory(true))));
+    }
+
+    public CompactInMemoryKeyValueService(boolean offHeap, int slabSize, ExecutorService executor) {
+        super(executor);
+        this.offHeap = offHeap;
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Number of bytes of slab space used by encoded keys and values across all tables.
+     */
+    public long getArenaBytesAllocated() {
+        return tables.values().stream().mapToLong(table -> table.arena.bytesAllocated()).sum();
+    }
+
+    @Override
+    public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows,
+                                    ColumnSelection columnSelection, long timestamp) {
+        Map<Cell, Value> result = Maps.newHashMap();
+        Table table = getTable(tableRef);
+
+        for (byte[] row : rows) {
+            Cell rowBegin = Cells.createSmallestCellForRow(row);
+            Cell rowEnd = Cells.createLargestCellForRow(row);
+            PeekingIterator<StoredKey> entries = storedKeys(table.entries.subSet(
+                    new ProbeKey(rowBegin, Long.MIN_VALUE), new ProbeKey(rowEnd, timestamp)));
+            while (entries.hasNext()) {
+                StoredKey key = entries.peek();
+                Iterator<StoredKey> cellIter = takeCell(entries, key);
+                byte[] col = key.col();
+                if (columnSelection.contains(col)) {
+                    getLatestVersionOfCell(table, row, col, cellIter, timestamp, result);
+                }
+                Iterators.size(cellIter);
+            }
+        }
+
+        return result;
+    }
+
+    private static void getLatestVersionOfCell(Table table, byte[] row, byte[] col, Iterator<StoredKey> cellIter,
+                                               long timestamp, @Output Map<Cell, Value> result) {
+        StoredKey lastEntry = null;
+        while (cellIter.hasNext()) {
+            StoredKey curEntry = cellIter.next();
+            if (curEntry.timestamp() >= timestamp) {
+                break;
+            }
+            lastEntry = curEntry;
+        }
+        if (lastEntry != null) {
+            result.put(Cell.create(row, col), table.valueOf(lastEntry));
+        }
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        Table table = getTable(tableRef);
+        Map<Cell, Value> result = Maps.newHashMap();
+        for (Map.Entry<Cell, Long> e : timestampByCell.entrySet()) {
+            Cell cell = e.getKey();
+            ProbeKey probe = new ProbeKey(cell, e.getValue());
+            StoredKey lastEntry = (StoredKey) table.entries.lower(probe);
+            if (lastEntry != null && lastEntry.matchesCell(probe)) {
+                result.put(cell, table.valueOf(lastEntry));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
+            TableReference tableRef,
+            Iterable<RangeRequest> rangeRequests,
+            long timestamp) {
+        return KeyValueServices.getFirstBatchForRangesUsingGetRange(this, tableRef, rangeRequests, timestamp);
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Value>> getRange(
+            TableReference tableRef,
+            final RangeRequest range,
+            final long timestamp) {
+        boolean reversed = range.isReverse();
+        return getRangeInternal(tableRef, range, (table, entries) -> {
+            StoredKey lastEntry = null;
+            while (entries.hasNext()) {
+                StoredKey entry = entries.next();
+                if (reversed && entry.timestamp() < timestamp) {
+                    lastEntry = entry;
+                    break;
+                } else if (!reversed && entry.timestamp() >= timestamp) {
+                    break;
+                }
+                lastEntry = entry;
+            }
+            return lastEntry == null ? null : table.valueOf(lastEntry);
+        });
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Set<Long>>> getRangeOfTimestamps(
+            TableReference tableRef,
+            final RangeRequest range,
+            final long timestamp) {
+        return getRangeInternal(tableRef, range, (table, entries) -> {
+            Set<Long> timestamps = Sets.newTreeSet();
+            while (entries.hasNext()) {
+                long ts = entries.next().timestamp();
+                if (ts >= timestamp) {
+                    break;
+                }
+                timestamps.add(ts);
+            }
+            return timestamps.isEmpty() ? null : timestamps;
+        });
+    }
+
+    @Override
+    public ClosableIterator<List<CandidateCellForSweeping>> getCandidateCellsForSweeping(TableReference tableRef,
+            CandidateCellForSweepingRequest request) {
+        return new GetCandidateCellsForSweepingShim(this).getCandidateCellsForSweeping(tableRef, request);
+    }
+
+    private <T> ClosableIterator<RowResult<T>> getRangeInternal(TableReference tableRef,
+                                                                final RangeRequest range,
+                                                                final ResultProducer<T> resultProducer) {
+        Table table = getTable(tableRef);
+        NavigableSet<EntryKey> entries = table.entries;
+        if (range.isReverse()) {
+            entries = entries.descendingSet();
+        }
+        if (range.getStartInclusive().length != 0) {
+            Cell startCell = range.isReverse()
+                    ? Cells.createLargestCellForRow(range.getStartInclusive())
+                    : Cells.createSmallestCellForRow(range.getStartInclusive());
+            entries = entries.tailSet(new ProbeKey(startCell, Long.MIN_VALUE), true);
+        }
+        if (range.getEndExclusive().length != 0) {
+            Cell endCell = range.isReverse()
+                    ? Cells.createLargestCellForRow(range.getEndExclusive())
+                    : Cells.createSmallestCellForRow(range.getEndExclusive());
+            entries = entries.headSet(new ProbeKey(endCell, Long.MAX_VALUE), false);
+        }
+        final PeekingIterator<StoredKey> it = storedKeys(entries);
+        return ClosableIterators.wrap(new AbstractIterator<RowResult<T>>() {
+            @Override
+            protected RowResult<T> computeNext() {
+                while (true) {
+                    if (!it.hasNext()) {
+                        return endOfData();
+                    }
+                    ImmutableSortedMap.Builder<byte[], T> result = ImmutableSortedMap.orderedBy(
+                            UnsignedBytes.lexicographicalComparator());
+                    StoredKey key = it.peek();
+                    byte[] row = key.row();
+                    Iterator<StoredKey> cellIter = takeCell(it, key);
+                    collectValueForTimestamp(table, key.col(), cellIter, result, range, resultProducer);
+
+                    while (it.hasNext()) {
+                        if (!it.peek().matchesRow(key)) {
+                            break;
+                        }
+                        key = it.peek();
+                        cellIter = takeCell(it, key);
+                        collectValueForTimestamp(table, key.col(), cellIter, result, range, resultProducer);
+                    }
+                    SortedMap<byte[], T> columns = result.build();
+                    if (!columns.isEmpty()) {
+                        return RowResult.create(row, columns);
+                    }
+                }
+            }
+        });
+    }
+
+    // The index only ever contains stored keys; probe keys are used for lookups but never inserted.
+    private static PeekingIterator<StoredKey> storedKeys(Iterable<EntryKey> entries) {
+        return Iterators.peekingIterator(Iterators.transform(entries.iterator(), StoredKey.class::cast));
+    }
+
+    private static Iterator<StoredKey> takeCell(final PeekingIterator<StoredKey> it, final EntryKey key) {
+        return new AbstractIterator<StoredKey>() {
+            @Override
+            protected StoredKey computeNext() {
+                if (!it.hasNext()) {
+                    return endOfData();
+                }
+                if (it.peek().matchesCell(key)) {
+                    return it.next();
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    @Override
+    public Map<byte[], RowColumnRangeIterator> getRowsColumnRange(TableReference tableRef,
+                                                                  Iterable<byte[]> rows,
+                                                                  BatchColumnRangeSelection batchColumnRangeSelection,
+                                                                  long timestamp) {
+        Map<byte[], RowColumnRangeIterator> result = Maps.newHashMap();
+        Table table = getTable(tableRef);
+
+        ColumnRangeSelection columnRangeSelection = new ColumnRangeSelection(
+                batchColumnRangeSelection.getStartCol(),
+                batchColumnRangeSelection.getEndCol());
+        for (byte[] row : rows) {
+            result.put(row, getColumnRangeForSingleRow(table, row, columnRangeSelection, timestamp));
+        }
+
+        return result;
+    }
+
+    @Override
+    public RowColumnRangeIterator getRowsColumnRange(TableReference tableRef,
+                                                     Iterable<byte[]> rows,
+                                                     ColumnRangeSelection columnRangeSelection,
+                                                     int cellBatchHint,
+                                                     long timestamp) {
+        Table table = getTable(tableRef);
+        Iterator<RowColumnRangeIterator> rowColumnRanges =
+                Iterators.transform(rows.iterator(),
+                        row -> getColumnRangeForSingleRow(table, row, columnRangeSelection, timestamp));
+        return new LocalRowColumnRangeIterator(Iterators.concat(rowColumnRanges));
+    }
+
+    private RowColumnRangeIterator getColumnRangeForSingleRow(Table table,
+                                                              byte[] row,
+                                                              ColumnRangeSelection columnRangeSelection,
+                                                              long timestamp) {
+        Cell rowBegin;
+        if (columnRangeSelection.getStartCol().length > 0) {
+            rowBegin = Cell.create(row, columnRangeSelection.getStartCol());
+        } else {
+            rowBegin = Cells.createSmallestCellForRow(row);
+        }
+        // Inclusive last cell.
+        Cell rowEnd;
+        if (columnRangeSelection.getEndCol().length > 0) {
+            rowEnd = Cell.create(row, RangeRequests.previousLexicographicName(columnRangeSelection.getEndCol()));
+        } else {
+            rowEnd = Cells.createLargestCellForRow(row);
+        }
+        PeekingIterator<StoredKey> entries = storedKeys(table.entries.subSet(
+                new ProbeKey(rowBegin, Long.MIN_VALUE), new ProbeKey(rowEnd, timestamp)));
+        Map<Cell, Value> rowResults = new LinkedHashMap<>();
+        while (entries.hasNext()) {
+            StoredKey key = entries.peek();
+            Iterator<StoredKey> cellIter = takeCell(entries, key);
+            getLatestVersionOfCell(table, row, key.col(), cellIter, timestamp, rowResults);
+        }
+        return new LocalRowColumnRangeIterator(rowResults.entrySet().iterator());
+    }
+
+    private interface ResultProducer<T> {
+        @Nullable T apply(Table table, Iterator<StoredKey> timestampValues);
+    }
+
+    private static <T> void collectValueForTimestamp(Table table,
+                                                     byte[] col,
+                                                     Iterator<StoredKey> timestampValues,
+                                                     @Output ImmutableSortedMap.Builder<byte[], T> results,
+                                                     RangeRequest range,
+                                                     ResultProducer<T> resultProducer) {
+        T result = null;
+        if (range.containsColumn(col)) {
+            result = resultProducer.apply(table, timestampValues);
+        }
+
+        // exhaust remaining entries
+        Iterators.size(timestampValues);
+        if (result != null) {
+            results.put(col, result);
+        }
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        putInternal(tableRef, KeyValueServices.toConstantTimestampValues(values.entrySet(), timestamp), false);
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        putInternal(tableRef, values.entries(), false);
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values)
+            throws KeyAlreadyExistsException {
+        putInternal(tableRef,
+                KeyValueServices.toConstantTimestampValues(values.entrySet(), AtlasDbConstants.TRANSACTION_TS),
+                true);
+    }
+
+    private void putInternal(
+            TableReference tableRef,
+            Collection<Map.Entry<Cell, Value>> values,
+            boolean doNotOverwriteWithSameValue) {
+        Table table = getTable(tableRef);
+        for (Map.Entry<Cell, Value> e : values) {
+            byte[] contents = e.getValue().getContents();
+            long timestamp = e.getValue().getTimestamp();
+
+            byte[] oldContents = table.putIfAbsent(e.getKey(), timestamp, contents);
+            if (oldContents != null && (doNotOverwriteWithSameValue || !Arrays.equals(oldContents, contents))) {
+                throw new KeyAlreadyExistsException("We already have a value for this timestamp");
+            }
+        }
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest request) throws CheckAndSetException {
+        TableReference tableRef = request.table();
+        Table table = getTable(tableRef);
+        Cell cell = request.cell();
+        Optional<byte[]> oldValue = request.oldValue();
+        byte[] contents = request.newValue();
+
+        if (oldValue.isPresent()) {
+            StoredKey key = table.find(cell, AtlasDbConstants.TRANSACTION_TS);
+            if (key == null) {
+                throwCheckAndSetException(cell, tableRef, oldValue.get(), null);
+            }
+            long storedAddress = key.valueAddress;
+            boolean succeeded = Arrays.equals(table.arena.readValue(storedAddress), oldValue.get())
+                    && key.compareAndSetValueAddress(storedAddress, table.arena.writeValue(contents));
+            if (!succeeded) {
+                // Re-fetch, something may have happened between the read and the swap
+                byte[] actual = table.arena.readValue(key.valueAddress);
+                throwCheckAndSetException(cell, tableRef, oldValue.get(), actual);
+            }
+        } else {
+            byte[] oldContents = table.putIfAbsent(cell, AtlasDbConstants.TRANSACTION_TS, contents);
+            if (oldContents != null) {
+                throwCheckAndSetException(cell, tableRef, null, oldContents);
+            }
+        }
+    }
+
+    private void throwCheckAndSetException(Cell cell, TableReference tableRef, byte[] expected, byte[] actual) {
+        ImmutableList<byte[]> actuals = actual == null ? ImmutableList.of() : ImmutableList.of(actual);
+        throw new CheckAndSetException(cell, tableRef, expected, actuals);
+    }
+
+    @Override
+    public void delete(TableReference tableRef, Multimap<Cell, Long> keys) {
+        Table table = getTable(tableRef);
+        for (Map.Entry<Cell, Long> e : keys.entries()) {
+            table.entries.remove(new ProbeKey(e.getKey(), e.getValue()));
+        }
+    }
+
+    @Override
+    public Multimap<Cell, Long> getAllTimestamps(TableReference tableRef, Set<Cell> cells, long ts) {
+        Multimap<Cell, Long> multimap = HashMultimap.create();
+        Table table = getTable(tableRef);
+        for (Cell key : cells) {
+            for (EntryKey entry : table.entries.subSet(new ProbeKey(key, Long.MIN_VALUE), new ProbeKey(key, ts))) {
+                multimap.put(key, entry.timestamp());
+            }
+        }
+        return multimap;
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        tables.remove(tableRef);
+        tableMetadata.remove(tableRef);
+    }
+
+    @Override
+    public void truncateTable(TableReference tableRef) {
+        Table replaced = tables.computeIfPresent(tableRef, (ignored, table) -> new Table(slabSize, offHeap));
+        if (replaced == null) {
+            throw new IllegalStateException(
+                    String.format("Truncate called on a table (%s) that did not exist", tableRef));
+        }
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] metadata) {
+        tables.putIfAbsent(tableRef, new Table(slabSize, offHeap));
+        putMetadataForTable(tableRef, metadata);
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        if (!tables.containsKey(tableRef)) {
+            throw new IllegalArgumentException("No such table " + tableRef);
+        }
+        tableMetadata.put(tableRef, metadata);
+    }
+
+    @Override
+    public byte[] getMetadataForTable(TableReference tableRef) {
+        if (!tables.containsKey(tableRef)) {
+            return AtlasDbConstants.EMPTY_TABLE_METADATA;
+        }
+        byte[] ret = tableMetadata.get(tableRef);
+        return ret == null ? ArrayUtils.EMPTY_BYTE_ARRAY : ret;
+    }
+
+    @Override
+    public Set<TableReference> getAllTableNames() {
+        return ImmutableSet.copyOf(tables.keySet());
+    }
+
+    private Table getTable(TableReference tableRef) {
+        Table table = tables.get(tableRef);
+        if (table == null) {
+            throw new IllegalArgumentException("table " + tableRef.getQualifiedName() + " does not exist");
+        }
+        return table;
+    }
+
+    @Override
+    public void addGarbageCollectionSentinelValues(TableReference tableRef, Iterable<Cell> cells) {
+        Table table = getTable(tableRef);
+        for (Cell cell : cells) {
+            table.put(cell, Value.INVALID_VALUE_TIMESTAMP, ArrayUtils.EMPTY_BYTE_ARRAY);
+        }
+    }
+
+    @Override
+    public void compactInternally(TableReference tableRef) {
+        // nothing to do
+    }
+
+    @Override
+    public ClusterAvailabilityStatus getClusterAvailabilityStatus() {
+        return ClusterAvailabilityStatus.ALL_AVAILABLE;
+    }
+
+    private static final class Table {
+        final ByteArena arena;
+        final ConcurrentSkipListSet<EntryKey> entries = new ConcurrentSkipListSet<>();
+
+        Table(int slabSize, boolean offHeap) {
+            this.arena = new ByteArena(slabSize, offHeap);
+        }
+
+        Value valueOf(StoredKey key) {
+            return Value.create(arena.readValue(key.valueAddress), key.timestamp());
+        }
+
+        @Nullable
+        StoredKey find(Cell cell, long timestamp) {
+            ProbeKey probe = new ProbeKey(cell, timestamp);
+            EntryKey candidate = entries.ceiling(probe);
+            return candidate != null && candidate.compareTo(probe) == 0 ? (StoredKey) candidate : null;
+        }
+
+        // Returns the existing contents, if any, and null otherwise
+        @Nullable
+        byte[] putIfAbsent(Cell cell, long timestamp, byte[] contents) {
+            StoredKey existing = find(cell, timestamp);
+            if (existing == null) {
+                StoredKey key = newKey(cell, timestamp, contents);
+                if (entries.add(key)) {
+                    return null;
+                }
+                existing = find(cell, timestamp);
+            }
+            return existing == null ? null : arena.readValue(existing.valueAddress);
+        }
+
+        void put(Cell cell, long timestamp, byte[] contents) {
+            StoredKey key = newKey(cell, timestamp, contents);
+            if (!entries.add(key)) {
+                StoredKey existing = find(cell, timestamp);
+                if (existing != null) {
+                    existing.valueAddress = key.valueAddress;
+                }
+            }
+        }
+
+        private StoredKey newKey(Cell cell, long timestamp, byte[] contents) {
+            long keyAddress = arena.writeKey(cell.getRowName(), cell.getColumnName(), timestamp);
+            return new StoredKey(arena.slab(keyAddress), ByteArena.offset(keyAddress), arena.writeValue(contents));
+        }
+    }
+
+    /**
+     * A (row, column, timestamp) triple, ordered as in {@link InMemoryKeyValueService}: rows and columns by unsigned
+     * lexicographic order and then timestamps ascending.
+     */
+    private abstract static class EntryKey implements Comparable<EntryKey> {
+        abstract int rowLength();
+
+        abstract byte rowByte(int index);
+
+        abstract int colLength();
+
+        abstract byte colByte(int index);
+
+        abstract long timestamp();
+
+        boolean matchesRow(EntryKey other) {
+            return compareRows(this, other) == 0;
+        }
+
+        boolean matchesCell(EntryKey other) {
+            return compareRows(this, other) == 0 && compareCols(this, other) == 0;
+        }
+
+        @Override
+        public int compareTo(EntryKey other) {
+            int comparison = compareRows(this, other);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = compareCols(this, other);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return Long.compare(timestamp(), other.timestamp());
+        }
+
+        private static int compareRows(EntryKey left, EntryKey right) {
+            int leftLength = left.rowLength();
+            int rightLength = right.rowLength();
+            int length = Math.min(leftLength, rightLength);
+            for (int i = 0; i < length; i++) {
+                int comparison = UnsignedBytes.compare(left.rowByte(i), right.rowByte(i));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return leftLength - rightLength;
+        }
+
+        private static int compareCols(EntryKey left, EntryKey right) {
+            int leftLength = left.colLength();
+            int rightLength = right.colLength();
+            int length = Math.min(leftLength, rightLength);
+            for (int i = 0; i < length; i++) {
+                int comparison = UnsignedBytes.compare(left.colByte(i), right.colByte(i));
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return leftLength - rightLength;
+        }
+    }
+
+    /**
+     * Search key built from caller-supplied arrays; never stored in the index.
+     */
+    private static final class ProbeKey extends EntryKey {
+        private final byte[] row;
+        private final byte[] col;
+        private final long ts;
+
+        ProbeKey(Cell cell, long ts) {
+            this.row = cell.getRowName();
+            this.col = cell.getColumnName();
+            this.ts = ts;
+        }
+
+        @Override
+        int rowLength() {
+            return row.length;
+        }
+
+        @Override
+        byte rowByte(int index) {
+            return row[index];
+        }
+
+        @Override
+        int colLength() {
+            return col.length;
+        }
+
+        @Override
+        byte colByte(int index) {
+            return col[index];
+        }
+
+        @Override
+        long timestamp() {
+            return ts;
+        }
+    }
+
+    /**
+     * Index entry for a stored version. The key is encoded in the arena as
+     * {@code [row length][row][column length][column][timestamp]}; the value lives elsewhere in the arena so that it
+     * can be swapped atomically by check-and-set.
+     */
+    private static final class StoredKey extends EntryKey {
+        private static final AtomicLongFieldUpdater<StoredKey> VALUE_ADDRESS =
+                AtomicLongFieldUpdater.newUpdater(StoredKey.class, "valueAddress");
+
+        private final ByteBuffer slab;
+        private final int offset;
+        volatile long valueAddress;
+
+        StoredKey(ByteBuffer slab, int offset, long valueAddress) {
+            this.slab = slab;
+            this.offset = offset;
+            this.valueAddress = valueAddress;
+        }
+
+        boolean compareAndSetValueAddress(long expected, long updated) {
+            return VALUE_ADDRESS.compareAndSet(this, expected, updated);
+        }
+
+        @Override
+        int rowLength() {
+            return slab.getInt(offset);
+        }
+
+        @Override
+        byte rowByte(int index) {
+            return slab.get(offset + Integer.BYTES + index);
+        }
+
+        @Override
+        int colLength() {
+            return slab.getInt(colLengthOffset());
+        }
+
+        @Override
+        byte colByte(int index) {
+            return slab.get(colLengthOffset() + Integer.BYTES + index);
+        }
+
+        @Override
+        long timestamp() {
+            return slab.getLong(colLengthOffset() + Integer.BYTES + colLength());
+        }
+
+        byte[] row() {
+            return copy(offset + Integer.BYTES, rowLength());
+        }
+
+        byte[] col() {
+            return copy(colLengthOffset() + Integer.BYTES, colLength());
+        }
+
+        private int colLengthOffset() {
+            return offset + Integer.BYTES + rowLength();
+        }
+
+        private byte[] copy(int start, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer source = slab.duplicate();
+            source.position(start);
+            source.get(bytes);
+            return bytes;
+        }
+    }
+}
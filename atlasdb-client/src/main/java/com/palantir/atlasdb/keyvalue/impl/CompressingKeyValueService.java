@@ -0,0 +1,405 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.compress.CompressionUtils;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.util.paging.SimpleTokenBackedResultsPage;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+
+/**
+ * Compresses the values of tables whose metadata asks for it (see {@link TableMetadata#getKvsCompression()}), or that
+ * are given an explicit compression when this is created, before they are written to the delegate, and decompresses
+ * them when they are read back. Unlike per-column compression in the schema, this also applies to writes that do not
+ * go through generated table code.
+ * <p>
+ * Compressed values are stored as {@code [magic][codec][CRC32 of payload][payload]}. Values below the size threshold,
+ * and values that do not shrink, are stored as they are. Reads therefore never depend on table metadata: a value is
+ * decoded only if it starts with the magic bytes, names a known codec and its payload matches the checksum, and any
+ * other value is returned unchanged. This makes it safe to enable compression on a table that already holds
+ * uncompressed values, and to disable it again later. Uncompressed values that happen to start with the magic bytes
+ * are written with the NONE codec, so that they can never be mistaken for encoded values.
+ * <p>
+ * Empty values are never encoded, as they mark deletions. As {@link #checkAndSet} compares the stored bytes with the
+ * expected value, it first reads the stored value and, if that decodes to the expected value, checks against the
+ * stored bytes instead.
+ * <p>
+ * The compression of a table is read from its metadata when the table is first written to, and refreshed when the
+ * metadata is changed through this key value service; changes made by other clients take effect on restart.
+ */
+public final class CompressingKeyValueService extends ForwardingKeyValueService {
+    private static final byte[] MAGIC = {(byte) 0xC7, (byte) 0x5A, (byte) 0x1B, (byte) 0xE4};
+    private static final int CODEC_OFFSET = MAGIC.length;
+    private static final int CHECKSUM_OFFSET = CODEC_OFFSET + 1;
+    @VisibleForTesting
+    static final int HEADER_SIZE = CHECKSUM_OFFSET + Ints.BYTES;
+
+    private final KeyValueService delegate;
+    private final int thresholdBytes;
+    private final Map<TableReference, Compression> compressionOverrides;
+    private final ConcurrentMap<TableReference, Compression> compressionByTable = new ConcurrentHashMap<>();
+    private final Counter uncompressedBytes;
+    private final Counter compressedBytes;
+
+    private CompressingKeyValueService(KeyValueService delegate, int thresholdBytes,
+            Map<TableReference, Compression> compressionOverrides) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+        this.compressionOverrides = ImmutableMap.copyOf(compressionOverrides);
+        MetricRegistry metricRegistry = AtlasDbMetrics.getMetricRegistry();
+        this.uncompressedBytes = metricRegistry.counter(
+                MetricRegistry.name(CompressingKeyValueService.class, "uncompressedBytes"));
+        this.compressedBytes = metricRegistry.counter(
+                MetricRegistry.name(CompressingKeyValueService.class, "compressedBytes"));
+    }
+
+    public static CompressingKeyValueService create(KeyValueService delegate) {
+        return create(delegate, AtlasDbConstants.DEFAULT_KVS_COMPRESSION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Creates a compressing key value service that only compresses values of at least {@code thresholdBytes}, as
+     * compressing small values costs CPU while saving few or no bytes.
+     */
+    public static CompressingKeyValueService create(KeyValueService delegate, int thresholdBytes) {
+        return create(delegate, thresholdBytes, ImmutableMap.of());
+    }
+
+    /**
+     * As {@link #create(KeyValueService, int)}, but the tables in {@code compressionOverrides} are compressed as given
+     * there regardless of their metadata. This is meant for tables that are not created from a schema.
+     */
+    public static CompressingKeyValueService create(KeyValueService delegate, int thresholdBytes,
+            Map<TableReference, Compression> compressionOverrides) {
+        Preconditions.checkArgument(thresholdBytes > 0, "The compression threshold must be positive");
+        return new CompressingKeyValueService(delegate, thresholdBytes, compressionOverrides);
+    }
+
+    @Override
+    protected KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] tableMetadata) {
+        delegate.createTable(tableRef, tableMetadata);
+        compressionByTable.remove(tableRef);
+    }
+
+    @Override
+    public void createTables(Map<TableReference, byte[]> tableRefToTableMetadata) {
+        delegate.createTables(tableRefToTableMetadata);
+        compressionByTable.keySet().removeAll(tableRefToTableMetadata.keySet());
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        delegate.putMetadataForTable(tableRef, metadata);
+        compressionByTable.remove(tableRef);
+    }
+
+    @Override
+    public void putMetadataForTables(Map<TableReference, byte[]> tableRefToMetadata) {
+        delegate.putMetadataForTables(tableRefToMetadata);
+        compressionByTable.keySet().removeAll(tableRefToMetadata.keySet());
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        delegate.dropTable(tableRef);
+        compressionByTable.remove(tableRef);
+    }
+
+    @Override
+    public void dropTables(Set<TableReference> tableRefs) {
+        delegate.dropTables(tableRefs);
+        compressionByTable.keySet().removeAll(tableRefs);
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        delegate.put(tableRef, encodeValues(tableRef, values), timestamp);
+    }
+
+    @Override
+    public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        Map<TableReference, Map<Cell, byte[]>> encoded = Maps.newHashMapWithExpectedSize(valuesByTable.size());
+        for (Map.Entry<TableReference, ? extends Map<Cell, byte[]>> entry : valuesByTable.entrySet()) {
+            encoded.put(entry.getKey(), encodeValues(entry.getKey(), entry.getValue()));
+        }
+        delegate.multiPut(encoded, timestamp);
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        Compression compression = getCompression(tableRef);
+        Multimap<Cell, Value> encoded = ArrayListMultimap.create(values.keySet().size(), 1);
+        for (Map.Entry<Cell, Value> entry : values.entries()) {
+            Value value = entry.getValue();
+            encoded.put(entry.getKey(), Value.create(encode(value.getContents(), compression), value.getTimestamp()));
+        }
+        delegate.putWithTimestamps(tableRef, encoded);
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
+        delegate.putUnlessExists(tableRef, encodeValues(tableRef, values));
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest request) throws CheckAndSetException {
+        TableReference tableRef = request.table();
+        Cell cell = request.cell();
+        byte[] newValue = encode(request.newValue(), getCompression(tableRef));
+        CheckAndSetRequest encodedRequest;
+        if (request.oldValue().isPresent()) {
+            byte[] oldValue = request.oldValue().get();
+            encodedRequest = CheckAndSetRequest.singleCell(tableRef, cell, storedValue(tableRef, cell, oldValue),
+                    newValue);
+        } else {
+            encodedRequest = CheckAndSetRequest.newCell(tableRef, cell, newValue);
+        }
+        try {
+            delegate.checkAndSet(encodedRequest);
+        } catch (CheckAndSetException e) {
+            List<byte[]> actualValues = e.getActualValues() == null
+                    ? null
+                    : Lists.transform(e.getActualValues(), CompressingKeyValueService::decode);
+            throw new CheckAndSetException(e.getMessage(), e, e.getKey(), request.oldValue().orElse(null),
+                    actualValues);
+        }
+    }
+
+    /**
+     * Returns the stored bytes of the cell if they decode to {@code expectedValue}, and {@code expectedValue} itself
+     * otherwise, in which case the check-and-set fails as it would without compression.
+     */
+    private byte[] storedValue(TableReference tableRef, Cell cell, byte[] expectedValue) {
+        Value stored = delegate.get(tableRef, ImmutableMap.of(cell, Long.MAX_VALUE)).get(cell);
+        if (stored != null && Arrays.equals(decode(stored.getContents()), expectedValue)) {
+            return stored.getContents();
+        }
+        return expectedValue;
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        return decodeValues(delegate.get(tableRef, timestampByCell));
+    }
+
+    @Override
+    public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows,
+                                    ColumnSelection columnSelection, long timestamp) {
+        return decodeValues(delegate.getRows(tableRef, rows, columnSelection, timestamp));
+    }
+
+    @Override
+    public Map<byte[], RowColumnRangeIterator> getRowsColumnRange(TableReference tableRef, Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection, long timestamp) {
+        return Maps.transformValues(
+                delegate.getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp),
+                CompressingKeyValueService::decodeIterator);
+    }
+
+    @Override
+    public RowColumnRangeIterator getRowsColumnRange(TableReference tableRef, Iterable<byte[]> rows,
+            ColumnRangeSelection columnRangeSelection, int cellBatchHint, long timestamp) {
+        return decodeIterator(
+                delegate.getRowsColumnRange(tableRef, rows, columnRangeSelection, cellBatchHint, timestamp));
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Value>> getRange(TableReference tableRef, RangeRequest rangeRequest,
+            long timestamp) {
+        ClosableIterator<RowResult<Value>> range = delegate.getRange(tableRef, rangeRequest, timestamp);
+        return ClosableIterators.wrap(Iterators.transform(range, CompressingKeyValueService::decodeRow), range);
+    }
+
+    @Override
+    public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
+            TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> pages =
+                delegate.getFirstBatchForRanges(tableRef, rangeRequests, timestamp);
+        Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> decoded =
+                Maps.newHashMapWithExpectedSize(pages.size());
+        for (Map.Entry<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> entry
+                : pages.entrySet()) {
+            TokenBackedBasicResultsPage<RowResult<Value>, byte[]> page = entry.getValue();
+            decoded.put(entry.getKey(), SimpleTokenBackedResultsPage.create(
+                    page.getTokenForNextPage(),
+                    ImmutableList.copyOf(Lists.transform(page.getResults(), CompressingKeyValueService::decodeRow)),
+                    page.moreResultsAvailable()));
+        }
+        return decoded;
+    }
+
+    private Map<Cell, byte[]> encodeValues(TableReference tableRef, Map<Cell, byte[]> values) {
+        Compression compression = getCompression(tableRef);
+        return Maps.newHashMap(Maps.transformValues(values, value -> encode(value, compression)));
+    }
+
+    @VisibleForTesting
+    byte[] encode(byte[] value, Compression compression) {
+        if (value.length == 0) {
+            return value;
+        }
+        if (compression != Compression.NONE && value.length >= thresholdBytes) {
+            byte[] compressed = CompressionUtils.compress(value, compression);
+            if (HEADER_SIZE + compressed.length < value.length) {
+                uncompressedBytes.inc(value.length);
+                compressedBytes.inc(HEADER_SIZE + compressed.length);
+                return withHeader(compressed, compression);
+            }
+        }
+        return hasMagic(value) ? withHeader(value, Compression.NONE) : value;
+    }
+
+    @VisibleForTesting
+    static byte[] decode(byte[] stored) {
+        if (stored.length < HEADER_SIZE || !hasMagic(stored)) {
+            return stored;
+        }
+        TableMetadataPersistence.Compression codec = TableMetadataPersistence.Compression.valueOf(
+                stored[CODEC_OFFSET]);
+        if (codec == null || Ints.fromBytes(stored[CHECKSUM_OFFSET], stored[CHECKSUM_OFFSET + 1],
+                stored[CHECKSUM_OFFSET + 2], stored[CHECKSUM_OFFSET + 3]) != checksum(stored, HEADER_SIZE)) {
+            // not written by us, so a legacy value that happens to start with the magic bytes
+            return stored;
+        }
+        byte[] payload = Arrays.copyOfRange(stored, HEADER_SIZE, stored.length);
+        return CompressionUtils.decompress(payload, Compression.hydrateFromProto(codec));
+    }
+
+    private static byte[] withHeader(byte[] payload, Compression compression) {
+        byte[] stored = new byte[HEADER_SIZE + payload.length];
+        System.arraycopy(MAGIC, 0, stored, 0, MAGIC.length);
+        stored[CODEC_OFFSET] = (byte) compression.persistToProto().getNumber();
+        System.arraycopy(payload, 0, stored, HEADER_SIZE, payload.length);
+        System.arraycopy(Ints.toByteArray(checksum(stored, HEADER_SIZE)), 0, stored, CHECKSUM_OFFSET, Ints.BYTES);
+        return stored;
+    }
+
+    private static int checksum(byte[] bytes, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, bytes.length - offset);
+        return (int) crc.getValue();
+    }
+
+    private static boolean hasMagic(byte[] value) {
+        if (value.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (value[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Cell, Value> decodeValues(Map<Cell, Value> values) {
+        Map<Cell, Value> decoded = null;
+        for (Map.Entry<Cell, Value> entry : values.entrySet()) {
+            Value value = entry.getValue();
+            Value decodedValue = decodeValue(value);
+            if (decodedValue != value) {
+                if (decoded == null) {
+                    decoded = Maps.newHashMap(values);
+                }
+                decoded.put(entry.getKey(), decodedValue);
+            }
+        }
+        // most reads are of uncompressed values, which are returned without copying the map
+        return decoded == null ? values : decoded;
+    }
+
+    private static Value decodeValue(Value value) {
+        byte[] contents = value.getContents();
+        byte[] decoded = decode(contents);
+        return decoded == contents ? value : Value.create(decoded, value.getTimestamp());
+    }
+
+    private static RowResult<Value> decodeRow(RowResult<Value> row) {
+        // RowResult copies the view, so each value is decoded once
+        return RowResult.create(row.getRowName(),
+                Maps.transformValues(row.getColumns(), CompressingKeyValueService::decodeValue));
+    }
+
+    private static RowColumnRangeIterator decodeIterator(RowColumnRangeIterator iterator) {
+        return new LocalRowColumnRangeIterator(Iterators.transform(iterator,
+                entry -> Maps.immutableEntry(entry.getKey(), decodeValue(entry.getValue()))));
+    }
+
+    private Compression getCompression(TableReference tableRef) {
+        Compression override = compressionOverrides.get(tableRef);
+        if (override != null) {
+            return override;
+        }
+        return compressionByTable.computeIfAbsent(tableRef, this::readCompression);
+    }
+
+    private Compression readCompression(TableReference tableRef) {
+        byte[] metadata = delegate.getMetadataForTable(tableRef);
+        if (metadata == null || metadata.length == 0) {
+            return Compression.NONE;
+        }
+        try {
+            return TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(metadata).getKvsCompression();
+        } catch (RuntimeException e) {
+            // tables created outside of a schema may have arbitrary metadata
+            return Compression.NONE;
+        }
+    }
+}
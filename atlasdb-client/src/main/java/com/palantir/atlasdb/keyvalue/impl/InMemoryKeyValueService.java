@@ -48,6 +48,7 @@ import com.google.common.collect.Sets;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Longs;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
@@ -521,6 +522,20 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
         return ImmutableSet.copyOf(tables.keySet());
     }
 
+    /**
+     * Returns a copy of every table in this store, with its metadata and every (cell, timestamp) version in it. The
+     * copy shares the stored values, which are never modified in place, so it costs one pass over the keys rather
+     * than a copy of the data. Writes made while the copy is taken may or may not be reflected in it, so callers that
+     * need a consistent copy must hold off writes until this returns. The copy does not create tables automatically,
+     * and serves all requests on the calling thread.
+     */
+    public InMemoryKeyValueService copy() {
+        InMemoryKeyValueService copy = new InMemoryKeyValueService(false, MoreExecutors.newDirectExecutorService());
+        tables.forEach((tableRef, table) -> copy.tables.put(tableRef, new Table(table.entries)));
+        copy.tableMetadata.putAll(tableMetadata);
+        return copy;
+    }
+
     private byte[] copyOf(byte[] contents) {
         return Arrays.copyOf(contents, contents.length);
     }
@@ -531,6 +546,10 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
         Table() {
             this.entries = new ConcurrentSkipListMap<>();
         }
+
+        Table(SortedMap<Key, byte[]> entries) {
+            this.entries = new ConcurrentSkipListMap<>(entries);
+        }
     }
 
     private Table getTableMap(TableReference tableRef) {
@@ -24,6 +24,7 @@ import java.util.UUID;
 import org.apache.commons.lang3.ArrayUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Utf8;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.Longs;
@@ -57,47 +58,65 @@ public class EncodingUtils {
      * to be lexicographically ordered so we can do range scans correctly.
      */
     public static byte[] encodeVarLong(long value) {
-        int size = sizeOfVarLong(value);
-        byte[] ret = new byte[size];
-        encodeVarLongForSize(value, ret, size);
+        byte[] ret = new byte[sizeOfVarLong(value)];
+        encodeVarLong(value, ret, 0);
         return ret;
     }
 
+    /**
+     * Writes the same bytes as {@link #encodeVarLong(long)} into output, starting at offset.
+     * @return the index just after the encoded value
+     */
+    public static int encodeVarLong(long value, @Output byte[] output, int offset) {
+        int size = sizeOfVarLong(value);
+        encodeVarLongForSize(value, output, offset, size, size);
+        return offset + size;
+    }
+
     public static byte[] encodeUnsignedVarLong(long value) {
         return encodeVarLong(checkUnsigned(value));
     }
 
+    public static int encodeUnsignedVarLong(long value, @Output byte[] output, int offset) {
+        return encodeVarLong(checkUnsigned(value), output, offset);
+    }
+
     public static byte[] encodeSignedVarLong(long value) {
+        byte[] ret = new byte[sizeOfSignedVarLong(value)];
+        encodeSignedVarLong(value, ret, 0);
+        return ret;
+    }
+
+    public static int encodeSignedVarLong(long value, @Output byte[] output, int offset) {
         final boolean negative = value<0;
         int size = sizeOfSignedVarLong(value);
         value ^= (value >> 63);
-        byte[] ret = new byte[size];
-        encodeVarLongForSize(value, ret, size+1);
+        encodeVarLongForSize(value, output, offset, size, size+1);
         if (negative) {
-            flipAllBitsInPlace(ret);
+            flipAllBitsInPlace(output, offset, size);
         }
-        return ret;
+        return offset + size;
     }
 
     /**
      * There will be size-1 bits set before there is a zero.
-     * All the bits of value will or-ed (|=) onto the the passed byte[].
+     * The value is written into the length bytes of ret starting at offset, overwriting whatever was there.
      * @param size must be <= 17 (but will most likely be 10 or 11 at most)
      */
-    private static void encodeVarLongForSize(long value, @Output byte[] ret, int size) {
-        int end = 0;
+    private static void encodeVarLongForSize(long value, @Output byte[] ret, int offset, int length, int size) {
+        int end = offset;
         if (size > 8) {
-            ret[0] = (byte)0xff;
-            end = 1;
+            ret[offset] = (byte)0xff;
+            end = offset + 1;
             size -= 8;
         }
-        ret[end] = (byte)((0xff << (9-size)) & 0xff);
 
-        int index = ret.length;
+        int index = offset + length;
         while (index-- > end) {
-            ret[index] |= (byte)((int)value & 0xff);
+            ret[index] = (byte)((int)value & 0xff);
             value >>>= 8;
         }
+        ret[end] |= (byte)((0xff << (9-size)) & 0xff);
     }
 
     public static int sizeOfVarLong(long value) {
@@ -247,6 +266,16 @@ public class EncodingUtils {
         return sizeOfSizedBytes(PtBytes.toBytes(str));
     }
 
+    /**
+     * The same as {@link #sizeOfVarString(String)} for strings returned by {@link #decodeVarString(byte[], int)},
+     * but without encoding the string again. Decoded strings never contain unpaired surrogates, which are the only
+     * strings this does not support.
+     */
+    public static int sizeOfDecodedVarString(String str) {
+        int length = Utf8.encodedLength(str);
+        return length + sizeOfVarLong(length);
+    }
+
     public static int sizeOfSizedBytes(byte[] bytes) {
         return bytes.length + sizeOfVarLong(bytes.length);
     }
@@ -260,6 +289,31 @@ public class EncodingUtils {
         return Bytes.concat(len, bytes);
     }
 
+    public static int encodeSizedBytes(byte[] bytes, @Output byte[] output, int offset) {
+        return encodeBytes(bytes, output, encodeVarLong(bytes.length, output, offset));
+    }
+
+    /**
+     * Copies bytes into output, starting at offset.
+     * @return the index just after the copied bytes
+     */
+    public static int encodeBytes(byte[] bytes, @Output byte[] output, int offset) {
+        System.arraycopy(bytes, 0, output, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    /**
+     * Writes the same bytes as {@link PtBytes#toBytes(long)} into output, starting at offset.
+     * @return the index just after the encoded value
+     */
+    public static int encodeFixedLong(long value, @Output byte[] output, int offset) {
+        for (int i = offset + PtBytes.SIZEOF_LONG - 1; i >= offset; i--) {
+            output[i] = (byte) value;
+            value >>>= 8;
+        }
+        return offset + PtBytes.SIZEOF_LONG;
+    }
+
     public static byte[] encodeUUID(UUID uuid) {
         return ByteBuffer
                 .allocate(2 * Longs.BYTES)
@@ -269,6 +323,11 @@ public class EncodingUtils {
                 .array();
     }
 
+    public static int encodeUUID(UUID uuid, @Output byte[] output, int offset) {
+        int index = encodeFixedLong(uuid.getMostSignificantBits(), output, offset);
+        return encodeFixedLong(uuid.getLeastSignificantBits(), output, index);
+    }
+
     public static UUID decodeUUID(byte[] bytes, int offset) {
         ByteBuffer buf = ByteBuffer.wrap(bytes, offset, 2 * Longs.BYTES).order(ByteOrder.BIG_ENDIAN);
         long mostSigBits = buf.getLong();
@@ -366,17 +425,27 @@ public class EncodingUtils {
     }
 
     public static long decodeLittleEndian(byte[] value, int offset) {
-        byte[] subArray = ArrayUtils.subarray(value, offset, offset + PtBytes.SIZEOF_LONG);
-        ArrayUtils.reverse(subArray);
-        return PtBytes.toLong(subArray);
+        long result = 0;
+        for (int i = offset + PtBytes.SIZEOF_LONG - 1; i >= offset; i--) {
+            result = (result << 8) | (value[i] & 0xff);
+        }
+        return result;
     }
 
     public static byte[] encodeLittleEndian(long val) {
-        byte[] bytes = PtBytes.toBytes(val);
-        ArrayUtils.reverse(bytes);
+        byte[] bytes = new byte[PtBytes.SIZEOF_LONG];
+        encodeLittleEndian(val, bytes, 0);
         return bytes;
     }
 
+    public static int encodeLittleEndian(long val, @Output byte[] output, int offset) {
+        for (int i = offset; i < offset + PtBytes.SIZEOF_LONG; i++) {
+            output[i] = (byte) val;
+            val >>>= 8;
+        }
+        return offset + PtBytes.SIZEOF_LONG;
+    }
+
     private static long checkUnsigned(long value) {
         if (value < 0) {
             throw new IllegalArgumentException("Expected unsigned value: " + value);
@@ -464,4 +533,14 @@ public class EncodingUtils {
             return ArrayUtils.addAll(new byte[] { 1 }, PtBytes.toBytes(Long.MIN_VALUE ^ value));
         }
     }
+
+    public static int encodeNullableFixedLong(Long value, @Output byte[] output, int offset) {
+        if (value == null) {
+            Arrays.fill(output, offset, offset + 9, (byte) 0);
+            return offset + 9;
+        } else {
+            output[offset] = 1;
+            return encodeFixedLong(Long.MIN_VALUE ^ value, output, offset + 1);
+        }
+    }
 }
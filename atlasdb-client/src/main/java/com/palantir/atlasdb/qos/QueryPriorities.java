@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+import com.palantir.common.concurrent.ExecutorInheritableThreadLocal;
+
+/**
+ * Tracks the {@link QueryPriority} of the work running on the current thread, so that the key value service can
+ * pass it on to its {@link QosClient}. The priority is inherited by tasks submitted to executors created through
+ * {@link com.palantir.common.concurrent.PTExecutors}, which includes the key value services' own thread pools.
+ */
+public final class QueryPriorities {
+
+    private static final ExecutorInheritableThreadLocal<QueryPriority> currentPriority =
+            new ExecutorInheritableThreadLocal<QueryPriority>() {
+                @Override
+                protected QueryPriority initialValue() {
+                    return QueryPriority.INTERACTIVE;
+                }
+            };
+
+    private QueryPriorities() {
+        // utility
+    }
+
+    public static QueryPriority current() {
+        return currentPriority.get();
+    }
+
+    /**
+     * Runs the given task with all of its queries tagged with the given priority, restoring the previous priority
+     * afterwards.
+     */
+    public static <T, E extends Exception> T runWithPriority(QueryPriority priority, QosClient.Query<T, E> task)
+            throws E {
+        QueryPriority previousPriority = currentPriority.get();
+        currentPriority.set(priority);
+        try {
+            return task.execute();
+        } finally {
+            currentPriority.set(previousPriority);
+        }
+    }
+}
@@ -175,8 +175,8 @@ public final class SweepPriorityTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] fullTableNameBytes = PtBytes.toBytes(fullTableName);
-            return EncodingUtils.add(fullTableNameBytes);
+            byte[] __output = PtBytes.toBytes(fullTableName);
+            return __output;
         }
 
         public static final Hydrator<SweepPriorityRow> BYTES_HYDRATOR = new Hydrator<SweepPriorityRow>() {
@@ -533,6 +533,7 @@ public final class SweepPriorityTable implements
 
     public static final class SweepPriorityRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private SweepPriorityRow rowName;
 
         public static SweepPriorityRowResult of(RowResult<byte[]> row) {
             return new SweepPriorityRowResult(row);
@@ -544,7 +545,10 @@ public final class SweepPriorityTable implements
 
         @Override
         public SweepPriorityRow getRowName() {
-            return SweepPriorityRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = SweepPriorityRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<SweepPriorityRowResult, SweepPriorityRow> getRowNameFun() {
@@ -1239,5 +1243,5 @@ public final class SweepPriorityTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Fy5OQz2p3OpBl5iG2MX60w==";
+    static String __CLASS_HASH = "6e8RoWl3LKALYHwepGf/dg==";
 }
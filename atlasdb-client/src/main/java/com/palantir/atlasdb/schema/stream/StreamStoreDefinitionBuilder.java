@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 
@@ -87,6 +88,16 @@ public class StreamStoreDefinitionBuilder {
         return this;
     }
 
+    /**
+     * Compresses the stream blocks in the key value service layer (see {@link TableDefinition#kvsCompression}), which
+     * requires the enableKvsCompression AtlasDB config option. Unlike {@link #compressStreamInClient()}, this can be
+     * set for an existing stream store, as blocks written before remain readable.
+     */
+    public StreamStoreDefinitionBuilder compressBlocksInKvs(Compression compression) {
+        streamTables.forEach((tableName, streamTableBuilder) -> streamTableBuilder.compressBlocksInKvs(compression));
+        return this;
+    }
+
     public StreamStoreDefinitionBuilder compressStreamInClient() {
         compressStream = true;
         return this;
@@ -21,6 +21,7 @@ import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.protos.generated.StreamPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
 import com.palantir.atlasdb.stream.GenericStreamStore;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
@@ -35,6 +36,7 @@ public class StreamTableDefinitionBuilder {
     private boolean hashFirstRowComponent = false;
     private boolean appendHeavyAndReadLight = false;
     private boolean dbSideCompressionForBlocks = false;
+    private Compression kvsCompressionForBlocks = Compression.NONE;
     private int numberOfComponentsHashed = 0;
 
     public StreamTableDefinitionBuilder(StreamTableType type, String prefix, ValueType idType) {
@@ -71,6 +73,11 @@ public class StreamTableDefinitionBuilder {
         return this;
     }
 
+    public StreamTableDefinitionBuilder compressBlocksInKvs(Compression compression) {
+        kvsCompressionForBlocks = Preconditions.checkNotNull(compression);
+        return this;
+    }
+
     public TableDefinition build() {
         switch(streamTableType) {
 
@@ -151,6 +158,7 @@ public class StreamTableDefinitionBuilder {
                     int compressionBlockSizeKB = highestPowerOfTwoLessThanOrEqualTo(expectedAverageValueSizeKB);
                     explicitCompressionBlockSizeKB(compressionBlockSizeKB);
                 }
+                kvsCompression(kvsCompressionForBlocks);
                 ignoreHotspottingChecks();
             }};
 
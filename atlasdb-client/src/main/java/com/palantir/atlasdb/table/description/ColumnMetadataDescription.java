@@ -18,6 +18,7 @@ package com.palantir.atlasdb.table.description;
 import java.util.List;
 import java.util.Set;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import org.apache.commons.lang3.Validate;
@@ -27,6 +28,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ColumnMetadataDescription.Builder;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 
 @Immutable
 public class ColumnMetadataDescription {
@@ -78,6 +80,48 @@ public class ColumnMetadataDescription {
         return max;
     }
 
+    /**
+     * Returns the preset compression dictionary shared by the columns compressed with {@link Compression#DEFLATE},
+     * if any.
+     */
+    @Nullable
+    public byte[] getCompressionDictionary() {
+        for (ColumnValueDescription value : getAllColumnValues()) {
+            if (value.getCompressionDictionary() != null) {
+                return value.getCompressionDictionary();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a copy of this description in which every column compressed with {@link Compression#DEFLATE} refers to
+     * the given preset dictionary.
+     */
+    public ColumnMetadataDescription withCompressionDictionary(byte[] dictionary) {
+        if (dynamicColumn != null) {
+            return new ColumnMetadataDescription(new DynamicColumnDescription(
+                    dynamicColumn.getColumnNameDesc(),
+                    withCompressionDictionary(dynamicColumn.getValue(), dictionary)));
+        }
+        List<NamedColumnDescription> columns = Lists.newArrayListWithCapacity(namedColumns.size());
+        for (NamedColumnDescription column : namedColumns) {
+            columns.add(new NamedColumnDescription(
+                    column.getShortName(),
+                    column.getLongName(),
+                    withCompressionDictionary(column.getValue(), dictionary),
+                    column.getLogSafety()));
+        }
+        return new ColumnMetadataDescription(columns);
+    }
+
+    private static ColumnValueDescription withCompressionDictionary(ColumnValueDescription value, byte[] dictionary) {
+        if (value.getCompression() != Compression.DEFLATE) {
+            return value;
+        }
+        return value.withCompressionDictionary(dictionary);
+    }
+
     public TableMetadataPersistence.ColumnMetadataDescription.Builder persistToProto() {
         Builder builder = TableMetadataPersistence.ColumnMetadataDescription.newBuilder();
         if (namedColumns != null) {
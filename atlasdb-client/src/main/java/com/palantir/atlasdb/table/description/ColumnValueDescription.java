@@ -18,6 +18,7 @@ package com.palantir.atlasdb.table.description;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -70,7 +71,13 @@ public final class ColumnValueDescription {
 
     public enum Compression {
         SNAPPY,
-        NONE;
+        NONE,
+        LZ4,
+        /**
+         * zlib compression, which supports a preset dictionary; see
+         * {@link TableDefinition#compressionDictionary(byte[])}.
+         */
+        DEFLATE;
 
         public TableMetadataPersistence.Compression persistToProto() {
             return TableMetadataPersistence.Compression.valueOf(name());
@@ -79,8 +86,30 @@ public final class ColumnValueDescription {
         public static Compression hydrateFromProto(TableMetadataPersistence.Compression compression) {
             return valueOf(compression.name());
         }
+
+        /**
+         * Fails if the given compression field of the message holds a value this version does not know. Protobuf
+         * keeps such values as unknown fields and reports the field as unset, so they would otherwise be silently read
+         * as {@link #NONE}.
+         */
+        public static void checkNoUnknownCompression(GeneratedMessage message, int fieldNumber) {
+            if (message.getUnknownFields().hasField(fieldNumber)) {
+                throw new IllegalArgumentException(String.format(
+                        "Unknown compression type %s in field %s of %s; it was probably written by a newer version"
+                                + " of AtlasDB.",
+                        message.getUnknownFields().getField(fieldNumber).getVarintList(),
+                        fieldNumber,
+                        message.getDescriptorForType().getName()));
+            }
+        }
     }
 
+    /**
+     * Name of the constant that generated table classes declare to hold the compression dictionary of the table, if
+     * any.
+     */
+    public static final String COMPRESSION_DICTIONARY_FIELD = "COMPRESSION_DICTIONARY";
+
     final Format format;
     final Compression compression;
     final ValueType type;
@@ -88,14 +117,16 @@ public final class ColumnValueDescription {
     @Nullable final String canonicalClassName; // null if format is VALUE_TYPE
     // null if not a proto or descriptor is missing
     @Nullable final Descriptor protoDescriptor;
+    @Nullable final byte[] compressionDictionary; // null unless compression uses a preset dictionary
 
-    private ColumnValueDescription(ValueType type, Compression compression) {
+    private ColumnValueDescription(ValueType type, Compression compression, @Nullable byte[] compressionDictionary) {
         this.format = Format.VALUE_TYPE;
         this.compression = Preconditions.checkNotNull(compression);
         this.type = Preconditions.checkNotNull(type);
         this.canonicalClassName = null;
         this.className = null;
         this.protoDescriptor = null;
+        this.compressionDictionary = checkCompressionDictionary(compression, compressionDictionary);
     }
 
     public static ColumnValueDescription forType(ValueType type) {
@@ -104,7 +135,7 @@ public final class ColumnValueDescription {
 
     public static ColumnValueDescription forType(ValueType type,
                                                  Compression compression) {
-        return new ColumnValueDescription(type, compression);
+        return new ColumnValueDescription(type, compression, null);
     }
 
     public static ColumnValueDescription forPersistable(Class<? extends Persistable> clazz) {
@@ -114,7 +145,7 @@ public final class ColumnValueDescription {
     public static ColumnValueDescription forPersistable(Class<? extends Persistable> clazz,
                                                         Compression compression) {
         Validate.notNull(Persistables.getHydrator(clazz), "Not a valid persistable class because it has no hydrator");
-        return new ColumnValueDescription(Format.PERSISTABLE, clazz.getName(), clazz.getCanonicalName(), compression, null);
+        return new ColumnValueDescription(Format.PERSISTABLE, clazz.getName(), clazz.getCanonicalName(), compression, null, null);
     }
 
     public static ColumnValueDescription forPersister(Class<? extends Persister<?>> clazz) {
@@ -122,7 +153,7 @@ public final class ColumnValueDescription {
     }
 
     public static ColumnValueDescription forPersister(Class<? extends Persister<?>> clazz, Compression compression) {
-        return new ColumnValueDescription(Format.PERSISTER, clazz.getName(), clazz.getCanonicalName(), compression, null);
+        return new ColumnValueDescription(Format.PERSISTER, clazz.getName(), clazz.getCanonicalName(), compression, null, null);
     }
 
     public static ColumnValueDescription forProtoMessage(Class<? extends GeneratedMessage> clazz) {
@@ -136,7 +167,8 @@ public final class ColumnValueDescription {
                 clazz.getName(),
                 clazz.getCanonicalName(),
                 compression,
-                getDescriptor(clazz));
+                getDescriptor(clazz),
+                null);
     }
 
     private static <T extends GeneratedMessage> Descriptor getDescriptor(Class<T> clazz) {
@@ -154,7 +186,8 @@ public final class ColumnValueDescription {
                                    String className,
                                    String canonicalClassName,
                                    Compression compression,
-                                   Descriptor protoDescriptor) {
+                                   Descriptor protoDescriptor,
+                                   @Nullable byte[] compressionDictionary) {
         this.compression = Preconditions.checkNotNull(compression);
         this.type = ValueType.BLOB;
         this.format = Preconditions.checkNotNull(format);
@@ -164,6 +197,30 @@ public final class ColumnValueDescription {
         this.canonicalClassName = Preconditions.checkNotNull(canonicalClassName);
         this.className = Preconditions.checkNotNull(className);
         this.protoDescriptor = protoDescriptor;
+        this.compressionDictionary = checkCompressionDictionary(compression, compressionDictionary);
+    }
+
+    private static byte[] checkCompressionDictionary(Compression compression, @Nullable byte[] dictionary) {
+        if (dictionary != null) {
+            Preconditions.checkArgument(compression == Compression.DEFLATE,
+                    "Compression dictionaries are only supported with DEFLATE compression, not %s", compression);
+            Preconditions.checkArgument(dictionary.length <= CompressionUtils.MAX_DICTIONARY_SIZE,
+                    "Compression dictionaries can be at most %s bytes", CompressionUtils.MAX_DICTIONARY_SIZE);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Returns a copy of this description whose values are compressed with the given preset dictionary. The
+     * compression type must be {@link Compression#DEFLATE}. The dictionary is shared by reference, not copied, as it
+     * belongs to the table (see {@link TableMetadata}) and is the same for all of its columns.
+     */
+    public ColumnValueDescription withCompressionDictionary(byte[] dictionary) {
+        if (format == Format.VALUE_TYPE) {
+            return new ColumnValueDescription(type, compression, dictionary);
+        }
+        return new ColumnValueDescription(
+                format, className, canonicalClassName, compression, protoDescriptor, dictionary);
     }
 
     public int getMaxValueSize() {
@@ -178,6 +235,15 @@ public final class ColumnValueDescription {
         return compression;
     }
 
+    /**
+     * Returns the preset compression dictionary of this column, if any. The array is shared with the table metadata
+     * and must not be modified.
+     */
+    @Nullable
+    public byte[] getCompressionDictionary() {
+        return compressionDictionary;
+    }
+
     public Format getFormat() {
         return format;
     }
@@ -245,7 +311,16 @@ public final class ColumnValueDescription {
             result = type.getPersistCode(varName);
         }
         return "com.palantir.atlasdb.compress.CompressionUtils.compress(" + result + ", " +
-                "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+                "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression +
+                getCompressionDictionaryArgument() + ")";
+    }
+
+    /**
+     * Generated code passing the compression dictionary to {@link CompressionUtils} refers to it through a constant
+     * named {@link #COMPRESSION_DICTIONARY_FIELD}, which must be in scope.
+     */
+    private String getCompressionDictionaryArgument() {
+        return compressionDictionary == null ? "" : ", " + COMPRESSION_DICTIONARY_FIELD;
     }
 
     public byte[] persistJsonToBytes(String str) throws ParseException {
@@ -277,7 +352,7 @@ public final class ColumnValueDescription {
         } else {
             bytes = type.convertFromString(str);
         }
-        return CompressionUtils.compress(bytes, compression);
+        return CompressionUtils.compress(bytes, compression, compressionDictionary);
     }
 
     private GeneratedMessage.Builder<?> createBuilder(ClassLoader classLoader) {
@@ -305,7 +380,7 @@ public final class ColumnValueDescription {
     }
 
     public String getHydrateCode(String varName) {
-        varName = "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName + ", com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+        varName = "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName + ", com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + getCompressionDictionaryArgument() + ")";
         if (format == Format.PERSISTABLE) {
             return canonicalClassName + "." + Persistable.HYDRATOR_NAME + ".hydrateFromBytes(" + varName + ")";
         } else if (format == Format.PERSISTER) {
@@ -329,19 +404,19 @@ public final class ColumnValueDescription {
     @SuppressWarnings("unchecked")
     public Persistable hydratePersistable(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PERSISTABLE, "Column value is not a Persistable.");
-        return ColumnValues.parsePersistable((Class<? extends Persistable>)getImportClass(classLoader), CompressionUtils.decompress(value, compression));
+        return ColumnValues.parsePersistable((Class<? extends Persistable>)getImportClass(classLoader), CompressionUtils.decompress(value, compression, compressionDictionary));
     }
 
     public Object hydratePersister(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PERSISTER, "Column value is not a Persister.");
         Persister<?> persister = getPersister();
-        return persister.hydrateFromBytes(CompressionUtils.decompress(value, compression));
+        return persister.hydrateFromBytes(CompressionUtils.decompress(value, compression, compressionDictionary));
     }
 
     @SuppressWarnings("unchecked")
     public Message hydrateProto(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PROTO, "Column value is not a protocol buffer.");
-        return ColumnValues.parseProtoBuf((Class<? extends GeneratedMessage>) getImportClass(classLoader), CompressionUtils.decompress(value, compression));
+        return ColumnValues.parseProtoBuf((Class<? extends GeneratedMessage>) getImportClass(classLoader), CompressionUtils.decompress(value, compression, compressionDictionary));
     }
 
     public TableMetadataPersistence.ColumnValueDescription.Builder persistToProto() {
@@ -374,11 +449,17 @@ public final class ColumnValueDescription {
         return builder.build();
     }
 
+    /**
+     * Hydrates a column value description. The compression dictionary, if any, is persisted once for the whole table,
+     * and is attached by {@link TableMetadata#hydrateFromProto}.
+     */
     public static ColumnValueDescription hydrateFromProto(TableMetadataPersistence.ColumnValueDescription message) {
         ValueType type = ValueType.hydrateFromProto(message.getType());
+        Compression.checkNoUnknownCompression(
+                message, TableMetadataPersistence.ColumnValueDescription.COMPRESSION_FIELD_NUMBER);
         Compression compression = Compression.hydrateFromProto(message.getCompression());
         if (!message.hasClassName()) {
-            return new ColumnValueDescription(type, compression);
+            return new ColumnValueDescription(type, compression, null);
         }
 
         Validate.isTrue(type == ValueType.BLOB);
@@ -399,7 +480,8 @@ public final class ColumnValueDescription {
                         message.getClassName(),
                         message.getCanonicalClassName(),
                         compression,
-                        protoDescriptor);
+                        protoDescriptor,
+                        null);
             } catch (Exception e) {
                 log.error("Failed to parse FileDescriptorProto.", e);
             }
@@ -428,7 +510,8 @@ public final class ColumnValueDescription {
                 message.getClassName(),
                 message.getCanonicalClassName(),
                 compression,
-                protoDescriptor);
+                protoDescriptor,
+                null);
     }
 
     private static FileDescriptor hydrateFileDescriptorTree(FileDescriptorTreeProto proto)
@@ -458,6 +541,7 @@ public final class ColumnValueDescription {
         result = prime * result + (type == null ? 0 : type.hashCode());
         result = prime * result + (className == null ? 0 : className.hashCode());
         result = prime * result + (canonicalClassName == null ? 0 : canonicalClassName.hashCode());
+        result = prime * result + Arrays.hashCode(compressionDictionary);
         return result;
     }
 
@@ -508,6 +592,9 @@ public final class ColumnValueDescription {
         } else if (!canonicalClassName.equals(other.canonicalClassName)) {
             return false;
         }
+        if (!Arrays.equals(compressionDictionary, other.compressionDictionary)) {
+            return false;
+        }
         return true;
     }
 }
@@ -25,6 +25,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.protobuf.GeneratedMessage;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ValueByteOrder;
@@ -341,6 +342,47 @@ public class TableDefinition extends AbstractDefinition {
         return javaTableName;
     }
 
+    /**
+     * Declares that every cell of this table is written at most once and is never subsequently overwritten or deleted.
+     * The declaration is persisted in the table metadata. Transactions refuse to overwrite or delete cells of
+     * write-once tables, and may serve their committed values from a cache shared across transactions.
+     */
+    public void writeOnce() {
+        writeOnce = true;
+    }
+
+    public boolean isWriteOnce() {
+        return writeOnce;
+    }
+
+    /**
+     * Sets a preset dictionary used to compress the values of every column of this table declared with
+     * {@link Compression#DEFLATE}. Small values that share structure compress far better against a dictionary trained
+     * on representative samples, see {@link com.palantir.atlasdb.compress.CompressionDictionaries#train}.
+     * <p>
+     * The dictionary is stored once in the table metadata and once in the generated table class, and shared by all of
+     * its columns; changing it makes existing values unreadable, so it must not be changed once the table holds data.
+     */
+    public void compressionDictionary(byte[] dictionary) {
+        Preconditions.checkArgument(dictionary.length <= CompressionUtils.MAX_DICTIONARY_SIZE,
+                "Compression dictionaries can be at most %s bytes", CompressionUtils.MAX_DICTIONARY_SIZE);
+        compressionDictionary = dictionary.clone();
+    }
+
+    /**
+     * Compresses every value of this table that is above a size threshold in the key value service layer, which
+     * unlike per-column compression also covers writes that bypass the generated table classes. Values written
+     * before this was enabled remain readable; see
+     * {@link com.palantir.atlasdb.keyvalue.impl.CompressingKeyValueService}.
+     */
+    public void kvsCompression(Compression compression) {
+        kvsCompression = Preconditions.checkNotNull(compression);
+    }
+
+    public Compression getKvsCompression() {
+        return kvsCompression;
+    }
+
     public boolean hasV2TableEnabled() {
         return this.v2TableEnabled;
     }
@@ -390,6 +432,9 @@ public class TableDefinition extends AbstractDefinition {
     private LogSafety tableNameSafety = LogSafety.UNSAFE;
     private LogSafety defaultNamedComponentLogSafety = LogSafety.UNSAFE;
     private boolean v2TableEnabled = false;
+    private boolean writeOnce = false;
+    private byte[] compressionDictionary = null;
+    private Compression kvsCompression = Compression.NONE;
 
     public TableMetadata toTableMetadata() {
         Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
@@ -413,10 +458,17 @@ public class TableDefinition extends AbstractDefinition {
                 negativeLookups,
                 sweepStrategy,
                 appendHeavyAndReadLight,
-                tableNameSafety);
+                tableNameSafety,
+                kvsCompression,
+                writeOnce);
     }
 
     private ColumnMetadataDescription getColumnMetadataDescription() {
+        ColumnMetadataDescription columns = getColumnMetadataDescriptionWithoutCompressionDictionary();
+        return compressionDictionary == null ? columns : columns.withCompressionDictionary(compressionDictionary);
+    }
+
+    private ColumnMetadataDescription getColumnMetadataDescriptionWithoutCompressionDictionary() {
         if (!fixedColumns.isEmpty()) {
             Preconditions.checkState(
                     dynamicColumnNameComponents.isEmpty(),
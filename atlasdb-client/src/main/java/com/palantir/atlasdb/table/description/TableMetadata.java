@@ -18,6 +18,7 @@ package com.palantir.atlasdb.table.description;
 import javax.annotation.concurrent.Immutable;
 
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
@@ -25,6 +26,7 @@ import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.PartitionStrategy;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.TableMetadata.Builder;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.persist.Persistable;
@@ -42,6 +44,8 @@ public class TableMetadata implements Persistable {
     final SweepStrategy sweepStrategy;
     final boolean appendHeavyAndReadLight;
     final LogSafety nameLogSafety;
+    final Compression kvsCompression;
+    final boolean writeOnce;
 
     public TableMetadata() {
         this(
@@ -101,6 +105,62 @@ public class TableMetadata implements Persistable {
                          SweepStrategy sweepStrategy,
                          boolean appendHeavyAndReadLight,
                          LogSafety nameLogSafety) {
+        this(
+                rowMetadata,
+                columns,
+                conflictHandler,
+                cachePriority,
+                partitionStrategy,
+                rangeScanAllowed,
+                explicitCompressionBlockSizeKB,
+                negativeLookups,
+                sweepStrategy,
+                appendHeavyAndReadLight,
+                nameLogSafety,
+                Compression.NONE);
+    }
+
+    public TableMetadata(NameMetadataDescription rowMetadata,
+                         ColumnMetadataDescription columns,
+                         ConflictHandler conflictHandler,
+                         CachePriority cachePriority,
+                         PartitionStrategy partitionStrategy,
+                         boolean rangeScanAllowed,
+                         int explicitCompressionBlockSizeKB,
+                         boolean negativeLookups,
+                         SweepStrategy sweepStrategy,
+                         boolean appendHeavyAndReadLight,
+                         LogSafety nameLogSafety,
+                         Compression kvsCompression) {
+        this(
+                rowMetadata,
+                columns,
+                conflictHandler,
+                cachePriority,
+                partitionStrategy,
+                rangeScanAllowed,
+                explicitCompressionBlockSizeKB,
+                negativeLookups,
+                sweepStrategy,
+                appendHeavyAndReadLight,
+                nameLogSafety,
+                kvsCompression,
+                false);
+    }
+
+    public TableMetadata(NameMetadataDescription rowMetadata,
+                         ColumnMetadataDescription columns,
+                         ConflictHandler conflictHandler,
+                         CachePriority cachePriority,
+                         PartitionStrategy partitionStrategy,
+                         boolean rangeScanAllowed,
+                         int explicitCompressionBlockSizeKB,
+                         boolean negativeLookups,
+                         SweepStrategy sweepStrategy,
+                         boolean appendHeavyAndReadLight,
+                         LogSafety nameLogSafety,
+                         Compression kvsCompression,
+                         boolean writeOnce) {
         if (rangeScanAllowed) {
             Preconditions.checkArgument(
                     partitionStrategy == PartitionStrategy.ORDERED,
@@ -117,6 +177,8 @@ public class TableMetadata implements Persistable {
         this.sweepStrategy = sweepStrategy;
         this.appendHeavyAndReadLight = appendHeavyAndReadLight;
         this.nameLogSafety = nameLogSafety;
+        this.kvsCompression = Preconditions.checkNotNull(kvsCompression);
+        this.writeOnce = writeOnce;
     }
 
     public NameMetadataDescription getRowMetadata() {
@@ -167,6 +229,23 @@ public class TableMetadata implements Persistable {
         return nameLogSafety;
     }
 
+    /**
+     * The compression applied to every value of this table by
+     * {@link com.palantir.atlasdb.keyvalue.impl.CompressingKeyValueService}, independently of any compression of
+     * individual columns.
+     */
+    public Compression getKvsCompression() {
+        return kvsCompression;
+    }
+
+    /**
+     * Whether every cell of this table is written at most once and never overwritten or deleted. Transactions refuse
+     * writes that would break this, and may serve committed values of such tables from a cache.
+     */
+    public boolean isWriteOnce() {
+        return writeOnce;
+    }
+
     @Override
     public byte[] persistToBytes() {
         return persistToProto().build().toByteArray();
@@ -197,6 +276,17 @@ public class TableMetadata implements Persistable {
         // expiration strategy doesn't need to be persisted.
         builder.setAppendHeavyAndReadLight(appendHeavyAndReadLight);
         builder.setNameLogSafety(nameLogSafety);
+        if (kvsCompression != Compression.NONE) {
+            builder.setKvsCompression(kvsCompression.persistToProto());
+        }
+        if (writeOnce) {
+            builder.setWriteOnce(true);
+        }
+        // The dictionary is shared by all columns, so it is persisted once for the table rather than per column.
+        byte[] compressionDictionary = columns.getCompressionDictionary();
+        if (compressionDictionary != null) {
+            builder.setCompressionDictionary(ByteString.copyFrom(compressionDictionary));
+        }
         return builder;
     }
 
@@ -233,10 +323,25 @@ public class TableMetadata implements Persistable {
         if (message.hasNameLogSafety()) {
             nameLogSafety = message.getNameLogSafety();
         }
+        Compression.checkNoUnknownCompression(
+                message, TableMetadataPersistence.TableMetadata.KVSCOMPRESSION_FIELD_NUMBER);
+        Compression kvsCompression = Compression.NONE;
+        if (message.hasKvsCompression()) {
+            kvsCompression = Compression.hydrateFromProto(message.getKvsCompression());
+        }
+        boolean writeOnce = false;
+        if (message.hasWriteOnce()) {
+            writeOnce = message.getWriteOnce();
+        }
+
+        ColumnMetadataDescription columns = ColumnMetadataDescription.hydrateFromProto(message.getColumns());
+        if (message.hasCompressionDictionary()) {
+            columns = columns.withCompressionDictionary(message.getCompressionDictionary().toByteArray());
+        }
 
         return new TableMetadata(
                 NameMetadataDescription.hydrateFromProto(message.getRowName()),
-                ColumnMetadataDescription.hydrateFromProto(message.getColumns()),
+                columns,
                 ConflictHandlers.hydrateFromProto(message.getConflictHandler()),
                 cachePriority,
                 partitionStrategy,
@@ -245,7 +350,9 @@ public class TableMetadata implements Persistable {
                 negativeLookups,
                 sweepStrategy,
                 appendHeavyAndReadLight,
-                nameLogSafety);
+                nameLogSafety,
+                kvsCompression,
+                writeOnce);
     }
 
     @Override
@@ -262,6 +369,8 @@ public class TableMetadata implements Persistable {
                 + ", sweepStrategy = " + sweepStrategy
                 + ", appendHeavyAndReadLight = " + appendHeavyAndReadLight
                 + ", nameLogSafety = " + nameLogSafety
+                + ", kvsCompression = " + kvsCompression
+                + ", writeOnce = " + writeOnce
                 + "]";
     }
 
@@ -281,6 +390,8 @@ public class TableMetadata implements Persistable {
         result = prime * result + sweepStrategy.hashCode();
         result = prime * result + (appendHeavyAndReadLight ? 0 : 1);
         result = prime * result + nameLogSafety.hashCode(); // Nonnull, because it has a default value
+        result = prime * result + kvsCompression.hashCode();
+        result = prime * result + (writeOnce ? 0 : 1);
         return result;
     }
 
@@ -337,6 +448,12 @@ public class TableMetadata implements Persistable {
         if (nameLogSafety != other.nameLogSafety) {
             return false;
         }
+        if (kvsCompression != other.kvsCompression) {
+            return false;
+        }
+        if (writeOnce != other.writeOnce) {
+            return false;
+        }
         return true;
     }
 
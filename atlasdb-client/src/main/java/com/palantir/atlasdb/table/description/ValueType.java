@@ -109,6 +109,16 @@ public enum ValueType {
             return "EncodingUtils.encodeUnsignedVarLong(" + variableName + ")";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "EncodingUtils.sizeOfUnsignedVarLong(" + variableName + ")";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeUnsignedVarLong(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type supports range scans. Neighboring number will be written next to each other.
@@ -190,6 +200,16 @@ public enum ValueType {
             return "EncodingUtils.encodeSignedVarLong(" + variableName + ")";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "EncodingUtils.sizeOfSignedVarLong(" + variableName + ")";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeSignedVarLong(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type supports range scans.  Sequential numbers will be written next to each other.
@@ -270,6 +290,16 @@ public enum ValueType {
             return "PtBytes.toBytes(Long.MIN_VALUE ^ " + variableName + ")";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "8";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ " + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type does NOT support range scans. This encoding is {@link PtBytes#toBytes(long)} but with
@@ -356,6 +386,16 @@ public enum ValueType {
             return false;
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "8";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeLittleEndian(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type supports range scans.  Sequential numbers will be written next to each other.
@@ -434,6 +474,16 @@ public enum ValueType {
             return "32";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "32";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeBytes(" + variableName + ".getBytes(), " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type DOES NOT support range scans.
@@ -491,7 +541,7 @@ public enum ValueType {
 
         @Override
         public String getHydrateSizeCode(String variableName) {
-            return "EncodingUtils.sizeOfVarString(" + variableName + ")";
+            return "EncodingUtils.sizeOfDecodedVarString(" + variableName + ")";
         }
 
         @Override
@@ -651,6 +701,16 @@ public enum ValueType {
             return "0";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return variableName + ".length";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeBytes(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     /**
      * This value type DOES NOT support range scans.
@@ -725,6 +785,16 @@ public enum ValueType {
             return "EncodingUtils.sizeOfSizedBytes(" + variableName + ")";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "EncodingUtils.sizeOfSizedBytes(" + variableName + ")";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeSizedBytes(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     NULLABLE_FIXED_LONG {
         @Override
@@ -802,6 +872,16 @@ public enum ValueType {
             return String.format("EncodingUtils.encodeNullableFixedLong(%s)", variableName);
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "9";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeNullableFixedLong(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     },
     UUID {
         @Override
@@ -868,6 +948,16 @@ public enum ValueType {
             return "16";
         }
 
+        @Override
+        public String getPersistSizeCode(String variableName) {
+            return "16";
+        }
+
+        @Override
+        public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+            return "EncodingUtils.encodeUUID(" + variableName + ", " + outputName + ", " + indexName + ")";
+        }
+
     }
     ;
 
@@ -908,6 +998,22 @@ public enum ValueType {
     public abstract String getFlippedHydrateCode(String inputName, String indexName);
     public abstract String getHydrateSizeCode(String variableName);
 
+    /**
+     * Returns code for the size of the encoding {@link #getPersistCode} produces, computed without encoding the
+     * variable, or null if the size is only known once the variable has been encoded.
+     */
+    public String getPersistSizeCode(String variableName) {
+        return null;
+    }
+
+    /**
+     * Returns code that writes the encoding {@link #getPersistCode} produces into an existing array at an index,
+     * and evaluates to the index just after it. Only types with a {@link #getPersistSizeCode} support this.
+     */
+    public String getPersistIntoCode(String variableName, String outputName, String indexName) {
+        throw new UnsupportedOperationException(name() + " can only be persisted into a new array");
+    }
+
 
     public int getMaxValueSize() {
         return Integer.MAX_VALUE;
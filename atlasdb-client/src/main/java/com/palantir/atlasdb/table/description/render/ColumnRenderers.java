@@ -19,6 +19,8 @@ import java.util.SortedSet;
 
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Ordering;
+import com.google.common.io.BaseEncoding;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
 import com.palantir.atlasdb.table.description.NamedColumnDescription;
 import com.palantir.atlasdb.table.description.TableMetadata;
 
@@ -62,6 +64,29 @@ public final class ColumnRenderers {
         return '"' + col.getShortName() + '"';
     }
 
+    /**
+     * The arguments after the value bytes in generated calls to CompressionUtils for the given column value.
+     */
+    static String compressionArguments(ColumnValueDescription value) {
+        String compression = "Compression." + value.getCompression().name();
+        if (value.getCompressionDictionary() == null) {
+            return compression;
+        }
+        return compression + ", " + ColumnValueDescription.COMPRESSION_DICTIONARY_FIELD;
+    }
+
+    /**
+     * Renders the compression dictionary of the table, if any, as a constant shared by its column classes.
+     */
+    static void renderCompressionDictionary(Renderer renderer, TableMetadata table) {
+        byte[] dictionary = table.getColumns().getCompressionDictionary();
+        if (dictionary != null) {
+            renderer.line("private static final byte[] ", ColumnValueDescription.COMPRESSION_DICTIONARY_FIELD,
+                    " = com.google.common.io.BaseEncoding.base64().decode(\"",
+                    BaseEncoding.base64().encode(dictionary), "\");");
+        }
+    }
+
     static SortedSet<NamedColumnDescription> namedColumns(TableMetadata table) {
         return ImmutableSortedSet.copyOf(
                 Ordering.natural().onResultOf(col -> col.getLongName()),
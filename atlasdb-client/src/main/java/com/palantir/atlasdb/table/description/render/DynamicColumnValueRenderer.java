@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.table.description.render;
 
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.compressionArguments;
 import static com.palantir.atlasdb.table.description.render.ComponentRenderers.TypeName;
 import static com.palantir.atlasdb.table.description.render.ComponentRenderers.varName;
 
@@ -148,13 +149,13 @@ public class DynamicColumnValueRenderer extends Renderer {
             default:
                 throw new UnsupportedOperationException("Unsupported value type: " + val.getFormat());
             }
-            line("return CompressionUtils.compress(bytes, Compression.", val.getCompression().name(), ");");
+            line("return CompressionUtils.compress(bytes, ", compressionArguments(val), ");");
         } line("}");
     }
 
     private void hydrateValue() {
         line("public static ", Value, " hydrateValue(byte[] bytes) {"); {
-            line("bytes = CompressionUtils.decompress(bytes, Compression.", val.getCompression().name(), ");");
+            line("bytes = CompressionUtils.decompress(bytes, ", compressionArguments(val), ");");
             switch (val.getFormat()) {
             case PERSISTABLE:
                 line("return ", Value, ".BYTES_HYDRATOR.hydrateFromBytes(bytes);");
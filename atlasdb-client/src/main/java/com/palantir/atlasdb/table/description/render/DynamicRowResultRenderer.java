@@ -47,6 +47,10 @@ class DynamicRowResultRenderer extends Renderer {
             line();
             getColumnValues();
             line();
+            getColumns();
+            line();
+            getColumnValue();
+            line();
             getRowNameFun();
             line();
             getColumnValuesFun();
@@ -56,49 +60,74 @@ class DynamicRowResultRenderer extends Renderer {
     }
 
     private void fields() {
-        line("private final ", Row, " rowName;");
-        line("private final ImmutableSet<", ColumnValue, "> columnValues;");
+        line("private final RowResult<byte[]> row;");
+        line("private ", Row, " rowName;");
+        line("private ImmutableSet<", ColumnValue, "> columnValues;");
     }
 
     private void staticFactories() {
         line("public static ", RowResult, " of(RowResult<byte[]> rowResult) {"); {
-            line(Row, " rowName = ", Row, ".BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());");
-            line("Set<", ColumnValue, "> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());");
-            line("for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {"); {
-                line(Column, " col = ", Column, ".BYTES_HYDRATOR.hydrateFromBytes(e.getKey());");
-                line(Value, " value = ", ColumnValue, ".hydrateValue(e.getValue());");
-                line("columnValues.add(", ColumnValue, ".of(col, value));");
-            } line("}");
-            line("return new ", RowResult, "(rowName, ImmutableSet.copyOf(columnValues));");
+            line("return new ", RowResult, "(rowResult);");
         } line("}");
     }
 
     private void constructors() {
-        line("private ", RowResult, "(", Row, " rowName, ImmutableSet<", ColumnValue, "> columnValues) {"); {
-            line("this.rowName = rowName;");
-            line("this.columnValues = columnValues;");
+        line("private ", RowResult, "(RowResult<byte[]> row) {"); {
+            line("this.row = row;");
         } line("}");
     }
 
     private void getRowName() {
         line("@Override");
         line("public ", Row, " getRowName() {"); {
+            line("if (rowName == null) {"); {
+                line("rowName = ", Row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());");
+            } line("}");
             line("return rowName;");
         } line("}");
     }
 
     private void getColumnValues() {
         line("public Set<", ColumnValue, "> getColumnValues() {"); {
+            line("if (columnValues == null) {"); {
+                line("Set<", ColumnValue, "> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());");
+                line("for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {"); {
+                    line(Column, " col = ", Column, ".BYTES_HYDRATOR.hydrateFromBytes(e.getKey());");
+                    line(Value, " value = ", ColumnValue, ".hydrateValue(e.getValue());");
+                    line("values.add(", ColumnValue, ".of(col, value));");
+                } line("}");
+                line("columnValues = ImmutableSet.copyOf(values);");
+            } line("}");
             line("return columnValues;");
         } line("}");
     }
 
+    private void getColumns() {
+        line("public Set<", Column, "> getColumns() {"); {
+            line("Set<", Column, "> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());");
+            line("for (byte[] col : row.getColumns().keySet()) {"); {
+                line("columns.add(", Column, ".BYTES_HYDRATOR.hydrateFromBytes(col));");
+            } line("}");
+            line("return columns;");
+        } line("}");
+    }
+
+    private void getColumnValue() {
+        line("public ", Value, " getColumnValue(", Column, " column) {"); {
+            line("byte[] bytes = row.getColumns().get(column.persistToBytes());");
+            line("if (bytes == null) {"); {
+                line("return null;");
+            } line("}");
+            line("return ", ColumnValue, ".hydrateValue(bytes);");
+        } line("}");
+    }
+
     private void getRowNameFun() {
         line("public static Function<", RowResult, ", ", Row, "> getRowNameFun() {"); {
             line("return new Function<", RowResult, ", ", Row, ">() {"); {
                 line("@Override");
                 line("public ", Row, " apply(", RowResult, " rowResult) {"); {
-                    line("return rowResult.rowName;");
+                    line("return rowResult.getRowName();");
                 } line("}");
             } line("};");
         } line("}");
@@ -109,7 +138,7 @@ class DynamicRowResultRenderer extends Renderer {
             line("return new Function<", RowResult, ", ImmutableSet<", ColumnValue, ">>() {"); {
                 line("@Override");
                 line("public ImmutableSet<", ColumnValue, "> apply(", RowResult, " rowResult) {"); {
-                    line("return rowResult.columnValues;");
+                    line("return ImmutableSet.copyOf(rowResult.getColumnValues());");
                 } line("}");
             } line("};");
         } line("}");
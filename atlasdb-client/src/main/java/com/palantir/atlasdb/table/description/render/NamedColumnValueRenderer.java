@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.table.description.render;
 
 import static com.palantir.atlasdb.table.description.render.ColumnRenderers.TypeName;
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.compressionArguments;
 import static com.palantir.atlasdb.table.description.render.ColumnRenderers.long_name;
 import static com.palantir.atlasdb.table.description.render.ColumnRenderers.short_name;
 
@@ -132,7 +133,7 @@ public class NamedColumnValueRenderer extends Renderer {
             default:
                 throw new UnsupportedOperationException("Unsupported value type: " + col.getValue().getFormat());
             }
-            line("return CompressionUtils.compress(bytes, Compression.", col.getValue().getCompression().name(), ");");
+            line("return CompressionUtils.compress(bytes, ", compressionArguments(col.getValue()), ");");
         } line("}");
     }
 
@@ -147,7 +148,7 @@ public class NamedColumnValueRenderer extends Renderer {
         line("public static final Hydrator<", Name, "> BYTES_HYDRATOR = new Hydrator<", Name, ">() {"); {
             line("@Override");
             line("public ", Name, " hydrateFromBytes(byte[] bytes) {"); {
-                line("bytes = CompressionUtils.decompress(bytes, Compression.", col.getValue().getCompression().name(), ");");
+                line("bytes = CompressionUtils.decompress(bytes, ", compressionArguments(col.getValue()), ");");
                 switch (col.getValue().getFormat()) {
                 case PERSISTABLE:
                     line("return of(", TypeName(col), ".BYTES_HYDRATOR.hydrateFromBytes(bytes));");
@@ -69,6 +69,7 @@ class NamedRowResultRenderer extends Renderer {
 
     private void fields() {
         line("private final RowResult<byte[]> row;");
+        line("private ", row, " rowName;");
     }
 
     private void staticFactory() {
@@ -86,7 +87,10 @@ class NamedRowResultRenderer extends Renderer {
     private void getRowName() {
         line("@Override");
         line("public ", row, " getRowName() {"); {
-            line("return ", row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());");
+            line("if (rowName == null) {"); {
+                line("rowName = ", row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());");
+            } line("}");
+            line("return rowName;");
         } line("}");
     }
 
@@ -175,19 +175,59 @@ class RowOrDynamicColumnRenderer extends Renderer {
     private void persistToBytes() {
         line("@Override");
         line("public byte[] persistToBytes() {"); {
-            List<String> vars = Lists.newArrayList();
-            for (NameComponentDescription comp : desc.getRowParts()) {
-                String var = varName(comp) + "Bytes";
-                vars.add(var);
-                line("byte[] ", var, " = ", comp.getType().getPersistCode(varName(comp)), ";");
-                if (comp.getOrder() == ValueByteOrder.DESCENDING) {
-                    line("EncodingUtils.flipAllBitsInPlace(", var, ");");
-                }
-            }
-            line("return EncodingUtils.add(", Joiner.on(", ").join(vars), ");");
+            renderPersist("__output", desc.getRowParts());
+            line("return __output;");
         } line("}");
     }
 
+    /**
+     * Renders code that encodes the components, in order, into a new array assigned to outputName. Where the size of
+     * every component can be computed up front, the components are written straight into a single array of exactly
+     * the right size rather than being encoded separately and concatenated.
+     */
+    private void renderPersist(String outputName, List<NameComponentDescription> components) {
+        if (components.size() == 1) {
+            NameComponentDescription comp = Iterables.getOnlyElement(components);
+            String persistCode = comp.getType().getPersistCode(varName(comp));
+            if (comp.getType() == ValueType.BLOB) {
+                // A blob is persisted as is, so copy it rather than hand out, or flip, the caller's own array.
+                persistCode = varName(comp) + ".clone()";
+            }
+            line("byte[] ", outputName, " = ", persistCode, ";");
+            if (comp.getOrder() == ValueByteOrder.DESCENDING) {
+                line("EncodingUtils.flipAllBitsInPlace(", outputName, ");");
+            }
+            return;
+        }
+        List<String> sizes = Lists.newArrayList();
+        for (NameComponentDescription comp : components) {
+            String var = varName(comp);
+            String sizeCode = comp.getType().getPersistSizeCode(var);
+            if (sizeCode == null) {
+                line("byte[] ", var, "Bytes = ", comp.getType().getPersistCode(var), ";");
+                sizeCode = var + "Bytes.length";
+            }
+            sizes.add(sizeCode);
+        }
+        line("byte[] ", outputName, " = new byte[", Joiner.on(" + ").join(sizes), "];");
+        line("int __index = 0;");
+        for (NameComponentDescription comp : components) {
+            String var = varName(comp);
+            boolean descending = comp.getOrder() == ValueByteOrder.DESCENDING;
+            if (descending) {
+                line("int __", var, "Index = __index;");
+            }
+            if (comp.getType().getPersistSizeCode(var) == null) {
+                line("__index = EncodingUtils.encodeBytes(", var, "Bytes, ", outputName, ", __index);");
+            } else {
+                line("__index = ", comp.getType().getPersistIntoCode(var, outputName, "__index"), ";");
+            }
+            if (descending) {
+                line("EncodingUtils.flipAllBitsInPlace(", outputName, ", __", var, "Index, __index - __", var, "Index);");
+            }
+        }
+    }
+
     private void bytesHydrator() {
         line("public static final Hydrator<", Name, "> BYTES_HYDRATOR = new Hydrator<", Name, ">() {"); {
             line("@Override");
@@ -212,57 +252,33 @@ class RowOrDynamicColumnRenderer extends Renderer {
     private void createPrefixRange(int i, boolean isSorted) {
         List<NameComponentDescription> components = getRowPartsWithoutHash().subList(0, i);
         line("public static RangeRequest.Builder createPrefixRange", isSorted ? "" : "Unsorted"); renderParameterList(components); lineEnd(" {"); {
-            List<String> vars = renderComponentBytes(components);
-            line("return RangeRequest.builder().prefixRange(EncodingUtils.add(", Joiner.on(", ").join(vars), "));");
+            renderPrefixBytes(i);
+            line("return RangeRequest.builder().prefixRange(__prefix);");
         } line("}");
     }
 
     private void createColumnPrefixRange(int i, boolean isSorted) {
         List<NameComponentDescription> components = getRowPartsWithoutHash().subList(0, i);
         line("public static BatchColumnRangeSelection createPrefixRange", isSorted ? "" : "Unsorted"); renderParameterList(components); replace(")", ", int batchSize)"); lineEnd(" {"); {
-            List<String> vars = renderComponentBytes(components);
-            line("return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(", Joiner.on(", ").join(vars), "), batchSize);");
+            renderPrefixBytes(i);
+            line("return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);");
         } line("}");
     }
 
-    private List<String> renderComponentBytes(List<NameComponentDescription> components) {
-        List<String> vars = Lists.newArrayList();
+    private void renderPrefixBytes(int i) {
+        int numberOfParts = i;
         if (desc.numberOfComponentsHashed() > 0) {
             renderComputeFirstNComponentHash(desc.numberOfComponentsHashed());
-            String var = NameMetadataDescription.HASH_ROW_COMPONENT_NAME + "Bytes";
-            vars.add(var);
-            line("byte[] ", var, " = ", ValueType.FIXED_LONG.getPersistCode(NameMetadataDescription.HASH_ROW_COMPONENT_NAME), ";");
-        }
-        for (NameComponentDescription comp : components) {
-            String var = varName(comp) + "Bytes";
-            vars.add(var);
-            line("byte[] ", var, " = ", comp.getType().getPersistCode(varName(comp)), ";");
-            if (comp.getOrder() == ValueByteOrder.DESCENDING) {
-                line("EncodingUtils.flipAllBitsInPlace(", var, ");");
-            }
+            numberOfParts++;
         }
-        return vars;
+        renderPersist("__prefix", desc.getRowParts().subList(0, numberOfParts));
     }
 
     private void prefix(int i, boolean isSorted) {
         List<NameComponentDescription> components = getRowPartsWithoutHash().subList(0, i);
         line("public static Prefix prefix", isSorted ? "" : "Unsorted"); renderParameterList(components); lineEnd(" {"); {
-            List<String> vars = Lists.newArrayList();
-            if (desc.numberOfComponentsHashed() > 0) {
-                renderComputeFirstNComponentHash(desc.numberOfComponentsHashed());
-                String var = NameMetadataDescription.HASH_ROW_COMPONENT_NAME + "Bytes";
-                vars.add(var);
-                line("byte[] ", var, " = ", ValueType.FIXED_LONG.getPersistCode(NameMetadataDescription.HASH_ROW_COMPONENT_NAME), ";");
-            }
-            for (NameComponentDescription comp : components) {
-                String var = varName(comp) + "Bytes";
-                vars.add(var);
-                line("byte[] ", var, " = ", comp.getType().getPersistCode(varName(comp)), ";");
-                if (comp.getOrder() == ValueByteOrder.DESCENDING) {
-                    line("EncodingUtils.flipAllBitsInPlace(", var, ");");
-                }
-            }
-            line("return new Prefix(EncodingUtils.add(", Joiner.on(", ").join(vars), "));");
+            renderPrefixBytes(i);
+            line("return new Prefix(__prefix);");
         } line("}");
     }
 
@@ -278,16 +294,8 @@ class RowOrDynamicColumnRenderer extends Renderer {
     private void renderComputeFirstNComponentsHashMethod(int numberOfComponentsHashed) {
         List<NameComponentDescription> components = getRowPartsWithoutHash().subList(0, numberOfComponentsHashed);
         line("public static long computeHashFirstComponents"); renderParameterList(components); lineEnd(" {"); {
-            List<String> vars = Lists.newArrayList();
-            for (NameComponentDescription comp : components) {
-                String var = varName(comp) + "Bytes";
-                vars.add(var);
-                line("byte[] ", var, " = ", comp.getType().getPersistCode(varName(comp)), ";");
-                if (comp.getOrder() == ValueByteOrder.DESCENDING) {
-                    line("EncodingUtils.flipAllBitsInPlace(", var, ");");
-                }
-            }
-            line("return Hashing.murmur3_128().hashBytes(EncodingUtils.add(", Joiner.on(", ").join(vars), ")).asLong();");
+            renderPersist("__hashed", components);
+            line("return Hashing.murmur3_128().hashBytes(__hashed).asLong();");
         } line("}");
     }
 
@@ -365,6 +365,7 @@ public class TableRenderer {
             }
             line("private final TableReference tableRef;");
             line("private final static ColumnSelection allColumns = ", isDynamic ? "ColumnSelection.all();" : "getColumnSelection(" + Column + ".values());");
+            ColumnRenderers.renderCompressionDictionary(this, table);
         }
 
         private void staticFactories() {
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.PartitionStrategy;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+
+public class WriteOnceTableCacheTest {
+    private static final TableReference WRITE_ONCE_TABLE = TableReference.createFromFullyQualifiedName("ns.write_once");
+    private static final TableReference OTHER_TABLE = TableReference.createFromFullyQualifiedName("ns.other");
+    private static final TableReference OTHER_WRITE_ONCE_TABLE = TableReference.createFromFullyQualifiedName(
+            "ns.other_write_once");
+    private static final Cell CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col"));
+    private static final Cell OTHER_CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("other"));
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+
+    private final WriteOnceTableCache cache = new WriteOnceTableCache(
+            ImmutableSet.of(WRITE_ONCE_TABLE, OTHER_WRITE_ONCE_TABLE), 1024 * 1024);
+
+    @Test
+    public void servesValuesToTransactionsStartingAfterTheyWereRead() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL, OTHER_CELL), 10L))
+                .containsOnlyKeys(CELL)
+                .containsValue(VALUE);
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 20L)).containsOnlyKeys(CELL);
+    }
+
+    @Test
+    public void doesNotServeValuesToTransactionsStartingBeforeTheyWereRead() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 9L)).isEmpty();
+    }
+
+    @Test
+    public void keepsEarliestReadTimestamp() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 5L);
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 20L);
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 5L)).containsOnlyKeys(CELL);
+    }
+
+    @Test
+    public void ignoresEmptyValues() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, PtBytes.EMPTY_BYTE_ARRAY), 10L);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void ignoresTablesNotDeclaredWriteOnce() {
+        cache.putCommittedValues(OTHER_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+
+        assertThat(cache.isCached(OTHER_TABLE)).isFalse();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getIfPresent(OTHER_TABLE, ImmutableSet.of(CELL), 20L)).isEmpty();
+    }
+
+    @Test
+    public void evictsEntriesBeyondMaximumSize() {
+        WriteOnceTableCache smallCache = new WriteOnceTableCache(ImmutableSet.of(WRITE_ONCE_TABLE), 1024);
+        for (int i = 0; i < 100; i++) {
+            Cell cell = Cell.create(PtBytes.toBytes("row" + i), PtBytes.toBytes("col"));
+            smallCache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(cell, VALUE), 10L);
+        }
+
+        assertThat(smallCache.size()).isLessThan(100);
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+        cache.clear();
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 10L)).isEmpty();
+    }
+
+    @Test
+    public void invalidateTableRemovesOnlyThatTablesEntries() {
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+        cache.putCommittedValues(OTHER_WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+        cache.invalidateTable(WRITE_ONCE_TABLE);
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 10L)).isEmpty();
+        assertThat(cache.getIfPresent(OTHER_WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 10L)).containsOnlyKeys(CELL);
+    }
+
+    @Test
+    public void rereadsWhetherTableIsWriteOnceAfterInvalidation() {
+        KeyValueService keyValueService = new InMemoryKeyValueService(false);
+        keyValueService.createTable(WRITE_ONCE_TABLE, writeOnceMetadata());
+        WriteOnceTableCache cacheReadingMetadata = WriteOnceTableCache.create(keyValueService, 1024 * 1024);
+        assertThat(cacheReadingMetadata.isWriteOnce(WRITE_ONCE_TABLE)).isTrue();
+
+        keyValueService.dropTable(WRITE_ONCE_TABLE);
+        keyValueService.createTable(WRITE_ONCE_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        cacheReadingMetadata.invalidateTable(WRITE_ONCE_TABLE);
+
+        assertThat(cacheReadingMetadata.isWriteOnce(WRITE_ONCE_TABLE)).isFalse();
+    }
+
+    @Test
+    public void invalidatingKeyValueServiceInvalidatesTruncatedTables() {
+        KeyValueService keyValueService = WriteOnceTableInvalidatingKeyValueService.create(
+                new InMemoryKeyValueService(false), cache);
+        keyValueService.createTable(WRITE_ONCE_TABLE, writeOnceMetadata());
+        cache.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+        keyValueService.truncateTable(WRITE_ONCE_TABLE);
+
+        assertThat(cache.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 10L)).isEmpty();
+    }
+
+    @Test
+    public void disabledCacheCachesNothing() {
+        WriteOnceTableCache disabled = WriteOnceTableCache.disabled();
+        disabled.putCommittedValues(WRITE_ONCE_TABLE, ImmutableMap.of(CELL, VALUE), 10L);
+
+        assertThat(disabled.isCached(WRITE_ONCE_TABLE)).isFalse();
+        assertThat(disabled.getIfPresent(WRITE_ONCE_TABLE, ImmutableSet.of(CELL), 20L)).isEmpty();
+    }
+
+    private static byte[] writeOnceMetadata() {
+        return new TableMetadata(
+                new NameMetadataDescription(),
+                new ColumnMetadataDescription(),
+                ConflictHandler.RETRY_ON_WRITE_WRITE,
+                CachePriority.WARM,
+                PartitionStrategy.ORDERED,
+                false,
+                0,
+                false,
+                SweepStrategy.CONSERVATIVE,
+                false,
+                LogSafety.UNSAFE,
+                Compression.NONE,
+                true).persistToBytes();
+    }
+}
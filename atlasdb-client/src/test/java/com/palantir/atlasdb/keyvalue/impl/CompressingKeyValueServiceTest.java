@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.PartitionStrategy;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+import com.palantir.common.base.ClosableIterator;
+
+public class CompressingKeyValueServiceTest {
+    private static final TableReference COMPRESSED_TABLE =
+            TableReference.createFromFullyQualifiedName("test.compressed");
+    private static final TableReference PLAIN_TABLE = TableReference.createFromFullyQualifiedName("test.plain");
+    private static final Cell CELL = Cell.create(bytes("row"), bytes("col"));
+    private static final long TIMESTAMP = 10L;
+    private static final int THRESHOLD = 100;
+
+    private static final byte[] LARGE_VALUE = bytes(Strings.repeat("compressible ", 100));
+    private static final byte[] OTHER_LARGE_VALUE = bytes(Strings.repeat("other compressible ", 100));
+    private static final byte[] SMALL_VALUE = bytes("small");
+
+    private final KeyValueService delegate = new InMemoryKeyValueService(false);
+    private final CompressingKeyValueService kvs = CompressingKeyValueService.create(delegate, THRESHOLD);
+
+    @Before
+    public void setUp() {
+        kvs.createTable(COMPRESSED_TABLE, metadata(Compression.LZ4));
+        kvs.createTable(PLAIN_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+    }
+
+    @Test
+    public void compressesLargeValuesOfCompressedTables() {
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+
+        assertThat(storedValue(COMPRESSED_TABLE).length).isLessThan(LARGE_VALUE.length);
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void doesNotCompressSmallValues() {
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, SMALL_VALUE), TIMESTAMP);
+
+        assertThat(storedValue(COMPRESSED_TABLE)).isEqualTo(SMALL_VALUE);
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(SMALL_VALUE);
+    }
+
+    @Test
+    public void doesNotCompressTablesWithoutKvsCompression() {
+        kvs.put(PLAIN_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+
+        assertThat(storedValue(PLAIN_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void doesNotEncodeEmptyValues() {
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, new byte[0]), TIMESTAMP);
+
+        assertThat(storedValue(COMPRESSED_TABLE)).isEmpty();
+    }
+
+    @Test
+    public void readsValuesWrittenBeforeCompressionWasEnabled() {
+        delegate.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void readsCompressedValuesAfterCompressionWasDisabled() {
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+        kvs.putMetadataForTable(COMPRESSED_TABLE, metadata(Compression.NONE));
+
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void picksUpMetadataChanges() {
+        kvs.put(PLAIN_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+        kvs.putMetadataForTable(PLAIN_TABLE, metadata(Compression.DEFLATE));
+        kvs.put(PLAIN_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP + 1);
+
+        assertThat(storedValue(PLAIN_TABLE).length).isLessThan(LARGE_VALUE.length);
+    }
+
+    @Test
+    public void escapesUncompressedValuesThatLookEncoded() {
+        byte[] encodedLookingValue = kvs.encode(LARGE_VALUE, Compression.LZ4);
+        kvs.put(PLAIN_TABLE, ImmutableMap.of(CELL, encodedLookingValue), TIMESTAMP);
+
+        assertThat(storedValue(PLAIN_TABLE)).isNotEqualTo(encodedLookingValue);
+        assertThat(readValue(PLAIN_TABLE)).isEqualTo(encodedLookingValue);
+    }
+
+    @Test
+    public void returnsLegacyValuesThatLookEncodedButFailTheChecksumUnchanged() {
+        byte[] legacyValue = kvs.encode(LARGE_VALUE, Compression.LZ4);
+        legacyValue[legacyValue.length - 1]++;
+        delegate.put(PLAIN_TABLE, ImmutableMap.of(CELL, legacyValue), TIMESTAMP);
+
+        assertThat(readValue(PLAIN_TABLE)).isEqualTo(legacyValue);
+    }
+
+    @Test
+    public void decodesRangeScans() {
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+
+        try (ClosableIterator<RowResult<Value>> range =
+                kvs.getRange(COMPRESSED_TABLE, RangeRequest.all(), TIMESTAMP + 1)) {
+            RowResult<Value> row = Iterators.getOnlyElement(range);
+            assertThat(row.getOnlyColumnValue().getContents()).isEqualTo(LARGE_VALUE);
+        }
+    }
+
+    @Test
+    public void doesNotCompressValuesThatDoNotShrink() {
+        byte[] incompressible = new byte[THRESHOLD];
+        new Random(0).nextBytes(incompressible);
+        kvs.put(COMPRESSED_TABLE, ImmutableMap.of(CELL, incompressible), TIMESTAMP);
+
+        assertThat(storedValue(COMPRESSED_TABLE)).isEqualTo(incompressible);
+    }
+
+    @Test
+    public void compressesTablesGivenExplicitly() {
+        CompressingKeyValueService overridingKvs = CompressingKeyValueService.create(
+                delegate, THRESHOLD, ImmutableMap.of(PLAIN_TABLE, Compression.SNAPPY));
+        overridingKvs.put(PLAIN_TABLE, ImmutableMap.of(CELL, LARGE_VALUE), TIMESTAMP);
+
+        assertThat(storedValue(PLAIN_TABLE).length).isLessThan(LARGE_VALUE.length);
+        assertThat(readValue(PLAIN_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void returnsReadsOfUncompressedValuesWithoutCopying() {
+        KeyValueService mockDelegate = mock(KeyValueService.class);
+        Map<Cell, Value> values = ImmutableMap.of(CELL, Value.create(LARGE_VALUE, TIMESTAMP));
+        when(mockDelegate.get(any(), any())).thenReturn(values);
+
+        assertThat(CompressingKeyValueService.create(mockDelegate, THRESHOLD)
+                .get(PLAIN_TABLE, ImmutableMap.of(CELL, Long.MAX_VALUE))).isSameAs(values);
+    }
+
+    @Test
+    public void compressesCheckAndSetValues() {
+        kvs.checkAndSet(CheckAndSetRequest.newCell(COMPRESSED_TABLE, CELL, LARGE_VALUE));
+
+        assertThat(storedValue(COMPRESSED_TABLE).length).isLessThan(LARGE_VALUE.length);
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    @Test
+    public void checkAndSetComparesDecodedValues() {
+        kvs.checkAndSet(CheckAndSetRequest.newCell(COMPRESSED_TABLE, CELL, LARGE_VALUE));
+        kvs.checkAndSet(CheckAndSetRequest.singleCell(COMPRESSED_TABLE, CELL, LARGE_VALUE, OTHER_LARGE_VALUE));
+
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(OTHER_LARGE_VALUE);
+    }
+
+    @Test
+    public void checkAndSetFailsWithDecodedActualValues() {
+        kvs.checkAndSet(CheckAndSetRequest.newCell(COMPRESSED_TABLE, CELL, LARGE_VALUE));
+
+        CheckAndSetException exception = (CheckAndSetException) catchThrowable(() -> kvs.checkAndSet(
+                CheckAndSetRequest.singleCell(COMPRESSED_TABLE, CELL, OTHER_LARGE_VALUE, SMALL_VALUE)));
+
+        assertThat(exception.getExpectedValue()).isEqualTo(OTHER_LARGE_VALUE);
+        assertThat(exception.getActualValues()).containsExactly(LARGE_VALUE);
+        assertThat(readValue(COMPRESSED_TABLE)).isEqualTo(LARGE_VALUE);
+    }
+
+    private byte[] storedValue(TableReference tableRef) {
+        return delegate.get(tableRef, ImmutableMap.of(CELL, Long.MAX_VALUE)).get(CELL).getContents();
+    }
+
+    private byte[] readValue(TableReference tableRef) {
+        return kvs.get(tableRef, ImmutableMap.of(CELL, Long.MAX_VALUE)).get(CELL).getContents();
+    }
+
+    private static byte[] metadata(Compression kvsCompression) {
+        return new TableMetadata(
+                new NameMetadataDescription(),
+                new ColumnMetadataDescription(),
+                ConflictHandler.RETRY_ON_WRITE_WRITE,
+                CachePriority.WARM,
+                PartitionStrategy.ORDERED,
+                false,
+                0,
+                false,
+                SweepStrategy.CONSERVATIVE,
+                false,
+                LogSafety.UNSAFE,
+                kvsCompression).persistToBytes();
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+
+import com.palantir.common.concurrent.PTExecutors;
+
+public class QueryPrioritiesTest {
+
+    @Test
+    public void queriesAreInteractiveByDefault() {
+        assertThat(QueryPriorities.current()).isEqualTo(QueryPriority.INTERACTIVE);
+    }
+
+    @Test
+    public void runsTaskWithTheGivenPriority() {
+        QueryPriority priority = QueryPriorities.runWithPriority(QueryPriority.BACKGROUND, QueryPriorities::current);
+
+        assertThat(priority).isEqualTo(QueryPriority.BACKGROUND);
+        assertThat(QueryPriorities.current()).isEqualTo(QueryPriority.INTERACTIVE);
+    }
+
+    @Test
+    public void restoresPreviousPriorityIfTaskThrows() {
+        assertThatThrownBy(() -> QueryPriorities.runWithPriority(QueryPriority.BATCH, () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(QueryPriorities.current()).isEqualTo(QueryPriority.INTERACTIVE);
+    }
+
+    @Test
+    public void priorityIsInheritedByExecutorTasks() throws Exception {
+        ExecutorService executor = PTExecutors.newSingleThreadExecutor();
+        try {
+            QueryPriority priority = QueryPriorities.runWithPriority(QueryPriority.BATCH,
+                    () -> executor.submit(QueryPriorities::current).get());
+
+            assertThat(priority).isEqualTo(QueryPriority.BATCH);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -15,9 +15,14 @@
  */
 package com.palantir.atlasdb.schema.stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
 
 import org.junit.Test;
 
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 
 public class StreamStoreDefinitionBuilderTest {
@@ -35,4 +40,23 @@ public class StreamStoreDefinitionBuilderTest {
                 .inMemoryThreshold(StreamStoreDefinition.MAX_IN_MEMORY_THRESHOLD)
                 .build();
     }
+
+    @Test
+    public void compressesOnlyBlocksInKvs() {
+        Map<String, TableDefinition> tables = new StreamStoreDefinitionBuilder("test", "test", ValueType.VAR_LONG)
+                .compressBlocksInKvs(Compression.LZ4)
+                .build()
+                .getTables();
+
+        tables.forEach((tableName, definition) -> assertThat(definition.getKvsCompression())
+                .isEqualTo(tableName.equals(StreamTableType.VALUE.getTableName("test"))
+                        ? Compression.LZ4
+                        : Compression.NONE));
+    }
+
+    @Test
+    public void doesNotCompressBlocksInKvsByDefault() {
+        new StreamStoreDefinitionBuilder("test", "test", ValueType.VAR_LONG).build().getTables().values()
+                .forEach(definition -> assertThat(definition.getKvsCompression()).isEqualTo(Compression.NONE));
+    }
 }
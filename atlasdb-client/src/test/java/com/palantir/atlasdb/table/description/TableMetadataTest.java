@@ -17,11 +17,18 @@
 package com.palantir.atlasdb.table.description;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.UnknownFieldSet;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
 
 public class TableMetadataTest {
@@ -75,6 +82,70 @@ public class TableMetadataTest {
         assertThat(NAME_NOT_LOGGABLE_TABLE_METADATA.getNameLogSafety()).isEqualTo(LogSafety.UNSAFE);
     }
 
+    @Test
+    public void isNotWriteOnceByDefault() {
+        assertThat(DEFAULT_TABLE_METADATA.isWriteOnce()).isFalse();
+        assertThat(DEFAULT_TABLE_METADATA.persistToProto().hasWriteOnce()).isFalse();
+    }
+
+    @Test
+    public void canSerializeAndDeserializeKeepingWriteOnce() {
+        TableMetadata writeOnceMetadata = new TableMetadata(
+                NAME_METADATA_DESCRIPTION,
+                COLUMN_METADATA_DESCRIPTION,
+                CONFLICT_HANDLER,
+                TableMetadataPersistence.CachePriority.WARM,
+                TableMetadataPersistence.PartitionStrategy.ORDERED,
+                false,
+                0,
+                false,
+                TableMetadataPersistence.SweepStrategy.CONSERVATIVE,
+                false,
+                LogSafety.UNSAFE,
+                Compression.NONE,
+                true);
+
+        assertThat(TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(writeOnceMetadata.persistToBytes()))
+                .isEqualTo(writeOnceMetadata)
+                .matches(TableMetadata::isWriteOnce);
+    }
+
+    @Test
+    public void persistsCompressionDictionaryOncePerTable() {
+        byte[] dictionary = "dictionary".getBytes(StandardCharsets.UTF_8);
+        ColumnMetadataDescription columns = new ColumnMetadataDescription(ImmutableList.of(
+                new NamedColumnDescription("a", "first", ColumnValueDescription.forType(
+                        ValueType.BLOB, Compression.DEFLATE)),
+                new NamedColumnDescription("b", "second", ColumnValueDescription.forType(
+                        ValueType.BLOB, Compression.DEFLATE))))
+                .withCompressionDictionary(dictionary);
+        TableMetadata tableMetadata = new TableMetadata(NAME_METADATA_DESCRIPTION, columns, CONFLICT_HANDLER);
+
+        TableMetadataPersistence.TableMetadata message = tableMetadata.persistToProto().build();
+        assertThat(message.getCompressionDictionary().toByteArray()).isEqualTo(dictionary);
+
+        TableMetadata hydrated = TableMetadata.hydrateFromProto(message);
+        assertThat(hydrated).isEqualTo(tableMetadata);
+        List<ColumnValueDescription> values = hydrated.getColumns().getAllColumnValues();
+        assertThat(values.get(0).getCompressionDictionary())
+                .isEqualTo(dictionary)
+                .isSameAs(values.get(1).getCompressionDictionary());
+    }
+
+    @Test
+    public void failsToHydrateUnknownCompression() {
+        TableMetadataPersistence.TableMetadata message = DEFAULT_TABLE_METADATA.persistToProto()
+                .setUnknownFields(UnknownFieldSet.newBuilder()
+                        .addField(TableMetadataPersistence.TableMetadata.KVSCOMPRESSION_FIELD_NUMBER,
+                                UnknownFieldSet.Field.newBuilder().addVarint(99).build())
+                        .build())
+                .build();
+
+        assertThatThrownBy(() -> TableMetadata.hydrateFromProto(message))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown compression type [99]");
+    }
+
     @Test
     public void canSerializeAndDeserializeDefaultMetadata() {
         assertCanSerializeAndDeserializeWithSafety(DEFAULT_TABLE_METADATA, LogSafety.UNSAFE);
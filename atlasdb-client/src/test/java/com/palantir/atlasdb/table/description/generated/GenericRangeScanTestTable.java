@@ -173,8 +173,8 @@ public final class GenericRangeScanTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component1Bytes = component1.getBytes();
-            return EncodingUtils.add(component1Bytes);
+            byte[] __output = component1.getBytes();
+            return __output;
         }
 
         public static final Hydrator<GenericRangeScanTestRow> BYTES_HYDRATOR = new Hydrator<GenericRangeScanTestRow>() {
@@ -265,8 +265,8 @@ public final class GenericRangeScanTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component2Bytes = PtBytes.toBytes(component2);
-            return EncodingUtils.add(component2Bytes);
+            byte[] __output = PtBytes.toBytes(component2);
+            return __output;
         }
 
         public static final Hydrator<GenericRangeScanTestColumn> BYTES_HYDRATOR = new Hydrator<GenericRangeScanTestColumn>() {
@@ -395,39 +395,60 @@ public final class GenericRangeScanTestTable implements
     }
 
     public static final class GenericRangeScanTestRowResult implements TypedRowResult {
-        private final GenericRangeScanTestRow rowName;
-        private final ImmutableSet<GenericRangeScanTestColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private GenericRangeScanTestRow rowName;
+        private ImmutableSet<GenericRangeScanTestColumnValue> columnValues;
 
         public static GenericRangeScanTestRowResult of(RowResult<byte[]> rowResult) {
-            GenericRangeScanTestRow rowName = GenericRangeScanTestRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<GenericRangeScanTestColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                GenericRangeScanTestColumn col = GenericRangeScanTestColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                String value = GenericRangeScanTestColumnValue.hydrateValue(e.getValue());
-                columnValues.add(GenericRangeScanTestColumnValue.of(col, value));
-            }
-            return new GenericRangeScanTestRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new GenericRangeScanTestRowResult(rowResult);
         }
 
-        private GenericRangeScanTestRowResult(GenericRangeScanTestRow rowName, ImmutableSet<GenericRangeScanTestColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private GenericRangeScanTestRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public GenericRangeScanTestRow getRowName() {
+            if (rowName == null) {
+                rowName = GenericRangeScanTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<GenericRangeScanTestColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<GenericRangeScanTestColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    GenericRangeScanTestColumn col = GenericRangeScanTestColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    String value = GenericRangeScanTestColumnValue.hydrateValue(e.getValue());
+                    values.add(GenericRangeScanTestColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<GenericRangeScanTestColumn> getColumns() {
+            Set<GenericRangeScanTestColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(GenericRangeScanTestColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public String getColumnValue(GenericRangeScanTestColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return GenericRangeScanTestColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<GenericRangeScanTestRowResult, GenericRangeScanTestRow> getRowNameFun() {
             return new Function<GenericRangeScanTestRowResult, GenericRangeScanTestRow>() {
                 @Override
                 public GenericRangeScanTestRow apply(GenericRangeScanTestRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class GenericRangeScanTestTable implements
             return new Function<GenericRangeScanTestRowResult, ImmutableSet<GenericRangeScanTestColumnValue>>() {
                 @Override
                 public ImmutableSet<GenericRangeScanTestColumnValue> apply(GenericRangeScanTestRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -795,5 +816,5 @@ public final class GenericRangeScanTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "4fCBdR4I71aAK8klRZ7Hqw==";
+    static String __CLASS_HASH = "tLiKH28xy51WTB6UtA2ykQ==";
 }
@@ -175,8 +175,8 @@ public final class RangeScanTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component1Bytes = PtBytes.toBytes(component1);
-            return EncodingUtils.add(component1Bytes);
+            byte[] __output = PtBytes.toBytes(component1);
+            return __output;
         }
 
         public static final Hydrator<RangeScanTestRow> BYTES_HYDRATOR = new Hydrator<RangeScanTestRow>() {
@@ -293,6 +293,7 @@ public final class RangeScanTestTable implements
 
     public static final class RangeScanTestRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private RangeScanTestRow rowName;
 
         public static RangeScanTestRowResult of(RowResult<byte[]> row) {
             return new RangeScanTestRowResult(row);
@@ -304,7 +305,10 @@ public final class RangeScanTestTable implements
 
         @Override
         public RangeScanTestRow getRowName() {
-            return RangeScanTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = RangeScanTestRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<RangeScanTestRowResult, RangeScanTestRow> getRowNameFun() {
@@ -732,5 +736,5 @@ public final class RangeScanTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "uM9vE+quytC6Gzz3VgTqZQ==";
+    static String __CLASS_HASH = "4CryOdyd2hQnAl2lF3JBGw==";
 }
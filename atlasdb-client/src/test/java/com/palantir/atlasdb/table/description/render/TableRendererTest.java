@@ -27,6 +27,7 @@ import org.junit.Test;
 
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ValueByteOrder;
 import com.palantir.atlasdb.table.description.IndexMetadata;
 import com.palantir.atlasdb.table.description.OptionalType;
 import com.palantir.atlasdb.table.description.TableDefinition;
@@ -63,6 +64,22 @@ public class TableRendererTest {
                         containsString("Optional.empty")));
     }
 
+    @Test
+    public void testSingleBlobRowComponentIsCopiedBeforeBeingFlipped() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        TableDefinition tableDefinition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.BLOB, ValueByteOrder.DESCENDING);
+            columns();
+            column("col1", "1", ValueType.VAR_LONG);
+        }};
+        assertThat(renderer.render("table", tableDefinition, NO_INDICES),
+                allOf(
+                        containsString("byte[] __output = rowName.clone();"),
+                        not(containsString("byte[] __output = rowName;"))));
+    }
+
     private TableDefinition getSimpleTableDefinition(TableReference tableRef) {
         return new TableDefinition() {{
             javaTableName(tableRef.getTablename());
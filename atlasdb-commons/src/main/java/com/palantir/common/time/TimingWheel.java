@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.common.time;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A hierarchical timing wheel that tracks a deadline for each of a set of keys, and hands back the keys whose
+ * deadlines have passed. Scheduling, rescheduling and cancelling a key are all constant time, and advancing the wheel
+ * costs time proportional to the number of ticks elapsed and the number of keys that expire, independently of the
+ * number of keys tracked.
+ * <p>
+ * Deadlines are rounded up to a multiple of the tick duration, so a key is never returned before its deadline, but
+ * may be returned up to one tick (plus however long the caller waits between calls to {@link #advance}) after it.
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS_PER_LEVEL} slots each. Keys whose deadlines lie beyond the
+ * range of the top level are parked in it, and moved down once they come within range.
+ */
+@ThreadSafe
+public final class TimingWheel<K> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long SLOT_MASK = SLOTS_PER_LEVEL - 1;
+
+    private final long tickMillis;
+    private final List<Set<K>> slots = new ArrayList<>(LEVELS * SLOTS_PER_LEVEL);
+    private final Map<K, Placement<K>> placements = new HashMap<>();
+    private final Set<K> due = new LinkedHashSet<>();
+
+    private long currentTick;
+
+    /**
+     * Creates a wheel with the given tick duration, whose current time is {@code startMillis}.
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        Preconditions.checkArgument(tickMillis > 0, "Tick duration must be positive; found %s", tickMillis);
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS_PER_LEVEL; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules the key to be returned by the first call to {@link #advance} at or after the given deadline,
+     * replacing any deadline previously scheduled for it.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        removePlacement(key);
+        long deadlineTick = Math.floorDiv(deadlineMillis, tickMillis);
+        if (Math.floorMod(deadlineMillis, tickMillis) != 0) {
+            deadlineTick++;
+        }
+        if (deadlineTick <= currentTick) {
+            due.add(key);
+            placements.put(key, new Placement<>(deadlineTick, due));
+        } else {
+            place(key, deadlineTick);
+        }
+    }
+
+    /**
+     * Stops tracking the key. Returns whether it was being tracked.
+     */
+    public synchronized boolean cancel(K key) {
+        return removePlacement(key);
+    }
+
+    /**
+     * Moves the wheel forward to the given time, and returns the keys whose deadlines are no later than it. The
+     * returned keys are no longer tracked.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>(due);
+        due.clear();
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick && placements.size() > expired.size()) {
+            currentTick++;
+            cascade();
+            Set<K> slot = slot(0, currentTick);
+            expired.addAll(slot);
+            slot.clear();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+
+        for (K key : expired) {
+            placements.remove(key);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return placements.size();
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            Set<K> slot = slot(level, currentTick >>> (SLOT_BITS * level));
+            List<K> keys = new ArrayList<>(slot);
+            slot.clear();
+            for (K key : keys) {
+                place(key, placements.get(key).deadlineTick);
+            }
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                addToSlot(key, deadlineTick, slot(level, deadlineTick >>> (SLOT_BITS * level)));
+                return;
+            }
+        }
+        // Beyond the range of the wheel: park the key in the top level slot that is cascaded last.
+        int topLevel = LEVELS - 1;
+        addToSlot(key, deadlineTick, slot(topLevel, (currentTick >>> (SLOT_BITS * topLevel)) - 1));
+    }
+
+    private void addToSlot(K key, long deadlineTick, Set<K> slot) {
+        slot.add(key);
+        placements.put(key, new Placement<>(deadlineTick, slot));
+    }
+
+    private boolean removePlacement(K key) {
+        Placement<K> placement = placements.remove(key);
+        if (placement == null) {
+            return false;
+        }
+        placement.slot.remove(key);
+        return true;
+    }
+
+    private Set<K> slot(int level, long index) {
+        return slots.get(level * SLOTS_PER_LEVEL + (int) (index & SLOT_MASK));
+    }
+
+    private static final class Placement<K> {
+        private final long deadlineTick;
+        private final Set<K> slot;
+
+        private Placement(long deadlineTick, Set<K> slot) {
+            this.deadlineTick = deadlineTick;
+            this.slot = slot;
+        }
+    }
+}
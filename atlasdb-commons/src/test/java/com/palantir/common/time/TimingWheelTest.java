@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.common.time;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+public class TimingWheelTest {
+    private static final long TICK_MILLIS = 10;
+    private static final long START_MILLIS = 1_000_000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK_MILLIS, START_MILLIS);
+
+    @Test
+    public void doesNotReturnKeysBeforeTheirDeadline() {
+        wheel.schedule("a", START_MILLIS + 25);
+
+        assertThat(wheel.advance(START_MILLIS + 24)).isEmpty();
+        assertThat(wheel.advance(START_MILLIS + 30)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void returnsKeysWithPastDeadlinesOnNextAdvance() {
+        wheel.schedule("a", START_MILLIS - 100);
+
+        assertThat(wheel.advance(START_MILLIS)).containsExactly("a");
+    }
+
+    @Test
+    public void reschedulingReplacesTheDeadline() {
+        wheel.schedule("a", START_MILLIS + 10);
+        wheel.schedule("a", START_MILLIS + 1_000);
+
+        assertThat(wheel.advance(START_MILLIS + 500)).isEmpty();
+        assertThat(wheel.advance(START_MILLIS + 1_000)).containsExactly("a");
+    }
+
+    @Test
+    public void cancelledKeysAreNotReturned() {
+        wheel.schedule("a", START_MILLIS + 10);
+
+        assertThat(wheel.cancel("a")).isTrue();
+        assertThat(wheel.cancel("a")).isFalse();
+        assertThat(wheel.advance(START_MILLIS + 1_000)).isEmpty();
+    }
+
+    @Test
+    public void returnsKeysOnlyOnce() {
+        wheel.schedule("a", START_MILLIS + 10);
+
+        assertThat(wheel.advance(START_MILLIS + 10)).containsExactly("a");
+        assertThat(wheel.advance(START_MILLIS + 100_000)).isEmpty();
+    }
+
+    @Test
+    public void handlesDeadlinesAcrossAllLevelsAndBeyond() {
+        long farFuture = START_MILLIS + TICK_MILLIS * (1L << 26);
+        wheel.schedule("far", farFuture);
+
+        assertThat(wheel.advance(farFuture - 1)).isEmpty();
+        assertThat(wheel.advance(farFuture)).containsExactly("far");
+    }
+
+    @Test
+    public void returnsEachKeyAtTheFirstAdvanceWithinOneTickOfItsDeadline() {
+        Random random = new Random(0);
+        Map<String, Long> deadlines = Maps.newHashMap();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = START_MILLIS + (long) random.nextInt(5_000_000);
+            deadlines.put("key" + i, deadline);
+            wheel.schedule("key" + i, deadline);
+        }
+
+        TreeMap<Long, List<String>> returned = new TreeMap<>();
+        for (long now = START_MILLIS; wheel.size() > 0; now += 1 + random.nextInt(5_000)) {
+            returned.put(now, Lists.newArrayList(wheel.advance(now)));
+        }
+
+        returned.forEach((now, keys) -> keys.forEach(key -> {
+            long deadline = deadlines.get(key);
+            assertThat(deadline).isLessThanOrEqualTo(now);
+            Long previousAdvance = returned.lowerKey(now);
+            if (previousAdvance != null) {
+                assertThat(deadline).isGreaterThan(previousAdvance - TICK_MILLIS);
+            }
+        }));
+        assertThat(returned.values().stream().mapToInt(List::size).sum()).isEqualTo(deadlines.size());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.config;
 
+import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
@@ -29,6 +30,7 @@ import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
 import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.exception.NotInitializedException;
 
 @JsonDeserialize(as = ImmutableAtlasDbConfig.class)
@@ -166,6 +168,42 @@ public abstract class AtlasDbConfig {
         return AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC;
     }
 
+    /**
+     * The approximate maximum size, in bytes, of the cache of committed values of tables whose metadata declares them
+     * write-once. The cache is shared by all transactions; zero disables it.
+     */
+    @Value.Default
+    public long getWriteOnceTableCacheSizeBytes() {
+        return AtlasDbConstants.DEFAULT_WRITE_ONCE_TABLE_CACHE_SIZE_BYTES;
+    }
+
+    /**
+     * If true, values of tables with key value service compression enabled in their metadata, or listed in
+     * {@link #getKvsCompressedTables()}, are compressed before they are written to the key value service. All clients
+     * of such tables must enable this before any of them writes compressed values, and it must not be disabled again
+     * while compressed values remain, as values are only decompressed when it is enabled.
+     */
+    @Value.Default
+    public boolean enableKvsCompression() {
+        return AtlasDbConstants.DEFAULT_ENABLE_KVS_COMPRESSION;
+    }
+
+    /**
+     * The size, in bytes, from which values of tables with key value service compression enabled in their metadata
+     * are compressed. Smaller values are stored uncompressed.
+     */
+    @Value.Default
+    public int getKvsCompressionThresholdBytes() {
+        return AtlasDbConstants.DEFAULT_KVS_COMPRESSION_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Fully qualified names of tables to compress in the key value service layer, with the compression to use,
+     * regardless of their metadata. This is meant for tables that are not created from a schema. Requires
+     * {@link #enableKvsCompression()}.
+     */
+    public abstract Map<String, Compression> getKvsCompressedTables();
+
     /**
      * If true, a background thread will periodically delete cells that
      * have been overwritten or deleted. This differs from scrubbing
@@ -267,6 +305,8 @@ public abstract class AtlasDbConfig {
         checkLeaderAndTimelockBlocks();
         checkLockAndTimestampBlocks();
         checkNamespaceConfigAndGetNamespace();
+        Preconditions.checkState(enableKvsCompression() || getKvsCompressedTables().isEmpty(),
+                "Tables can only be compressed in the key value service layer if enableKvsCompression is true.");
     }
 
     private void checkLeaderAndTimelockBlocks() {
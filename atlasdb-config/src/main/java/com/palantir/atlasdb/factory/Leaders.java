@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.net.ssl.SSLSocketFactory;
 
@@ -52,6 +53,7 @@ import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosLearnerImpl;
 import com.palantir.paxos.PaxosProposer;
 import com.palantir.paxos.PaxosProposerImpl;
+import com.palantir.paxos.PaxosStateLogFormat;
 
 public final class Leaders {
     private Leaders() {
@@ -102,18 +104,23 @@ public final class Leaders {
         PaxosLeadershipEventRecorder leadershipEventRecorder = PaxosLeadershipEventRecorder.create(
                 AtlasDbMetrics.getMetricRegistry(), leaderUuid.toString());
 
+        PaxosStateLogFormat logFormat = PaxosStateLogFormat.of(
+                config.useSegmentedPaxosLogs(), config.deleteMigratedLegacyPaxosLogs());
         PaxosAcceptor ourAcceptor = AtlasDbMetrics.instrument(
                 PaxosAcceptor.class,
-                PaxosAcceptorImpl.newAcceptor(config.acceptorLogDir().getPath()));
+                PaxosAcceptorImpl.newAcceptor(config.acceptorLogDir().getPath(), logFormat));
         PaxosLearner ourLearner = AtlasDbMetrics.instrument(
                 PaxosLearner.class,
-                PaxosLearnerImpl.newLearner(config.learnerLogDir().getPath(), leadershipEventRecorder));
+                PaxosLearnerImpl.newLearner(config.learnerLogDir().getPath(), leadershipEventRecorder, logFormat));
 
         Optional<SSLSocketFactory> sslSocketFactory =
                 ServiceCreator.createSslSocketFactory(config.sslConfiguration());
 
-        List<PaxosLearner> learners = createProxyAndLocalList(
-                ourLearner, remotePaxosServerSpec.remoteLearnerUris(), sslSocketFactory, PaxosLearner.class, userAgent);
+        List<PaxosLearner> learners = ImmutableList.<PaxosLearner>builder()
+                .addAll(createUpgradeTolerantLearners(
+                        remotePaxosServerSpec.remoteLearnerUris(), sslSocketFactory, userAgent))
+                .add(ourLearner)
+                .build();
         List<PaxosAcceptor> acceptors = createProxyAndLocalList(
                 ourAcceptor,
                 remotePaxosServerSpec.remoteAcceptorUris(),
@@ -154,6 +161,7 @@ public final class Leaders {
                 .randomWaitBeforeProposingLeadershipMs(config.randomWaitBeforeProposingLeadershipMs())
                 .leaderPingResponseWaitMs(config.leaderPingResponseWaitMs())
                 .eventRecorder(leadershipEventRecorder)
+                .leaderLeaseDurationMs(config.leaderLeaseDurationMs())
                 .build();
 
         LeaderElectionService leaderElectionService = AtlasDbMetrics.instrument(
@@ -190,6 +198,16 @@ public final class Leaders {
                 ImmutableList.of(localObject)));
     }
 
+    private static List<PaxosLearner> createUpgradeTolerantLearners(
+            Set<String> remoteUris,
+            Optional<SSLSocketFactory> sslSocketFactory,
+            String userAgent) {
+        return AtlasDbHttpClients.createProxies(sslSocketFactory, remoteUris, true, PaxosLearner.class, userAgent)
+                .stream()
+                .<PaxosLearner>map(UpgradeTolerantPaxosLearner::new)
+                .collect(Collectors.toList());
+    }
+
     public static Map<PingableLeader, HostAndPort> generatePingables(
             Collection<String> remoteEndpoints,
             Optional<SSLSocketFactory> sslSocketFactory,
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.factory;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -36,9 +37,12 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.async.initializer.AsyncInitializer;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.cache.WriteOnceTableCache;
+import com.palantir.atlasdb.cache.WriteOnceTableInvalidatingKeyValueService;
 import com.palantir.atlasdb.cleaner.Cleaner;
 import com.palantir.atlasdb.cleaner.CleanupFollower;
 import com.palantir.atlasdb.cleaner.DefaultCleanerBuilder;
@@ -59,6 +63,8 @@ import com.palantir.atlasdb.factory.timestamp.DecoratedTimelockServices;
 import com.palantir.atlasdb.http.AtlasDbFeignTargetFactory;
 import com.palantir.atlasdb.http.UserAgents;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.CompressingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.ProfilingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.SweepStatsKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.TracingKeyValueService;
@@ -70,8 +76,11 @@ import com.palantir.atlasdb.persistentlock.KvsBackedPersistentLockService;
 import com.palantir.atlasdb.persistentlock.NoOpPersistentLockService;
 import com.palantir.atlasdb.persistentlock.PersistentLockService;
 import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.qos.QosService;
 import com.palantir.atlasdb.qos.client.AtlasDbQosClient;
+import com.palantir.atlasdb.qos.client.QosUsageReporter;
 import com.palantir.atlasdb.qos.config.QosClientConfig;
+import com.palantir.atlasdb.qos.config.QosLimitsConfig;
 import com.palantir.atlasdb.qos.ratelimit.QosRateLimiters;
 import com.palantir.atlasdb.schema.generated.SweepTableFactory;
 import com.palantir.atlasdb.spi.AtlasDbFactory;
@@ -88,6 +97,7 @@ import com.palantir.atlasdb.sweep.SweepBatchConfig;
 import com.palantir.atlasdb.sweep.SweepTaskRunner;
 import com.palantir.atlasdb.sweep.SweeperServiceImpl;
 import com.palantir.atlasdb.sweep.metrics.SweepMetricsManager;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.Schema;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.impl.ConflictDetectionManager;
@@ -113,6 +123,9 @@ import com.palantir.lock.client.TimeLockClient;
 import com.palantir.lock.impl.LegacyTimelockService;
 import com.palantir.lock.impl.LockServiceImpl;
 import com.palantir.lock.v2.TimelockService;
+import com.palantir.remoting.api.config.service.ServiceConfiguration;
+import com.palantir.remoting3.clients.ClientConfigurations;
+import com.palantir.remoting3.jaxrs.JaxRsClient;
 import com.palantir.timestamp.TimestampService;
 import com.palantir.timestamp.TimestampStoreInvalidator;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
@@ -204,7 +217,8 @@ public abstract class TransactionManagers {
         java.util.function.Supplier<AtlasDbRuntimeConfig> runtimeConfigSupplier =
                 () -> runtimeConfigSupplier().get().orElse(defaultRuntime);
 
-        QosClient qosClient = getQosClient(JavaSuppliers.compose(conf -> conf.qos(), runtimeConfigSupplier));
+        QosClient qosClient = getQosClient(
+                JavaSuppliers.compose(conf -> conf.qos(), runtimeConfigSupplier), config.namespace());
 
         ServiceDiscoveringAtlasSupplier atlasFactory =
                 new ServiceDiscoveringAtlasSupplier(
@@ -227,12 +241,15 @@ public abstract class TransactionManagers {
                 userAgent());
 
         KvsProfilingLogger.setSlowLogThresholdMillis(config.getKvsSlowLogThresholdMillis());
-        KeyValueService kvs = ProfilingKeyValueService.create(rawKvs);
+        KeyValueService kvs = ProfilingKeyValueService.create(withKvsCompression(config, rawKvs));
         kvs = SweepStatsKeyValueService.create(kvs,
                 new TimelockTimestampServiceAdapter(lockAndTimestampServices.timelock()));
         kvs = TracingKeyValueService.create(kvs);
         kvs = AtlasDbMetrics.instrument(KeyValueService.class, kvs, MetricRegistry.name(KeyValueService.class));
         kvs = ValidatingQueryRewritingKeyValueService.create(kvs);
+        WriteOnceTableCache writeOnceTableCache = WriteOnceTableCache.create(kvs,
+                config.getWriteOnceTableCacheSizeBytes());
+        kvs = WriteOnceTableInvalidatingKeyValueService.create(kvs, writeOnceTableCache);
 
         TransactionManagersInitializer initializer = TransactionManagersInitializer.createInitialTables(
                 kvs,
@@ -279,7 +296,9 @@ public abstract class TransactionManagers {
                 config.keyValueService().concurrentGetRangesThreadPoolSize(),
                 config.keyValueService().defaultGetRangesConcurrency(),
                 config.initializeAsync(),
-                () -> runtimeConfigSupplier.get().getTimestampCacheSize());
+                () -> runtimeConfigSupplier.get().getTimestampCacheSize(),
+                writeOnceTableCache);
+        transactionManager.registerClosingCallback(qosClient::close);
 
         PersistentLockManager persistentLockManager = new PersistentLockManager(
                 persistentLockService,
@@ -298,11 +317,38 @@ public abstract class TransactionManagers {
         return transactionManager;
     }
 
-    private QosClient getQosClient(Supplier<QosClientConfig> config) {
-        QosRateLimiters rateLimiters = QosRateLimiters.create(
+    private QosClient getQosClient(Supplier<QosClientConfig> config, Optional<String> namespace) {
+        Supplier<QosLimitsConfig> limits = JavaSuppliers.compose(QosClientConfig::limits, config);
+        Optional<ServiceConfiguration> qosService = config.get().qosService();
+        if (!qosService.isPresent() || !namespace.isPresent()) {
+            return AtlasDbQosClient.create(createQosRateLimiters(config, limits));
+        }
+
+        QosUsageReporter usageReporter = QosUsageReporter.create(
+                namespace.get(),
+                JaxRsClient.create(QosService.class, userAgent(), ClientConfigurations.of(qosService.get())));
+        return AtlasDbQosClient.create(
+                createQosRateLimiters(config, usageReporter.applyAllocatedLimit(limits)),
+                usageReporter);
+    }
+
+    private static KeyValueService withKvsCompression(AtlasDbConfig config, KeyValueService rawKvs) {
+        if (!config.enableKvsCompression()) {
+            return rawKvs;
+        }
+        Map<TableReference, Compression> compressedTables = Maps.newHashMap();
+        config.getKvsCompressedTables().forEach((tableName, compression) ->
+                compressedTables.put(TableReference.createFromFullyQualifiedName(tableName), compression));
+        return CompressingKeyValueService.create(rawKvs, config.getKvsCompressionThresholdBytes(), compressedTables);
+    }
+
+    private static QosRateLimiters createQosRateLimiters(
+            Supplier<QosClientConfig> config,
+            Supplier<QosLimitsConfig> limits) {
+        return QosRateLimiters.create(
                 JavaSuppliers.compose(conf -> conf.maxBackoffSleepTime().toMilliseconds(), config),
-                JavaSuppliers.compose(QosClientConfig::limits, config));
-        return AtlasDbQosClient.create(rateLimiters);
+                limits,
+                JavaSuppliers.compose(QosClientConfig::concurrencyLimit, config));
     }
 
     private static boolean areTransactionManagerInitializationPrerequisitesSatisfied(
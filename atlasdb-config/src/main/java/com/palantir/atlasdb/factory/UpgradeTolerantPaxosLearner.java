@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.factory;
+
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.palantir.atlasdb.http.errors.AtlasDbRemoteException;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosValue;
+
+/**
+ * Wraps a proxy for a learner on another node, so that {@link #getLatestLearnedValuesSince(long, int)} falls back to
+ * the unbounded {@link #getLearnedValuesSince(long)} if that node does not serve the bounded endpoint yet. Any other
+ * failure is propagated, so that a peer that is down or overloaded is not asked for even more work.
+ */
+final class UpgradeTolerantPaxosLearner implements PaxosLearner {
+    private static final Logger log = LoggerFactory.getLogger(UpgradeTolerantPaxosLearner.class);
+
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    private final PaxosLearner delegate;
+
+    UpgradeTolerantPaxosLearner(PaxosLearner delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void learn(long seq, PaxosValue val) {
+        delegate.learn(seq, val);
+    }
+
+    @Nullable
+    @Override
+    public PaxosValue getLearnedValue(long seq) {
+        return delegate.getLearnedValue(seq);
+    }
+
+    @Nullable
+    @Override
+    public PaxosValue getGreatestLearnedValue() {
+        return delegate.getGreatestLearnedValue();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<PaxosValue> getLearnedValuesSince(long seq) {
+        return delegate.getLearnedValuesSince(seq);
+    }
+
+    @Nonnull
+    @Override
+    public Collection<PaxosValue> getLatestLearnedValuesSince(long seq, int limit) {
+        try {
+            return delegate.getLatestLearnedValuesSince(seq, limit);
+        } catch (RuntimeException e) {
+            if (!isUnsupportedEndpoint(e)) {
+                throw e;
+            }
+            log.debug("A peer does not serve bounded learned value requests, requesting all of them instead", e);
+            return delegate.getLearnedValuesSince(seq);
+        }
+    }
+
+    private static boolean isUnsupportedEndpoint(RuntimeException e) {
+        if (e instanceof AtlasDbRemoteException) {
+            int status = ((AtlasDbRemoteException) e).getStatus();
+            return status == NOT_FOUND || status == METHOD_NOT_ALLOWED;
+        }
+        // Error responses whose bodies cannot be parsed are surfaced as plain exceptions that only carry the status
+        // in their message, e.g. "Error 404. Reason: Not Found. ..."
+        String message = e.getMessage();
+        return message != null
+                && (message.startsWith("Error " + NOT_FOUND + ".")
+                        || message.startsWith("Error " + METHOD_NOT_ALLOWED + "."));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.http.errors.AtlasDbRemoteException;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosValue;
+
+public class UpgradeTolerantPaxosLearnerTest {
+    private static final long SEQ = 5L;
+    private static final int LIMIT = 10;
+    private static final PaxosValue VALUE = new PaxosValue("leader", SEQ, new byte[0]);
+
+    private final PaxosLearner remote = mock(PaxosLearner.class);
+    private final PaxosLearner learner = new UpgradeTolerantPaxosLearner(remote);
+
+    @Test
+    public void usesBoundedRequestsWhenTheyAreServed() {
+        when(remote.getLatestLearnedValuesSince(SEQ, LIMIT)).thenReturn(ImmutableList.of(VALUE));
+
+        assertThat(learner.getLatestLearnedValuesSince(SEQ, LIMIT)).containsExactly(VALUE);
+        verify(remote, never()).getLearnedValuesSince(anyLong());
+    }
+
+    @Test
+    public void fallsBackToUnboundedRequestsIfTheEndpointIsNotFound() {
+        assertFallsBackOn(remoteException(404));
+    }
+
+    @Test
+    public void fallsBackToUnboundedRequestsIfTheMethodIsNotAllowed() {
+        assertFallsBackOn(remoteException(405));
+    }
+
+    @Test
+    public void fallsBackToUnboundedRequestsIfAnUnparseableErrorIsNotFound() {
+        assertFallsBackOn(new RuntimeException("Error 404. Reason: Not Found. Body:\nnot json"));
+    }
+
+    @Test
+    public void propagatesOtherRemoteErrors() {
+        assertPropagates(remoteException(500));
+    }
+
+    @Test
+    public void propagatesOtherFailures() {
+        assertPropagates(new IllegalStateException("connection refused"));
+    }
+
+    private void assertFallsBackOn(RuntimeException exception) {
+        when(remote.getLatestLearnedValuesSince(SEQ, LIMIT)).thenThrow(exception);
+        when(remote.getLearnedValuesSince(SEQ)).thenReturn(ImmutableList.of(VALUE));
+
+        assertThat(learner.getLatestLearnedValuesSince(SEQ, LIMIT)).containsExactly(VALUE);
+    }
+
+    private void assertPropagates(RuntimeException exception) {
+        when(remote.getLatestLearnedValuesSince(SEQ, LIMIT)).thenThrow(exception);
+
+        assertThatThrownBy(() -> learner.getLatestLearnedValuesSince(SEQ, LIMIT)).isSameAs(exception);
+        verify(remote, never()).getLearnedValuesSince(anyLong());
+    }
+
+    private static AtlasDbRemoteException remoteException(int status) {
+        AtlasDbRemoteException exception = mock(AtlasDbRemoteException.class);
+        when(exception.getStatus()).thenReturn(status);
+        return exception;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.palantir.common.base.Throwables;
+
+/**
+ * {@link DataInput} reading directly from a buffer, without copying its contents first.
+ */
+final class ByteBufferDataInput implements DataInput {
+    private final ByteBuffer buffer;
+
+    ByteBufferDataInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void readFully(byte[] bytes) {
+        buffer.get(bytes);
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int off, int len) {
+        buffer.get(bytes, off, len);
+    }
+
+    @Override
+    public int skipBytes(int count) {
+        int skipped = Math.min(count, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    @Override
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public short readShort() {
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() {
+        return buffer.getChar();
+    }
+
+    @Override
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() {
+        return buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException("readLine is not supported");
+    }
+
+    @Override
+    public String readUTF() {
+        try {
+            return DataInputStream.readUTF(this);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+}
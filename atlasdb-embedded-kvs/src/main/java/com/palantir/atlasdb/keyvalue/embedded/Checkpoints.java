@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.base.ClosableIterator;
+
+/**
+ * A checkpoint is a complete, sorted dump of every table, its metadata and every (cell, timestamp) version in it,
+ * including garbage collection sentinels. Once a checkpoint is durable, all write-ahead log records written before it
+ * can be discarded.
+ */
+final class Checkpoints {
+    private static final int MAGIC = 0x41444243;
+    private static final int FORMAT_VERSION = 1;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private static final byte END_OF_TABLE = 0;
+    private static final byte ENTRY = 1;
+
+    private Checkpoints() {
+        // utility
+    }
+
+    /**
+     * Writes every table, its metadata and every (cell, timestamp) version in the given store to the target file. The
+     * store must not be written to while this runs, so callers checkpointing a live store should pass a copy of it.
+     */
+    static void write(File target, KeyValueService source) throws IOException {
+        try (FileOutputStream fileStream = new FileOutputStream(target);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            Set<TableReference> tableRefs = source.getAllTableNames();
+            out.writeInt(tableRefs.size());
+            for (TableReference tableRef : tableRefs) {
+                LogRecords.writeTableReference(out, tableRef);
+                LogRecords.writeBytes(out, source.getMetadataForTable(tableRef));
+                writeEntries(out, tableRef, source);
+                out.writeByte(END_OF_TABLE);
+            }
+            out.flush();
+            fileStream.getFD().sync();
+        }
+    }
+
+    private static void writeEntries(DataOutputStream out, TableReference tableRef, KeyValueService source)
+            throws IOException {
+        try (ClosableIterator<RowResult<Set<Long>>> rows =
+                     source.getRangeOfTimestamps(tableRef, RangeRequest.all(), AtlasDbConstants.MAX_TS)) {
+            while (rows.hasNext()) {
+                for (Map.Entry<Cell, Set<Long>> cellTimestamps : rows.next().getCells()) {
+                    Cell cell = cellTimestamps.getKey();
+                    for (long timestamp : cellTimestamps.getValue()) {
+                        Value value = source.get(tableRef, ImmutableMap.of(cell, timestamp + 1)).get(cell);
+                        out.writeByte(ENTRY);
+                        LogRecords.writeCell(out, cell);
+                        out.writeLong(value.getTimestamp());
+                        LogRecords.writeBytes(out, value.getContents());
+                    }
+                }
+            }
+        }
+    }
+
+    static void load(File source, KeyValueService target) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("File " + source + " is not an embedded key value service checkpoint");
+            }
+            int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported checkpoint format version " + formatVersion);
+            }
+            int tableCount = in.readInt();
+            for (int i = 0; i < tableCount; i++) {
+                TableReference tableRef = LogRecords.readTableReference(in);
+                target.createTable(tableRef, LogRecords.readBytes(in));
+                loadEntries(in, tableRef, target);
+            }
+        }
+    }
+
+    private static void loadEntries(DataInputStream in, TableReference tableRef, KeyValueService target)
+            throws IOException {
+        Multimap<Cell, Value> batch = ArrayListMultimap.create();
+        while (in.readByte() == ENTRY) {
+            Cell cell = LogRecords.readCell(in);
+            long timestamp = in.readLong();
+            batch.put(cell, Value.create(LogRecords.readBytes(in), timestamp));
+            if (batch.size() >= LOAD_BATCH_SIZE) {
+                target.putWithTimestamps(tableRef, batch);
+                batch = ArrayListMultimap.create();
+            }
+        }
+        if (!batch.isEmpty()) {
+            target.putWithTimestamps(tableRef, batch);
+        }
+    }
+}
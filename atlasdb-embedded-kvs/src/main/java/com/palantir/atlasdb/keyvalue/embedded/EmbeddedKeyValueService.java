@@ -0,0 +1,383 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.KeyValueServices;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Durable, single-node key value service that stores its data in a local directory.
+ * <p>
+ * Every mutation is appended to a checksummed write-ahead log (and, if {@code syncWrites} is set, fsynced) before it
+ * is applied to an in-memory multi-version store, so an acknowledged write survives a crash of the process or the
+ * machine. Once the log grows beyond {@code checkpointThresholdBytes}, a background task writes the full contents of
+ * the store, every (cell, timestamp) version included, to a sorted checkpoint file and starts a new, empty log. On
+ * startup the latest checkpoint is loaded and the logs written after it are replayed in order.
+ * <p>
+ * Reads are served from memory, so the data set must fit in the heap.
+ */
+@ThreadSafe
+public final class EmbeddedKeyValueService extends ForwardingKeyValueService {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedKeyValueService.class);
+
+    private static final Pattern GENERATION_FILE = Pattern.compile("(checkpoint|wal)-(\\d+)\\.(dat|log|tmp)");
+
+    private final File dataDirectory;
+    private final boolean syncWrites;
+    private final long checkpointThresholdBytes;
+    private final InMemoryKeyValueService delegate;
+    private final ExecutorService checkpointExecutor;
+    private final AtomicBoolean checkpointScheduled = new AtomicBoolean(false);
+
+    private final Object checkpointLock = new Object();
+    private final Object writeLock = new Object();
+    @GuardedBy("writeLock")
+    private WriteAheadLog writeAheadLog;
+    @GuardedBy("writeLock")
+    private long generation;
+
+    private EmbeddedKeyValueService(
+            File dataDirectory,
+            boolean syncWrites,
+            long checkpointThresholdBytes,
+            InMemoryKeyValueService delegate,
+            WriteAheadLog writeAheadLog,
+            long generation) {
+        this.dataDirectory = dataDirectory;
+        this.syncWrites = syncWrites;
+        this.checkpointThresholdBytes = checkpointThresholdBytes;
+        this.delegate = delegate;
+        this.writeAheadLog = writeAheadLog;
+        this.generation = generation;
+        this.checkpointExecutor = PTExecutors.newSingleThreadExecutor(
+                PTExecutors.newNamedThreadFactory(true));
+    }
+
+    public static EmbeddedKeyValueService create(EmbeddedKeyValueServiceConfig config) {
+        return create(config.dataDirectory(), config.syncWrites(), config.checkpointThresholdBytes());
+    }
+
+    public static EmbeddedKeyValueService create(
+            File dataDirectory,
+            boolean syncWrites,
+            long checkpointThresholdBytes) {
+        try {
+            Files.createDirectories(dataDirectory.toPath());
+            long checkpointGeneration = latestCheckpointGeneration(dataDirectory);
+            InMemoryKeyValueService delegate = new InMemoryKeyValueService(false);
+
+            File checkpoint = checkpointFile(dataDirectory, checkpointGeneration);
+            if (checkpoint.exists()) {
+                Checkpoints.load(checkpoint, delegate);
+            }
+            // A checkpoint that failed or was interrupted leaves the logs of several generations after the latest
+            // checkpoint; each one continues where the previous one ended.
+            long generation = checkpointGeneration;
+            int replayed = WriteAheadLog.replay(walFile(dataDirectory, generation),
+                    record -> LogRecords.replay(record, delegate));
+            while (walFile(dataDirectory, generation + 1).exists()) {
+                generation++;
+                replayed += WriteAheadLog.replay(walFile(dataDirectory, generation),
+                        record -> LogRecords.replay(record, delegate));
+            }
+            deleteFilesBeforeGeneration(dataDirectory, checkpointGeneration);
+
+            log.info("Recovered embedded key value service from {} at generation {}, replaying {} log records.",
+                    SafeArg.of("dataDirectory", dataDirectory),
+                    SafeArg.of("generation", generation),
+                    SafeArg.of("replayedRecords", replayed));
+            WriteAheadLog writeAheadLog = WriteAheadLog.open(walFile(dataDirectory, generation), syncWrites);
+            return new EmbeddedKeyValueService(
+                    dataDirectory, syncWrites, checkpointThresholdBytes, delegate, writeAheadLog, generation);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(
+                    "Failed to open embedded key value service in " + dataDirectory, e);
+        }
+    }
+
+    @Override
+    protected KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] tableMetadata) {
+        logAndApply(LogRecords.createTable(tableRef, tableMetadata),
+                () -> delegate.createTable(tableRef, tableMetadata));
+    }
+
+    @Override
+    public void createTables(Map<TableReference, byte[]> tableRefToTableMetadata) {
+        tableRefToTableMetadata.forEach(this::createTable);
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        logAndApply(LogRecords.dropTable(tableRef), () -> delegate.dropTable(tableRef));
+    }
+
+    @Override
+    public void dropTables(Set<TableReference> tableRefs) {
+        tableRefs.forEach(this::dropTable);
+    }
+
+    @Override
+    public void truncateTable(TableReference tableRef) {
+        logAndApply(LogRecords.truncateTable(tableRef), () -> delegate.truncateTable(tableRef));
+    }
+
+    @Override
+    public void truncateTables(Set<TableReference> tableRefs) {
+        tableRefs.forEach(this::truncateTable);
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        logAndApply(LogRecords.putMetadata(tableRef, metadata), () -> delegate.putMetadataForTable(tableRef, metadata));
+    }
+
+    @Override
+    public void putMetadataForTables(Map<TableReference, byte[]> tableRefToMetadata) {
+        tableRefToMetadata.forEach(this::putMetadataForTable);
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        logAndApply(LogRecords.put(tableRef, KeyValueServices.toConstantTimestampValues(values.entrySet(), timestamp)),
+                () -> delegate.put(tableRef, values, timestamp));
+    }
+
+    @Override
+    public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        valuesByTable.forEach((tableRef, values) -> put(tableRef, values, timestamp));
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        logAndApply(LogRecords.put(tableRef, values.entries()), () -> delegate.putWithTimestamps(tableRef, values));
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
+        logAndApply(LogRecords.putUnlessExists(tableRef, values), () -> delegate.putUnlessExists(tableRef, values));
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest request) throws CheckAndSetException {
+        logAndApply(LogRecords.checkAndSet(request), () -> delegate.checkAndSet(request));
+    }
+
+    @Override
+    public void delete(TableReference tableRef, Multimap<Cell, Long> keys) {
+        logAndApply(LogRecords.delete(tableRef, keys), () -> delegate.delete(tableRef, keys));
+    }
+
+    @Override
+    public void deleteRange(TableReference tableRef, RangeRequest range) {
+        try (ClosableIterator<RowResult<Set<Long>>> iterator = getRangeOfTimestamps(tableRef, range,
+                AtlasDbConstants.MAX_TS)) {
+            while (iterator.hasNext()) {
+                RowResult<Set<Long>> rowResult = iterator.next();
+                Multimap<Cell, Long> cellsToDelete = HashMultimap.create();
+
+                rowResult.getCells().forEach(entry -> cellsToDelete.putAll(entry.getKey(), entry.getValue()));
+                delete(tableRef, cellsToDelete);
+            }
+        }
+    }
+
+    @Override
+    public void addGarbageCollectionSentinelValues(TableReference tableRef, Iterable<Cell> cells) {
+        ImmutableList<Cell> cellList = ImmutableList.copyOf(cells);
+        logAndApply(LogRecords.addGarbageCollectionSentinelValues(tableRef, cellList),
+                () -> delegate.addGarbageCollectionSentinelValues(tableRef, cellList));
+    }
+
+    /**
+     * Writes the full contents of the store to a new checkpoint and discards the write-ahead logs it covers. Writes
+     * are blocked only while the store's maps are copied and a new log is started; the checkpoint is read from the
+     * copy and written after writes have resumed.
+     */
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            long nextGeneration;
+            InMemoryKeyValueService snapshot;
+            synchronized (writeLock) {
+                nextGeneration = generation + 1;
+                snapshot = delegate.copy();
+                try {
+                    WriteAheadLog nextLog = WriteAheadLog.open(walFile(dataDirectory, nextGeneration), syncWrites);
+                    writeAheadLog.close();
+                    writeAheadLog = nextLog;
+                } catch (IOException e) {
+                    snapshot.close();
+                    throw Throwables.rewrapAndThrowUncheckedException(
+                            "Failed to start a new write-ahead log in " + dataDirectory, e);
+                }
+                generation = nextGeneration;
+            }
+
+            // Until the checkpoint is in place, recovery replays the previous logs followed by the new one.
+            try {
+                File tempFile = new File(dataDirectory, "checkpoint-" + nextGeneration + ".tmp");
+                Checkpoints.write(tempFile, snapshot);
+                Files.move(tempFile.toPath(), checkpointFile(dataDirectory, nextGeneration).toPath(),
+                        StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory(dataDirectory);
+                deleteFilesBeforeGeneration(dataDirectory, nextGeneration);
+            } catch (IOException e) {
+                throw Throwables.rewrapAndThrowUncheckedException(
+                        "Failed to checkpoint embedded key value service in " + dataDirectory, e);
+            } finally {
+                snapshot.close();
+            }
+            log.info("Checkpointed embedded key value service in {} at generation {}.",
+                    SafeArg.of("dataDirectory", dataDirectory),
+                    SafeArg.of("generation", nextGeneration));
+        }
+    }
+
+    @Override
+    public void close() {
+        checkpointExecutor.shutdown();
+        try {
+            checkpointExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                writeAheadLog.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the write-ahead log in {}.", SafeArg.of("dataDirectory", dataDirectory), e);
+            }
+        }
+        delegate.close();
+    }
+
+    @VisibleForTesting
+    long writeAheadLogSize() {
+        synchronized (writeLock) {
+            return writeAheadLog.size();
+        }
+    }
+
+    private void logAndApply(byte[] record, Runnable mutation) {
+        long logSize;
+        synchronized (writeLock) {
+            try {
+                writeAheadLog.append(record);
+            } catch (IOException e) {
+                throw Throwables.rewrapAndThrowUncheckedException("Failed to append to the write-ahead log", e);
+            }
+            logSize = writeAheadLog.size();
+            mutation.run();
+        }
+        if (logSize >= checkpointThresholdBytes && checkpointScheduled.compareAndSet(false, true)) {
+            checkpointExecutor.execute(() -> {
+                try {
+                    checkpoint();
+                } catch (Throwable t) {
+                    log.error("Background checkpoint of embedded key value service failed.", t);
+                } finally {
+                    checkpointScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private static long latestCheckpointGeneration(File dataDirectory) {
+        long latest = 0;
+        for (File file : listFiles(dataDirectory)) {
+            Matcher matcher = GENERATION_FILE.matcher(file.getName());
+            if (matcher.matches() && matcher.group(1).equals("checkpoint") && matcher.group(3).equals("dat")) {
+                latest = Math.max(latest, Long.parseLong(matcher.group(2)));
+            }
+        }
+        return latest;
+    }
+
+    private static void deleteFilesBeforeGeneration(File dataDirectory, long generation) throws IOException {
+        for (File file : listFiles(dataDirectory)) {
+            Matcher matcher = GENERATION_FILE.matcher(file.getName());
+            if (matcher.matches()
+                    && (Long.parseLong(matcher.group(2)) < generation || matcher.group(3).equals("tmp"))) {
+                Files.delete(file.toPath());
+            }
+        }
+    }
+
+    private static File[] listFiles(File dataDirectory) {
+        File[] files = dataDirectory.listFiles();
+        return files == null ? new File[0] : files;
+    }
+
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on all platforms; the rename is still atomic
+            log.debug("Unable to fsync directory {}.", SafeArg.of("directory", directory), e);
+        }
+    }
+
+    private static File checkpointFile(File dataDirectory, long generation) {
+        return new File(dataDirectory, "checkpoint-" + generation + ".dat");
+    }
+
+    private static File walFile(File dataDirectory, long generation) {
+        return new File(dataDirectory, "wal-" + generation + ".log");
+    }
+}
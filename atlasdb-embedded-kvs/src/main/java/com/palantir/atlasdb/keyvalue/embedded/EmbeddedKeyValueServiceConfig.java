@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.File;
+import java.util.Optional;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.auto.service.AutoService;
+import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+
+@AutoService(KeyValueServiceConfig.class)
+@JsonDeserialize(as = ImmutableEmbeddedKeyValueServiceConfig.class)
+@JsonSerialize(as = ImmutableEmbeddedKeyValueServiceConfig.class)
+@JsonTypeName(EmbeddedKeyValueServiceConfig.TYPE)
+@Value.Immutable
+public abstract class EmbeddedKeyValueServiceConfig implements KeyValueServiceConfig {
+    public static final String TYPE = "embedded";
+
+    @Override
+    public final String type() {
+        return TYPE;
+    }
+
+    @Override
+    @JsonIgnore
+    @Value.Derived
+    public Optional<String> namespace() {
+        return Optional.empty();
+    }
+
+    /**
+     * Directory holding the write-ahead log and checkpoints. It must not be shared between processes.
+     */
+    public abstract File dataDirectory();
+
+    /**
+     * Whether to fsync the write-ahead log after every mutation. Disabling this trades durability of the most recent
+     * writes on machine failure for write throughput; a crash of the process alone loses nothing.
+     */
+    @Value.Default
+    public boolean syncWrites() {
+        return true;
+    }
+
+    /**
+     * Size the write-ahead log may grow to before its contents are folded into a new checkpoint.
+     */
+    @Value.Default
+    public long checkpointThresholdBytes() {
+        return 64 * 1024 * 1024;
+    }
+
+    @Override
+    @Value.Default
+    public int concurrentGetRangesThreadPoolSize() {
+        return 64;
+    }
+
+    @Value.Check
+    void check() {
+        if (checkpointThresholdBytes() <= 0) {
+            throw new IllegalArgumentException("checkpointThresholdBytes must be positive.");
+        }
+    }
+}
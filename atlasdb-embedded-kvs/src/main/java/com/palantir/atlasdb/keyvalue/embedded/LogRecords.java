@@ -0,0 +1,313 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Encoding of the mutations recorded in the {@link WriteAheadLog}, and of the table and cell data shared with
+ * {@link Checkpoints}.
+ * <p>
+ * Every mutation is logged before it is applied and mutations are logged and applied in the same order, so replaying
+ * the log against the state it was written on top of reproduces the outcome of each mutation exactly, including
+ * mutations that failed.
+ */
+final class LogRecords {
+    private static final Logger log = LoggerFactory.getLogger(LogRecords.class);
+
+    private static final byte CREATE_TABLE = 1;
+    private static final byte PUT_METADATA = 2;
+    private static final byte DROP_TABLE = 3;
+    private static final byte TRUNCATE_TABLE = 4;
+    private static final byte PUT = 5;
+    private static final byte PUT_UNLESS_EXISTS = 6;
+    private static final byte CHECK_AND_SET = 7;
+    private static final byte DELETE = 8;
+    private static final byte ADD_SENTINELS = 9;
+
+    private LogRecords() {
+        // utility
+    }
+
+    static byte[] createTable(TableReference tableRef, byte[] metadata) {
+        return encode(CREATE_TABLE, tableRef, out -> writeBytes(out, metadata));
+    }
+
+    static byte[] putMetadata(TableReference tableRef, byte[] metadata) {
+        return encode(PUT_METADATA, tableRef, out -> writeBytes(out, metadata));
+    }
+
+    static byte[] dropTable(TableReference tableRef) {
+        return encode(DROP_TABLE, tableRef, out -> { });
+    }
+
+    static byte[] truncateTable(TableReference tableRef) {
+        return encode(TRUNCATE_TABLE, tableRef, out -> { });
+    }
+
+    static byte[] put(TableReference tableRef, Collection<Map.Entry<Cell, Value>> values) {
+        return encode(PUT, tableRef, out -> {
+            out.writeInt(values.size());
+            for (Map.Entry<Cell, Value> entry : values) {
+                writeCell(out, entry.getKey());
+                out.writeLong(entry.getValue().getTimestamp());
+                writeBytes(out, entry.getValue().getContents());
+            }
+        });
+    }
+
+    static byte[] putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) {
+        return encode(PUT_UNLESS_EXISTS, tableRef, out -> {
+            out.writeInt(values.size());
+            for (Map.Entry<Cell, byte[]> entry : values.entrySet()) {
+                writeCell(out, entry.getKey());
+                writeBytes(out, entry.getValue());
+            }
+        });
+    }
+
+    static byte[] checkAndSet(CheckAndSetRequest request) {
+        return encode(CHECK_AND_SET, request.table(), out -> {
+            writeCell(out, request.cell());
+            writeBytes(out, request.oldValue().orElse(null));
+            writeBytes(out, request.newValue());
+        });
+    }
+
+    static byte[] delete(TableReference tableRef, Multimap<Cell, Long> keys) {
+        return encode(DELETE, tableRef, out -> {
+            out.writeInt(keys.size());
+            for (Map.Entry<Cell, Long> entry : keys.entries()) {
+                writeCell(out, entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+        });
+    }
+
+    static byte[] addGarbageCollectionSentinelValues(TableReference tableRef, Collection<Cell> cells) {
+        return encode(ADD_SENTINELS, tableRef, out -> {
+            out.writeInt(cells.size());
+            for (Cell cell : cells) {
+                writeCell(out, cell);
+            }
+        });
+    }
+
+    /**
+     * Re-applies a logged mutation to the given key value service. Mutations that failed when they were first applied,
+     * such as a conflicting putUnlessExists or a write to a table that did not exist, fail in the same way again; those
+     * failures are expected and swallowed. A record that cannot be decoded is corrupt, and fails the replay.
+     */
+    static void replay(ByteBuffer record, KeyValueService kvs) {
+        ByteBufferDataInput in = new ByteBufferDataInput(record);
+        byte type;
+        TableReference tableRef;
+        Consumer<KeyValueService> mutation;
+        try {
+            type = in.readByte();
+            tableRef = readTableReference(in);
+            mutation = decode(type, in, tableRef);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Corrupt write-ahead log record", e);
+        }
+        if (record.hasRemaining()) {
+            throw new IllegalStateException("Corrupt write-ahead log record of type " + type + ", with "
+                    + record.remaining() + " unexpected trailing bytes");
+        }
+
+        boolean tableExisted = type == CREATE_TABLE || type == DROP_TABLE || kvs.getAllTableNames().contains(tableRef);
+        try {
+            mutation.accept(kvs);
+        } catch (KeyAlreadyExistsException | CheckAndSetException e) {
+            log.debug("Replayed mutation of type {} failed, as it did when it was first applied.",
+                    SafeArg.of("type", type), e);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            if (tableExisted) {
+                throw e;
+            }
+            log.debug("Replayed mutation of type {} failed because its table does not exist, as it did when it was"
+                    + " first applied.", SafeArg.of("type", type), e);
+        }
+    }
+
+    private static Consumer<KeyValueService> decode(byte type, ByteBufferDataInput in, TableReference tableRef) {
+        switch (type) {
+            case CREATE_TABLE:
+                byte[] createMetadata = readBytes(in);
+                return kvs -> kvs.createTable(tableRef, createMetadata);
+            case PUT_METADATA:
+                byte[] metadata = readBytes(in);
+                return kvs -> kvs.putMetadataForTable(tableRef, metadata);
+            case DROP_TABLE:
+                return kvs -> kvs.dropTable(tableRef);
+            case TRUNCATE_TABLE:
+                return kvs -> kvs.truncateTable(tableRef);
+            case PUT:
+                return decodePut(in, tableRef);
+            case PUT_UNLESS_EXISTS:
+                return decodePutUnlessExists(in, tableRef);
+            case CHECK_AND_SET:
+                return decodeCheckAndSet(in, tableRef);
+            case DELETE:
+                return decodeDelete(in, tableRef);
+            case ADD_SENTINELS:
+                return decodeAddSentinels(in, tableRef);
+            default:
+                throw new IllegalStateException("Unknown write-ahead log record type " + type);
+        }
+    }
+
+    private static Consumer<KeyValueService> decodePut(ByteBufferDataInput in, TableReference tableRef) {
+        int count = in.readInt();
+        Multimap<Cell, Value> values = ArrayListMultimap.create(count, 1);
+        for (int i = 0; i < count; i++) {
+            Cell cell = readCell(in);
+            long timestamp = in.readLong();
+            values.put(cell, Value.create(readBytes(in), timestamp));
+        }
+        return kvs -> kvs.putWithTimestamps(tableRef, values);
+    }
+
+    private static Consumer<KeyValueService> decodePutUnlessExists(ByteBufferDataInput in, TableReference tableRef) {
+        int count = in.readInt();
+        Map<Cell, byte[]> values = Maps.newHashMapWithExpectedSize(count);
+        for (int i = 0; i < count; i++) {
+            values.put(readCell(in), readBytes(in));
+        }
+        return kvs -> kvs.putUnlessExists(tableRef, values);
+    }
+
+    private static Consumer<KeyValueService> decodeCheckAndSet(ByteBufferDataInput in, TableReference tableRef) {
+        Cell cell = readCell(in);
+        byte[] oldValue = readBytes(in);
+        byte[] newValue = readBytes(in);
+        CheckAndSetRequest request = oldValue == null
+                ? CheckAndSetRequest.newCell(tableRef, cell, newValue)
+                : CheckAndSetRequest.singleCell(tableRef, cell, oldValue, newValue);
+        return kvs -> kvs.checkAndSet(request);
+    }
+
+    private static Consumer<KeyValueService> decodeDelete(ByteBufferDataInput in, TableReference tableRef) {
+        int count = in.readInt();
+        Multimap<Cell, Long> keys = ArrayListMultimap.create(count, 1);
+        for (int i = 0; i < count; i++) {
+            keys.put(readCell(in), in.readLong());
+        }
+        return kvs -> kvs.delete(tableRef, keys);
+    }
+
+    private static Consumer<KeyValueService> decodeAddSentinels(ByteBufferDataInput in, TableReference tableRef) {
+        int count = in.readInt();
+        ImmutableList.Builder<Cell> cells = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            cells.add(readCell(in));
+        }
+        List<Cell> sentinelCells = cells.build();
+        return kvs -> kvs.addGarbageCollectionSentinelValues(tableRef, sentinelCells);
+    }
+
+    private static byte[] encode(byte type, TableReference tableRef, RecordBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            writeTableReference(out, tableRef);
+            body.writeTo(out);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void writeTableReference(DataOutput out, TableReference tableRef) throws IOException {
+        out.writeUTF(tableRef.getNamespace().getName());
+        out.writeUTF(tableRef.getTablename());
+    }
+
+    static TableReference readTableReference(DataInput in) {
+        try {
+            String namespace = in.readUTF();
+            String tablename = in.readUTF();
+            return namespace.isEmpty()
+                    ? TableReference.createWithEmptyNamespace(tablename)
+                    : TableReference.create(Namespace.create(namespace, Namespace.UNCHECKED_NAME), tablename);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    static void writeCell(DataOutput out, Cell cell) throws IOException {
+        writeBytes(out, cell.getRowName());
+        writeBytes(out, cell.getColumnName());
+    }
+
+    static Cell readCell(DataInput in) {
+        return Cell.create(readBytes(in), readBytes(in));
+    }
+
+    static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static byte[] readBytes(DataInput in) {
+        try {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    private interface RecordBody {
+        void writeTo(DataOutput out) throws IOException;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Append-only log of framed records. Each record is written as its length, the CRC32 of its payload and then the
+ * payload itself, so that a record torn by a crash part way through a write can be detected and discarded on replay.
+ */
+@NotThreadSafe
+final class WriteAheadLog implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final boolean syncWrites;
+    private long size;
+
+    private WriteAheadLog(FileChannel channel, boolean syncWrites) throws IOException {
+        this.channel = channel;
+        this.syncWrites = syncWrites;
+        this.size = channel.size();
+    }
+
+    static WriteAheadLog open(File file, boolean syncWrites) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new WriteAheadLog(channel, syncWrites);
+    }
+
+    void append(byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(ByteBuffer.wrap(payload)));
+        buffer.put(payload);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncWrites) {
+            channel.force(false);
+        }
+        size += HEADER_SIZE + payload.length;
+    }
+
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Passes every intact record of the given log to the consumer, in the order they were appended. The log is read
+     * one record at a time, so logs of any size can be replayed. If the log ends in a partially written record it is
+     * truncated to the end of the last intact one; a damaged record anywhere else fails the replay.
+     *
+     * @return the number of records replayed
+     */
+    static int replay(File file, Consumer<ByteBuffer> recordConsumer) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            long position = 0;
+            int records = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (position < fileSize) {
+                if (fileSize - position < HEADER_SIZE) {
+                    break;
+                }
+                header.clear();
+                readFully(channel, header, position);
+                header.flip();
+                int length = header.getInt();
+                int expectedChecksum = header.getInt();
+                long end = position + HEADER_SIZE + length;
+                if (length <= 0 || end > fileSize) {
+                    checkTornTail(channel, file, position, length);
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(channel, payload, position + HEADER_SIZE);
+                payload.flip();
+                if (checksum(payload.duplicate()) != expectedChecksum) {
+                    checkTornTail(channel, file, position, length);
+                    break;
+                }
+                recordConsumer.accept(payload);
+                position = end;
+                records++;
+            }
+            if (position < fileSize) {
+                log.warn("Discarding a torn record at the end of the write-ahead log {}, truncating it from {} to {}"
+                                + " bytes.",
+                        SafeArg.of("file", file.getName()),
+                        SafeArg.of("originalSize", fileSize),
+                        SafeArg.of("truncatedSize", position));
+                channel.truncate(position);
+                channel.force(true);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * A crash part way through an append can only damage the last record, either by cutting it short or by leaving
+     * zeroes where its bytes were never written. Damage before the final record means the log is corrupt.
+     */
+    private static void checkTornTail(FileChannel channel, File file, long position, int length) throws IOException {
+        long fileSize = channel.size();
+        boolean reachesEndOfFile = length > 0 && position + HEADER_SIZE + length >= fileSize;
+        if (reachesEndOfFile || isZeroFilled(channel, position)) {
+            return;
+        }
+        throw new IllegalStateException(String.format(
+                "The write-ahead log %s is corrupt: the record at offset %d of %d bytes is damaged",
+                file.getName(), position, fileSize));
+    }
+
+    private static boolean isZeroFilled(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long offset = position;
+        while (offset < channel.size()) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of the write-ahead log at offset " + offset);
+            }
+            offset += read;
+        }
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+public class EmbeddedKeyValueServiceRecoveryTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final Cell CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col"));
+    private static final Cell OTHER_CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("other"));
+    private static final byte[] VALUE_1 = PtBytes.toBytes("value1");
+    private static final byte[] VALUE_2 = PtBytes.toBytes("value2");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File dataDirectory;
+    private EmbeddedKeyValueService kvs;
+
+    @Before
+    public void setUp() throws IOException {
+        dataDirectory = folder.newFolder();
+        kvs = open();
+        kvs.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+    }
+
+    @After
+    public void tearDown() {
+        kvs.close();
+    }
+
+    @Test
+    public void recoversWritesFromTheWriteAheadLog() {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+
+        reopen();
+
+        assertThat(kvs.getAllTableNames()).contains(TABLE);
+        assertThat(kvs.getMetadataForTable(TABLE)).isEqualTo(AtlasDbConstants.GENERIC_TABLE_METADATA);
+        assertThat(valueAt(15L)).isEqualTo(Value.create(VALUE_1, 10L));
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_2, 20L));
+    }
+
+    @Test
+    public void recoversDeletesAndSentinelsFromTheWriteAheadLog() {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+        kvs.delete(TABLE, ImmutableMultimap.of(CELL, 20L));
+        kvs.addGarbageCollectionSentinelValues(TABLE, ImmutableList.of(OTHER_CELL));
+
+        reopen();
+
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_1, 10L));
+        assertThat(kvs.get(TABLE, ImmutableMap.of(OTHER_CELL, 0L)))
+                .containsEntry(OTHER_CELL, Value.create(PtBytes.EMPTY_BYTE_ARRAY, Value.INVALID_VALUE_TIMESTAMP));
+    }
+
+    @Test
+    public void replayingFailedConditionalWritesLeavesTheOriginalOutcome() {
+        kvs.putUnlessExists(TABLE, ImmutableMap.of(CELL, VALUE_1));
+        assertThatThrownBy(() -> kvs.putUnlessExists(TABLE, ImmutableMap.of(CELL, VALUE_2)))
+                .isInstanceOf(KeyAlreadyExistsException.class);
+        kvs.checkAndSet(CheckAndSetRequest.newCell(TABLE, OTHER_CELL, VALUE_1));
+        kvs.checkAndSet(CheckAndSetRequest.singleCell(TABLE, OTHER_CELL, VALUE_1, VALUE_2));
+
+        reopen();
+
+        assertThat(valueAt(Long.MAX_VALUE).getContents()).isEqualTo(VALUE_1);
+        assertThat(kvs.get(TABLE, ImmutableMap.of(OTHER_CELL, Long.MAX_VALUE)).get(OTHER_CELL).getContents())
+                .isEqualTo(VALUE_2);
+    }
+
+    @Test
+    public void recoversFromCheckpointAndSubsequentLog() {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        kvs.checkpoint();
+        assertThat(kvs.writeAheadLogSize()).isZero();
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+
+        reopen();
+
+        assertThat(valueAt(15L)).isEqualTo(Value.create(VALUE_1, 10L));
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_2, 20L));
+        assertThat(dataDirectory.list()).containsExactlyInAnyOrder("checkpoint-1.dat", "wal-1.log");
+    }
+
+    @Test
+    public void droppedTablesStayDroppedAfterCheckpoint() {
+        kvs.dropTable(TABLE);
+        kvs.checkpoint();
+
+        reopen();
+
+        assertThat(kvs.getAllTableNames()).doesNotContain(TABLE);
+    }
+
+    @Test
+    public void discardsTornRecordAtEndOfLog() throws IOException {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+        kvs.close();
+
+        File wal = new File(dataDirectory, "wal-0.log");
+        try (RandomAccessFile file = new RandomAccessFile(wal, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        kvs = open();
+
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_1, 10L));
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 30L);
+
+        reopen();
+
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_2, 30L));
+    }
+
+    @Test
+    public void failsOnDamagedRecordBeforeEndOfLog() throws IOException {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+        kvs.close();
+
+        File wal = new File(dataDirectory, "wal-0.log");
+        try (RandomAccessFile file = new RandomAccessFile(wal, "rw")) {
+            // inside the payload of the first record, which creates the table
+            file.seek(10);
+            file.writeByte(file.readByte() ^ 0xFF);
+        }
+
+        assertThatThrownBy(this::open).hasMessageContaining("corrupt");
+    }
+
+    @Test
+    public void recoversLogsOfAnInterruptedCheckpoint() throws IOException {
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_1), 10L);
+        File wal = new File(dataDirectory, "wal-0.log");
+        byte[] firstLog = Files.readAllBytes(wal.toPath());
+        kvs.checkpoint();
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE_2), 20L);
+        kvs.close();
+
+        // as if the process died after starting the new log, but before the checkpoint was in place
+        Files.delete(new File(dataDirectory, "checkpoint-1.dat").toPath());
+        Files.write(wal.toPath(), firstLog);
+        kvs = open();
+
+        assertThat(valueAt(15L)).isEqualTo(Value.create(VALUE_1, 10L));
+        assertThat(valueAt(Long.MAX_VALUE)).isEqualTo(Value.create(VALUE_2, 20L));
+    }
+
+    private Value valueAt(long timestamp) {
+        return kvs.get(TABLE, ImmutableMap.of(CELL, timestamp)).get(CELL);
+    }
+
+    private void reopen() {
+        kvs.close();
+        kvs = open();
+    }
+
+    private EmbeddedKeyValueService open() {
+        return EmbeddedKeyValueService.create(dataDirectory, true, 1024 * 1024);
+    }
+}
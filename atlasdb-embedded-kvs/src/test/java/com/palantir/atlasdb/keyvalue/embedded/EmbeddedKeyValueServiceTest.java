@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.embedded;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueServiceTest;
+
+public class EmbeddedKeyValueServiceTest extends AbstractKeyValueServiceTest {
+    @Override
+    protected KeyValueService getKeyValueService() {
+        try {
+            return EmbeddedKeyValueService.create(
+                    Files.createTempDirectory("embedded-kvs").toFile(), false, 1024 * 1024);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
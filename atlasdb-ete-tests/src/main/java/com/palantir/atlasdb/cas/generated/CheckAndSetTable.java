@@ -175,8 +175,8 @@ public final class CheckAndSetTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ id);
+            return __output;
         }
 
         public static final Hydrator<CheckAndSetRow> BYTES_HYDRATOR = new Hydrator<CheckAndSetRow>() {
@@ -293,6 +293,7 @@ public final class CheckAndSetTable implements
 
     public static final class CheckAndSetRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private CheckAndSetRow rowName;
 
         public static CheckAndSetRowResult of(RowResult<byte[]> row) {
             return new CheckAndSetRowResult(row);
@@ -304,7 +305,10 @@ public final class CheckAndSetTable implements
 
         @Override
         public CheckAndSetRow getRowName() {
-            return CheckAndSetRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = CheckAndSetRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<CheckAndSetRowResult, CheckAndSetRow> getRowNameFun() {
@@ -683,5 +687,5 @@ public final class CheckAndSetTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "DzljiQET0fm0b2LYV3eYnA==";
+    static String __CLASS_HASH = "s+F2bDXXKnwlbV764UshNQ==";
 }
@@ -107,12 +107,9 @@ public class DefaultCleanerBuilder {
 
     private Puncher buildPuncher() {
         PuncherStore keyValuePuncherStore = KeyValueServicePuncherStore.create(keyValueService, initalizeAsync);
-        PuncherStore cachingPuncherStore = CachingPuncherStore.create(
-                keyValuePuncherStore,
-                punchIntervalMillis * 3);
         Clock clock = GlobalClock.create(timelockService);
         SimplePuncher simplePuncher = SimplePuncher.create(
-                cachingPuncherStore,
+                keyValuePuncherStore,
                 clock,
                 Suppliers.ofInstance(transactionReadTimeout));
         return AsyncPuncher.create(simplePuncher, punchIntervalMillis);
@@ -16,7 +16,13 @@
 package com.palantir.atlasdb.cleaner;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.palantir.async.initializer.AsyncInitializer;
@@ -37,10 +43,15 @@ import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.transaction.api.ConflictHandler;
 import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.time.Clock;
 import com.palantir.processors.AutoDelegate;
 
 /**
  * A PuncherStore implemented as a table in the KeyValueService.
+ * <p>
+ * Lookups are answered from an in-memory {@link PunchIndex} of the whole table, which is loaded on first use and then
+ * brought up to date at most every {@link #INDEX_REFRESH_INTERVAL_MILLIS} by reading only the punches made after the
+ * latest one it holds. Punches made through this store are added to the index straight away.
  *
  * @author jweel
  */
@@ -64,23 +75,38 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
         }
     }
 
+    @VisibleForTesting
+    static final long INDEX_REFRESH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
     private static final byte[] COLUMN = "t".getBytes(StandardCharsets.UTF_8);
 
     private final InitializingWrapper wrapper = new InitializingWrapper();
     private final KeyValueService keyValueService;
+    private final Clock clock;
+
+    private final ReentrantLock indexLock = new ReentrantLock();
+    @Nullable
+    private volatile PunchIndex index = null;
+    private volatile long lastIndexRefreshMillis;
 
     public static PuncherStore create(KeyValueService keyValueService) {
         return create(keyValueService, AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC);
     }
 
     public static PuncherStore create(KeyValueService keyValueService, boolean initializeAsync) {
-        KeyValueServicePuncherStore puncherStore = new KeyValueServicePuncherStore(keyValueService);
+        return create(keyValueService, initializeAsync, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    static PuncherStore create(KeyValueService keyValueService, boolean initializeAsync, Clock clock) {
+        KeyValueServicePuncherStore puncherStore = new KeyValueServicePuncherStore(keyValueService, clock);
         puncherStore.wrapper.initialize(initializeAsync);
         return puncherStore.wrapper.isInitialized() ? puncherStore : puncherStore.wrapper;
     }
 
-    private KeyValueServicePuncherStore(KeyValueService keyValueService) {
+    private KeyValueServicePuncherStore(KeyValueService keyValueService, Clock clock) {
         this.keyValueService = keyValueService;
+        this.clock = clock;
     }
 
     private void tryInitialize() {
@@ -103,35 +129,105 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
 
     @Override
     public void put(long timestamp, long timeMillis) {
-        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
-        EncodingUtils.flipAllBitsInPlace(row);
-        Cell cell = Cell.create(row, COLUMN);
+        Cell cell = Cell.create(encodeRow(timeMillis), COLUMN);
         byte[] value = EncodingUtils.encodeUnsignedVarLong(timestamp);
         keyValueService.put(AtlasDbConstants.PUNCH_TABLE, ImmutableMap.of(cell, value), timestamp);
+
+        indexLock.lock();
+        try {
+            PunchIndex currentIndex = index;
+            if (currentIndex != null) {
+                index = currentIndex.withPunches(new long[] {timeMillis}, new long[] {timestamp});
+            }
+        } finally {
+            indexLock.unlock();
+        }
     }
 
     @Override
     public Long get(Long timeMillis) {
-        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
-        EncodingUtils.flipAllBitsInPlace(row);
-        RangeRequest rangeRequest =
-                RangeRequest.builder().startRowInclusive(row).batchHint(1).build();
-        ClosableIterator<RowResult<Value>> result =
-                keyValueService.getRange(AtlasDbConstants.PUNCH_TABLE, rangeRequest, Long.MAX_VALUE);
+        return getIndex().getTimestamp(timeMillis);
+    }
+
+    @Override
+    public long getMillisForTimestamp(long timestamp) {
+        return getIndex().getMillis(timestamp);
+    }
+
+    private PunchIndex getIndex() {
+        PunchIndex currentIndex = index;
+        if (currentIndex != null && !isIndexRefreshDue()) {
+            return currentIndex;
+        }
+        if (currentIndex == null) {
+            indexLock.lock();
+        } else if (!indexLock.tryLock()) {
+            // another thread is already refreshing the index
+            return currentIndex;
+        }
         try {
-            if (result.hasNext()) {
-                return EncodingUtils.decodeUnsignedVarLong(result.next().getColumns().get(COLUMN).getContents());
-            } else {
-                return Long.MIN_VALUE;
+            long now = clock.getTimeMillis();
+            if (index == null || isIndexRefreshDue()) {
+                PunchIndex indexToRefresh = index == null ? PunchIndex.EMPTY : index;
+                index = readPunchesAfter(indexToRefresh);
+                lastIndexRefreshMillis = now;
             }
+            return index;
         } finally {
-            result.close();
+            indexLock.unlock();
         }
     }
 
-    @Override
-    public long getMillisForTimestamp(long timestamp) {
-        return getMillisForTimestamp(keyValueService, timestamp);
+    private boolean isIndexRefreshDue() {
+        return clock.getTimeMillis() - lastIndexRefreshMillis >= INDEX_REFRESH_INTERVAL_MILLIS;
+    }
+
+    private PunchIndex readPunchesAfter(PunchIndex currentIndex) {
+        RangeRequest.Builder rangeRequest = RangeRequest.builder();
+        if (currentIndex.size() > 0) {
+            // rows are in descending order of time, so this range holds exactly the punches after the latest one
+            rangeRequest.endRowExclusive(encodeRow(currentIndex.getLatestMillis()));
+        }
+
+        long[] millis = new long[16];
+        long[] timestamps = new long[16];
+        int size = 0;
+        try (ClosableIterator<RowResult<Value>> rows =
+                keyValueService.getRange(AtlasDbConstants.PUNCH_TABLE, rangeRequest.build(), Long.MAX_VALUE)) {
+            while (rows.hasNext()) {
+                RowResult<Value> row = rows.next();
+                if (size == millis.length) {
+                    millis = Arrays.copyOf(millis, size * 2);
+                    timestamps = Arrays.copyOf(timestamps, size * 2);
+                }
+                millis[size] = decodeRow(row.getRowName());
+                timestamps[size] = EncodingUtils.decodeUnsignedVarLong(row.getColumns().get(COLUMN).getContents());
+                size++;
+            }
+        }
+        reverse(millis, size);
+        reverse(timestamps, size);
+        return currentIndex.withPunches(Arrays.copyOf(millis, size), Arrays.copyOf(timestamps, size));
+    }
+
+    private static void reverse(long[] values, int size) {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static byte[] encodeRow(long timeMillis) {
+        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
+        EncodingUtils.flipAllBitsInPlace(row);
+        return row;
+    }
+
+    private static long decodeRow(byte[] row) {
+        byte[] encodedMillis = row.clone();
+        EncodingUtils.flipAllBitsInPlace(encodedMillis);
+        return EncodingUtils.decodeUnsignedVarLong(encodedMillis);
     }
 
     public static long getMillisForTimestamp(KeyValueService kvs, long timestamp) {
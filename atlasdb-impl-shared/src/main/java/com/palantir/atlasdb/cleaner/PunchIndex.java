@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import java.util.Arrays;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An immutable in-memory copy of the punch table, held as parallel arrays sorted by wall clock time, so that both
+ * directions of lookup are a binary search.
+ * <p>
+ * Timestamps normally increase with wall clock time, but need not when clocks drift. Lookups by timestamp therefore
+ * search the minimum timestamp punched at or after each wall clock time, which is non-decreasing; the last position
+ * where that minimum is at most the queried timestamp is the greatest punched time whose timestamp is.
+ */
+@Immutable
+final class PunchIndex {
+    static final PunchIndex EMPTY = new PunchIndex(new long[0], new long[0]);
+
+    private final long[] millis;
+    private final long[] timestamps;
+    private final long[] minTimestampsFrom;
+
+    private PunchIndex(long[] millis, long[] timestamps) {
+        this.millis = millis;
+        this.timestamps = timestamps;
+        this.minTimestampsFrom = new long[timestamps.length];
+        long min = Long.MAX_VALUE;
+        for (int i = timestamps.length - 1; i >= 0; i--) {
+            min = Math.min(min, timestamps[i]);
+            minTimestampsFrom[i] = min;
+        }
+    }
+
+    int size() {
+        return millis.length;
+    }
+
+    /**
+     * The greatest wall clock time in the index, or {@link Long#MIN_VALUE} if it is empty.
+     */
+    long getLatestMillis() {
+        return millis.length == 0 ? Long.MIN_VALUE : millis[millis.length - 1];
+    }
+
+    /**
+     * Returns the timestamp punched at the greatest time at or before the given time, or {@link Long#MIN_VALUE} if
+     * there is none.
+     */
+    long getTimestamp(long timeMillis) {
+        int index = lastIndexAtMost(millis, timeMillis);
+        return index < 0 ? Long.MIN_VALUE : timestamps[index];
+    }
+
+    /**
+     * Returns the greatest time at which a timestamp at or before the given timestamp was punched, or zero if there
+     * is none.
+     */
+    long getMillis(long timestamp) {
+        int index = lastIndexAtMost(minTimestampsFrom, timestamp);
+        return index < 0 ? 0L : millis[index];
+    }
+
+    /**
+     * Returns an index containing these punches and the given ones, which must be sorted by time. Where both have a
+     * punch for the same time, the given one wins.
+     */
+    PunchIndex withPunches(long[] newMillis, long[] newTimestamps) {
+        Preconditions.checkArgument(newMillis.length == newTimestamps.length,
+                "Expected as many timestamps as times, but got %s and %s", newTimestamps.length, newMillis.length);
+        if (newMillis.length == 0) {
+            return this;
+        }
+
+        long[] mergedMillis = new long[millis.length + newMillis.length];
+        long[] mergedTimestamps = new long[mergedMillis.length];
+        int size = 0;
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < millis.length || newIndex < newMillis.length) {
+            boolean takeNew = oldIndex == millis.length
+                    || (newIndex < newMillis.length && newMillis[newIndex] <= millis[oldIndex]);
+            if (takeNew) {
+                if (oldIndex < millis.length && millis[oldIndex] == newMillis[newIndex]) {
+                    oldIndex++;
+                }
+                mergedMillis[size] = newMillis[newIndex];
+                mergedTimestamps[size] = newTimestamps[newIndex];
+                newIndex++;
+            } else {
+                mergedMillis[size] = millis[oldIndex];
+                mergedTimestamps[size] = timestamps[oldIndex];
+                oldIndex++;
+            }
+            size++;
+        }
+        return new PunchIndex(Arrays.copyOf(mergedMillis, size), Arrays.copyOf(mergedTimestamps, size));
+    }
+
+    private static int lastIndexAtMost(long[] sortedValues, long value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounds the number of scrub batches between reading the scrub queue and finishing their deletes, so that readers
+ * stall rather than run arbitrarily far ahead of the key value service. The bound adapts to the latency of the
+ * deletes: it is cut back whenever deleting a cell takes much longer than it has been taking recently, and grows by
+ * one slot at a time, up to a maximum, while the scrubber is using all of it and latency stays normal.
+ */
+@ThreadSafe
+final class ScrubThrottle {
+    private static final double LATENCY_SMOOTHING = 0.05;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BACKOFF_RATIO = 0.75;
+
+    private final int maxLimit;
+
+    @GuardedBy("this")
+    private int limit;
+    @GuardedBy("this")
+    private int inFlight = 0;
+    @GuardedBy("this")
+    private double averageNanosPerCell = Double.NaN;
+
+    ScrubThrottle(int initialLimit, int maxLimit) {
+        Preconditions.checkArgument(initialLimit > 0, "initialLimit must be positive, but was %s", initialLimit);
+        Preconditions.checkArgument(maxLimit >= initialLimit,
+                "maxLimit must be at least initialLimit %s, but was %s", initialLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    synchronized void recordLatency(long nanos, int numCells) {
+        if (numCells <= 0) {
+            return;
+        }
+        double nanosPerCell = (double) nanos / numCells;
+        if (Double.isNaN(averageNanosPerCell)) {
+            averageNanosPerCell = nanosPerCell;
+            return;
+        }
+        if (nanosPerCell > averageNanosPerCell * LATENCY_TOLERANCE) {
+            limit = Math.max(1, (int) (limit * BACKOFF_RATIO));
+        } else if (inFlight >= limit && limit < maxLimit) {
+            limit++;
+            notifyAll();
+        }
+        averageNanosPerCell += LATENCY_SMOOTHING * (nanosPerCell - averageNanosPerCell);
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
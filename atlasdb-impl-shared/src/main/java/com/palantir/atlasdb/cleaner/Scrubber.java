@@ -23,6 +23,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -35,10 +39,14 @@ import javax.annotation.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableMultimap.Builder;
 import com.google.common.collect.ImmutableSet;
@@ -58,6 +66,8 @@ import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.qos.QueryPriorities;
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.table.description.UniformRowNamePartitioner;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.transaction.api.Transaction;
@@ -66,6 +76,7 @@ import com.palantir.atlasdb.transaction.api.TransactionFailedRetriableException;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.transaction.impl.TransactionConstants;
 import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.BatchingVisitable;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.collect.Maps2;
@@ -80,6 +91,11 @@ import com.palantir.remoting3.tracing.Tracers;
  * The goal of the scrubber is to keep the most recently committed value committed before the
  * immutableTimestamp (or unReadable timestamp) and remove all old values written before this one.
  *
+ * The background scrub task is a pipeline of three stages, each with its own threads and timer: reading the scrub
+ * queue, partitioned by row range; looking up the commit timestamps of the hard delete transactions that queued the
+ * cells, through a cache shared by all readers; and deleting the old values, grouped by table. The number of batches
+ * in the later stages is bounded by a {@link ScrubThrottle}, which adapts to how long the deletes are taking.
+ *
  * @author jweel
  */
 @SuppressWarnings("checkstyle:FinalClass") // non-final for mocking
@@ -88,6 +104,9 @@ public class Scrubber {
     private static final int MAX_RETRY_ATTEMPTS = 100;
     private static final int RETRY_SLEEP_INTERVAL_IN_MILLIS = 1000;
     private static final int MAX_DELETES_IN_BATCH = 10_000;
+    // A batch spends part of its time in the lookup stage and fans out into several deletes, so the delete
+    // threads can usually keep more batches than themselves busy.
+    private static final int MAX_BATCHES_IN_FLIGHT_PER_DELETE_THREAD = 4;
 
     private final ScheduledExecutorService service = Tracers.wrap(PTExecutors.newSingleThreadScheduledExecutor(
             new NamedThreadFactory("scrubber", true /* daemon */)));
@@ -107,7 +126,14 @@ public class Scrubber {
     private final int threadCount;
     private final int readThreadCount;
     private final ExecutorService readerExec;
+    private final ExecutorService lookupExec;
     private final ExecutorService exec;
+    private final ScrubThrottle throttle;
+
+    private final MetricsManager metricsManager = new MetricsManager();
+    private final Timer readTimer = metricsManager.registerOrGetTimer(Scrubber.class, "readScrubQueue");
+    private final Timer lookupTimer = metricsManager.registerOrGetTimer(Scrubber.class, "lookupCommitTimestamps");
+    private final Timer deleteTimer = metricsManager.registerOrGetTimer(Scrubber.class, "deleteCells");
 
     private static final String SCRUBBER_THREAD_PREFIX = "AtlasScrubber";
 
@@ -174,7 +200,11 @@ public class Scrubber {
         this.followers = followers;
         NamedThreadFactory threadFactory = new NamedThreadFactory(SCRUBBER_THREAD_PREFIX, true);
         this.readerExec = Tracers.wrap(PTExecutors.newFixedThreadPool(readThreadCount, threadFactory));
+        this.lookupExec = Tracers.wrap(PTExecutors.newFixedThreadPool(readThreadCount, threadFactory));
         this.exec = Tracers.wrap(PTExecutors.newFixedThreadPool(threadCount, threadFactory));
+        this.throttle = new ScrubThrottle(threadCount, threadCount * MAX_BATCHES_IN_FLIGHT_PER_DELETE_THREAD);
+        metricsManager.registerMetric(Scrubber.class, "batchLimit", (Gauge<Integer>) throttle::getLimit);
+        metricsManager.registerMetric(Scrubber.class, "batchesInFlight", (Gauge<Integer>) throttle::getInFlight);
     }
 
     public boolean isInitialized() {
@@ -195,7 +225,10 @@ public class Scrubber {
             int numberOfAttempts = 0;
             while (numberOfAttempts < MAX_RETRY_ATTEMPTS) {
                 try {
-                    runBackgroundScrubTask(txManager);
+                    QueryPriorities.runWithPriority(QueryPriority.BACKGROUND, () -> {
+                        runBackgroundScrubTask(txManager);
+                        return null;
+                    });
 
                     long sleepDuration = backgroundScrubFrequencyMillisSupplier.get();
                     log.debug("Sleeping {} millis until next execution of scrub task", sleepDuration);
@@ -249,6 +282,10 @@ public class Scrubber {
         }
         rangeBoundaries.add(PtBytes.EMPTY_BYTE_ARRAY);
 
+        // Commit timestamps never change once written, and a hard delete usually queues cells across many rows,
+        // so readers of different ranges share the lookups for the duration of the task.
+        ConcurrentMap<Long, Long> commitTimestamps = new ConcurrentHashMap<>();
+        Collection<CompletableFuture<Void>> scrubFutures = new ConcurrentLinkedQueue<>();
         List<Future<Void>> readerFutures = Lists.newArrayList();
         final AtomicInteger totalCellsRead = new AtomicInteger(0);
         for (int i = 0; i < rangeBoundaries.size() - 1; i++) {
@@ -257,13 +294,18 @@ public class Scrubber {
             readerFutures.add(readerExec.submit(() -> {
                 BatchingVisitable<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue = scrubberStore
                         .getBatchingVisitableScrubQueue(maxScrubTimestamp, startRow, endRow);
+                Stopwatch readStopwatch = Stopwatch.createStarted();
                 scrubQueue.batchAccept(batchSize, batch -> {
+                    readTimer.update(readStopwatch.elapsed(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
                     for (SortedMap<Long, Multimap<TableReference, Cell>> cells : batch) {
                         // We may actually get more cells than the batch size. The batch size is used
                         // for pulling off the scrub queue, and a single entry in the scrub queue may
                         // match multiple tables. These will get broken down into smaller batches later
                         // on when we actually do deletes.
-                        int numCellsRead = scrubSomeCells(cells, txManager, maxScrubTimestamp);
+                        int numCellsRead = countCells(cells);
+                        if (numCellsRead > 0) {
+                            scrubFutures.add(scrubSomeCells(cells, txManager, maxScrubTimestamp, commitTimestamps));
+                        }
                         int totalRead = totalCellsRead.addAndGet(numCellsRead);
                         log.debug("Scrub task processed {} cells in a batch, total {} processed so far.",
                                   numCellsRead, totalRead);
@@ -272,14 +314,30 @@ public class Scrubber {
                             break;
                         }
                     }
+                    readStopwatch.reset().start();
                     return isScrubEnabled.get();
                 });
                 return null;
             }));
         }
 
+        // Even if a reader fails, wait for the other readers and for the batches already handed over, so that
+        // nothing from this run is still scrubbing when the task returns.
+        RuntimeException failure = null;
         for (Future<Void> readerFuture : readerFutures) {
-            Futures.getUnchecked(readerFuture);
+            try {
+                Futures.getUnchecked(readerFuture);
+            } catch (RuntimeException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        try {
+            CompletableFuture.allOf(scrubFutures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (RuntimeException e) {
+            failure = addFailure(failure, e);
+        }
+        if (failure != null) {
+            throw failure;
         }
 
         log.debug("Scrub background task running at timestamp {} processed a total of {} cells",
@@ -363,114 +421,186 @@ public class Scrubber {
         scrubberStore.queueCellsForScrubbing(cellToTableRefs, scrubTimestamp, batchSizeSupplier.get());
     }
 
-    private long getCommitTimestampRollBackIfNecessary(long startTimestamp,
-                                                       Multimap<TableReference, Cell> tableNameToCell) {
-        Long commitTimestamp = transactionService.get(startTimestamp);
-        if (commitTimestamp == null) {
-            // Roll back this transaction (note that rolling back arbitrary transactions
-            // can never cause correctness issues, only liveness issues)
-            try {
-                transactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
-            } catch (KeyAlreadyExistsException e) {
-                String msg = "Could not roll back transaction with start timestamp " + startTimestamp + "; either"
-                        + " it was already rolled back (by a different transaction), or it committed successfully"
-                        + " before we could roll it back.";
-                log.error("This isn't a bug but it should be very infrequent. {}", msg,
-                        new TransactionFailedRetriableException(msg, e));
+    private Map<Long, Long> getCommitTimestampsRollBackIfNecessary(Collection<Long> startTimestamps,
+                                                                  ConcurrentMap<Long, Long> cache) {
+        Map<Long, Long> commitTimestamps = Maps.newHashMapWithExpectedSize(startTimestamps.size());
+        List<Long> uncached = Lists.newArrayList();
+        for (Long startTimestamp : startTimestamps) {
+            Long commitTimestamp = cache.get(startTimestamp);
+            if (commitTimestamp == null) {
+                uncached.add(startTimestamp);
+            } else {
+                commitTimestamps.put(startTimestamp, commitTimestamp);
             }
-            commitTimestamp = transactionService.get(startTimestamp);
         }
-        if (commitTimestamp == null) {
-            throw new RuntimeException("expected commit timestamp to be non-null for startTs: " + startTimestamp);
+        if (uncached.isEmpty()) {
+            return commitTimestamps;
         }
-        if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
-            for (TableReference table : tableNameToCell.keySet()) {
-                Map<Cell, Long> toDelete = Maps2.createConstantValueMap(tableNameToCell.get(table), startTimestamp);
-                keyValueService.delete(table, Multimaps.forMap(toDelete));
+
+        Map<Long, Long> fetched = transactionService.get(uncached);
+        for (Long startTimestamp : uncached) {
+            Long commitTimestamp = fetched.get(startTimestamp);
+            if (commitTimestamp == null) {
+                commitTimestamp = rollBack(startTimestamp);
             }
+            cache.put(startTimestamp, commitTimestamp);
+            commitTimestamps.put(startTimestamp, commitTimestamp);
+        }
+        return commitTimestamps;
+    }
+
+    private long rollBack(long startTimestamp) {
+        // Roll back this transaction (note that rolling back arbitrary transactions
+        // can never cause correctness issues, only liveness issues)
+        try {
+            transactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
+        } catch (KeyAlreadyExistsException e) {
+            String msg = "Could not roll back transaction with start timestamp " + startTimestamp + "; either"
+                    + " it was already rolled back (by a different transaction), or it committed successfully"
+                    + " before we could roll it back.";
+            log.error("This isn't a bug but it should be very infrequent. {}", msg,
+                    new TransactionFailedRetriableException(msg, e));
+        }
+        Long commitTimestamp = transactionService.get(startTimestamp);
+        if (commitTimestamp == null) {
+            throw new RuntimeException("expected commit timestamp to be non-null for startTs: " + startTimestamp);
         }
         return commitTimestamp;
     }
 
+    private static RuntimeException addFailure(RuntimeException failure, RuntimeException newFailure) {
+        if (failure == null) {
+            return newFailure;
+        }
+        failure.addSuppressed(newFailure);
+        return failure;
+    }
+
+    private static int countCells(SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
+        int numCells = 0;
+        for (Multimap<TableReference, Cell> tableNameToCell : scrubTimestampToTableNameToCell.values()) {
+            numCells += tableNameToCell.size();
+        }
+        return numCells;
+    }
+
     /**
-     * Scrubs some cells.
+     * Hands some cells read from the scrub queue over to the commit timestamp lookup and delete stages, waiting
+     * first if the throttle is full.
      *
-     * @return number of cells read from _scrub table
+     * @return a future that completes when the cells have been scrubbed
      */
-    private int scrubSomeCells(
+    private CompletableFuture<Void> scrubSomeCells(
             SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell,
             TransactionManager txManager,
-            long maxScrubTimestamp) {
+            long maxScrubTimestamp,
+            ConcurrentMap<Long, Long> commitTimestampCache) {
         log.trace("Attempting to scrub cells: {}", scrubTimestampToTableNameToCell);
 
         if (log.isDebugEnabled()) {
-            int numCells = 0;
             Set<TableReference> tables = Sets.newHashSet();
             for (Multimap<TableReference, Cell> v : scrubTimestampToTableNameToCell.values()) {
                 tables.addAll(v.keySet());
-                numCells += v.size();
             }
-            log.debug("Attempting to scrub {} cells from tables {}", numCells, tables);
+            log.debug("Attempting to scrub {} cells from tables {}",
+                    countCells(scrubTimestampToTableNameToCell), tables);
         }
 
-        if (scrubTimestampToTableNameToCell.size() == 0) {
-            return 0; // No cells left to scrub
+        try {
+            throttle.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.throwUncheckedException(e);
+        }
+        CompletableFuture<Map<Long, Long>> commitTimestampsFuture;
+        try {
+            commitTimestampsFuture = CompletableFuture.supplyAsync(() -> {
+                try (Timer.Context timer = lookupTimer.time()) {
+                    return getCommitTimestampsRollBackIfNecessary(
+                            scrubTimestampToTableNameToCell.keySet(), commitTimestampCache);
+                }
+            }, lookupExec);
+        } catch (RuntimeException | Error e) {
+            // e.g. the lookup executor has been shut down, so nothing would ever release this batch's slot
+            throttle.release();
+            throw e;
         }
+        return commitTimestampsFuture
+                .thenCompose(commitTimestamps -> CompletableFuture.allOf(submitDeletes(
+                        scrubTimestampToTableNameToCell, commitTimestamps, txManager, maxScrubTimestamp)))
+                .whenComplete((ignored, error) -> {
+                    throttle.release();
+                    if (error == null) {
+                        logFinishedScrubbing(scrubTimestampToTableNameToCell);
+                    }
+                });
+    }
 
-        int numCellsReadFromScrubTable = 0;
-        List<Future<Void>> scrubFutures = Lists.newArrayList();
+    private CompletableFuture<?>[] submitDeletes(
+            SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell,
+            Map<Long, Long> commitTimestamps,
+            TransactionManager txManager,
+            long maxScrubTimestamp) {
         Map<TableReference, Multimap<Cell, Long>> failedWrites = Maps.newHashMap();
+        Map<TableReference, Multimap<Cell, Long>> cellsToScrub = Maps.newHashMap();
 
         for (Map.Entry<Long, Multimap<TableReference, Cell>> entry : scrubTimestampToTableNameToCell.entrySet()) {
-            final long scrubTimestamp = entry.getKey();
-            final Multimap<TableReference, Cell> tableNameToCell = entry.getValue();
-
-            numCellsReadFromScrubTable += tableNameToCell.size();
+            long scrubTimestamp = entry.getKey();
+            long commitTimestamp = commitTimestamps.get(scrubTimestamp);
 
             // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
             // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
             // or else we could cause permanent data loss if the hard delete transaction failed after
             // queuing cells to scrub but before successfully committing
-            long commitTimestamp = getCommitTimestampRollBackIfNecessary(scrubTimestamp, tableNameToCell);
+            Map<TableReference, Multimap<Cell, Long>> destination;
             if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
-                for (Entry<TableReference, Collection<Cell>> cells : tableNameToCell.asMap().entrySet()) {
-                    Multimap<Cell, Long> failedCells = failedWrites.get(cells.getKey());
-                    if (failedCells == null) {
-                        failedCells = ArrayListMultimap.create(cells.getValue().size(), 2);
-                        failedWrites.put(cells.getKey(), failedCells);
-                    }
-                    for (Cell cell : cells.getValue()) {
-                        failedCells.put(cell, scrubTimestamp);
-                    }
-                }
+                destination = failedWrites;
             } else if (commitTimestamp < maxScrubTimestamp) {
-                for (final List<Entry<TableReference, Cell>> batch :
-                        Iterables.partition(tableNameToCell.entries(), batchSizeSupplier.get())) {
-                    final Multimap<TableReference, Cell> batchMultimap = HashMultimap.create();
-                    for (Entry<TableReference, Cell> e : batch) {
-                        batchMultimap.put(e.getKey(), e.getValue());
-                    }
-                    scrubFutures.add(exec.submit(() -> {
-                        scrubCells(txManager, batchMultimap,
-                                scrubTimestamp,
-                                aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE);
-                        return null;
-                    }));
+                destination = cellsToScrub;
+            } else {
+                // We cannot scrub this yet because not all transactions can read this value.
+                continue;
+            }
+            for (Entry<TableReference, Collection<Cell>> cells : entry.getValue().asMap().entrySet()) {
+                Multimap<Cell, Long> tableCells = destination.computeIfAbsent(
+                        cells.getKey(), unused -> ArrayListMultimap.create(cells.getValue().size(), 2));
+                for (Cell cell : cells.getValue()) {
+                    tableCells.put(cell, scrubTimestamp);
                 }
             }
-            // else {
-            //     We cannot scrub this yet because not all transactions can read this value.
-            // }
         }
 
-        for (Future<Void> future : scrubFutures) {
-            Futures.getUnchecked(future);
+        List<CompletableFuture<Void>> deleteFutures = Lists.newArrayList();
+        for (Entry<TableReference, Multimap<Cell, Long>> entry : failedWrites.entrySet()) {
+            deleteFutures.add(CompletableFuture.runAsync(
+                    () -> removeFailedWrites(entry.getKey(), entry.getValue()), exec));
+        }
+        TransactionType transactionType =
+                aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE;
+        for (Entry<TableReference, Multimap<Cell, Long>> entry : cellsToScrub.entrySet()) {
+            Multimap<Cell, Long> cellToScrubTimestamps = entry.getValue();
+            for (List<Cell> cells : Iterables.partition(cellToScrubTimestamps.keySet(), batchSizeSupplier.get())) {
+                Multimap<Cell, Long> batch = ArrayListMultimap.create(cells.size(), 2);
+                for (Cell cell : cells) {
+                    batch.putAll(cell, cellToScrubTimestamps.get(cell));
+                }
+                deleteFutures.add(CompletableFuture.runAsync(
+                        () -> scrubCellsInTable(txManager, entry.getKey(), batch, transactionType), exec));
+            }
         }
+        return deleteFutures.toArray(new CompletableFuture<?>[0]);
+    }
 
-        if (!failedWrites.isEmpty()) {
-            scrubberStore.markCellsAsScrubbed(failedWrites, batchSizeSupplier.get());
+    private void removeFailedWrites(TableReference tableRef, Multimap<Cell, Long> cellToStartTimestamps) {
+        // The values written by a rolled back hard delete are at its start timestamp, which is the scrub timestamp
+        try (Timer.Context timer = deleteTimer.time()) {
+            keyValueService.delete(tableRef, cellToStartTimestamps);
+            scrubberStore.markCellsAsScrubbed(ImmutableMap.of(tableRef, cellToStartTimestamps),
+                    batchSizeSupplier.get());
         }
+    }
 
+    private void logFinishedScrubbing(SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
         log.trace("Finished scrubbing cells: {}", scrubTimestampToTableNameToCell);
 
         if (log.isDebugEnabled()) {
@@ -481,41 +611,59 @@ public class Scrubber {
             long minTimestamp = Collections.min(scrubTimestampToTableNameToCell.keySet());
             long maxTimestamp = Collections.max(scrubTimestampToTableNameToCell.keySet());
             log.debug("Finished scrubbing {} cells at {} timestamps ({}...{}) from tables {}",
-                      numCellsReadFromScrubTable, scrubTimestampToTableNameToCell.size(),
+                      countCells(scrubTimestampToTableNameToCell), scrubTimestampToTableNameToCell.size(),
                       minTimestamp, maxTimestamp, tables);
         }
-
-        return numCellsReadFromScrubTable;
     }
 
     private void scrubCells(TransactionManager txManager,
                             Multimap<TableReference, Cell> tableNameToCells,
                             long scrubTimestamp,
                             Transaction.TransactionType transactionType) {
-        Map<TableReference, Multimap<Cell, Long>> allCellsToMarkScrubbed =
-                Maps.newHashMapWithExpectedSize(tableNameToCells.keySet().size());
         for (Entry<TableReference, Collection<Cell>> entry : tableNameToCells.asMap().entrySet()) {
             TableReference tableRef = entry.getKey();
             log.debug("Attempting to immediately scrub {} cells from table {}", entry.getValue().size(), tableRef);
             for (List<Cell> cells : Iterables.partition(entry.getValue(), batchSizeSupplier.get())) {
-                Multimap<Cell, Long> allTimestamps = keyValueService.getAllTimestamps(
-                        tableRef, ImmutableSet.copyOf(cells), scrubTimestamp);
-                Multimap<Cell, Long> timestampsToDelete = Multimaps.filterValues(
-                        allTimestamps, v -> !v.equals(Value.INVALID_VALUE_TIMESTAMP));
-
-                // If transactionType == TransactionType.AGGRESSIVE_HARD_DELETE this might
-                // force other transactions to abort or retry
-                deleteCellsAtTimestamps(txManager, tableRef, timestampsToDelete, transactionType);
-
-                Multimap<Cell, Long> cellsToMarkScrubbed = HashMultimap.create(allTimestamps);
-                for (Cell cell : cells) {
-                    cellsToMarkScrubbed.put(cell, scrubTimestamp);
-                }
-                allCellsToMarkScrubbed.put(tableRef, cellsToMarkScrubbed);
+                Map<Cell, Long> cellToScrubTimestamp = Maps2.createConstantValueMap(cells, scrubTimestamp);
+                scrubCellsInTable(txManager, tableRef, Multimaps.forMap(cellToScrubTimestamp), transactionType);
             }
             log.debug("Immediately scrubbed {} cells from table {}", entry.getValue().size(), tableRef);
         }
-        scrubberStore.markCellsAsScrubbed(allCellsToMarkScrubbed, batchSizeSupplier.get());
+    }
+
+    /**
+     * Deletes all values of the given cells older than their latest scrub timestamp, and removes the cells from the
+     * scrub queue. A cell queued by several hard deletes is scrubbed up to the latest of them, which covers the
+     * values the earlier ones would have removed.
+     */
+    private void scrubCellsInTable(TransactionManager txManager,
+                                   TableReference tableRef,
+                                   Multimap<Cell, Long> cellToScrubTimestamps,
+                                   Transaction.TransactionType transactionType) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        Multimap<Long, Cell> cellsByLatestScrubTimestamp = ArrayListMultimap.create();
+        for (Entry<Cell, Collection<Long>> entry : cellToScrubTimestamps.asMap().entrySet()) {
+            cellsByLatestScrubTimestamp.put(Collections.max(entry.getValue()), entry.getKey());
+        }
+        Multimap<Cell, Long> allTimestamps = HashMultimap.create();
+        for (Entry<Long, Collection<Cell>> entry : cellsByLatestScrubTimestamp.asMap().entrySet()) {
+            allTimestamps.putAll(keyValueService.getAllTimestamps(
+                    tableRef, ImmutableSet.copyOf(entry.getValue()), entry.getKey()));
+        }
+        Multimap<Cell, Long> timestampsToDelete = Multimaps.filterValues(
+                allTimestamps, v -> !v.equals(Value.INVALID_VALUE_TIMESTAMP));
+
+        // If transactionType == TransactionType.AGGRESSIVE_HARD_DELETE this might
+        // force other transactions to abort or retry
+        deleteCellsAtTimestamps(txManager, tableRef, timestampsToDelete, transactionType);
+
+        Multimap<Cell, Long> cellsToMarkScrubbed = HashMultimap.create(allTimestamps);
+        cellsToMarkScrubbed.putAll(cellToScrubTimestamps);
+        scrubberStore.markCellsAsScrubbed(ImmutableMap.of(tableRef, cellsToMarkScrubbed), batchSizeSupplier.get());
+
+        long elapsedNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+        deleteTimer.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        throttle.recordLatency(elapsedNanos, cellToScrubTimestamps.keySet().size());
     }
 
     private void deleteCellsAtTimestamps(TransactionManager txManager,
@@ -545,6 +693,7 @@ public class Scrubber {
 
     public void shutdown() {
         exec.shutdown();
+        lookupExec.shutdown();
         readerExec.shutdown();
         service.shutdownNow();
         boolean shutdown = false;
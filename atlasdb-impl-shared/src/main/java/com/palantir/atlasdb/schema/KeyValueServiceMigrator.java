@@ -31,6 +31,8 @@ import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.qos.QueryPriorities;
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.table.description.RowNamePartitioner;
 import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
@@ -149,7 +151,10 @@ public class KeyValueServiceMigrator {
 
     public void migrate() {
         try {
-            internalMigrate();
+            QueryPriorities.runWithPriority(QueryPriority.BATCH, () -> {
+                internalMigrate();
+                return null;
+            });
         } catch (InterruptedException e) {
             Throwables.throwUncheckedException(e);
         }
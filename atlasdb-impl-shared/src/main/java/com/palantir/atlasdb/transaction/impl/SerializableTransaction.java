@@ -50,6 +50,7 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.cache.TimestampCache;
+import com.palantir.atlasdb.cache.WriteOnceTableCache;
 import com.palantir.atlasdb.cleaner.Cleaner;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -117,6 +118,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                                    TransactionReadSentinelBehavior readSentinelBehavior,
                                    boolean allowHiddenTableAccess,
                                    TimestampCache timestampCache,
+                                   WriteOnceTableCache writeOnceTableCache,
                                    long lockAcquireTimeoutMs,
                                    ExecutorService getRangesExecutor,
                                    int defaultGetRangesConcurrency) {
@@ -135,6 +137,7 @@ public class SerializableTransaction extends SnapshotTransaction {
               readSentinelBehavior,
               allowHiddenTableAccess,
               timestampCache,
+              writeOnceTableCache,
               lockAcquireTimeoutMs,
               getRangesExecutor,
               defaultGetRangesConcurrency);
@@ -712,6 +715,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                 getReadSentinelBehavior(),
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                WriteOnceTableCache.disabled(),
                 lockAcquireTimeoutMs,
                 getRangesExecutor,
                 defaultGetRangesConcurrency) {
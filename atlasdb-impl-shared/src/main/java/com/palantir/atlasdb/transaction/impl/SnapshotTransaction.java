@@ -80,6 +80,7 @@ import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.AtlasDbPerformanceConstants;
 import com.palantir.atlasdb.cache.TimestampCache;
+import com.palantir.atlasdb.cache.WriteOnceTableCache;
 import com.palantir.atlasdb.cleaner.Cleaner;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -206,6 +207,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     protected final boolean allowHiddenTableAccess;
     protected final Stopwatch transactionTimer = Stopwatch.createStarted();
     protected final TimestampCache timestampValidationReadCache;
+    protected final WriteOnceTableCache writeOnceTableCache;
     protected final long lockAcquireTimeoutMs;
     protected final ExecutorService getRangesExecutor;
     protected final int defaultGetRangesConcurrency;
@@ -233,6 +235,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                                TransactionReadSentinelBehavior readSentinelBehavior,
                                boolean allowHiddenTableAccess,
                                TimestampCache timestampValidationReadCache,
+                               WriteOnceTableCache writeOnceTableCache,
                                long lockAcquireTimeoutMs,
                                ExecutorService getRangesExecutor,
                                int defaultGetRangesConcurrency) {
@@ -251,6 +254,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.readSentinelBehavior = readSentinelBehavior;
         this.allowHiddenTableAccess = allowHiddenTableAccess;
         this.timestampValidationReadCache = timestampValidationReadCache;
+        this.writeOnceTableCache = writeOnceTableCache;
         this.lockAcquireTimeoutMs = lockAcquireTimeoutMs;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
@@ -284,6 +288,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.readSentinelBehavior = readSentinelBehavior;
         this.allowHiddenTableAccess = false;
         this.timestampValidationReadCache = timestampValidationReadCache;
+        this.writeOnceTableCache = WriteOnceTableCache.disabled();
         this.lockAcquireTimeoutMs = AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
@@ -315,6 +320,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.readSentinelBehavior = readSentinelBehavior;
         this.allowHiddenTableAccess = allowHiddenTableAccess;
         this.timestampValidationReadCache = timestampValidationReadCache;
+        this.writeOnceTableCache = WriteOnceTableCache.disabled();
         this.lockAcquireTimeoutMs = lockAcquireTimeoutMs;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
@@ -624,12 +630,26 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
      * This will load the given keys from the underlying key value service and apply postFiltering
      * so we have snapshot isolation.  If the value in the key value service is the empty array
      * this will be included here and needs to be filtered out.
+     * <p>
+     * Cells of write-once tables are served from the {@link WriteOnceTableCache} where possible, and committed
+     * values loaded for such tables are added to it.
      */
     private Map<Cell, byte[]> getFromKeyValueService(TableReference tableRef, Set<Cell> cells) {
         Map<Cell, byte[]> result = Maps.newHashMap();
-        Map<Cell, Long> toRead = Cells.constantValueMap(cells, getStartTimestamp());
+        Set<Cell> toLoad = cells;
+        if (writeOnceTableCache.isCached(tableRef)) {
+            result.putAll(writeOnceTableCache.getIfPresent(tableRef, cells, getStartTimestamp()));
+            toLoad = ImmutableSet.copyOf(Sets.difference(cells, result.keySet()));
+            if (toLoad.isEmpty()) {
+                return result;
+            }
+        }
+        Map<Cell, byte[]> loaded = Maps.newHashMap();
+        Map<Cell, Long> toRead = Cells.constantValueMap(toLoad, getStartTimestamp());
         Map<Cell, Value> rawResults = keyValueService.get(tableRef, toRead);
-        getWithPostFiltering(tableRef, rawResults, result, Value.GET_VALUE);
+        getWithPostFiltering(tableRef, rawResults, loaded, Value.GET_VALUE);
+        writeOnceTableCache.putCommittedValues(tableRef, loaded, getStartTimestamp());
+        result.putAll(loaded);
         return result;
     }
 
@@ -1159,12 +1179,15 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
     @Override
     public final void delete(TableReference tableRef, Set<Cell> cells) {
+        Preconditions.checkArgument(cells.isEmpty() || !writeOnceTableCache.isWriteOnce(tableRef),
+                "Cannot delete cells of the write-once table %s.", tableRef);
         putInternal(tableRef, Cells.constantValueMap(cells, PtBytes.EMPTY_BYTE_ARRAY));
     }
 
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values) {
         ensureNoEmptyValues(values);
+        ensureWriteOnceCellsAreUnwritten(tableRef, values.keySet());
         putInternal(tableRef, values);
     }
 
@@ -1188,6 +1211,22 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
     }
 
+    /**
+     * Cells of write-once tables may only be written if they have no value visible to this transaction, including
+     * values written earlier by this transaction. The cells are read through {@link #get}, so serializable
+     * transactions also detect a value committed concurrently.
+     */
+    private void ensureWriteOnceCellsAreUnwritten(TableReference tableRef, Set<Cell> cells) {
+        if (cells.isEmpty() || !writeOnceTableCache.isWriteOnce(tableRef)) {
+            return;
+        }
+        Set<Cell> written = get(tableRef, cells).keySet();
+        if (!written.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot overwrite %d cells of the write-once table %s.", written.size(), tableRef));
+        }
+    }
+
     private void ensureNoEmptyValues(Map<Cell, byte[]> values) {
         for (Entry<Cell, byte[]> cellEntry : values.entrySet()) {
             if ((cellEntry.getValue() == null) || (cellEntry.getValue().length == 0)) {
@@ -31,6 +31,7 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.palantir.atlasdb.cache.WriteOnceTableCache;
 import com.palantir.atlasdb.cleaner.Cleaner;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
@@ -72,6 +73,7 @@ import com.palantir.timestamp.TimestampService;
     final ExecutorService getRangesExecutor;
     final TimestampTracker timestampTracker;
     final int defaultGetRangesConcurrency;
+    final WriteOnceTableCache writeOnceTableCache;
 
     final List<Runnable> closingCallbacks;
     final AtomicBoolean isClosed;
@@ -91,6 +93,40 @@ import com.palantir.timestamp.TimestampService;
             int concurrentGetRangesThreadPoolSize,
             int defaultGetRangesConcurrency,
             Supplier<Long> timestampCacheSize) {
+        this(
+                keyValueService,
+                timelockService,
+                lockService,
+                transactionService,
+                constraintModeSupplier,
+                conflictDetectionManager,
+                sweepStrategyManager,
+                cleaner,
+                allowHiddenTableAccess,
+                lockAcquireTimeoutMs,
+                timestampTracker,
+                concurrentGetRangesThreadPoolSize,
+                defaultGetRangesConcurrency,
+                timestampCacheSize,
+                WriteOnceTableCache.disabled());
+    }
+
+    protected SnapshotTransactionManager(
+            KeyValueService keyValueService,
+            TimelockService timelockService,
+            LockService lockService,
+            TransactionService transactionService,
+            Supplier<AtlasDbConstraintCheckingMode> constraintModeSupplier,
+            ConflictDetectionManager conflictDetectionManager,
+            SweepStrategyManager sweepStrategyManager,
+            Cleaner cleaner,
+            boolean allowHiddenTableAccess,
+            Supplier<Long> lockAcquireTimeoutMs,
+            TimestampTracker timestampTracker,
+            int concurrentGetRangesThreadPoolSize,
+            int defaultGetRangesConcurrency,
+            Supplier<Long> timestampCacheSize,
+            WriteOnceTableCache writeOnceTableCache) {
         super(timestampCacheSize);
 
         this.keyValueService = keyValueService;
@@ -108,6 +144,7 @@ import com.palantir.timestamp.TimestampService;
         this.getRangesExecutor = createGetRangesExecutor(concurrentGetRangesThreadPoolSize);
         this.timestampTracker = timestampTracker;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
+        this.writeOnceTableCache = writeOnceTableCache;
     }
 
     @Override
@@ -193,6 +230,7 @@ import com.palantir.timestamp.TimestampService;
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                writeOnceTableCache,
                 lockAcquireTimeoutMs.get(),
                 getRangesExecutor,
                 defaultGetRangesConcurrency);
@@ -218,6 +256,7 @@ import com.palantir.timestamp.TimestampService;
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 allowHiddenTableAccess,
                 timestampValidationReadCache,
+                writeOnceTableCache,
                 lockAcquireTimeoutMs.get(),
                 getRangesExecutor,
                 defaultGetRangesConcurrency);
@@ -261,6 +300,7 @@ import com.palantir.timestamp.TimestampService;
     @Override
     public void clearTimestampCache() {
         timestampValidationReadCache.clear();
+        writeOnceTableCache.clear();
     }
 
     private void closeLockServiceIfPossible() {
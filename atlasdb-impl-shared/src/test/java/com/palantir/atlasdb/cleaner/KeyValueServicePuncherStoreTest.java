@@ -16,6 +16,11 @@
 package com.palantir.atlasdb.cleaner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Map;
 
@@ -23,6 +28,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 
 public class KeyValueServicePuncherStoreTest {
@@ -45,6 +52,7 @@ public class KeyValueServicePuncherStoreTest {
             TIMESTAMP_2, WALL_CLOCK_1);
 
     private PuncherStore puncherStore;
+    private long currentTimeMillis = 0L;
 
     @Before
     public void setUp() {
@@ -109,6 +117,49 @@ public class KeyValueServicePuncherStoreTest {
                 .isNotEqualTo(TIMESTAMP_2); // strictly speaking not needed but better for readability
     }
 
+    @Test
+    public void readsPunchTableOnlyOncePerRefreshInterval() {
+        KeyValueService kvs = spy(new InMemoryKeyValueService(false));
+        PuncherStore store = KeyValueServicePuncherStore.create(kvs, false, () -> currentTimeMillis);
+        PUNCHER_HISTORY.forEach(store::put);
+
+        PUNCHER_HISTORY.forEach((key, value) -> assertThat(store.get(value)).isEqualTo(key));
+        PUNCHER_HISTORY.forEach((key, value) -> assertThat(store.getMillisForTimestamp(key)).isEqualTo(value));
+
+        verify(kvs, times(1)).getRange(any(), any(), anyLong());
+    }
+
+    @Test
+    public void seesPunchesFromOtherStoresOnceRefreshIntervalHasPassed() {
+        KeyValueService kvs = new InMemoryKeyValueService(false);
+        PuncherStore store = KeyValueServicePuncherStore.create(kvs, false, () -> currentTimeMillis);
+        PuncherStore otherStore = KeyValueServicePuncherStore.create(kvs, false, () -> currentTimeMillis);
+        store.put(TIMESTAMP_1, WALL_CLOCK_1);
+        assertThat(store.get(WALL_CLOCK_2)).isEqualTo(TIMESTAMP_1);
+
+        otherStore.put(TIMESTAMP_2, WALL_CLOCK_2);
+        assertThat(store.get(WALL_CLOCK_2)).isEqualTo(TIMESTAMP_1);
+
+        currentTimeMillis += KeyValueServicePuncherStore.INDEX_REFRESH_INTERVAL_MILLIS;
+        assertThat(store.get(WALL_CLOCK_2)).isEqualTo(TIMESTAMP_2);
+        assertThat(store.getMillisForTimestamp(TIMESTAMP_2)).isEqualTo(WALL_CLOCK_2);
+    }
+
+    @Test
+    public void refreshOnlyReadsPunchesAfterTheLatestIndexedOne() {
+        KeyValueService kvs = new InMemoryKeyValueService(false);
+        PuncherStore store = KeyValueServicePuncherStore.create(kvs, false, () -> currentTimeMillis);
+        store.put(TIMESTAMP_1, WALL_CLOCK_1);
+        store.put(TIMESTAMP_3, WALL_CLOCK_3);
+        assertThat(store.get(WALL_CLOCK_3)).isEqualTo(TIMESTAMP_3);
+
+        kvs.truncateTable(AtlasDbConstants.PUNCH_TABLE);
+        currentTimeMillis += KeyValueServicePuncherStore.INDEX_REFRESH_INTERVAL_MILLIS;
+
+        assertThat(store.get(WALL_CLOCK_1)).isEqualTo(TIMESTAMP_1);
+        assertThat(store.get(WALL_CLOCK_3)).isEqualTo(TIMESTAMP_3);
+    }
+
     private static long mean(long first, long second) {
         return (first + second) / 2;
     }
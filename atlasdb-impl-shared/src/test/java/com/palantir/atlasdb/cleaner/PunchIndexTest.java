@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class PunchIndexTest {
+    private static final PunchIndex INDEX = PunchIndex.EMPTY.withPunches(
+            new long[] {100L, 200L, 300L},
+            new long[] {10L, 20L, 30L});
+
+    @Test
+    public void emptyIndexHasNoPunches() {
+        assertThat(PunchIndex.EMPTY.getTimestamp(Long.MAX_VALUE)).isEqualTo(Long.MIN_VALUE);
+        assertThat(PunchIndex.EMPTY.getMillis(Long.MAX_VALUE)).isEqualTo(0L);
+        assertThat(PunchIndex.EMPTY.getLatestMillis()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    public void getTimestampReturnsLatestPunchAtOrBeforeTime() {
+        assertThat(INDEX.getTimestamp(99L)).isEqualTo(Long.MIN_VALUE);
+        assertThat(INDEX.getTimestamp(100L)).isEqualTo(10L);
+        assertThat(INDEX.getTimestamp(250L)).isEqualTo(20L);
+        assertThat(INDEX.getTimestamp(Long.MAX_VALUE)).isEqualTo(30L);
+    }
+
+    @Test
+    public void getMillisReturnsLatestTimeOfPunchAtOrBeforeTimestamp() {
+        assertThat(INDEX.getMillis(9L)).isEqualTo(0L);
+        assertThat(INDEX.getMillis(10L)).isEqualTo(100L);
+        assertThat(INDEX.getMillis(25L)).isEqualTo(200L);
+        assertThat(INDEX.getMillis(Long.MAX_VALUE)).isEqualTo(300L);
+    }
+
+    @Test
+    public void getMillisHandlesTimestampsOutOfOrderOfTime() {
+        PunchIndex drifted = PunchIndex.EMPTY.withPunches(
+                new long[] {100L, 200L, 300L, 400L},
+                new long[] {10L, 30L, 20L, 40L});
+
+        assertThat(drifted.getMillis(20L)).isEqualTo(300L);
+        assertThat(drifted.getMillis(29L)).isEqualTo(300L);
+        assertThat(drifted.getMillis(30L)).isEqualTo(300L);
+        assertThat(drifted.getMillis(15L)).isEqualTo(100L);
+    }
+
+    @Test
+    public void newPunchesAreMergedInOrderAndReplaceExistingOnes() {
+        PunchIndex merged = INDEX.withPunches(new long[] {150L, 300L, 400L}, new long[] {15L, 35L, 40L});
+
+        assertThat(merged.size()).isEqualTo(5);
+        assertThat(merged.getTimestamp(199L)).isEqualTo(15L);
+        assertThat(merged.getTimestamp(300L)).isEqualTo(35L);
+        assertThat(merged.getLatestMillis()).isEqualTo(400L);
+        assertThat(INDEX.getTimestamp(300L)).isEqualTo(30L);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ScrubThrottleTest {
+    private final ScrubThrottle throttle = new ScrubThrottle(4, 6);
+
+    @Test
+    public void startsAtInitialLimit() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire();
+        }
+        assertThat(throttle.getInFlight()).isEqualTo(4);
+        assertThat(throttle.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void backsOffWhenLatencyIncreases() {
+        throttle.recordLatency(1_000, 1);
+        throttle.recordLatency(10_000, 1);
+
+        assertThat(throttle.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    public void neverBacksOffBelowOne() {
+        long latency = 1_000;
+        for (int i = 0; i < 20; i++) {
+            throttle.recordLatency(latency, 1);
+            latency *= 10;
+        }
+
+        assertThat(throttle.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    public void latencyIsComparedPerCell() {
+        throttle.recordLatency(1_000, 1);
+        throttle.recordLatency(10_000, 10);
+
+        assertThat(throttle.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void recoversOnlyWhileFullyUsed() throws InterruptedException {
+        throttle.recordLatency(1_000, 1);
+        throttle.recordLatency(10_000, 1);
+        throttle.recordLatency(1_000, 1);
+        assertThat(throttle.getLimit()).isEqualTo(3);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire();
+        }
+        throttle.recordLatency(1_000, 1);
+        assertThat(throttle.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void growsBeyondInitialLimitWhileFullyUsed() throws InterruptedException {
+        throttle.recordLatency(1_000, 1);
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire();
+        }
+        throttle.recordLatency(1_000, 1);
+        throttle.acquire();
+        throttle.recordLatency(1_000, 1);
+
+        assertThat(throttle.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    public void neverGrowsBeyondMaximumLimit() throws InterruptedException {
+        throttle.recordLatency(1_000, 1);
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire();
+        }
+        for (int i = 0; i < 4; i++) {
+            throttle.recordLatency(1_000, 1);
+            if (throttle.getInFlight() < throttle.getLimit()) {
+                throttle.acquire();
+            }
+        }
+
+        assertThat(throttle.getLimit()).isEqualTo(6);
+        assertThat(throttle.getInFlight()).isEqualTo(6);
+    }
+
+    @Test
+    public void acquireBlocksUntilReleased() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire();
+        }
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                throttle.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        throttle.release();
+        assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+        waiter.join();
+    }
+}
@@ -31,6 +31,7 @@ import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -132,8 +133,63 @@ public class ScrubberTest {
         Assert.assertEquals(ImmutableList.of(), scrubQueue);
     }
 
+    @Test
+    public void testCellQueuedByManyHardDeletesIsScrubbedUpToLatest() {
+        Cell cell = Cell.create(new byte[] {1}, new byte[] {2});
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        kvs.createTable(tableRef, new byte[] {});
+        kvs.putWithTimestamps(tableRef, ImmutableMultimap.<Cell, Value>builder()
+                .put(cell, Value.create(new byte[] {3}, 10))
+                .put(cell, Value.create(new byte[] {4}, 20))
+                .put(cell, Value.create(new byte[] {5}, 30))
+                .build());
+        transactions.putUnlessExists(10, 15);
+        transactions.putUnlessExists(20, 25);
+        transactions.putUnlessExists(30, 35);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell, tableRef), 20, 100);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell, tableRef), 30, 100);
+
+        Scrubber parallelScrubber = getScrubber(kvs, scrubStore, transactions, 4, 4);
+        try {
+            parallelScrubber.runBackgroundScrubTask(null);
+        } finally {
+            parallelScrubber.shutdown();
+        }
+
+        Assert.assertEquals(ImmutableSet.of(Value.INVALID_VALUE_TIMESTAMP, 30L), ImmutableSet.copyOf(
+                kvs.getAllTimestamps(tableRef, ImmutableSet.of(cell), Long.MAX_VALUE).get(cell)));
+        Assert.assertEquals(ImmutableList.of(), BatchingVisitables.copyToList(
+                scrubStore.getBatchingVisitableScrubQueue(Long.MAX_VALUE, null, null)));
+    }
+
+    @Test
+    public void testUncommittedHardDeleteIsRolledBack() {
+        Cell cell = Cell.create(new byte[] {1}, new byte[] {2});
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        kvs.createTable(tableRef, new byte[] {});
+        kvs.putWithTimestamps(tableRef, ImmutableMultimap.<Cell, Value>builder()
+                .put(cell, Value.create(new byte[] {3}, 10))
+                .put(cell, Value.create(new byte[] {4}, 20))
+                .build());
+        transactions.putUnlessExists(10, 15);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell, tableRef), 20, 100);
+
+        scrubber.runBackgroundScrubTask(null);
+
+        Assert.assertEquals(TransactionConstants.FAILED_COMMIT_TS, (long) transactions.get(20));
+        Assert.assertEquals(ImmutableSet.of(10L), ImmutableSet.copyOf(
+                kvs.getAllTimestamps(tableRef, ImmutableSet.of(cell), Long.MAX_VALUE).get(cell)));
+        Assert.assertEquals(ImmutableList.of(), BatchingVisitables.copyToList(
+                scrubStore.getBatchingVisitableScrubQueue(Long.MAX_VALUE, null, null)));
+    }
+
     private Scrubber getScrubber(KeyValueService keyValueService, ScrubberStore scrubberStore,
             TransactionService transactionService) {
+        return getScrubber(keyValueService, scrubberStore, transactionService, 1, 1);
+    }
+
+    private Scrubber getScrubber(KeyValueService keyValueService, ScrubberStore scrubberStore,
+            TransactionService transactionService, int threadCount, int readThreadCount) {
         return Scrubber.create(keyValueService, scrubberStore,
                 () -> Long.MAX_VALUE, // background scrub frequency millis
                 () -> true, // scrub enabled
@@ -142,8 +198,8 @@ public class ScrubberTest {
                 transactionService,
                 false, // is aggressive
                 () -> 100, //  batch size
-                1, // thread count
-                1, // read thread count
+                threadCount,
+                readThreadCount,
                 ImmutableList.of()); // followers
     }
 }
@@ -27,12 +27,16 @@ import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.immutables.value.Value;
 import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.util.Multiset;
 import org.openjdk.jmh.util.Statistics;
@@ -48,6 +52,10 @@ import com.palantir.atlasdb.performance.backend.DockerizedDatabaseUri;
 public class PerformanceResults {
     @VisibleForTesting
     static final String KVS_AGNOSTIC_SUFFIX = "N/A";
+    @VisibleForTesting
+    static final String ALLOCATION_RATE = "\u00b7gc.alloc.rate";
+    @VisibleForTesting
+    static final String ALLOCATION_PER_OPERATION = "\u00b7gc.alloc.rate.norm";
 
     private final Collection<RunResult> results;
     public static final int DOWNSAMPLE_MAXIMUM_SIZE = 500;
@@ -77,9 +85,34 @@ public class PerformanceResults {
                         .p50(rs.getPrimaryResult().getStatistics().getPercentile(50.0))
                         .p90(rs.getPrimaryResult().getStatistics().getPercentile(90.0))
                         .p99(rs.getPrimaryResult().getStatistics().getPercentile(99.0))
+                        .p999(rs.getPrimaryResult().getStatistics().getPercentile(99.9))
+                        .throughput(getThroughput(rs))
+                        .allocationRate(getSecondaryScore(rs, ALLOCATION_RATE))
+                        .allocationPerOperation(getSecondaryScore(rs, ALLOCATION_PER_OPERATION))
                         .build()).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the operations completed per second across all benchmark threads, derived from the mean operation time.
+     */
+    @VisibleForTesting
+    static double getThroughput(RunResult result) {
+        BenchmarkParams params = result.getParams();
+        double meanSeconds = result.getPrimaryResult().getStatistics().getMean()
+                / params.getTimeUnit().convert(1, TimeUnit.SECONDS);
+        return params.getThreads() / meanSeconds;
+    }
+
+    /**
+     * Returns the score of a secondary result, such as those the GC profiler reports, or null if it was not measured.
+     */
+    @VisibleForTesting
+    @Nullable
+    static Double getSecondaryScore(RunResult result, String label) {
+        Map<String, Result> secondaryResults = result.getSecondaryResults();
+        return secondaryResults.containsKey(label) ? secondaryResults.get(label).getScore() : null;
+    }
+
     @VisibleForTesting
     static String getBenchmarkName(BenchmarkParams params) {
         Optional<String> benchmarkUriSuffix = Optional.ofNullable(params.getParam(BenchmarkParam.URI.getKey()))
@@ -176,6 +209,15 @@ public class PerformanceResults {
         public abstract double p50();
         public abstract double p90();
         public abstract double p99();
+        public abstract double p999();
+        /** Operations per second across all benchmark threads. */
+        public abstract double throughput();
+        /** MB allocated per second, if the run was profiled. */
+        @Nullable
+        public abstract Double allocationRate();
+        /** Bytes allocated per benchmark operation, if the run was profiled. */
+        @Nullable
+        public abstract Double allocationPerOperation();
     }
 
 }
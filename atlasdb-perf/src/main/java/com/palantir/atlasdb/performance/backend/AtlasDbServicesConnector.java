@@ -17,6 +17,11 @@
 package com.palantir.atlasdb.performance.backend;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -24,10 +29,15 @@ import org.openjdk.jmh.annotations.State;
 
 import com.palantir.atlasdb.config.ImmutableAtlasDbConfig;
 import com.palantir.atlasdb.config.ImmutableAtlasDbRuntimeConfig;
+import com.palantir.atlasdb.config.ImmutableServerListConfig;
+import com.palantir.atlasdb.config.ImmutableTimeLockClientConfig;
+import com.palantir.atlasdb.http.AtlasDbHttpClients;
 import com.palantir.atlasdb.services.AtlasDbServices;
 import com.palantir.atlasdb.services.DaggerAtlasDbServices;
+import com.palantir.atlasdb.services.LockAndTimestampModule;
 import com.palantir.atlasdb.services.ServicesConfigModule;
 import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+import com.palantir.lock.v2.TimelockService;
 
 @State(Scope.Benchmark)
 public class AtlasDbServicesConnector implements Closeable {
@@ -39,6 +49,7 @@ public class AtlasDbServicesConnector implements Closeable {
     private String uri;
 
     private AtlasDbServices services;
+    private Optional<InProcessTimeLock> timeLock = Optional.empty();
 
     public AtlasDbServices connect() {
         if (services != null) {
@@ -46,23 +57,52 @@ public class AtlasDbServicesConnector implements Closeable {
         }
 
         DockerizedDatabaseUri dburi = DockerizedDatabaseUri.fromUriString(uri);
-        KeyValueServiceConfig config = dburi.getKeyValueServiceInstrumentation()
-                .getKeyValueServiceConfig(dburi.getAddress());
-        ImmutableAtlasDbConfig atlasDbConfig = ImmutableAtlasDbConfig.builder().keyValueService(config).build();
+        KeyValueServiceInstrumentation instrumentation = dburi.getKeyValueServiceInstrumentation();
+        KeyValueServiceConfig config = instrumentation.getKeyValueServiceConfig(dburi.getAddress());
+        ImmutableAtlasDbConfig.Builder atlasDbConfig = ImmutableAtlasDbConfig.builder().keyValueService(config);
+        instrumentation.getTimeLockServerUri(dburi.getAddress()).ifPresent(server -> atlasDbConfig
+                .namespace(TimeLockServerKeyValueServiceInstrumentation.namespace(0))
+                .timelock(ImmutableTimeLockClientConfig.builder()
+                        .serversList(ImmutableServerListConfig.builder().addServers(server).build())
+                        .build()));
         ImmutableAtlasDbRuntimeConfig runtimeConfig = ImmutableAtlasDbRuntimeConfig.defaultRuntimeConfig();
-        ServicesConfigModule servicesConfigModule = ServicesConfigModule.create(atlasDbConfig, runtimeConfig);
+        ServicesConfigModule servicesConfigModule = ServicesConfigModule.create(atlasDbConfig.build(), runtimeConfig);
 
+        timeLock = instrumentation.startTimeLock();
         services = DaggerAtlasDbServices.builder()
                 .servicesConfigModule(servicesConfigModule)
+                .lockAndTimestampModule(timeLock
+                        .map(InProcessTimeLock::getLockAndTimestampModule)
+                        .orElseGet(LockAndTimestampModule::new))
                 .build();
 
         return services;
     }
 
+    /**
+     * Returns timelock services for the given number of TimeLock clients. Backends with a TimeLock server get a
+     * separate HTTP client for each namespace; other backends have a single set of lock and timestamp services, which
+     * every namespace shares.
+     */
+    public List<TimelockService> connectTimelockNamespaces(int namespaces) {
+        DockerizedDatabaseUri dburi = DockerizedDatabaseUri.fromUriString(uri);
+        Optional<String> server = dburi.getKeyValueServiceInstrumentation().getTimeLockServerUri(dburi.getAddress());
+        if (!server.isPresent()) {
+            return Collections.nCopies(namespaces, connect().getTimelockService());
+        }
+        return IntStream.range(0, namespaces)
+                .mapToObj(index -> AtlasDbHttpClients.createProxy(
+                        Optional.empty(),
+                        server.get() + "/" + TimeLockServerKeyValueServiceInstrumentation.namespace(index),
+                        TimelockService.class))
+                .collect(Collectors.toList());
+    }
+
     public void close() {
         if (services != null) {
             services.close();
         }
+        timeLock.ifPresent(InProcessTimeLock::close);
     }
 
 }
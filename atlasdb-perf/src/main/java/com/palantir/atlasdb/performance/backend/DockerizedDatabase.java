@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URL;
+import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -47,6 +48,18 @@ public final class DockerizedDatabase implements Closeable {
         return new DockerizedDatabase(docker, new DockerizedDatabaseUri(type, addr));
     }
 
+    /**
+     * Returns a database for a backend that runs inside the benchmark JVM, without starting any container. If the
+     * backend has a TimeLock server, it is started here and benchmarks are pointed at its address.
+     */
+    public static DockerizedDatabase inProcess(KeyValueServiceInstrumentation type) {
+        Optional<InProcessTimeLockServer> timeLockServer = type.startTimeLockServer();
+        InetSocketAddress addr = timeLockServer
+                .map(InProcessTimeLockServer::getAddress)
+                .orElse(InProcessKeyValueServiceInstrumentation.IN_PROCESS_ADDRESS);
+        return new DockerizedDatabase(null, timeLockServer, new DockerizedDatabaseUri(type, addr));
+    }
+
     private static String getDockerComposeFileAbsolutePath(String dockerComposeResourceFileName) {
         try {
             return writeResourceToTempFile(DockerizedDatabase.class, dockerComposeResourceFileName).getAbsolutePath();
@@ -85,10 +98,19 @@ public final class DockerizedDatabase implements Closeable {
     }
 
     private final DockerComposeRule docker;
+    private final Optional<InProcessTimeLockServer> timeLockServer;
     private final DockerizedDatabaseUri uri;
 
     private DockerizedDatabase(DockerComposeRule docker, DockerizedDatabaseUri uri) {
+        this(docker, Optional.empty(), uri);
+    }
+
+    private DockerizedDatabase(
+            DockerComposeRule docker,
+            Optional<InProcessTimeLockServer> timeLockServer,
+            DockerizedDatabaseUri uri) {
         this.docker = docker;
+        this.timeLockServer = timeLockServer;
         this.uri = uri;
     }
 
@@ -100,5 +122,6 @@ public final class DockerizedDatabase implements Closeable {
         if (docker != null) {
             docker.after();
         }
+        timeLockServer.ifPresent(InProcessTimeLockServer::close);
     }
 }
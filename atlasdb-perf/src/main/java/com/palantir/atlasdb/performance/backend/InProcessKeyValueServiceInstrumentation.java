@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.net.InetSocketAddress;
+
+/**
+ * A backend that runs inside the benchmark JVM, and so does not need a Docker container. Benchmarks against these
+ * backends do not measure network or database latency; they are intended to catch regressions in AtlasDB's own code
+ * paths on machines that cannot run Docker.
+ */
+public abstract class InProcessKeyValueServiceInstrumentation extends KeyValueServiceInstrumentation {
+
+    static final InetSocketAddress IN_PROCESS_ADDRESS = InetSocketAddress.createUnresolved("localhost", 0);
+
+    InProcessKeyValueServiceInstrumentation() {
+        super(0, null);
+    }
+
+    @Override
+    public boolean isInProcess() {
+        return true;
+    }
+
+    @Override
+    public boolean canConnect(InetSocketAddress addr) {
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.atlasdb.factory.ImmutableLockAndTimestampServices;
+import com.palantir.atlasdb.factory.TransactionManagers;
+import com.palantir.atlasdb.services.LockAndTimestampModule;
+import com.palantir.atlasdb.services.ServicesConfig;
+import com.palantir.atlasdb.timelock.AsyncTimelockService;
+import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.paxos.DelegatingManagedTimestampService;
+import com.palantir.atlasdb.transaction.impl.TimelockTimestampServiceAdapter;
+import com.palantir.lock.client.TimeLockClient;
+import com.palantir.lock.impl.LockServiceImpl;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.timestamp.InMemoryTimestampService;
+
+/**
+ * The lock and timestamp services of a single TimeLock client, running in the benchmark JVM. Timestamps are not
+ * persisted and there is no leader election, so this measures the TimeLock request paths without Paxos.
+ */
+public final class InProcessTimeLock implements Closeable {
+
+    private final ScheduledExecutorService executor;
+    private final AsyncTimelockService asyncTimelock;
+    private final LockServiceImpl lockService;
+    private final TimeLockClient timelockClient;
+    private final TransactionManagers.LockAndTimestampServices services;
+
+    private InProcessTimeLock(
+            ScheduledExecutorService executor,
+            AsyncTimelockService asyncTimelock,
+            LockServiceImpl lockService) {
+        this.executor = executor;
+        this.asyncTimelock = asyncTimelock;
+        this.lockService = lockService;
+
+        TimelockService timelock = new InProcessTimelockService(asyncTimelock);
+        this.timelockClient = TimeLockClient.createDefault(timelock);
+        this.services = ImmutableLockAndTimestampServices.builder()
+                .lock(lockService)
+                .timestamp(new TimelockTimestampServiceAdapter(timelock))
+                .timelock(timelockClient)
+                .build();
+    }
+
+    public static InProcessTimeLock start() {
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2,
+                new ThreadFactoryBuilder().setNameFormat("in-process-timelock-%d").setDaemon(true).build());
+        InMemoryTimestampService timestampService = new InMemoryTimestampService();
+        AsyncTimelockService asyncTimelock = new AsyncTimelockServiceImpl(
+                AsyncLockService.createDefault(executor, executor),
+                new DelegatingManagedTimestampService(timestampService, timestampService));
+        return new InProcessTimeLock(executor, asyncTimelock, LockServiceImpl.create());
+    }
+
+    /**
+     * A module that makes the AtlasDB services use this TimeLock, rather than the services described by their config.
+     */
+    public LockAndTimestampModule getLockAndTimestampModule() {
+        return new LockAndTimestampModule() {
+            @Override
+            public TransactionManagers.LockAndTimestampServices provideLockAndTimestampServices(
+                    ServicesConfig config) {
+                return services;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            timelockClient.close();
+            asyncTimelock.close();
+            lockService.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close the in-process TimeLock", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
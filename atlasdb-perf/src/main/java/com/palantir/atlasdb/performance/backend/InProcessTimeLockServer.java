@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.palantir.atlasdb.timelock.TimeLockServerLauncher;
+import com.palantir.atlasdb.timelock.config.ImmutableClusterConfiguration;
+import com.palantir.atlasdb.timelock.config.ImmutablePaxosConfiguration;
+import com.palantir.atlasdb.timelock.config.TimeLockServerConfiguration;
+
+import io.dropwizard.jetty.HttpConnectorFactory;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.testing.DropwizardTestSupport;
+
+/**
+ * A single node TimeLock server running in the benchmark CLI's JVM, serving plain HTTP on an ephemeral loopback port.
+ * Benchmarks, which JMH runs in forked JVMs, reach it over the network like any other TimeLock server. Paxos state is
+ * kept in a temporary directory that is deleted when the server is closed.
+ */
+public final class InProcessTimeLockServer implements Closeable {
+
+    private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+    // The only node of the cluster, so it never calls itself over the network and the port here is never used.
+    private static final String LOCAL_SERVER = "localhost:0";
+
+    private final DropwizardTestSupport<TimeLockServerConfiguration> server;
+    private final File paxosDataDir;
+
+    private InProcessTimeLockServer(DropwizardTestSupport<TimeLockServerConfiguration> server, File paxosDataDir) {
+        this.server = server;
+        this.paxosDataDir = paxosDataDir;
+    }
+
+    public static InProcessTimeLockServer start(Set<String> clients) {
+        File paxosDataDir = Files.createTempDir();
+        TimeLockServerConfiguration configuration = new TimeLockServerConfiguration(
+                ImmutablePaxosConfiguration.builder().paxosDataDir(paxosDataDir).build(),
+                ImmutableClusterConfiguration.builder().localServer(LOCAL_SERVER).addServers(LOCAL_SERVER).build(),
+                clients,
+                null,
+                null,
+                null,
+                null);
+        configuration.setServerFactory(loopbackServerFactory());
+
+        DropwizardTestSupport<TimeLockServerConfiguration> server =
+                new DropwizardTestSupport<>(TimeLockServerLauncher.class, configuration);
+        try {
+            server.before();
+        } catch (RuntimeException e) {
+            server.after();
+            FileUtils.deleteQuietly(paxosDataDir);
+            throw e;
+        }
+        return new InProcessTimeLockServer(server, paxosDataDir);
+    }
+
+    private static DefaultServerFactory loopbackServerFactory() {
+        DefaultServerFactory serverFactory = new DefaultServerFactory();
+        serverFactory.setApplicationConnectors(ImmutableList.of(loopbackConnector()));
+        serverFactory.setAdminConnectors(ImmutableList.of(loopbackConnector()));
+        return serverFactory;
+    }
+
+    private static HttpConnectorFactory loopbackConnector() {
+        HttpConnectorFactory connector = new HttpConnectorFactory();
+        connector.setBindHost(LOOPBACK_ADDRESS);
+        connector.setPort(0);
+        return connector;
+    }
+
+    public InetSocketAddress getAddress() {
+        return InetSocketAddress.createUnresolved(LOOPBACK_ADDRESS, server.getLocalPort());
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.after();
+        } finally {
+            try {
+                FileUtils.deleteDirectory(paxosDataDir);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to delete the TimeLock server's Paxos data directory", e);
+            }
+        }
+    }
+}
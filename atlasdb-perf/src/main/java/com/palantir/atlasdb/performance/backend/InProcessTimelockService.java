@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.base.Throwables;
+import com.palantir.atlasdb.timelock.AsyncTimelockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.lock.v2.LockImmutableTimestampRequest;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.v2.WaitForLocksRequest;
+import com.palantir.lock.v2.WaitForLocksResponse;
+import com.palantir.timestamp.TimestampRange;
+
+/**
+ * Calls a TimeLock server's {@link AsyncTimelockService} directly, blocking on lock requests the way the server's
+ * HTTP resource holds their responses.
+ */
+class InProcessTimelockService implements TimelockService {
+
+    private final AsyncTimelockService timelock;
+
+    InProcessTimelockService(AsyncTimelockService timelock) {
+        this.timelock = timelock;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return timelock.isInitialized();
+    }
+
+    @Override
+    public long getFreshTimestamp() {
+        return timelock.getFreshTimestamp();
+    }
+
+    @Override
+    public TimestampRange getFreshTimestamps(int numTimestampsRequested) {
+        return timelock.getFreshTimestamps(numTimestampsRequested);
+    }
+
+    @Override
+    public LockImmutableTimestampResponse lockImmutableTimestamp(LockImmutableTimestampRequest request) {
+        return timelock.lockImmutableTimestamp(request);
+    }
+
+    @Override
+    public long getImmutableTimestamp() {
+        return timelock.getImmutableTimestamp();
+    }
+
+    @Override
+    public LockResponse lock(LockRequest request) {
+        return await(timelock.lock(request), LockResponse::successful, LockResponse::timedOut);
+    }
+
+    @Override
+    public WaitForLocksResponse waitForLocks(WaitForLocksRequest request) {
+        return await(timelock.waitForLocks(request),
+                ignored -> WaitForLocksResponse.successful(),
+                WaitForLocksResponse::timedOut);
+    }
+
+    @Override
+    public Set<LockToken> refreshLockLeases(Set<LockToken> tokens) {
+        return timelock.refreshLockLeases(tokens);
+    }
+
+    @Override
+    public Set<LockToken> unlock(Set<LockToken> tokens) {
+        return timelock.unlock(tokens);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return timelock.currentTimeMillis();
+    }
+
+    private static <T, R> R await(AsyncResult<T> result, Function<T, R> onSuccess, Supplier<R> onTimeout) {
+        CompletableFuture<R> response = new CompletableFuture<>();
+        result.onComplete(() -> {
+            if (result.isFailed()) {
+                response.completeExceptionally(result.getError());
+            } else if (result.isTimedOut()) {
+                response.complete(onTimeout.get());
+            } else {
+                response.complete(onSuccess.apply(result.get()));
+            }
+        });
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.performance.backend;
 import java.lang.reflect.Constructor;
 import java.net.InetSocketAddress;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -36,6 +37,10 @@ public abstract class KeyValueServiceInstrumentation {
     static {
         addNewBackendType(new CassandraKeyValueServiceInstrumentation());
         addNewBackendType(new PostgresKeyValueServiceInstrumentation());
+        addNewBackendType(new InMemoryKeyValueServiceInstrumentation());
+        addNewBackendType(new H2KeyValueServiceInstrumentation());
+        addNewBackendType(new EmbeddedTimeLockKeyValueServiceInstrumentation());
+        addNewBackendType(new TimeLockServerKeyValueServiceInstrumentation());
     }
 
     KeyValueServiceInstrumentation(int kvsPort, String dockerComposeFileName) {
@@ -54,6 +59,37 @@ public abstract class KeyValueServiceInstrumentation {
     public abstract KeyValueServiceConfig getKeyValueServiceConfig(InetSocketAddress addr);
     public abstract boolean canConnect(InetSocketAddress addr);
 
+    /**
+     * Whether this backend runs inside the benchmark JVM, in which case no Docker container is started for it.
+     */
+    public boolean isInProcess() {
+        return false;
+    }
+
+    /**
+     * Starts a TimeLock for the benchmarks to take timestamps and locks from, if this backend uses one. Otherwise,
+     * benchmarks use the lock and timestamp services that AtlasDB creates from its config.
+     */
+    public Optional<InProcessTimeLock> startTimeLock() {
+        return Optional.empty();
+    }
+
+    /**
+     * Starts the TimeLock server this backend talks to inside the benchmark CLI's JVM, if it has one. Benchmarks are
+     * given the server's address rather than a Docker container's.
+     */
+    public Optional<InProcessTimeLockServer> startTimeLockServer() {
+        return Optional.empty();
+    }
+
+    /**
+     * The base URI of the TimeLock server that benchmarks should take timestamps and locks from over HTTP, if this
+     * backend uses one. Clients are addressed by appending their namespace to this URI.
+     */
+    public Optional<String> getTimeLockServerUri(InetSocketAddress addr) {
+        return Optional.empty();
+    }
+
     public static void addNewBackendType(KeyValueServiceInstrumentation backend) {
         if (!backendMap.containsKey(backend.getClassName())) {
             classNames.put(backend.toString(), backend.getClassName());
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.awaitility.Duration;
+
+import com.palantir.atlasdb.http.AtlasDbHttpClients;
+import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
+import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+import com.palantir.lock.v2.TimelockService;
+
+/**
+ * Runs benchmarks against a TimeLock server, talking to it over HTTP. Data is stored in an in-memory key value service,
+ * so benchmarks measure the cost of the lock and timestamp calls end to end.
+ * <p>
+ * The server runs in the benchmark CLI's JVM on an ephemeral loopback port (see {@link InProcessTimeLockServer}), and
+ * is configured with the clients {@code benchmark-0} to {@code benchmark-63}; see {@link #namespace(int)}. A server
+ * elsewhere with the same clients can be used instead by passing its address with {@code --db-uri}.
+ */
+public class TimeLockServerKeyValueServiceInstrumentation extends InProcessKeyValueServiceInstrumentation {
+
+    public static final int NAMESPACES = 64;
+
+    public static String namespace(int index) {
+        return "benchmark-" + index;
+    }
+
+    @Override
+    public KeyValueServiceConfig getKeyValueServiceConfig(InetSocketAddress addr) {
+        return new InMemoryAtlasDbConfig();
+    }
+
+    @Override
+    public Optional<InProcessTimeLockServer> startTimeLockServer() {
+        Set<String> clients = IntStream.range(0, NAMESPACES)
+                .mapToObj(TimeLockServerKeyValueServiceInstrumentation::namespace)
+                .collect(Collectors.toSet());
+        InProcessTimeLockServer server = InProcessTimeLockServer.start(clients);
+        try {
+            Awaitility.await()
+                    .atMost(Duration.ONE_MINUTE)
+                    .pollInterval(Duration.ONE_HUNDRED_MILLISECONDS)
+                    .until(() -> canConnect(server.getAddress()));
+        } catch (RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        return Optional.of(server);
+    }
+
+    @Override
+    public Optional<String> getTimeLockServerUri(InetSocketAddress addr) {
+        return Optional.of("http://" + addr.getHostString() + ":" + addr.getPort());
+    }
+
+    @Override
+    public boolean canConnect(InetSocketAddress addr) {
+        TimelockService timelock = AtlasDbHttpClients.createProxy(
+                Optional.empty(),
+                getTimeLockServerUri(addr).get() + "/" + namespace(0),
+                TimelockService.class);
+        try {
+            timelock.getFreshTimestamp();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TIMELOCK_SERVER";
+    }
+}
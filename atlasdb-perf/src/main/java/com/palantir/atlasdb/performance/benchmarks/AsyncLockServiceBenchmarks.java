@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.atlasdb.timelock.lock.LockCollection;
+import com.palantir.atlasdb.timelock.lock.OrderedLocks;
+import com.palantir.atlasdb.timelock.lock.TimeLimit;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockToken;
+
+/**
+ * Measures the throughput of acquiring, refreshing and releasing TimeLock locks in process, with many distinct lock
+ * descriptors. Each thread locks descriptors from its own range, so the requests never block on each other and the
+ * benchmarks measure the cost of the lock table and lock bookkeeping, rather than contention on individual locks.
+ */
+public class AsyncLockServiceBenchmarks {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 1024;
+    private static final int TOKENS_PER_REFRESH = 100;
+
+    @State(Scope.Benchmark)
+    public static class LockTable {
+        @Param({"1000", "1000000"})
+        public int descriptorsPerThread;
+
+        @Param({"1", "10"})
+        public int locksPerRequest;
+
+        private final AtomicInteger nextThread = new AtomicInteger();
+        private ScheduledExecutorService reaperExecutor;
+        private ScheduledExecutorService timeoutExecutor;
+        private AsyncLockService lockService;
+        private LockCollection lockCollection;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            reaperExecutor = Executors.newSingleThreadScheduledExecutor();
+            timeoutExecutor = Executors.newSingleThreadScheduledExecutor();
+            lockService = AsyncLockService.createDefault(reaperExecutor, timeoutExecutor);
+            lockCollection = new LockCollection();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            lockService.close();
+            reaperExecutor.shutdown();
+            timeoutExecutor.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private final List<Set<LockDescriptor>> requests = Lists.newArrayListWithCapacity(REQUESTS_PER_THREAD);
+        private int next = 0;
+
+        @Setup(Level.Trial)
+        public void setup(LockTable table) {
+            int thread = table.nextThread.getAndIncrement();
+            long firstDescriptor = (long) thread * table.descriptorsPerThread;
+            Random random = new Random(thread);
+            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                // Clients send descriptors in lock order.
+                ImmutableSortedSet.Builder<LockDescriptor> descriptors = ImmutableSortedSet.naturalOrder();
+                while (descriptors.build().size() < table.locksPerRequest) {
+                    long index = firstDescriptor + random.nextInt(table.descriptorsPerThread);
+                    descriptors.add(StringLockDescriptor.of("lock-" + index));
+                }
+                requests.add(descriptors.build());
+            }
+        }
+
+        Set<LockDescriptor> next() {
+            next = (next + 1) % REQUESTS_PER_THREAD;
+            return requests.get(next);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class HeldLocks {
+        private Set<LockToken> tokens;
+
+        @Setup(Level.Trial)
+        public void setup(LockTable table) {
+            ImmutableSet.Builder<LockToken> heldTokens = ImmutableSet.builder();
+            for (int i = 0; i < TOKENS_PER_REFRESH; i++) {
+                // Descriptors outside of every thread's range, so that held locks never block the other benchmarks.
+                ImmutableSortedSet.Builder<LockDescriptor> descriptors = ImmutableSortedSet.naturalOrder();
+                for (int j = 0; j < table.locksPerRequest; j++) {
+                    descriptors.add(StringLockDescriptor.of("held-" + UUID.randomUUID()));
+                }
+                heldTokens.add(table.lockService.lock(UUID.randomUUID(), descriptors.build(), TimeLimit.zero()).get());
+            }
+            tokens = heldTokens.build();
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public boolean lockAndUnlock(LockTable table, Requests requests) {
+        AsyncResult<LockToken> result = table.lockService.lock(UUID.randomUUID(), requests.next(), TimeLimit.zero());
+        return table.lockService.unlock(result.get());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Set<LockToken> refreshLocks(LockTable table, HeldLocks locks) {
+        return table.lockService.refresh(locks.tokens);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public OrderedLocks getAndReleaseLocks(LockTable table, Requests requests) {
+        OrderedLocks locks = table.lockCollection.getAll(requests.next());
+        table.lockCollection.release(locks);
+        return locks;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.atlasdb.timelock.lock.TimeLimit;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockToken;
+
+/**
+ * Measures acquiring and releasing TimeLock locks in process when threads compete for the same lock descriptors.
+ * With a single shared descriptor every request queues behind the current holder, while with many descriptors
+ * requests rarely collide. Requests wait for their locks the way the TimeLock HTTP resource does.
+ */
+public class AsyncLockServiceContentionBenchmarks {
+    private static final int THREADS = 16;
+    private static final TimeLimit LOCK_TIMEOUT = TimeLimit.of(TimeUnit.MINUTES.toMillis(1));
+
+    @State(Scope.Benchmark)
+    public static class SharedLocks {
+        @Param({"1", "16", "1024"})
+        public int sharedDescriptors;
+
+        private ScheduledExecutorService reaperExecutor;
+        private ScheduledExecutorService timeoutExecutor;
+        private AsyncLockService lockService;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            reaperExecutor = Executors.newSingleThreadScheduledExecutor();
+            timeoutExecutor = Executors.newSingleThreadScheduledExecutor();
+            lockService = AsyncLockService.createDefault(reaperExecutor, timeoutExecutor);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            lockService.close();
+            reaperExecutor.shutdown();
+            timeoutExecutor.shutdown();
+        }
+
+        Set<LockDescriptor> randomDescriptor() {
+            int index = ThreadLocalRandom.current().nextInt(sharedDescriptors);
+            return ImmutableSet.of(StringLockDescriptor.of("lock-" + index));
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public boolean lockAndUnlock(SharedLocks locks) throws InterruptedException {
+        AsyncResult<LockToken> result = locks.lockService.lock(
+                UUID.randomUUID(), locks.randomDescriptor(), LOCK_TIMEOUT);
+        return locks.lockService.unlock(await(result));
+    }
+
+    private static LockToken await(AsyncResult<LockToken> result) throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(1);
+        result.onComplete(completed::countDown);
+        completed.await();
+        return result.get();
+    }
+}
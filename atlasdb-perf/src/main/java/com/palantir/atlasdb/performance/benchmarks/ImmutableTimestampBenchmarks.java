@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.AsyncTimelockService;
+import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.ImmutableTimestampTracker;
+import com.palantir.atlasdb.timelock.paxos.DelegatingManagedTimestampService;
+import com.palantir.lock.v2.LockImmutableTimestampRequest;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.timestamp.InMemoryTimestampService;
+
+/**
+ * Measures how TimeLock tracks the immutable timestamp, which every transaction locks when it starts and releases
+ * when it ends. The tracker benchmark optionally keeps many older timestamps locked throughout, as long-running
+ * transactions would.
+ */
+public class ImmutableTimestampBenchmarks {
+    private static final int THREADS = 16;
+
+    @State(Scope.Benchmark)
+    public static class Tracker {
+        @Param({"0", "10000"})
+        public int heldTimestamps;
+
+        private final ImmutableTimestampTracker tracker = new ImmutableTimestampTracker();
+        private final AtomicLong nextTimestamp = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < heldTimestamps; i++) {
+                tracker.lock(nextTimestamp.incrementAndGet(), UUID.randomUUID());
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TimeLock {
+        private ScheduledExecutorService executor;
+        private AsyncTimelockService timelock;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            executor = Executors.newScheduledThreadPool(2);
+            InMemoryTimestampService timestampService = new InMemoryTimestampService();
+            timelock = new AsyncTimelockServiceImpl(
+                    AsyncLockService.createDefault(executor, executor),
+                    new DelegatingManagedTimestampService(timestampService, timestampService));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            timelock.close();
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Optional<Long> trackerLockAndUnlock(Tracker tracker) {
+        long timestamp = tracker.nextTimestamp.incrementAndGet();
+        UUID requestId = UUID.randomUUID();
+        tracker.tracker.lock(timestamp, requestId);
+        Optional<Long> immutableTimestamp = tracker.tracker.getImmutableTimestamp();
+        tracker.tracker.unlock(timestamp, requestId);
+        return immutableTimestamp;
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Set<LockToken> lockImmutableTimestampAndUnlock(TimeLock timeLock) {
+        LockImmutableTimestampResponse response =
+                timeLock.timelock.lockImmutableTimestamp(LockImmutableTimestampRequest.create());
+        return timeLock.timelock.unlock(ImmutableSet.of(response.getLock()));
+    }
+}
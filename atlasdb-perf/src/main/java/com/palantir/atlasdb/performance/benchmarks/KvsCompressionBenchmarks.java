@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.CompressingKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.PartitionStrategy;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+
+/**
+ * Measures the CPU cost of {@link CompressingKeyValueService} for each codec against an in-memory key value service,
+ * so that the cost of the key value service itself is small. {@link Compression#NONE} is the baseline. The bytes
+ * saved by each codec are logged when each trial ends.
+ */
+public class KvsCompressionBenchmarks {
+    private static final TableReference TABLE_REF =
+            TableReference.createFromFullyQualifiedName("performance.compressed");
+    private static final byte[] COLUMN = "c".getBytes(StandardCharsets.UTF_8);
+    private static final long TIMESTAMP = 1L;
+    private static final int BATCH_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class CompressedTable {
+        private static final Logger log = LoggerFactory.getLogger(CompressedTable.class);
+        private static final String[] WORDS = {"id", "name", "status", "ACTIVE", "INACTIVE", "created", "updated",
+                "owner", "description", "tags", "region", "eu-west-1", "us-east-1", "true", "false", "null"};
+
+        @Param({"NONE", "SNAPPY", "LZ4", "DEFLATE"})
+        public Compression codec;
+
+        @Param({"1024", "16384"})
+        public int valueSize;
+
+        private KeyValueService delegate;
+        private KeyValueService kvs;
+        private Map<Cell, byte[]> batch;
+        private Map<Cell, Long> readRequest;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            delegate = new InMemoryKeyValueService(false);
+            kvs = CompressingKeyValueService.create(delegate);
+            kvs.createTable(TABLE_REF, metadata(codec));
+            Random random = new Random(279L);
+            batch = Maps.newHashMapWithExpectedSize(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.put(Cell.create(Ints.toByteArray(i), COLUMN), generateRecord(random, valueSize));
+            }
+            kvs.put(TABLE_REF, batch, TIMESTAMP);
+            readRequest = ImmutableMap.copyOf(Maps.transformValues(batch, value -> TIMESTAMP + 1));
+        }
+
+        @TearDown(Level.Trial)
+        public void logBytesSaved() {
+            long valueBytes = 0;
+            for (byte[] value : batch.values()) {
+                valueBytes += value.length;
+            }
+            long storedBytes = 0;
+            for (Value value : delegate.get(TABLE_REF, readRequest).values()) {
+                storedBytes += value.getContents().length;
+            }
+            log.info("{} compression of {} byte values stores {} of {} bytes ({}% saved)",
+                    codec, valueSize, storedBytes, valueBytes, 100 - (100 * storedBytes / valueBytes));
+            kvs.close();
+        }
+
+        /**
+         * Generates a JSON-like record from a small vocabulary, which compresses roughly as well as typical
+         * serialized application data.
+         */
+        private static byte[] generateRecord(Random random, int size) {
+            StringBuilder record = new StringBuilder(size + 32).append('{');
+            while (record.length() < size - 1) {
+                record.append('"').append(WORDS[random.nextInt(WORDS.length)]).append("\":\"")
+                        .append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(1000)).append("\",");
+            }
+            record.setLength(size - 1);
+            return record.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] metadata(Compression compression) {
+            return new TableMetadata(
+                    new NameMetadataDescription(),
+                    new ColumnMetadataDescription(),
+                    ConflictHandler.RETRY_ON_WRITE_WRITE,
+                    CachePriority.WARM,
+                    PartitionStrategy.ORDERED,
+                    false,
+                    0,
+                    false,
+                    SweepStrategy.CONSERVATIVE,
+                    false,
+                    LogSafety.UNSAFE,
+                    compression).persistToBytes();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Map<Cell, byte[]> putBatch(CompressedTable table) {
+        table.kvs.put(TABLE_REF, table.batch, TIMESTAMP);
+        return table.batch;
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Map<Cell, Value> getBatch(CompressedTable table) {
+        return table.kvs.get(TABLE_REF, table.readRequest);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.palantir.lock.HeldLocksToken;
+import com.palantir.lock.LockClient;
+import com.palantir.lock.LockMode;
+import com.palantir.lock.LockRequest;
+import com.palantir.lock.LockServerOptions;
+import com.palantir.lock.SimpleTimeDuration;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.impl.LockServiceImpl;
+
+/**
+ * Measures the throughput of the legacy lock service in process, when many clients each hold many locks. Each thread
+ * acts as its own client with its own lock descriptors, so the requests never block on each other and the benchmarks
+ * measure contention on the lock service's bookkeeping rather than on individual locks.
+ */
+public class LockServiceImplBenchmarks {
+    private static final int THREADS = 16;
+    private static final int TOKENS_PER_REFRESH = 100;
+    private static final SimpleTimeDuration LOCK_TIMEOUT = SimpleTimeDuration.of(5, TimeUnit.MINUTES);
+
+    @State(Scope.Benchmark)
+    public static class LockServer {
+        @Param({"10", "10000"})
+        public int heldLocksPerClient;
+
+        private final AtomicInteger nextClient = new AtomicInteger();
+        private LockServiceImpl lockService;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            lockService = LockServiceImpl.create(LockServerOptions.builder()
+                    .isStandaloneServer(false)
+                    .build());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            lockService.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final List<HeldLocksToken> heldTokens = Lists.newArrayList();
+        private LockClient client;
+        private String descriptorPrefix;
+        private int nextLock = 0;
+        private int nextRefresh = 0;
+
+        @Setup(Level.Trial)
+        public void setup(LockServer server) throws InterruptedException {
+            int clientId = server.nextClient.getAndIncrement();
+            client = LockClient.of("client-" + clientId);
+            descriptorPrefix = "client-" + clientId + "-lock-";
+            for (int i = 0; i < server.heldLocksPerClient; i++) {
+                heldTokens.add(server.lockService.lockWithFullLockResponse(
+                        client, request("held-" + i, i)).getToken());
+            }
+        }
+
+        LockRequest nextRequest() {
+            nextLock++;
+            return request("transient-" + nextLock, nextLock);
+        }
+
+        List<HeldLocksToken> nextTokensToRefresh() {
+            int start = nextRefresh;
+            int end = Math.min(start + TOKENS_PER_REFRESH, heldTokens.size());
+            nextRefresh = end % heldTokens.size();
+            return heldTokens.subList(start, end);
+        }
+
+        private LockRequest request(String lockName, long versionId) {
+            return LockRequest.builder(ImmutableSortedMap.of(
+                    StringLockDescriptor.of(descriptorPrefix + lockName), LockMode.WRITE))
+                    .doNotBlock()
+                    .timeoutAfter(LOCK_TIMEOUT)
+                    .withLockedInVersionId(versionId)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public boolean lockAndUnlock(LockServer server, Client client) throws InterruptedException {
+        HeldLocksToken token = server.lockService.lockWithFullLockResponse(client.client, client.nextRequest())
+                .getToken();
+        return server.lockService.unlock(token);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Set<HeldLocksToken> refreshHeldTokens(LockServer server, Client client) {
+        return server.lockService.refreshTokens(client.nextTokensToRefresh());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Long getMinLockedInVersionId(LockServer server, Client client) {
+        return server.lockService.getMinLockedInVersionId(client.client);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.performance.schema.generated.ValueStreamValueTable.ValueStreamValueRow;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+
+/**
+ * Measures encoding and decoding row keys the way generated table classes do. The composite key has the shape of a
+ * row with hashed components: a fixed long hash, a var long, a var string and a signed var long. Each encoding
+ * benchmark has a counterpart that encodes every component into its own array and concatenates them, which is how
+ * generated classes used to build row keys.
+ */
+public class RowKeyEncodingBenchmarks {
+    private static final int NUM_KEYS = 1024;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private final long[] hashes = new long[NUM_KEYS];
+        private final long[] ids = new long[NUM_KEYS];
+        private final String[] names = new String[NUM_KEYS];
+        private final long[] offsets = new long[NUM_KEYS];
+        private final ValueStreamValueRow[] rows = new ValueStreamValueRow[NUM_KEYS];
+        private final byte[][] encodedRows = new byte[NUM_KEYS][];
+        private int next = 0;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Random random = new Random(0);
+            for (int i = 0; i < NUM_KEYS; i++) {
+                hashes[i] = random.nextLong();
+                ids[i] = random.nextLong() >>> random.nextInt(64);
+                names[i] = "user-" + Long.toHexString(random.nextLong());
+                offsets[i] = random.nextInt();
+                rows[i] = ValueStreamValueRow.of(ids[i], random.nextInt(1000));
+                encodedRows[i] = rows[i].persistToBytes();
+            }
+        }
+
+        private int next() {
+            next = (next + 1) % NUM_KEYS;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public byte[] persistRow(Keys keys) {
+        return keys.rows[keys.next()].persistToBytes();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public byte[] persistRowByConcatenation(Keys keys) {
+        ValueStreamValueRow row = keys.rows[keys.next()];
+        byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(row.getId());
+        byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(row.getBlockId());
+        return EncodingUtils.add(idBytes, blockIdBytes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public ValueStreamValueRow hydrateRow(Keys keys) {
+        return ValueStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(keys.encodedRows[keys.next()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public byte[] persistCompositeKey(Keys keys) {
+        int i = keys.next();
+        long hash = keys.hashes[i];
+        long id = keys.ids[i];
+        long offset = keys.offsets[i];
+        byte[] nameBytes = EncodingUtils.encodeVarString(keys.names[i]);
+        byte[] output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id) + nameBytes.length
+                + EncodingUtils.sizeOfSignedVarLong(offset)];
+        int index = 0;
+        index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hash, output, index);
+        index = EncodingUtils.encodeUnsignedVarLong(id, output, index);
+        index = EncodingUtils.encodeBytes(nameBytes, output, index);
+        EncodingUtils.encodeSignedVarLong(offset, output, index);
+        return output;
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public byte[] persistCompositeKeyByConcatenation(Keys keys) {
+        int i = keys.next();
+        byte[] hashBytes = PtBytes.toBytes(Long.MIN_VALUE ^ keys.hashes[i]);
+        byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(keys.ids[i]);
+        byte[] nameBytes = EncodingUtils.encodeVarString(keys.names[i]);
+        byte[] offsetBytes = EncodingUtils.encodeSignedVarLong(keys.offsets[i]);
+        return EncodingUtils.add(hashBytes, idBytes, nameBytes, offsetBytes);
+    }
+}
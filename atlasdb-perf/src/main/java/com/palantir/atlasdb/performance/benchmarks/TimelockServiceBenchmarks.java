@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.performance.benchmarks.endpoint.TimelockNamespacesEndpoint;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockImmutableTimestampRequest;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.TimelockService;
+
+/**
+ * Measures the timelock calls that every transaction makes, spread across many TimeLock clients. With the
+ * TIMELOCK_SERVER backend, these go end to end over HTTP to a TimeLock server on loopback.
+ */
+public class TimelockServiceBenchmarks {
+    private static final int THREADS = 64;
+    private static final long LOCK_TIMEOUT_MS = 10_000;
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public long getFreshTimestamp(TimelockNamespacesEndpoint timelock) {
+        return timelock.randomNamespace().getFreshTimestamp();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Set<LockToken> lockImmutableTimestampAndUnlock(TimelockNamespacesEndpoint timelock) {
+        TimelockService timelockService = timelock.randomNamespace();
+        LockImmutableTimestampResponse response =
+                timelockService.lockImmutableTimestamp(LockImmutableTimestampRequest.create());
+        return timelockService.unlock(ImmutableSet.of(response.getLock()));
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    @Warmup(time = 3, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Set<LockToken> lockAndUnlock(TimelockNamespacesEndpoint timelock) {
+        TimelockService timelockService = timelock.randomNamespace();
+        LockToken token = timelockService.lock(LockRequest.of(
+                ImmutableSet.of(StringLockDescriptor.of(UUID.randomUUID().toString())),
+                LOCK_TIMEOUT_MS)).getToken();
+        return timelockService.unlock(ImmutableSet.of(token));
+    }
+}
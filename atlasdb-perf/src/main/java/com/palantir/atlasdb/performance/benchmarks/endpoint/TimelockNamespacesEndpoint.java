@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks.endpoint;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.palantir.atlasdb.performance.backend.AtlasDbServicesConnector;
+import com.palantir.lock.v2.TimelockService;
+
+@State(Scope.Benchmark)
+public class TimelockNamespacesEndpoint {
+
+    /**
+     * At most {@link com.palantir.atlasdb.performance.backend.TimeLockServerKeyValueServiceInstrumentation#NAMESPACES}.
+     */
+    @Param({"1", "64"})
+    public int namespaces;
+
+    private AtlasDbServicesConnector connector;
+    private List<TimelockService> timelockServices;
+
+    /**
+     * Returns the timelock service of a random namespace, so that requests are spread evenly across namespaces.
+     */
+    public TimelockService randomNamespace() {
+        return timelockServices.get(ThreadLocalRandom.current().nextInt(namespaces));
+    }
+
+    @Setup(Level.Trial)
+    public void setup(AtlasDbServicesConnector conn) {
+        this.connector = conn;
+        this.timelockServices = conn.connectTimelockNamespaces(namespaces);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws Exception {
+        this.connector.close();
+    }
+}
@@ -28,6 +28,7 @@ import javax.inject.Inject;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -53,7 +54,8 @@ import io.airlift.airline.SingleCommand;
 /**
  * The Atlas Perf(ormance) CLI is a tool for making and running AtlasDB performance tests.
  *
- * This requires you to have a docker-machine running and configured correctly.
+ * This requires you to have a docker-machine running and configured correctly, unless only in-process backends
+ * (MEMORY, H2 or TIMELOCK) are used.
  *
  * @author mwakerman, bullman
  */
@@ -66,7 +68,8 @@ public class AtlasDbPerfCli {
     @Arguments(description = "The performance benchmarks to run. Leave blank to run all performance benchmarks.")
     private Set<String> tests;
 
-    @Option(name = {"-b", "--backend"}, description = "Backing KVS stores to use. (e.g. POSTGRES or CASSANDRA)"
+    @Option(name = {"-b", "--backend"}, description = "Backing KVS stores to use. (e.g. POSTGRES or CASSANDRA,"
+            + " or MEMORY, H2, TIMELOCK or TIMELOCK_SERVER to run without Docker)"
             + " Defaults to all backends if not specified.")
     private Set<String> backends;
 
@@ -148,7 +151,8 @@ public class AtlasDbPerfCli {
 
     private static void runCli(AtlasDbPerfCli cli, ChainedOptionsBuilder optBuilder) throws Exception {
         optBuilder.warmupIterations(1)
-                .mode(Mode.SampleTime);
+                .mode(Mode.SampleTime)
+                .addProfiler(GCProfiler.class);
 
         Collection<RunResult> results = new Runner(optBuilder.build()).run();
 
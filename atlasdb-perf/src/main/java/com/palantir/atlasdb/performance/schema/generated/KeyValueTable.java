@@ -172,8 +172,8 @@ public final class KeyValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] keyBytes = PtBytes.toBytes(key);
-            return EncodingUtils.add(keyBytes);
+            byte[] __output = PtBytes.toBytes(key);
+            return __output;
         }
 
         public static final Hydrator<KeyValueRow> BYTES_HYDRATOR = new Hydrator<KeyValueRow>() {
@@ -289,6 +289,7 @@ public final class KeyValueTable implements
 
     public static final class KeyValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private KeyValueRow rowName;
 
         public static KeyValueRowResult of(RowResult<byte[]> row) {
             return new KeyValueRowResult(row);
@@ -300,7 +301,10 @@ public final class KeyValueTable implements
 
         @Override
         public KeyValueRow getRowName() {
-            return KeyValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = KeyValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<KeyValueRowResult, KeyValueRow> getRowNameFun() {
@@ -707,5 +711,5 @@ public final class KeyValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "DVmy8BAhP93Nqv/yw36IGw==";
+    static String __CLASS_HASH = "nXAc5UwwmTuAVfUyLOjE0w==";
 }
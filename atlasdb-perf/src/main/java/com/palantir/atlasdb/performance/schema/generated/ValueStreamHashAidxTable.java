@@ -170,8 +170,8 @@ public final class ValueStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<ValueStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<ValueStreamHashAidxRow>() {
@@ -261,8 +261,8 @@ public final class ValueStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<ValueStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<ValueStreamHashAidxColumn>() {
@@ -390,39 +390,60 @@ public final class ValueStreamHashAidxTable implements
     }
 
     public static final class ValueStreamHashAidxRowResult implements TypedRowResult {
-        private final ValueStreamHashAidxRow rowName;
-        private final ImmutableSet<ValueStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private ValueStreamHashAidxRow rowName;
+        private ImmutableSet<ValueStreamHashAidxColumnValue> columnValues;
 
         public static ValueStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            ValueStreamHashAidxRow rowName = ValueStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<ValueStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                ValueStreamHashAidxColumn col = ValueStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = ValueStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(ValueStreamHashAidxColumnValue.of(col, value));
-            }
-            return new ValueStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new ValueStreamHashAidxRowResult(rowResult);
         }
 
-        private ValueStreamHashAidxRowResult(ValueStreamHashAidxRow rowName, ImmutableSet<ValueStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private ValueStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public ValueStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = ValueStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<ValueStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<ValueStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    ValueStreamHashAidxColumn col = ValueStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = ValueStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(ValueStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<ValueStreamHashAidxColumn> getColumns() {
+            Set<ValueStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(ValueStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(ValueStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return ValueStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<ValueStreamHashAidxRowResult, ValueStreamHashAidxRow> getRowNameFun() {
             return new Function<ValueStreamHashAidxRowResult, ValueStreamHashAidxRow>() {
                 @Override
                 public ValueStreamHashAidxRow apply(ValueStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -431,7 +452,7 @@ public final class ValueStreamHashAidxTable implements
             return new Function<ValueStreamHashAidxRowResult, ImmutableSet<ValueStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<ValueStreamHashAidxColumnValue> apply(ValueStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -731,5 +752,5 @@ public final class ValueStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "6fowX/ukMQ6UNoGKcOPGFg==";
+    static String __CLASS_HASH = "Zh8vQtZA/Nf3Wx0QziymuQ==";
 }
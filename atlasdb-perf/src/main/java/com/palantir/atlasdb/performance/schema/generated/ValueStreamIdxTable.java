@@ -170,8 +170,8 @@ public final class ValueStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<ValueStreamIdxRow> BYTES_HYDRATOR = new Hydrator<ValueStreamIdxRow>() {
@@ -261,8 +261,8 @@ public final class ValueStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<ValueStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<ValueStreamIdxColumn>() {
@@ -391,39 +391,60 @@ public final class ValueStreamIdxTable implements
     }
 
     public static final class ValueStreamIdxRowResult implements TypedRowResult {
-        private final ValueStreamIdxRow rowName;
-        private final ImmutableSet<ValueStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private ValueStreamIdxRow rowName;
+        private ImmutableSet<ValueStreamIdxColumnValue> columnValues;
 
         public static ValueStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            ValueStreamIdxRow rowName = ValueStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<ValueStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                ValueStreamIdxColumn col = ValueStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = ValueStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(ValueStreamIdxColumnValue.of(col, value));
-            }
-            return new ValueStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new ValueStreamIdxRowResult(rowResult);
         }
 
-        private ValueStreamIdxRowResult(ValueStreamIdxRow rowName, ImmutableSet<ValueStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private ValueStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public ValueStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = ValueStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<ValueStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<ValueStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    ValueStreamIdxColumn col = ValueStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = ValueStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(ValueStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<ValueStreamIdxColumn> getColumns() {
+            Set<ValueStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(ValueStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(ValueStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return ValueStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<ValueStreamIdxRowResult, ValueStreamIdxRow> getRowNameFun() {
             return new Function<ValueStreamIdxRowResult, ValueStreamIdxRow>() {
                 @Override
                 public ValueStreamIdxRow apply(ValueStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -432,7 +453,7 @@ public final class ValueStreamIdxTable implements
             return new Function<ValueStreamIdxRowResult, ImmutableSet<ValueStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<ValueStreamIdxColumnValue> apply(ValueStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -732,5 +753,5 @@ public final class ValueStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Uk3WRfkkuwM0A6C8PP/fKA==";
+    static String __CLASS_HASH = "kwcQLXnSGVGc0EPrwg5/ug==";
 }
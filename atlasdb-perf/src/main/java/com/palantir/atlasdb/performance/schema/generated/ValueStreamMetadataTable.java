@@ -172,8 +172,8 @@ public final class ValueStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<ValueStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<ValueStreamMetadataRow>() {
@@ -313,6 +313,7 @@ public final class ValueStreamMetadataTable implements
 
     public static final class ValueStreamMetadataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private ValueStreamMetadataRow rowName;
 
         public static ValueStreamMetadataRowResult of(RowResult<byte[]> row) {
             return new ValueStreamMetadataRowResult(row);
@@ -324,7 +325,10 @@ public final class ValueStreamMetadataTable implements
 
         @Override
         public ValueStreamMetadataRow getRowName() {
-            return ValueStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = ValueStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<ValueStreamMetadataRowResult, ValueStreamMetadataRow> getRowNameFun() {
@@ -701,5 +705,5 @@ public final class ValueStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "kEK3lzUCQ/RYFvGU6Ry0oQ==";
+    static String __CLASS_HASH = "YifARx1ytiHvmvWAOm7l3A==";
 }
@@ -179,9 +179,11 @@ public final class ValueStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(idBytes, blockIdBytes);
+            byte[] __output = new byte[EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<ValueStreamValueRow> BYTES_HYDRATOR = new Hydrator<ValueStreamValueRow>() {
@@ -301,6 +303,7 @@ public final class ValueStreamValueTable implements
 
     public static final class ValueStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private ValueStreamValueRow rowName;
 
         public static ValueStreamValueRowResult of(RowResult<byte[]> row) {
             return new ValueStreamValueRowResult(row);
@@ -312,7 +315,10 @@ public final class ValueStreamValueTable implements
 
         @Override
         public ValueStreamValueRow getRowName() {
-            return ValueStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = ValueStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<ValueStreamValueRowResult, ValueStreamValueRow> getRowNameFun() {
@@ -689,5 +695,5 @@ public final class ValueStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Vrl1mvElEunj4YBz1rGRHA==";
+    static String __CLASS_HASH = "Q4rRUBtKrZ7KmY0Bv+Ma0Q==";
 }
@@ -18,6 +18,8 @@ package com.palantir.atlasdb.performance;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.math3.stat.inference.TestUtils;
 import org.assertj.core.util.Lists;
@@ -30,7 +32,9 @@ import org.openjdk.jmh.runner.WorkloadParams;
 import org.openjdk.jmh.util.MultisetStatistics;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.performance.backend.CassandraKeyValueServiceInstrumentation;
+import com.palantir.atlasdb.performance.backend.InMemoryKeyValueServiceInstrumentation;
 
 public class PerformanceResultsTest {
     private static final String SUITE_NAME = "PerformanceResults";
@@ -47,6 +51,10 @@ public class PerformanceResultsTest {
     private static final String FORMATTED_BENCHMARK_NAME_CASSANDRA
             = FORMATTED_BENCHMARK_NAME + "-" + new CassandraKeyValueServiceInstrumentation().toString();
 
+    private static final String IN_PROCESS_MEMORY_URI
+            = InMemoryKeyValueServiceInstrumentation.class.getCanonicalName() + "@localhost:0";
+    private static final String FORMATTED_BENCHMARK_NAME_MEMORY = FORMATTED_BENCHMARK_NAME + "-MEMORY";
+
     private static final RunResult mockRunResult = Mockito.mock(RunResult.class);
     private static final Result mockResult = Mockito.mock(Result.class);
     private static final List<Double> SMALL_SAMPLE = Lists.newArrayList();
@@ -79,6 +87,45 @@ public class PerformanceResultsTest {
         assertThat(PerformanceResults.getBenchmarkName(params)).isEqualTo(FORMATTED_BENCHMARK_NAME_CASSANDRA);
     }
 
+    @Test
+    public void canGenerateBenchmarkNameForTestWithInProcessKeyValueService() {
+        BenchmarkParams params = createBenchmarkParams("PerformanceResults.doStuff",
+                BenchmarkParam.URI.getKey(),
+                IN_PROCESS_MEMORY_URI);
+
+        assertThat(PerformanceResults.getBenchmarkName(params)).isEqualTo(FORMATTED_BENCHMARK_NAME_MEMORY);
+    }
+
+    @Test
+    public void readsAllocationFromGcProfilerResults() {
+        RunResult runResult = Mockito.mock(RunResult.class);
+        Result allocationResult = Mockito.mock(Result.class);
+        Mockito.when(allocationResult.getScore()).thenReturn(512.0);
+        Map<String, Result> secondaryResults = ImmutableMap.of(
+                PerformanceResults.ALLOCATION_PER_OPERATION, allocationResult);
+        Mockito.when(runResult.getSecondaryResults()).thenReturn(secondaryResults);
+
+        assertThat(PerformanceResults.getSecondaryScore(runResult, PerformanceResults.ALLOCATION_PER_OPERATION))
+                .isEqualTo(512.0);
+        assertThat(PerformanceResults.getSecondaryScore(runResult, PerformanceResults.ALLOCATION_RATE)).isNull();
+    }
+
+    @Test
+    public void derivesThroughputFromMeanTimeAcrossThreads() {
+        RunResult runResult = Mockito.mock(RunResult.class);
+        Result result = Mockito.mock(Result.class);
+        MultisetStatistics stats = new MultisetStatistics();
+        stats.addValue(50.0, 1);
+        stats.addValue(150.0, 1);
+        Mockito.when(result.getStatistics()).thenReturn(stats);
+        Mockito.when(runResult.getPrimaryResult()).thenReturn(result);
+        Mockito.when(runResult.getParams()).thenReturn(createBenchmarkParams(
+                "PerformanceResults.doStuff", new WorkloadParams(), 16, TimeUnit.MICROSECONDS));
+
+        // 16 threads each taking 100 microseconds per operation
+        assertThat(PerformanceResults.getThroughput(runResult)).isEqualTo(160_000.0);
+    }
+
     @Test
     public void doesNotDownsampleSmallSample() {
         MultisetStatistics stats = new MultisetStatistics();
@@ -135,12 +182,19 @@ public class PerformanceResultsTest {
     private static BenchmarkParams createBenchmarkParams(String benchmarkName, String paramKey, String paramValue) {
         WorkloadParams workloadParams = new WorkloadParams();
         workloadParams.put(paramKey, paramValue, 0);
+        return createBenchmarkParams(benchmarkName, workloadParams, 0, null);
+    }
 
+    private static BenchmarkParams createBenchmarkParams(
+            String benchmarkName,
+            WorkloadParams workloadParams,
+            int threads,
+            TimeUnit timeUnit) {
         // Sorry, JMH API doesn't have a builder. Isolating the badness to just here.
         return new BenchmarkParams(benchmarkName,
                 null,
                 false,
-                0,
+                threads,
                 null,
                 null,
                 1,
@@ -149,7 +203,7 @@ public class PerformanceResultsTest {
                 null,
                 null,
                 workloadParams,
-                null,
+                timeUnit,
                 1,
                 null,
                 null,
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.lock.v2.TimelockService;
+
+public class InProcessTimeLockTest {
+    private static final Set<LockDescriptor> LOCKS = ImmutableSet.of(StringLockDescriptor.of("lock"));
+
+    private final InProcessTimeLock timeLock = InProcessTimeLock.start();
+    private final TimelockService timelock = timeLock.getLockAndTimestampModule()
+            .provideLockAndTimestampServices(null)
+            .timelock();
+
+    @After
+    public void after() {
+        timeLock.close();
+    }
+
+    @Test
+    public void servesIncreasingTimestamps() {
+        long first = timelock.getFreshTimestamp();
+        assertThat(timelock.getFreshTimestamp()).isGreaterThan(first);
+    }
+
+    @Test
+    public void lockRequestsTimeOutWhileLocksAreHeld() {
+        LockResponse response = timelock.lock(LockRequest.of(LOCKS, 0));
+        assertThat(response.wasSuccessful()).isTrue();
+        assertThat(timelock.lock(LockRequest.of(LOCKS, 0)).wasSuccessful()).isFalse();
+
+        assertThat(timelock.unlock(ImmutableSet.of(response.getToken()))).containsExactly(response.getToken());
+        assertThat(timelock.lock(LockRequest.of(LOCKS, 0)).wasSuccessful()).isTrue();
+    }
+}
@@ -18,9 +18,15 @@ package com.palantir.atlasdb.performance.backend;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.palantir.atlasdb.http.AtlasDbHttpClients;
+import com.palantir.lock.v2.TimelockService;
+
 public class KeyValueServiceInstrumentationTest {
 
     @Test
@@ -45,6 +51,53 @@ public class KeyValueServiceInstrumentationTest {
                 .hasMessage("Exception trying to instantiate class FAKE_BACKEND");
     }
 
+    @Test
+    public void inProcessBackendsAreRegistered() {
+        assertThat(KeyValueServiceInstrumentation.getBackends())
+                .contains("MEMORY", "H2", "TIMELOCK", "TIMELOCK_SERVER");
+        assertThat(KeyValueServiceInstrumentation.forDatabase("MEMORY").isInProcess()).isTrue();
+        assertThat(KeyValueServiceInstrumentation.forDatabase("H2").isInProcess()).isTrue();
+        assertThat(KeyValueServiceInstrumentation.forDatabase("TIMELOCK").isInProcess()).isTrue();
+        assertThat(KeyValueServiceInstrumentation.forDatabase("TIMELOCK_SERVER").isInProcess()).isTrue();
+        assertThat(KeyValueServiceInstrumentation.forDatabase("POSTGRES").isInProcess()).isFalse();
+    }
+
+    @Test
+    public void onlyEmbeddedTimeLockBackendStartsTimeLock() {
+        assertThat(KeyValueServiceInstrumentation.forDatabase("MEMORY").startTimeLock()).isEmpty();
+
+        InProcessTimeLock timeLock = KeyValueServiceInstrumentation.forDatabase("TIMELOCK").startTimeLock().get();
+        timeLock.close();
+    }
+
+    @Test
+    public void onlyTimeLockServerBackendTakesTimestampsFromTimeLockServer() {
+        InetSocketAddress addr = InetSocketAddress.createUnresolved("localhost", 8421);
+
+        assertThat(KeyValueServiceInstrumentation.forDatabase("TIMELOCK_SERVER").getTimeLockServerUri(addr))
+                .contains("http://localhost:8421");
+        assertThat(KeyValueServiceInstrumentation.forDatabase("POSTGRES").getTimeLockServerUri(addr)).isEmpty();
+    }
+
+    @Test
+    public void timeLockServerBackendStartsServerOnLoopbackForEveryNamespace() {
+        KeyValueServiceInstrumentation backend = KeyValueServiceInstrumentation.forDatabase("TIMELOCK_SERVER");
+        assertThat(KeyValueServiceInstrumentation.forDatabase("TIMELOCK").startTimeLockServer()).isEmpty();
+
+        try (InProcessTimeLockServer server = backend.startTimeLockServer().get()) {
+            assertThat(server.getAddress().getHostString()).isEqualTo("127.0.0.1");
+
+            String serverUri = backend.getTimeLockServerUri(server.getAddress()).get();
+            for (int index : new int[] {0, TimeLockServerKeyValueServiceInstrumentation.NAMESPACES - 1}) {
+                TimelockService timelock = AtlasDbHttpClients.createProxy(
+                        Optional.empty(),
+                        serverUri + "/" + TimeLockServerKeyValueServiceInstrumentation.namespace(index),
+                        TimelockService.class);
+                assertThat(timelock.getFreshTimestamp()).isPositive();
+            }
+        }
+    }
+
     @Test
     public void canAddNewBackendType() {
         KeyValueServiceInstrumentation mockKeyValueServiceInstrumentation =
@@ -16,13 +16,18 @@
 package com.palantir.atlasdb.compress;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
+import com.google.common.collect.Lists;
+
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 
 public class CompressionUtilsTest {
@@ -73,4 +78,77 @@ public class CompressionUtilsTest {
         }
         assertTrue(threwIllegalArgumentException);
     }
+
+    @Test
+    public void testCompressAndDecompressWithLz4() {
+        byte[] original = new byte[1024];
+        byte[] compressed = CompressionUtils.compress(original, Compression.LZ4);
+        assertTrue(compressed.length < original.length);
+        assertArrayEquals(original, CompressionUtils.decompress(compressed, Compression.LZ4));
+    }
+
+    @Test
+    public void testCompressAndDecompressEmptyValues() {
+        for (Compression compression : Compression.values()) {
+            byte[] compressed = CompressionUtils.compress(new byte[0], compression);
+            assertArrayEquals(new byte[0], CompressionUtils.decompress(compressed, compression));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompressExceptionWithLz4() {
+        CompressionUtils.decompress(new byte[] { 0, 0, 1, 0, 3 }, Compression.LZ4);
+    }
+
+    @Test
+    public void testCompressAndDecompressWithDeflate() {
+        byte[] original = new byte[1024];
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE);
+        assertTrue(compressed.length < original.length);
+        assertArrayEquals(original, CompressionUtils.decompress(compressed, Compression.DEFLATE));
+    }
+
+    @Test
+    public void testDictionaryImprovesCompressionOfSmallValues() {
+        List<byte[]> samples = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            samples.add(jsonValue(i));
+        }
+        byte[] dictionary = CompressionDictionaries.train(samples, 1024);
+        assertTrue(dictionary.length > 0 && dictionary.length <= 1024);
+
+        byte[] original = jsonValue(1000);
+        byte[] withoutDictionary = CompressionUtils.compress(original, Compression.DEFLATE);
+        byte[] withDictionary = CompressionUtils.compress(original, Compression.DEFLATE, dictionary);
+        assertTrue(withDictionary.length < withoutDictionary.length);
+        assertArrayEquals(original, CompressionUtils.decompress(withDictionary, Compression.DEFLATE, dictionary));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompressWithoutDictionaryFails() {
+        byte[] dictionary = jsonValue(0);
+        byte[] compressed = CompressionUtils.compress(jsonValue(1), Compression.DEFLATE, dictionary);
+        CompressionUtils.decompress(compressed, Compression.DEFLATE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDictionaryRequiresDeflate() {
+        CompressionUtils.compress(jsonValue(1), Compression.SNAPPY, jsonValue(0));
+    }
+
+    @Test
+    public void testTrainingOnUnrelatedSamplesProducesEmptyDictionary() {
+        List<byte[]> samples = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            byte[] sample = new byte[16];
+            Arrays.fill(sample, (byte) i);
+            samples.add(sample);
+        }
+        assertEquals(0, CompressionDictionaries.train(samples).length);
+    }
+
+    private static byte[] jsonValue(int id) {
+        return ("{\"id\":" + id + ",\"type\":\"account\",\"status\":\"ACTIVE\",\"region\":\"eu-west\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
 }
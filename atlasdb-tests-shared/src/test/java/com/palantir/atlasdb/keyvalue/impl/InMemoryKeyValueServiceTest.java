@@ -15,12 +15,57 @@
  */
 package com.palantir.atlasdb.keyvalue.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
 
 public class InMemoryKeyValueServiceTest extends AbstractKeyValueServiceTest {
+    private static final TableReference COPIED_TABLE = TableReference.createFromFullyQualifiedName("test.copied");
+    private static final Cell CELL = Cell.create(new byte[] {1}, new byte[] {2});
 
     @Override
     protected KeyValueService getKeyValueService() {
         return new InMemoryKeyValueService(false);
     }
+
+    @Test
+    public void copyContainsEveryVersionAndTheMetadata() {
+        InMemoryKeyValueService original = new InMemoryKeyValueService(false);
+        original.createTable(COPIED_TABLE, new byte[] {7});
+        original.put(COPIED_TABLE, ImmutableMap.of(CELL, new byte[] {3}), 10L);
+        original.put(COPIED_TABLE, ImmutableMap.of(CELL, new byte[] {4}), 20L);
+
+        InMemoryKeyValueService copy = original.copy();
+
+        assertThat(copy.getAllTableNames()).containsExactly(COPIED_TABLE);
+        assertThat(copy.getMetadataForTable(COPIED_TABLE)).isEqualTo(new byte[] {7});
+        assertThat(copy.get(COPIED_TABLE, ImmutableMap.of(CELL, 11L)).get(CELL))
+                .isEqualTo(Value.create(new byte[] {3}, 10L));
+        assertThat(copy.get(COPIED_TABLE, ImmutableMap.of(CELL, 21L)).get(CELL))
+                .isEqualTo(Value.create(new byte[] {4}, 20L));
+        copy.close();
+        original.close();
+    }
+
+    @Test
+    public void copyIsNotAffectedByLaterWrites() {
+        InMemoryKeyValueService original = new InMemoryKeyValueService(false);
+        original.createTable(COPIED_TABLE, new byte[] {});
+        original.put(COPIED_TABLE, ImmutableMap.of(CELL, new byte[] {3}), 10L);
+
+        InMemoryKeyValueService copy = original.copy();
+        original.put(COPIED_TABLE, ImmutableMap.of(CELL, new byte[] {4}), 20L);
+        original.truncateTable(COPIED_TABLE);
+
+        assertThat(copy.get(COPIED_TABLE, ImmutableMap.of(CELL, Long.MAX_VALUE)).get(CELL))
+                .isEqualTo(Value.create(new byte[] {3}, 10L));
+        copy.close();
+        original.close();
+    }
 }
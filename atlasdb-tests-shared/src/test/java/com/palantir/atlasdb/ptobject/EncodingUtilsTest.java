@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.SortedMap;
+import java.util.UUID;
 
 import org.junit.Test;
 
@@ -285,4 +286,68 @@ public class EncodingUtilsTest {
             assertEquals(components, result);
         }
     }
+
+    @Test
+    public void testEncodeIntoMatchesEncodeToNewArray() {
+        for (int i = 0; i < 1000; i++) {
+            long value = rand.nextLong() >> rand.nextInt(64);
+            long unsigned = value & Long.MAX_VALUE;
+            byte[] bytes = new byte[rand.nextInt(20)];
+            rand.nextBytes(bytes);
+            UUID uuid = new UUID(rand.nextLong(), rand.nextLong());
+            Long nullable = rand.nextBoolean() ? null : value;
+
+            assertEncodedInto(EncodingUtils.encodeUnsignedVarLong(unsigned),
+                    (output, offset) -> EncodingUtils.encodeUnsignedVarLong(unsigned, output, offset));
+            assertEncodedInto(EncodingUtils.encodeSignedVarLong(value),
+                    (output, offset) -> EncodingUtils.encodeSignedVarLong(value, output, offset));
+            assertEncodedInto(PtBytes.toBytes(value),
+                    (output, offset) -> EncodingUtils.encodeFixedLong(value, output, offset));
+            assertEncodedInto(EncodingUtils.encodeLittleEndian(value),
+                    (output, offset) -> EncodingUtils.encodeLittleEndian(value, output, offset));
+            assertEncodedInto(EncodingUtils.encodeSizedBytes(bytes),
+                    (output, offset) -> EncodingUtils.encodeSizedBytes(bytes, output, offset));
+            assertEncodedInto(EncodingUtils.encodeUUID(uuid),
+                    (output, offset) -> EncodingUtils.encodeUUID(uuid, output, offset));
+            assertEncodedInto(EncodingUtils.encodeNullableFixedLong(nullable),
+                    (output, offset) -> EncodingUtils.encodeNullableFixedLong(nullable, output, offset));
+        }
+    }
+
+    @Test
+    public void testLittleEndianRoundTrip() {
+        for (int i = 0; i < 1000; i++) {
+            long value = rand.nextLong();
+            byte[] encoded = EncodingUtils.encodeLittleEndian(value);
+            assertEquals(value, EncodingUtils.decodeLittleEndian(encoded, 0));
+            assertEquals(Long.reverseBytes(value), PtBytes.toLong(encoded));
+        }
+    }
+
+    @Test
+    public void testSizeOfDecodedVarString() {
+        for (int i = 0; i < 100; i++) {
+            byte[] bytes = new byte[rand.nextInt(1000)];
+            rand.nextBytes(bytes);
+            String str = EncodingUtils.decodeVarString(EncodingUtils.encodeSizedBytes(bytes));
+            assertEquals(EncodingUtils.sizeOfVarString(str), EncodingUtils.sizeOfDecodedVarString(str));
+        }
+    }
+
+    private interface EncodeInto {
+        int encode(byte[] output, int offset);
+    }
+
+    private void assertEncodedInto(byte[] expected, EncodeInto encoder) {
+        int offset = rand.nextInt(5);
+        byte[] output = new byte[offset + expected.length + 5];
+        rand.nextBytes(output);
+        byte[] before = output.clone();
+
+        assertEquals(offset + expected.length, encoder.encode(output, offset));
+        assertArrayEquals(expected, Arrays.copyOfRange(output, offset, offset + expected.length));
+        assertArrayEquals(Arrays.copyOfRange(before, 0, offset), Arrays.copyOfRange(output, 0, offset));
+        assertArrayEquals(Arrays.copyOfRange(before, offset + expected.length, output.length),
+                Arrays.copyOfRange(output, offset + expected.length, output.length));
+    }
 }
@@ -19,12 +19,15 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.google.common.hash.Hashing;
@@ -32,7 +35,10 @@ import com.palantir.atlasdb.AtlasDbTestCase;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.schema.indexing.generated.DataTable;
+import com.palantir.atlasdb.schema.indexing.generated.DataTable.Index1IdxTable.Index1IdxColumn;
+import com.palantir.atlasdb.schema.indexing.generated.DataTable.Index1IdxTable.Index1IdxColumnValue;
 import com.palantir.atlasdb.schema.indexing.generated.DataTable.Index1IdxTable.Index1IdxRow;
+import com.palantir.atlasdb.schema.indexing.generated.DataTable.Index1IdxTable.Index1IdxRowResult;
 import com.palantir.atlasdb.schema.indexing.generated.IndexTestTableFactory;
 import com.palantir.atlasdb.schema.indexing.generated.TwoColumnsTable;
 import com.palantir.atlasdb.schema.indexing.generated.TwoColumnsTable.Bar;
@@ -111,6 +117,32 @@ public class IndexTest extends AtlasDbTestCase {
         });
     }
 
+    @Test
+    public void testRangeScanHydratesColumnsOnRequest() {
+        txManager.runTaskWithRetry((RuntimeTransactionTask<Void>) txn -> {
+            DataTable table = getTableFactory().getDataTable(txn);
+            table.putValue(DataTable.DataRow.of(1L), 2L);
+            table.putValue(DataTable.DataRow.of(3L), 2L);
+            return null;
+        });
+        txManager.runTaskWithRetry((RuntimeTransactionTask<Void>) txn -> {
+            DataTable.Index1IdxTable index1 = DataTable.Index1IdxTable.of(getTableFactory().getDataTable(txn));
+            Index1IdxRowResult rowResult =
+                    Iterables.getOnlyElement(index1.getRange(RangeRequest.builder().build()).immutableCopy());
+            assertEquals(Index1IdxRow.of(2L), rowResult.getRowName());
+
+            Set<Index1IdxColumn> columns = rowResult.getColumns();
+            assertEquals(ImmutableSet.of(1L, 3L),
+                    columns.stream().map(Index1IdxColumn::getId).collect(Collectors.toSet()));
+            for (Index1IdxColumnValue columnValue : rowResult.getColumnValues()) {
+                assertEquals(columnValue.getValue(), rowResult.getColumnValue(columnValue.getColumnName()));
+            }
+            Index1IdxColumn missing = Index1IdxColumn.of(PtBytes.toBytes("row"), PtBytes.toBytes("col"), 5L);
+            Assert.assertNull(rowResult.getColumnValue(missing));
+            return null;
+        });
+    }
+
     @Test
     public void testTwoColumns() {
         txManager.runTaskWithRetry((RuntimeTransactionTask<Void>) txn -> {
@@ -175,8 +175,8 @@ public final class DataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ id);
+            return __output;
         }
 
         public static final Hydrator<DataRow> BYTES_HYDRATOR = new Hydrator<DataRow>() {
@@ -293,6 +293,7 @@ public final class DataTable implements
 
     public static final class DataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private DataRow rowName;
 
         public static DataRowResult of(RowResult<byte[]> row) {
             return new DataRowResult(row);
@@ -304,7 +305,10 @@ public final class DataTable implements
 
         @Override
         public DataRow getRowName() {
-            return DataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = DataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<DataRowResult, DataRow> getRowNameFun() {
@@ -917,8 +921,8 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return EncodingUtils.add(valueBytes);
+                byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ value);
+                return __output;
             }
 
             public static final Hydrator<Index1IdxRow> BYTES_HYDRATOR = new Hydrator<Index1IdxRow>() {
@@ -1032,10 +1036,12 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index1IdxColumn> BYTES_HYDRATOR = new Hydrator<Index1IdxColumn>() {
@@ -1053,25 +1059,29 @@ public final class DataTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1196,39 +1206,60 @@ public final class DataTable implements
         }
 
         public static final class Index1IdxRowResult implements TypedRowResult {
-            private final Index1IdxRow rowName;
-            private final ImmutableSet<Index1IdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private Index1IdxRow rowName;
+            private ImmutableSet<Index1IdxColumnValue> columnValues;
 
             public static Index1IdxRowResult of(RowResult<byte[]> rowResult) {
-                Index1IdxRow rowName = Index1IdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<Index1IdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    Index1IdxColumn col = Index1IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = Index1IdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(Index1IdxColumnValue.of(col, value));
-                }
-                return new Index1IdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new Index1IdxRowResult(rowResult);
             }
 
-            private Index1IdxRowResult(Index1IdxRow rowName, ImmutableSet<Index1IdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private Index1IdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public Index1IdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = Index1IdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<Index1IdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<Index1IdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        Index1IdxColumn col = Index1IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = Index1IdxColumnValue.hydrateValue(e.getValue());
+                        values.add(Index1IdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<Index1IdxColumn> getColumns() {
+                Set<Index1IdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(Index1IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(Index1IdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return Index1IdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<Index1IdxRowResult, Index1IdxRow> getRowNameFun() {
                 return new Function<Index1IdxRowResult, Index1IdxRow>() {
                     @Override
                     public Index1IdxRow apply(Index1IdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -1237,7 +1268,7 @@ public final class DataTable implements
                 return new Function<Index1IdxRowResult, ImmutableSet<Index1IdxColumnValue>>() {
                     @Override
                     public ImmutableSet<Index1IdxColumnValue> apply(Index1IdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -1610,9 +1641,11 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(valueBytes, idBytes);
+                byte[] __output = new byte[8 + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ value, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index2IdxRow> BYTES_HYDRATOR = new Hydrator<Index2IdxRow>() {
@@ -1628,13 +1661,13 @@ public final class DataTable implements
             };
 
             public static RangeRequest.Builder createPrefixRange(long value) {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return RangeRequest.builder().prefixRange(EncodingUtils.add(valueBytes));
+                byte[] __prefix = PtBytes.toBytes(Long.MIN_VALUE ^ value);
+                return RangeRequest.builder().prefixRange(__prefix);
             }
 
             public static Prefix prefix(long value) {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return new Prefix(EncodingUtils.add(valueBytes));
+                byte[] __prefix = PtBytes.toBytes(Long.MIN_VALUE ^ value);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1724,9 +1757,11 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index2IdxColumn> BYTES_HYDRATOR = new Hydrator<Index2IdxColumn>() {
@@ -1742,13 +1777,13 @@ public final class DataTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1870,39 +1905,60 @@ public final class DataTable implements
         }
 
         public static final class Index2IdxRowResult implements TypedRowResult {
-            private final Index2IdxRow rowName;
-            private final ImmutableSet<Index2IdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private Index2IdxRow rowName;
+            private ImmutableSet<Index2IdxColumnValue> columnValues;
 
             public static Index2IdxRowResult of(RowResult<byte[]> rowResult) {
-                Index2IdxRow rowName = Index2IdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<Index2IdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    Index2IdxColumn col = Index2IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = Index2IdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(Index2IdxColumnValue.of(col, value));
-                }
-                return new Index2IdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new Index2IdxRowResult(rowResult);
             }
 
-            private Index2IdxRowResult(Index2IdxRow rowName, ImmutableSet<Index2IdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private Index2IdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public Index2IdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = Index2IdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<Index2IdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<Index2IdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        Index2IdxColumn col = Index2IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = Index2IdxColumnValue.hydrateValue(e.getValue());
+                        values.add(Index2IdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<Index2IdxColumn> getColumns() {
+                Set<Index2IdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(Index2IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(Index2IdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return Index2IdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<Index2IdxRowResult, Index2IdxRow> getRowNameFun() {
                 return new Function<Index2IdxRowResult, Index2IdxRow>() {
                     @Override
                     public Index2IdxRow apply(Index2IdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -1911,7 +1967,7 @@ public final class DataTable implements
                 return new Function<Index2IdxRowResult, ImmutableSet<Index2IdxColumnValue>>() {
                     @Override
                     public ImmutableSet<Index2IdxColumnValue> apply(Index2IdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -2277,8 +2333,8 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return EncodingUtils.add(valueBytes);
+                byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ value);
+                return __output;
             }
 
             public static final Hydrator<Index3IdxRow> BYTES_HYDRATOR = new Hydrator<Index3IdxRow>() {
@@ -2376,9 +2432,11 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index3IdxColumn> BYTES_HYDRATOR = new Hydrator<Index3IdxColumn>() {
@@ -2394,13 +2452,13 @@ public final class DataTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -2522,39 +2580,60 @@ public final class DataTable implements
         }
 
         public static final class Index3IdxRowResult implements TypedRowResult {
-            private final Index3IdxRow rowName;
-            private final ImmutableSet<Index3IdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private Index3IdxRow rowName;
+            private ImmutableSet<Index3IdxColumnValue> columnValues;
 
             public static Index3IdxRowResult of(RowResult<byte[]> rowResult) {
-                Index3IdxRow rowName = Index3IdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<Index3IdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    Index3IdxColumn col = Index3IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = Index3IdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(Index3IdxColumnValue.of(col, value));
-                }
-                return new Index3IdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new Index3IdxRowResult(rowResult);
             }
 
-            private Index3IdxRowResult(Index3IdxRow rowName, ImmutableSet<Index3IdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private Index3IdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public Index3IdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = Index3IdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<Index3IdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<Index3IdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        Index3IdxColumn col = Index3IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = Index3IdxColumnValue.hydrateValue(e.getValue());
+                        values.add(Index3IdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<Index3IdxColumn> getColumns() {
+                Set<Index3IdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(Index3IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(Index3IdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return Index3IdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<Index3IdxRowResult, Index3IdxRow> getRowNameFun() {
                 return new Function<Index3IdxRowResult, Index3IdxRow>() {
                     @Override
                     public Index3IdxRow apply(Index3IdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -2563,7 +2642,7 @@ public final class DataTable implements
                 return new Function<Index3IdxRowResult, ImmutableSet<Index3IdxColumnValue>>() {
                     @Override
                     public ImmutableSet<Index3IdxColumnValue> apply(Index3IdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -2936,9 +3015,11 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] value1Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
-                byte[] value2Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value2);
-                return EncodingUtils.add(value1Bytes, value2Bytes);
+                byte[] __output = new byte[8 + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ value1, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ value2, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index4IdxRow> BYTES_HYDRATOR = new Hydrator<Index4IdxRow>() {
@@ -2954,13 +3035,13 @@ public final class DataTable implements
             };
 
             public static RangeRequest.Builder createPrefixRange(long value1) {
-                byte[] value1Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
-                return RangeRequest.builder().prefixRange(EncodingUtils.add(value1Bytes));
+                byte[] __prefix = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
+                return RangeRequest.builder().prefixRange(__prefix);
             }
 
             public static Prefix prefix(long value1) {
-                byte[] value1Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
-                return new Prefix(EncodingUtils.add(value1Bytes));
+                byte[] __prefix = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -3050,9 +3131,11 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<Index4IdxColumn> BYTES_HYDRATOR = new Hydrator<Index4IdxColumn>() {
@@ -3068,13 +3151,13 @@ public final class DataTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -3196,39 +3279,60 @@ public final class DataTable implements
         }
 
         public static final class Index4IdxRowResult implements TypedRowResult {
-            private final Index4IdxRow rowName;
-            private final ImmutableSet<Index4IdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private Index4IdxRow rowName;
+            private ImmutableSet<Index4IdxColumnValue> columnValues;
 
             public static Index4IdxRowResult of(RowResult<byte[]> rowResult) {
-                Index4IdxRow rowName = Index4IdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<Index4IdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    Index4IdxColumn col = Index4IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = Index4IdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(Index4IdxColumnValue.of(col, value));
-                }
-                return new Index4IdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new Index4IdxRowResult(rowResult);
             }
 
-            private Index4IdxRowResult(Index4IdxRow rowName, ImmutableSet<Index4IdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private Index4IdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public Index4IdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = Index4IdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<Index4IdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<Index4IdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        Index4IdxColumn col = Index4IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = Index4IdxColumnValue.hydrateValue(e.getValue());
+                        values.add(Index4IdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<Index4IdxColumn> getColumns() {
+                Set<Index4IdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(Index4IdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(Index4IdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return Index4IdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<Index4IdxRowResult, Index4IdxRow> getRowNameFun() {
                 return new Function<Index4IdxRowResult, Index4IdxRow>() {
                     @Override
                     public Index4IdxRow apply(Index4IdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -3237,7 +3341,7 @@ public final class DataTable implements
                 return new Function<Index4IdxRowResult, ImmutableSet<Index4IdxColumnValue>>() {
                     @Override
                     public ImmutableSet<Index4IdxColumnValue> apply(Index4IdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -3598,5 +3702,5 @@ public final class DataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "x1VLSlvGrbiHfQq/rupNww==";
+    static String __CLASS_HASH = "EKnxVsBJV2k4ynp0KkIATA==";
 }
@@ -175,8 +175,8 @@ public final class TwoColumnsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ id);
+            return __output;
         }
 
         public static final Hydrator<TwoColumnsRow> BYTES_HYDRATOR = new Hydrator<TwoColumnsRow>() {
@@ -353,6 +353,7 @@ public final class TwoColumnsTable implements
 
     public static final class TwoColumnsRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private TwoColumnsRow rowName;
 
         public static TwoColumnsRowResult of(RowResult<byte[]> row) {
             return new TwoColumnsRowResult(row);
@@ -364,7 +365,10 @@ public final class TwoColumnsTable implements
 
         @Override
         public TwoColumnsRow getRowName() {
-            return TwoColumnsRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = TwoColumnsRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<TwoColumnsRowResult, TwoColumnsRow> getRowNameFun() {
@@ -947,8 +951,8 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] fooBytes = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
-                return EncodingUtils.add(fooBytes);
+                byte[] __output = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
+                return __output;
             }
 
             public static final Hydrator<FooToIdCondIdxRow> BYTES_HYDRATOR = new Hydrator<FooToIdCondIdxRow>() {
@@ -1062,10 +1066,12 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<FooToIdCondIdxColumn> BYTES_HYDRATOR = new Hydrator<FooToIdCondIdxColumn>() {
@@ -1083,25 +1089,29 @@ public final class TwoColumnsTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1226,39 +1236,60 @@ public final class TwoColumnsTable implements
         }
 
         public static final class FooToIdCondIdxRowResult implements TypedRowResult {
-            private final FooToIdCondIdxRow rowName;
-            private final ImmutableSet<FooToIdCondIdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private FooToIdCondIdxRow rowName;
+            private ImmutableSet<FooToIdCondIdxColumnValue> columnValues;
 
             public static FooToIdCondIdxRowResult of(RowResult<byte[]> rowResult) {
-                FooToIdCondIdxRow rowName = FooToIdCondIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<FooToIdCondIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    FooToIdCondIdxColumn col = FooToIdCondIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = FooToIdCondIdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(FooToIdCondIdxColumnValue.of(col, value));
-                }
-                return new FooToIdCondIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new FooToIdCondIdxRowResult(rowResult);
             }
 
-            private FooToIdCondIdxRowResult(FooToIdCondIdxRow rowName, ImmutableSet<FooToIdCondIdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private FooToIdCondIdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public FooToIdCondIdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = FooToIdCondIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<FooToIdCondIdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<FooToIdCondIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        FooToIdCondIdxColumn col = FooToIdCondIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = FooToIdCondIdxColumnValue.hydrateValue(e.getValue());
+                        values.add(FooToIdCondIdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<FooToIdCondIdxColumn> getColumns() {
+                Set<FooToIdCondIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(FooToIdCondIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(FooToIdCondIdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return FooToIdCondIdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<FooToIdCondIdxRowResult, FooToIdCondIdxRow> getRowNameFun() {
                 return new Function<FooToIdCondIdxRowResult, FooToIdCondIdxRow>() {
                     @Override
                     public FooToIdCondIdxRow apply(FooToIdCondIdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -1267,7 +1298,7 @@ public final class TwoColumnsTable implements
                 return new Function<FooToIdCondIdxRowResult, ImmutableSet<FooToIdCondIdxColumnValue>>() {
                     @Override
                     public ImmutableSet<FooToIdCondIdxColumnValue> apply(FooToIdCondIdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -1584,9 +1615,11 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-                byte[] fooBytes = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
-                return EncodingUtils.add(hashOfRowComponentsBytes, fooBytes);
+                byte[] __output = new byte[8 + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ foo, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<FooToIdIdxRow> BYTES_HYDRATOR = new Hydrator<FooToIdIdxRow>() {
@@ -1602,8 +1635,8 @@ public final class TwoColumnsTable implements
             };
 
             public static long computeHashFirstComponents(long foo) {
-                byte[] fooBytes = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
-                return Hashing.murmur3_128().hashBytes(EncodingUtils.add(fooBytes)).asLong();
+                byte[] __hashed = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
+                return Hashing.murmur3_128().hashBytes(__hashed).asLong();
             }
 
             @Override
@@ -1709,10 +1742,12 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<FooToIdIdxColumn> BYTES_HYDRATOR = new Hydrator<FooToIdIdxColumn>() {
@@ -1730,25 +1765,29 @@ public final class TwoColumnsTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1873,39 +1912,60 @@ public final class TwoColumnsTable implements
         }
 
         public static final class FooToIdIdxRowResult implements TypedRowResult {
-            private final FooToIdIdxRow rowName;
-            private final ImmutableSet<FooToIdIdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private FooToIdIdxRow rowName;
+            private ImmutableSet<FooToIdIdxColumnValue> columnValues;
 
             public static FooToIdIdxRowResult of(RowResult<byte[]> rowResult) {
-                FooToIdIdxRow rowName = FooToIdIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<FooToIdIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    FooToIdIdxColumn col = FooToIdIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = FooToIdIdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(FooToIdIdxColumnValue.of(col, value));
-                }
-                return new FooToIdIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new FooToIdIdxRowResult(rowResult);
             }
 
-            private FooToIdIdxRowResult(FooToIdIdxRow rowName, ImmutableSet<FooToIdIdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private FooToIdIdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public FooToIdIdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = FooToIdIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<FooToIdIdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<FooToIdIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        FooToIdIdxColumn col = FooToIdIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = FooToIdIdxColumnValue.hydrateValue(e.getValue());
+                        values.add(FooToIdIdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<FooToIdIdxColumn> getColumns() {
+                Set<FooToIdIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(FooToIdIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(FooToIdIdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return FooToIdIdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<FooToIdIdxRowResult, FooToIdIdxRow> getRowNameFun() {
                 return new Function<FooToIdIdxRowResult, FooToIdIdxRow>() {
                     @Override
                     public FooToIdIdxRow apply(FooToIdIdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -1914,7 +1974,7 @@ public final class TwoColumnsTable implements
                 return new Function<FooToIdIdxRowResult, ImmutableSet<FooToIdIdxColumnValue>>() {
                     @Override
                     public ImmutableSet<FooToIdIdxColumnValue> apply(FooToIdIdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -2222,5 +2282,5 @@ public final class TwoColumnsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "rbO2fCJIg3E2QBd6AuiYKg==";
+    static String __CLASS_HASH = "3xmgJH/QvevnLsdLr+gMMA==";
 }
@@ -175,8 +175,8 @@ public final class KeyValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] keyBytes = PtBytes.toBytes(key);
-            return EncodingUtils.add(keyBytes);
+            byte[] __output = PtBytes.toBytes(key);
+            return __output;
         }
 
         public static final Hydrator<KeyValueRow> BYTES_HYDRATOR = new Hydrator<KeyValueRow>() {
@@ -293,6 +293,7 @@ public final class KeyValueTable implements
 
     public static final class KeyValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private KeyValueRow rowName;
 
         public static KeyValueRowResult of(RowResult<byte[]> row) {
             return new KeyValueRowResult(row);
@@ -304,7 +305,10 @@ public final class KeyValueTable implements
 
         @Override
         public KeyValueRow getRowName() {
-            return KeyValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = KeyValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<KeyValueRowResult, KeyValueRow> getRowNameFun() {
@@ -683,5 +687,5 @@ public final class KeyValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "mALQAWLKy270UHPLbKi+4Q==";
+    static String __CLASS_HASH = "gI3YiQBnzsF8d6X5AEDUxA==";
 }
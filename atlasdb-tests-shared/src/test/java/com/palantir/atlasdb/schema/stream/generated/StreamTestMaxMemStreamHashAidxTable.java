@@ -173,8 +173,8 @@ public final class StreamTestMaxMemStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamHashAidxRow>() {
@@ -265,8 +265,8 @@ public final class StreamTestMaxMemStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamHashAidxColumn>() {
@@ -395,39 +395,60 @@ public final class StreamTestMaxMemStreamHashAidxTable implements
     }
 
     public static final class StreamTestMaxMemStreamHashAidxRowResult implements TypedRowResult {
-        private final StreamTestMaxMemStreamHashAidxRow rowName;
-        private final ImmutableSet<StreamTestMaxMemStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestMaxMemStreamHashAidxRow rowName;
+        private ImmutableSet<StreamTestMaxMemStreamHashAidxColumnValue> columnValues;
 
         public static StreamTestMaxMemStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestMaxMemStreamHashAidxRow rowName = StreamTestMaxMemStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestMaxMemStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestMaxMemStreamHashAidxColumn col = StreamTestMaxMemStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestMaxMemStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestMaxMemStreamHashAidxColumnValue.of(col, value));
-            }
-            return new StreamTestMaxMemStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestMaxMemStreamHashAidxRowResult(rowResult);
         }
 
-        private StreamTestMaxMemStreamHashAidxRowResult(StreamTestMaxMemStreamHashAidxRow rowName, ImmutableSet<StreamTestMaxMemStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestMaxMemStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestMaxMemStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestMaxMemStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestMaxMemStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestMaxMemStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestMaxMemStreamHashAidxColumn col = StreamTestMaxMemStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestMaxMemStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestMaxMemStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestMaxMemStreamHashAidxColumn> getColumns() {
+            Set<StreamTestMaxMemStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestMaxMemStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestMaxMemStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestMaxMemStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestMaxMemStreamHashAidxRowResult, StreamTestMaxMemStreamHashAidxRow> getRowNameFun() {
             return new Function<StreamTestMaxMemStreamHashAidxRowResult, StreamTestMaxMemStreamHashAidxRow>() {
                 @Override
                 public StreamTestMaxMemStreamHashAidxRow apply(StreamTestMaxMemStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class StreamTestMaxMemStreamHashAidxTable implements
             return new Function<StreamTestMaxMemStreamHashAidxRowResult, ImmutableSet<StreamTestMaxMemStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestMaxMemStreamHashAidxColumnValue> apply(StreamTestMaxMemStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class StreamTestMaxMemStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Z9DahI01RLfpmtQLstmkYw==";
+    static String __CLASS_HASH = "aYN0cjbVqOSb1q3u1pE0cA==";
 }
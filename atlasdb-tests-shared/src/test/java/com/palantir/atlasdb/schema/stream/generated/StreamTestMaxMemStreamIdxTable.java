@@ -173,8 +173,8 @@ public final class StreamTestMaxMemStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamIdxRow> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamIdxRow>() {
@@ -265,8 +265,8 @@ public final class StreamTestMaxMemStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamIdxColumn>() {
@@ -395,39 +395,60 @@ public final class StreamTestMaxMemStreamIdxTable implements
     }
 
     public static final class StreamTestMaxMemStreamIdxRowResult implements TypedRowResult {
-        private final StreamTestMaxMemStreamIdxRow rowName;
-        private final ImmutableSet<StreamTestMaxMemStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestMaxMemStreamIdxRow rowName;
+        private ImmutableSet<StreamTestMaxMemStreamIdxColumnValue> columnValues;
 
         public static StreamTestMaxMemStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestMaxMemStreamIdxRow rowName = StreamTestMaxMemStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestMaxMemStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestMaxMemStreamIdxColumn col = StreamTestMaxMemStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestMaxMemStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestMaxMemStreamIdxColumnValue.of(col, value));
-            }
-            return new StreamTestMaxMemStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestMaxMemStreamIdxRowResult(rowResult);
         }
 
-        private StreamTestMaxMemStreamIdxRowResult(StreamTestMaxMemStreamIdxRow rowName, ImmutableSet<StreamTestMaxMemStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestMaxMemStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestMaxMemStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestMaxMemStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestMaxMemStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestMaxMemStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestMaxMemStreamIdxColumn col = StreamTestMaxMemStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestMaxMemStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestMaxMemStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestMaxMemStreamIdxColumn> getColumns() {
+            Set<StreamTestMaxMemStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestMaxMemStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestMaxMemStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestMaxMemStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestMaxMemStreamIdxRowResult, StreamTestMaxMemStreamIdxRow> getRowNameFun() {
             return new Function<StreamTestMaxMemStreamIdxRowResult, StreamTestMaxMemStreamIdxRow>() {
                 @Override
                 public StreamTestMaxMemStreamIdxRow apply(StreamTestMaxMemStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class StreamTestMaxMemStreamIdxTable implements
             return new Function<StreamTestMaxMemStreamIdxRowResult, ImmutableSet<StreamTestMaxMemStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestMaxMemStreamIdxColumnValue> apply(StreamTestMaxMemStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class StreamTestMaxMemStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "2P9w/8T7vYym1uXqoKwZfQ==";
+    static String __CLASS_HASH = "UaReaTIK523g7mOl/2vDgw==";
 }
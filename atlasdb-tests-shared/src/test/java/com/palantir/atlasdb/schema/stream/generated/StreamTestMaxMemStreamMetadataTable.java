@@ -175,8 +175,8 @@ public final class StreamTestMaxMemStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamMetadataRow>() {
@@ -317,6 +317,7 @@ public final class StreamTestMaxMemStreamMetadataTable implements
 
     public static final class StreamTestMaxMemStreamMetadataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestMaxMemStreamMetadataRow rowName;
 
         public static StreamTestMaxMemStreamMetadataRowResult of(RowResult<byte[]> row) {
             return new StreamTestMaxMemStreamMetadataRowResult(row);
@@ -328,7 +329,10 @@ public final class StreamTestMaxMemStreamMetadataTable implements
 
         @Override
         public StreamTestMaxMemStreamMetadataRow getRowName() {
-            return StreamTestMaxMemStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestMaxMemStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestMaxMemStreamMetadataRowResult, StreamTestMaxMemStreamMetadataRow> getRowNameFun() {
@@ -707,5 +711,5 @@ public final class StreamTestMaxMemStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "03xEadEjE+VybfcowO9img==";
+    static String __CLASS_HASH = "9melFsAShfBPGk2S4w8WOA==";
 }
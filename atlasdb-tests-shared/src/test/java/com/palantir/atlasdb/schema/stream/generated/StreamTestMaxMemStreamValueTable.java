@@ -182,9 +182,11 @@ public final class StreamTestMaxMemStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(idBytes, blockIdBytes);
+            byte[] __output = new byte[EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<StreamTestMaxMemStreamValueRow> BYTES_HYDRATOR = new Hydrator<StreamTestMaxMemStreamValueRow>() {
@@ -305,6 +307,7 @@ public final class StreamTestMaxMemStreamValueTable implements
 
     public static final class StreamTestMaxMemStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestMaxMemStreamValueRow rowName;
 
         public static StreamTestMaxMemStreamValueRowResult of(RowResult<byte[]> row) {
             return new StreamTestMaxMemStreamValueRowResult(row);
@@ -316,7 +319,10 @@ public final class StreamTestMaxMemStreamValueTable implements
 
         @Override
         public StreamTestMaxMemStreamValueRow getRowName() {
-            return StreamTestMaxMemStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestMaxMemStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestMaxMemStreamValueRowResult, StreamTestMaxMemStreamValueRow> getRowNameFun() {
@@ -695,5 +701,5 @@ public final class StreamTestMaxMemStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "bal2oiOBpr1av1T36Zsb4A==";
+    static String __CLASS_HASH = "FLKj1DoFNgIKBd024rufwg==";
 }
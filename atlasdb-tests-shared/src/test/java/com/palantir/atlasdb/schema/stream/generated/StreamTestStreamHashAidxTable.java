@@ -173,8 +173,8 @@ public final class StreamTestStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<StreamTestStreamHashAidxRow>() {
@@ -265,8 +265,8 @@ public final class StreamTestStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestStreamHashAidxColumn>() {
@@ -395,39 +395,60 @@ public final class StreamTestStreamHashAidxTable implements
     }
 
     public static final class StreamTestStreamHashAidxRowResult implements TypedRowResult {
-        private final StreamTestStreamHashAidxRow rowName;
-        private final ImmutableSet<StreamTestStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestStreamHashAidxRow rowName;
+        private ImmutableSet<StreamTestStreamHashAidxColumnValue> columnValues;
 
         public static StreamTestStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestStreamHashAidxRow rowName = StreamTestStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestStreamHashAidxColumn col = StreamTestStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestStreamHashAidxColumnValue.of(col, value));
-            }
-            return new StreamTestStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestStreamHashAidxRowResult(rowResult);
         }
 
-        private StreamTestStreamHashAidxRowResult(StreamTestStreamHashAidxRow rowName, ImmutableSet<StreamTestStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestStreamHashAidxColumn col = StreamTestStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestStreamHashAidxColumn> getColumns() {
+            Set<StreamTestStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestStreamHashAidxRowResult, StreamTestStreamHashAidxRow> getRowNameFun() {
             return new Function<StreamTestStreamHashAidxRowResult, StreamTestStreamHashAidxRow>() {
                 @Override
                 public StreamTestStreamHashAidxRow apply(StreamTestStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class StreamTestStreamHashAidxTable implements
             return new Function<StreamTestStreamHashAidxRowResult, ImmutableSet<StreamTestStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestStreamHashAidxColumnValue> apply(StreamTestStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class StreamTestStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "vkNT3miQX3y36smWBpFp0g==";
+    static String __CLASS_HASH = "zuoVpUDFRIwe0Y+A4CDxzw==";
 }
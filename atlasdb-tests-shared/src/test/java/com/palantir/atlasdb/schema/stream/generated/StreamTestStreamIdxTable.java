@@ -173,8 +173,8 @@ public final class StreamTestStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamIdxRow> BYTES_HYDRATOR = new Hydrator<StreamTestStreamIdxRow>() {
@@ -265,8 +265,8 @@ public final class StreamTestStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestStreamIdxColumn>() {
@@ -395,39 +395,60 @@ public final class StreamTestStreamIdxTable implements
     }
 
     public static final class StreamTestStreamIdxRowResult implements TypedRowResult {
-        private final StreamTestStreamIdxRow rowName;
-        private final ImmutableSet<StreamTestStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestStreamIdxRow rowName;
+        private ImmutableSet<StreamTestStreamIdxColumnValue> columnValues;
 
         public static StreamTestStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestStreamIdxRow rowName = StreamTestStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestStreamIdxColumn col = StreamTestStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestStreamIdxColumnValue.of(col, value));
-            }
-            return new StreamTestStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestStreamIdxRowResult(rowResult);
         }
 
-        private StreamTestStreamIdxRowResult(StreamTestStreamIdxRow rowName, ImmutableSet<StreamTestStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestStreamIdxColumn col = StreamTestStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestStreamIdxColumn> getColumns() {
+            Set<StreamTestStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestStreamIdxRowResult, StreamTestStreamIdxRow> getRowNameFun() {
             return new Function<StreamTestStreamIdxRowResult, StreamTestStreamIdxRow>() {
                 @Override
                 public StreamTestStreamIdxRow apply(StreamTestStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class StreamTestStreamIdxTable implements
             return new Function<StreamTestStreamIdxRowResult, ImmutableSet<StreamTestStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestStreamIdxColumnValue> apply(StreamTestStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class StreamTestStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "pLdNmE4aKYCQHK81MVWGJA==";
+    static String __CLASS_HASH = "4dXbWr4AS6fthJRt/rE7+g==";
 }
@@ -175,8 +175,8 @@ public final class StreamTestStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<StreamTestStreamMetadataRow>() {
@@ -317,6 +317,7 @@ public final class StreamTestStreamMetadataTable implements
 
     public static final class StreamTestStreamMetadataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestStreamMetadataRow rowName;
 
         public static StreamTestStreamMetadataRowResult of(RowResult<byte[]> row) {
             return new StreamTestStreamMetadataRowResult(row);
@@ -328,7 +329,10 @@ public final class StreamTestStreamMetadataTable implements
 
         @Override
         public StreamTestStreamMetadataRow getRowName() {
-            return StreamTestStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestStreamMetadataRowResult, StreamTestStreamMetadataRow> getRowNameFun() {
@@ -707,5 +711,5 @@ public final class StreamTestStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "0rzCCCseY1EKXPgaOJTDwg==";
+    static String __CLASS_HASH = "Gr3J9mfijq+7m4AjDmjzDw==";
 }
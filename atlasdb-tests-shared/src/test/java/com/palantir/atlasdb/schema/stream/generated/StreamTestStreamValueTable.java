@@ -182,9 +182,11 @@ public final class StreamTestStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(idBytes, blockIdBytes);
+            byte[] __output = new byte[EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<StreamTestStreamValueRow> BYTES_HYDRATOR = new Hydrator<StreamTestStreamValueRow>() {
@@ -305,6 +307,7 @@ public final class StreamTestStreamValueTable implements
 
     public static final class StreamTestStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestStreamValueRow rowName;
 
         public static StreamTestStreamValueRowResult of(RowResult<byte[]> row) {
             return new StreamTestStreamValueRowResult(row);
@@ -316,7 +319,10 @@ public final class StreamTestStreamValueTable implements
 
         @Override
         public StreamTestStreamValueRow getRowName() {
-            return StreamTestStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestStreamValueRowResult, StreamTestStreamValueRow> getRowNameFun() {
@@ -695,5 +701,5 @@ public final class StreamTestStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "x228mprds1LAyTRJxS8eYg==";
+    static String __CLASS_HASH = "7mXYQFvSp9diCH4r8cv0wA==";
 }
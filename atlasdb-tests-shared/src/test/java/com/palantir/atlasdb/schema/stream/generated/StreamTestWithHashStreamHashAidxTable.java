@@ -173,8 +173,8 @@ public final class StreamTestWithHashStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamHashAidxRow>() {
@@ -265,8 +265,8 @@ public final class StreamTestWithHashStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamHashAidxColumn>() {
@@ -395,39 +395,60 @@ public final class StreamTestWithHashStreamHashAidxTable implements
     }
 
     public static final class StreamTestWithHashStreamHashAidxRowResult implements TypedRowResult {
-        private final StreamTestWithHashStreamHashAidxRow rowName;
-        private final ImmutableSet<StreamTestWithHashStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestWithHashStreamHashAidxRow rowName;
+        private ImmutableSet<StreamTestWithHashStreamHashAidxColumnValue> columnValues;
 
         public static StreamTestWithHashStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestWithHashStreamHashAidxRow rowName = StreamTestWithHashStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestWithHashStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestWithHashStreamHashAidxColumn col = StreamTestWithHashStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestWithHashStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestWithHashStreamHashAidxColumnValue.of(col, value));
-            }
-            return new StreamTestWithHashStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestWithHashStreamHashAidxRowResult(rowResult);
         }
 
-        private StreamTestWithHashStreamHashAidxRowResult(StreamTestWithHashStreamHashAidxRow rowName, ImmutableSet<StreamTestWithHashStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestWithHashStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestWithHashStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestWithHashStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestWithHashStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestWithHashStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestWithHashStreamHashAidxColumn col = StreamTestWithHashStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestWithHashStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestWithHashStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestWithHashStreamHashAidxColumn> getColumns() {
+            Set<StreamTestWithHashStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestWithHashStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestWithHashStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestWithHashStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestWithHashStreamHashAidxRowResult, StreamTestWithHashStreamHashAidxRow> getRowNameFun() {
             return new Function<StreamTestWithHashStreamHashAidxRowResult, StreamTestWithHashStreamHashAidxRow>() {
                 @Override
                 public StreamTestWithHashStreamHashAidxRow apply(StreamTestWithHashStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class StreamTestWithHashStreamHashAidxTable implements
             return new Function<StreamTestWithHashStreamHashAidxRowResult, ImmutableSet<StreamTestWithHashStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestWithHashStreamHashAidxColumnValue> apply(StreamTestWithHashStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class StreamTestWithHashStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "koqPx/EZezCVdQklPhLMuQ==";
+    static String __CLASS_HASH = "PSX8ZcMTIWKBwH8gVf3S1Q==";
 }
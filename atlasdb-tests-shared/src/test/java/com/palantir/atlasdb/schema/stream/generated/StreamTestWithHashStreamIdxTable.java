@@ -177,9 +177,11 @@ public final class StreamTestWithHashStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id)];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamIdxRow> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamIdxRow>() {
@@ -195,8 +197,8 @@ public final class StreamTestWithHashStreamIdxTable implements
         };
 
         public static long computeHashFirstComponents(long id) {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes)).asLong();
+            byte[] __hashed = EncodingUtils.encodeUnsignedVarLong(id);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         @Override
@@ -279,8 +281,8 @@ public final class StreamTestWithHashStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamIdxColumn>() {
@@ -409,39 +411,60 @@ public final class StreamTestWithHashStreamIdxTable implements
     }
 
     public static final class StreamTestWithHashStreamIdxRowResult implements TypedRowResult {
-        private final StreamTestWithHashStreamIdxRow rowName;
-        private final ImmutableSet<StreamTestWithHashStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private StreamTestWithHashStreamIdxRow rowName;
+        private ImmutableSet<StreamTestWithHashStreamIdxColumnValue> columnValues;
 
         public static StreamTestWithHashStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            StreamTestWithHashStreamIdxRow rowName = StreamTestWithHashStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<StreamTestWithHashStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                StreamTestWithHashStreamIdxColumn col = StreamTestWithHashStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = StreamTestWithHashStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(StreamTestWithHashStreamIdxColumnValue.of(col, value));
-            }
-            return new StreamTestWithHashStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new StreamTestWithHashStreamIdxRowResult(rowResult);
         }
 
-        private StreamTestWithHashStreamIdxRowResult(StreamTestWithHashStreamIdxRow rowName, ImmutableSet<StreamTestWithHashStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private StreamTestWithHashStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public StreamTestWithHashStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = StreamTestWithHashStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<StreamTestWithHashStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<StreamTestWithHashStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    StreamTestWithHashStreamIdxColumn col = StreamTestWithHashStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = StreamTestWithHashStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(StreamTestWithHashStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<StreamTestWithHashStreamIdxColumn> getColumns() {
+            Set<StreamTestWithHashStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(StreamTestWithHashStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(StreamTestWithHashStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return StreamTestWithHashStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<StreamTestWithHashStreamIdxRowResult, StreamTestWithHashStreamIdxRow> getRowNameFun() {
             return new Function<StreamTestWithHashStreamIdxRowResult, StreamTestWithHashStreamIdxRow>() {
                 @Override
                 public StreamTestWithHashStreamIdxRow apply(StreamTestWithHashStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -450,7 +473,7 @@ public final class StreamTestWithHashStreamIdxTable implements
             return new Function<StreamTestWithHashStreamIdxRowResult, ImmutableSet<StreamTestWithHashStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<StreamTestWithHashStreamIdxColumnValue> apply(StreamTestWithHashStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -756,5 +779,5 @@ public final class StreamTestWithHashStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "cssCFH1Pz34681laVu6sLA==";
+    static String __CLASS_HASH = "TlNm64/9TLMUEYVyW/GFHw==";
 }
@@ -179,9 +179,11 @@ public final class StreamTestWithHashStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id)];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamMetadataRow>() {
@@ -197,8 +199,8 @@ public final class StreamTestWithHashStreamMetadataTable implements
         };
 
         public static long computeHashFirstComponents(long id) {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes)).asLong();
+            byte[] __hashed = EncodingUtils.encodeUnsignedVarLong(id);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         @Override
@@ -331,6 +333,7 @@ public final class StreamTestWithHashStreamMetadataTable implements
 
     public static final class StreamTestWithHashStreamMetadataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestWithHashStreamMetadataRow rowName;
 
         public static StreamTestWithHashStreamMetadataRowResult of(RowResult<byte[]> row) {
             return new StreamTestWithHashStreamMetadataRowResult(row);
@@ -342,7 +345,10 @@ public final class StreamTestWithHashStreamMetadataTable implements
 
         @Override
         public StreamTestWithHashStreamMetadataRow getRowName() {
-            return StreamTestWithHashStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestWithHashStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestWithHashStreamMetadataRowResult, StreamTestWithHashStreamMetadataRow> getRowNameFun() {
@@ -721,5 +727,5 @@ public final class StreamTestWithHashStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "To6hQuKT4I9nu6EjgcWYVQ==";
+    static String __CLASS_HASH = "+Gn3YaEREpKsMtqY1YXCkQ==";
 }
@@ -186,10 +186,12 @@ public final class StreamTestWithHashStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes, blockIdBytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<StreamTestWithHashStreamValueRow> BYTES_HYDRATOR = new Hydrator<StreamTestWithHashStreamValueRow>() {
@@ -207,8 +209,8 @@ public final class StreamTestWithHashStreamValueTable implements
         };
 
         public static long computeHashFirstComponents(long id) {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes)).asLong();
+            byte[] __hashed = EncodingUtils.encodeUnsignedVarLong(id);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         @Override
@@ -319,6 +321,7 @@ public final class StreamTestWithHashStreamValueTable implements
 
     public static final class StreamTestWithHashStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private StreamTestWithHashStreamValueRow rowName;
 
         public static StreamTestWithHashStreamValueRowResult of(RowResult<byte[]> row) {
             return new StreamTestWithHashStreamValueRowResult(row);
@@ -330,7 +333,10 @@ public final class StreamTestWithHashStreamValueTable implements
 
         @Override
         public StreamTestWithHashStreamValueRow getRowName() {
-            return StreamTestWithHashStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = StreamTestWithHashStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<StreamTestWithHashStreamValueRowResult, StreamTestWithHashStreamValueRow> getRowNameFun() {
@@ -709,5 +715,5 @@ public final class StreamTestWithHashStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "a5h4Wt77pKGNzadQqGcK4A==";
+    static String __CLASS_HASH = "pb5Zk485OHX98AEQhOhnKA==";
 }
@@ -173,8 +173,8 @@ public final class TestHashComponentsStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<TestHashComponentsStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<TestHashComponentsStreamHashAidxRow>() {
@@ -265,8 +265,8 @@ public final class TestHashComponentsStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<TestHashComponentsStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<TestHashComponentsStreamHashAidxColumn>() {
@@ -395,39 +395,60 @@ public final class TestHashComponentsStreamHashAidxTable implements
     }
 
     public static final class TestHashComponentsStreamHashAidxRowResult implements TypedRowResult {
-        private final TestHashComponentsStreamHashAidxRow rowName;
-        private final ImmutableSet<TestHashComponentsStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private TestHashComponentsStreamHashAidxRow rowName;
+        private ImmutableSet<TestHashComponentsStreamHashAidxColumnValue> columnValues;
 
         public static TestHashComponentsStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            TestHashComponentsStreamHashAidxRow rowName = TestHashComponentsStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<TestHashComponentsStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                TestHashComponentsStreamHashAidxColumn col = TestHashComponentsStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = TestHashComponentsStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(TestHashComponentsStreamHashAidxColumnValue.of(col, value));
-            }
-            return new TestHashComponentsStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new TestHashComponentsStreamHashAidxRowResult(rowResult);
         }
 
-        private TestHashComponentsStreamHashAidxRowResult(TestHashComponentsStreamHashAidxRow rowName, ImmutableSet<TestHashComponentsStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private TestHashComponentsStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public TestHashComponentsStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = TestHashComponentsStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<TestHashComponentsStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<TestHashComponentsStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    TestHashComponentsStreamHashAidxColumn col = TestHashComponentsStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = TestHashComponentsStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(TestHashComponentsStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<TestHashComponentsStreamHashAidxColumn> getColumns() {
+            Set<TestHashComponentsStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(TestHashComponentsStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(TestHashComponentsStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return TestHashComponentsStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<TestHashComponentsStreamHashAidxRowResult, TestHashComponentsStreamHashAidxRow> getRowNameFun() {
             return new Function<TestHashComponentsStreamHashAidxRowResult, TestHashComponentsStreamHashAidxRow>() {
                 @Override
                 public TestHashComponentsStreamHashAidxRow apply(TestHashComponentsStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class TestHashComponentsStreamHashAidxTable implements
             return new Function<TestHashComponentsStreamHashAidxRowResult, ImmutableSet<TestHashComponentsStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<TestHashComponentsStreamHashAidxColumnValue> apply(TestHashComponentsStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class TestHashComponentsStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "lUM1vDkJ6ut7msUTfZ0uAA==";
+    static String __CLASS_HASH = "SguoZWGuLaRvbnAwKKC+xA==";
 }
@@ -177,9 +177,11 @@ public final class TestHashComponentsStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id)];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<TestHashComponentsStreamIdxRow> BYTES_HYDRATOR = new Hydrator<TestHashComponentsStreamIdxRow>() {
@@ -195,8 +197,8 @@ public final class TestHashComponentsStreamIdxTable implements
         };
 
         public static long computeHashFirstComponents(long id) {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes)).asLong();
+            byte[] __hashed = EncodingUtils.encodeUnsignedVarLong(id);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         @Override
@@ -279,8 +281,8 @@ public final class TestHashComponentsStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<TestHashComponentsStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<TestHashComponentsStreamIdxColumn>() {
@@ -409,39 +411,60 @@ public final class TestHashComponentsStreamIdxTable implements
     }
 
     public static final class TestHashComponentsStreamIdxRowResult implements TypedRowResult {
-        private final TestHashComponentsStreamIdxRow rowName;
-        private final ImmutableSet<TestHashComponentsStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private TestHashComponentsStreamIdxRow rowName;
+        private ImmutableSet<TestHashComponentsStreamIdxColumnValue> columnValues;
 
         public static TestHashComponentsStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            TestHashComponentsStreamIdxRow rowName = TestHashComponentsStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<TestHashComponentsStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                TestHashComponentsStreamIdxColumn col = TestHashComponentsStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = TestHashComponentsStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(TestHashComponentsStreamIdxColumnValue.of(col, value));
-            }
-            return new TestHashComponentsStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new TestHashComponentsStreamIdxRowResult(rowResult);
         }
 
-        private TestHashComponentsStreamIdxRowResult(TestHashComponentsStreamIdxRow rowName, ImmutableSet<TestHashComponentsStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private TestHashComponentsStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public TestHashComponentsStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = TestHashComponentsStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<TestHashComponentsStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<TestHashComponentsStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    TestHashComponentsStreamIdxColumn col = TestHashComponentsStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = TestHashComponentsStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(TestHashComponentsStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<TestHashComponentsStreamIdxColumn> getColumns() {
+            Set<TestHashComponentsStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(TestHashComponentsStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(TestHashComponentsStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return TestHashComponentsStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<TestHashComponentsStreamIdxRowResult, TestHashComponentsStreamIdxRow> getRowNameFun() {
             return new Function<TestHashComponentsStreamIdxRowResult, TestHashComponentsStreamIdxRow>() {
                 @Override
                 public TestHashComponentsStreamIdxRow apply(TestHashComponentsStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -450,7 +473,7 @@ public final class TestHashComponentsStreamIdxTable implements
             return new Function<TestHashComponentsStreamIdxRowResult, ImmutableSet<TestHashComponentsStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<TestHashComponentsStreamIdxColumnValue> apply(TestHashComponentsStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -756,5 +779,5 @@ public final class TestHashComponentsStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "8j9kVIm6NGSvRIEXxFUTQw==";
+    static String __CLASS_HASH = "VYwVoHgsiLoN0FSylUZihQ==";
 }
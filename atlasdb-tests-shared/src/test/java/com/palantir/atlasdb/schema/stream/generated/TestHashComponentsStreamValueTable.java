@@ -186,10 +186,12 @@ public final class TestHashComponentsStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes, blockIdBytes);
+            byte[] __output = new byte[8 + EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeFixedLong(Long.MIN_VALUE ^ hashOfRowComponents, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<TestHashComponentsStreamValueRow> BYTES_HYDRATOR = new Hydrator<TestHashComponentsStreamValueRow>() {
@@ -207,9 +209,11 @@ public final class TestHashComponentsStreamValueTable implements
         };
 
         public static long computeHashFirstComponents(long id, long blockId) {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes, blockIdBytes)).asLong();
+            byte[] __hashed = new byte[EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __hashed, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __hashed, __index);
+            return Hashing.murmur3_128().hashBytes(__hashed).asLong();
         }
 
         @Override
@@ -320,6 +324,7 @@ public final class TestHashComponentsStreamValueTable implements
 
     public static final class TestHashComponentsStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private TestHashComponentsStreamValueRow rowName;
 
         public static TestHashComponentsStreamValueRowResult of(RowResult<byte[]> row) {
             return new TestHashComponentsStreamValueRowResult(row);
@@ -331,7 +336,10 @@ public final class TestHashComponentsStreamValueTable implements
 
         @Override
         public TestHashComponentsStreamValueRow getRowName() {
-            return TestHashComponentsStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = TestHashComponentsStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<TestHashComponentsStreamValueRowResult, TestHashComponentsStreamValueRow> getRowNameFun() {
@@ -710,5 +718,5 @@ public final class TestHashComponentsStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "WFAb/jALJAdXS93iqp8Mww==";
+    static String __CLASS_HASH = "uy+3rXgx6d1xiruVLBySjw==";
 }
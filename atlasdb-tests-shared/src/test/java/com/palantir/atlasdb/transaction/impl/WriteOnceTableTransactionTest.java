@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.cache.WriteOnceTableCache;
+import com.palantir.atlasdb.cache.WriteOnceTableInvalidatingKeyValueService;
+import com.palantir.atlasdb.cleaner.NoOpCleaner;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.monitoring.TimestampTrackerImpl;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.CachePriority;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.PartitionStrategy;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.SweepStrategy;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+import com.palantir.atlasdb.transaction.api.TransactionConflictException;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.lock.impl.LegacyTimelockService;
+
+public class WriteOnceTableTransactionTest extends TransactionTestSetup {
+    private static final TableReference WRITE_ONCE_TABLE = TableReference.createFromFullyQualifiedName(
+            "ns.write_once_test_table");
+    private static final TableMetadata WRITE_ONCE_TABLE_METADATA = new TableMetadata(
+            new NameMetadataDescription(),
+            new ColumnMetadataDescription(),
+            ConflictHandler.RETRY_ON_WRITE_WRITE,
+            CachePriority.WARM,
+            PartitionStrategy.ORDERED,
+            false,
+            0,
+            false,
+            SweepStrategy.CONSERVATIVE,
+            false,
+            LogSafety.UNSAFE,
+            Compression.NONE,
+            true);
+
+    private final AtomicInteger writeOnceTableReads = new AtomicInteger();
+    private WriteOnceTableCache writeOnceTableCache;
+
+    @Before
+    public void createWriteOnceTable() {
+        keyValueService.createTable(WRITE_ONCE_TABLE, WRITE_ONCE_TABLE_METADATA.persistToBytes());
+    }
+
+    @Override
+    protected KeyValueService getKeyValueService() {
+        KeyValueService delegate = new InMemoryKeyValueService(false);
+        KeyValueService countingKeyValueService = new ForwardingKeyValueService() {
+            @Override
+            protected KeyValueService delegate() {
+                return delegate;
+            }
+
+            @Override
+            public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+                if (tableRef.equals(WRITE_ONCE_TABLE)) {
+                    writeOnceTableReads.incrementAndGet();
+                }
+                return super.get(tableRef, timestampByCell);
+            }
+        };
+        writeOnceTableCache = WriteOnceTableCache.create(countingKeyValueService, 1024 * 1024);
+        return WriteOnceTableInvalidatingKeyValueService.create(countingKeyValueService, writeOnceTableCache);
+    }
+
+    @Override
+    protected TransactionManager getManager() {
+        return new SerializableTransactionManager(
+                keyValueService,
+                new LegacyTimelockService(timestampService, lockService, lockClient),
+                lockService,
+                transactionService,
+                Suppliers.ofInstance(AtlasDbConstraintCheckingMode.NO_CONSTRAINT_CHECKING),
+                conflictDetectionManager,
+                sweepStrategyManager,
+                NoOpCleaner.INSTANCE,
+                TimestampTrackerImpl.createNoOpTracker(),
+                () -> AtlasDbConstants.DEFAULT_TIMESTAMP_CACHE_SIZE,
+                false,
+                () -> AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS,
+                AbstractTransactionTest.GET_RANGES_THREAD_POOL_SIZE,
+                AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
+                writeOnceTableCache);
+    }
+
+    @Test
+    public void servesCommittedValuesFromCache() {
+        putAndCommit("row", "col", "value");
+
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+        int readsAfterFirstGet = writeOnceTableReads.get();
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+
+        assertThat(writeOnceTableReads.get()).isEqualTo(readsAfterFirstGet);
+    }
+
+    @Test
+    public void readsOwnWritesWithoutCachingThem() {
+        assertThatThrownBy(() -> txMgr.runTaskThrowOnConflict(txn -> {
+            put(txn, WRITE_ONCE_TABLE, "row", "col", "uncommitted");
+            assertThat(getCell(txn, WRITE_ONCE_TABLE, "row", "col")).isEqualTo("uncommitted");
+            throw new IllegalStateException("abort");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(getAndCommit("row", "col")).isNull();
+    }
+
+    @Test
+    public void doesNotServeCachedValuesToTransactionsThatStartedBeforeTheirCommit() {
+        String seenByEarlierTransaction = txMgr.runTaskThrowOnConflict(txn -> {
+            putAndCommit("row", "col", "value");
+            assertThat(getAndCommit("row", "col")).isEqualTo("value");
+            return getCell(txn, WRITE_ONCE_TABLE, "row", "col");
+        });
+
+        assertThat(seenByEarlierTransaction).isNull();
+    }
+
+    @Test
+    public void concurrentWritesOfTheSameCellConflict() {
+        assertThatThrownBy(() -> txMgr.runTaskThrowOnConflict(txn -> {
+            putAndCommit("row", "col", "first");
+            put(txn, WRITE_ONCE_TABLE, "row", "col", "second");
+            return null;
+        })).isInstanceOf(TransactionConflictException.class);
+
+        assertThat(getAndCommit("row", "col")).isEqualTo("first");
+    }
+
+    @Test
+    public void cannotOverwriteCommittedValue() {
+        putAndCommit("row", "col", "value");
+
+        assertThatThrownBy(() -> putAndCommit("row", "col", "other")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+    }
+
+    @Test
+    public void cannotWriteCellTwiceInOneTransaction() {
+        assertThatThrownBy(() -> txMgr.runTaskThrowOnConflict(txn -> {
+            put(txn, WRITE_ONCE_TABLE, "row", "col", "value");
+            put(txn, WRITE_ONCE_TABLE, "row", "col", "other");
+            return null;
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void cannotDeleteCells() {
+        putAndCommit("row", "col", "value");
+
+        assertThatThrownBy(() -> txMgr.runTaskThrowOnConflict(txn -> {
+            txn.delete(WRITE_ONCE_TABLE, ImmutableSet.of(getCell("row", "col")));
+            return null;
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+    }
+
+    @Test
+    public void servesNewValueAfterTableIsTruncatedAndRewritten() {
+        putAndCommit("row", "col", "value");
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+
+        keyValueService.truncateTable(WRITE_ONCE_TABLE);
+        putAndCommit("row", "col", "other");
+
+        assertThat(getAndCommit("row", "col")).isEqualTo("other");
+    }
+
+    @Test
+    public void allowsOverwritesAfterTableIsRecreatedWithoutWriteOnce() {
+        putAndCommit("row", "col", "value");
+        assertThat(getAndCommit("row", "col")).isEqualTo("value");
+
+        keyValueService.dropTable(WRITE_ONCE_TABLE);
+        keyValueService.createTable(WRITE_ONCE_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        putAndCommit("row", "col", "first");
+        putAndCommit("row", "col", "second");
+
+        assertThat(getAndCommit("row", "col")).isEqualTo("second");
+    }
+
+    @Test
+    public void allowsOverwritesOfOtherTables() {
+        txMgr.runTaskThrowOnConflict(txn -> {
+            put(txn, "row", "col", "value");
+            return null;
+        });
+        txMgr.runTaskThrowOnConflict(txn -> {
+            put(txn, "row", "col", "other");
+            return null;
+        });
+
+        assertThat(txMgr.runTaskThrowOnConflict(txn -> getCell(txn, "row", "col"))).isEqualTo("other");
+    }
+
+    private void putAndCommit(String row, String column, String value) {
+        txMgr.runTaskThrowOnConflict(txn -> {
+            put(txn, WRITE_ONCE_TABLE, row, column, value);
+            return null;
+        });
+    }
+
+    private String getAndCommit(String row, String column) {
+        return txMgr.runTaskThrowOnConflict(txn -> getCell(txn, WRITE_ONCE_TABLE, row, column));
+    }
+}
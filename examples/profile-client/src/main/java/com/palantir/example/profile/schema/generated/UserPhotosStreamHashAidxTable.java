@@ -173,8 +173,8 @@ public final class UserPhotosStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            byte[] __output = hash.getBytes();
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamHashAidxRow>() {
@@ -265,8 +265,8 @@ public final class UserPhotosStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(streamId);
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamHashAidxColumn>() {
@@ -395,39 +395,60 @@ public final class UserPhotosStreamHashAidxTable implements
     }
 
     public static final class UserPhotosStreamHashAidxRowResult implements TypedRowResult {
-        private final UserPhotosStreamHashAidxRow rowName;
-        private final ImmutableSet<UserPhotosStreamHashAidxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private UserPhotosStreamHashAidxRow rowName;
+        private ImmutableSet<UserPhotosStreamHashAidxColumnValue> columnValues;
 
         public static UserPhotosStreamHashAidxRowResult of(RowResult<byte[]> rowResult) {
-            UserPhotosStreamHashAidxRow rowName = UserPhotosStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<UserPhotosStreamHashAidxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                UserPhotosStreamHashAidxColumn col = UserPhotosStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = UserPhotosStreamHashAidxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(UserPhotosStreamHashAidxColumnValue.of(col, value));
-            }
-            return new UserPhotosStreamHashAidxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new UserPhotosStreamHashAidxRowResult(rowResult);
         }
 
-        private UserPhotosStreamHashAidxRowResult(UserPhotosStreamHashAidxRow rowName, ImmutableSet<UserPhotosStreamHashAidxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private UserPhotosStreamHashAidxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public UserPhotosStreamHashAidxRow getRowName() {
+            if (rowName == null) {
+                rowName = UserPhotosStreamHashAidxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<UserPhotosStreamHashAidxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<UserPhotosStreamHashAidxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    UserPhotosStreamHashAidxColumn col = UserPhotosStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = UserPhotosStreamHashAidxColumnValue.hydrateValue(e.getValue());
+                    values.add(UserPhotosStreamHashAidxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<UserPhotosStreamHashAidxColumn> getColumns() {
+            Set<UserPhotosStreamHashAidxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(UserPhotosStreamHashAidxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(UserPhotosStreamHashAidxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return UserPhotosStreamHashAidxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<UserPhotosStreamHashAidxRowResult, UserPhotosStreamHashAidxRow> getRowNameFun() {
             return new Function<UserPhotosStreamHashAidxRowResult, UserPhotosStreamHashAidxRow>() {
                 @Override
                 public UserPhotosStreamHashAidxRow apply(UserPhotosStreamHashAidxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class UserPhotosStreamHashAidxTable implements
             return new Function<UserPhotosStreamHashAidxRowResult, ImmutableSet<UserPhotosStreamHashAidxColumnValue>>() {
                 @Override
                 public ImmutableSet<UserPhotosStreamHashAidxColumnValue> apply(UserPhotosStreamHashAidxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class UserPhotosStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "E1bDB21bXYt+7zZhi1WklA==";
+    static String __CLASS_HASH = "wU/5lLOjRzixheVgM8yvsA==";
 }
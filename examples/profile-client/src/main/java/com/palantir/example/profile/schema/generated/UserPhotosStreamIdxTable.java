@@ -173,8 +173,8 @@ public final class UserPhotosStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamIdxRow> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamIdxRow>() {
@@ -265,8 +265,8 @@ public final class UserPhotosStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            byte[] __output = EncodingUtils.encodeSizedBytes(reference);
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamIdxColumn>() {
@@ -395,39 +395,60 @@ public final class UserPhotosStreamIdxTable implements
     }
 
     public static final class UserPhotosStreamIdxRowResult implements TypedRowResult {
-        private final UserPhotosStreamIdxRow rowName;
-        private final ImmutableSet<UserPhotosStreamIdxColumnValue> columnValues;
+        private final RowResult<byte[]> row;
+        private UserPhotosStreamIdxRow rowName;
+        private ImmutableSet<UserPhotosStreamIdxColumnValue> columnValues;
 
         public static UserPhotosStreamIdxRowResult of(RowResult<byte[]> rowResult) {
-            UserPhotosStreamIdxRow rowName = UserPhotosStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-            Set<UserPhotosStreamIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-            for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                UserPhotosStreamIdxColumn col = UserPhotosStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                Long value = UserPhotosStreamIdxColumnValue.hydrateValue(e.getValue());
-                columnValues.add(UserPhotosStreamIdxColumnValue.of(col, value));
-            }
-            return new UserPhotosStreamIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+            return new UserPhotosStreamIdxRowResult(rowResult);
         }
 
-        private UserPhotosStreamIdxRowResult(UserPhotosStreamIdxRow rowName, ImmutableSet<UserPhotosStreamIdxColumnValue> columnValues) {
-            this.rowName = rowName;
-            this.columnValues = columnValues;
+        private UserPhotosStreamIdxRowResult(RowResult<byte[]> row) {
+            this.row = row;
         }
 
         @Override
         public UserPhotosStreamIdxRow getRowName() {
+            if (rowName == null) {
+                rowName = UserPhotosStreamIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
             return rowName;
         }
 
         public Set<UserPhotosStreamIdxColumnValue> getColumnValues() {
+            if (columnValues == null) {
+                Set<UserPhotosStreamIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                    UserPhotosStreamIdxColumn col = UserPhotosStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                    Long value = UserPhotosStreamIdxColumnValue.hydrateValue(e.getValue());
+                    values.add(UserPhotosStreamIdxColumnValue.of(col, value));
+                }
+                columnValues = ImmutableSet.copyOf(values);
+            }
             return columnValues;
         }
 
+        public Set<UserPhotosStreamIdxColumn> getColumns() {
+            Set<UserPhotosStreamIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+            for (byte[] col : row.getColumns().keySet()) {
+                columns.add(UserPhotosStreamIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+            }
+            return columns;
+        }
+
+        public Long getColumnValue(UserPhotosStreamIdxColumn column) {
+            byte[] bytes = row.getColumns().get(column.persistToBytes());
+            if (bytes == null) {
+                return null;
+            }
+            return UserPhotosStreamIdxColumnValue.hydrateValue(bytes);
+        }
+
         public static Function<UserPhotosStreamIdxRowResult, UserPhotosStreamIdxRow> getRowNameFun() {
             return new Function<UserPhotosStreamIdxRowResult, UserPhotosStreamIdxRow>() {
                 @Override
                 public UserPhotosStreamIdxRow apply(UserPhotosStreamIdxRowResult rowResult) {
-                    return rowResult.rowName;
+                    return rowResult.getRowName();
                 }
             };
         }
@@ -436,7 +457,7 @@ public final class UserPhotosStreamIdxTable implements
             return new Function<UserPhotosStreamIdxRowResult, ImmutableSet<UserPhotosStreamIdxColumnValue>>() {
                 @Override
                 public ImmutableSet<UserPhotosStreamIdxColumnValue> apply(UserPhotosStreamIdxRowResult rowResult) {
-                    return rowResult.columnValues;
+                    return ImmutableSet.copyOf(rowResult.getColumnValues());
                 }
             };
         }
@@ -742,5 +763,5 @@ public final class UserPhotosStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "6uR8DHOxSQr5Iv2DcBzIdQ==";
+    static String __CLASS_HASH = "C0FhzfH898u3FzhQnyNh8g==";
 }
@@ -175,8 +175,8 @@ public final class UserPhotosStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUnsignedVarLong(id);
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamMetadataRow>() {
@@ -317,6 +317,7 @@ public final class UserPhotosStreamMetadataTable implements
 
     public static final class UserPhotosStreamMetadataRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private UserPhotosStreamMetadataRow rowName;
 
         public static UserPhotosStreamMetadataRowResult of(RowResult<byte[]> row) {
             return new UserPhotosStreamMetadataRowResult(row);
@@ -328,7 +329,10 @@ public final class UserPhotosStreamMetadataTable implements
 
         @Override
         public UserPhotosStreamMetadataRow getRowName() {
-            return UserPhotosStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = UserPhotosStreamMetadataRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<UserPhotosStreamMetadataRowResult, UserPhotosStreamMetadataRow> getRowNameFun() {
@@ -707,5 +711,5 @@ public final class UserPhotosStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "7iwDT85x7QJRRwZVqWTd9A==";
+    static String __CLASS_HASH = "afFUK3b+NFCVFgf8oUEL9A==";
 }
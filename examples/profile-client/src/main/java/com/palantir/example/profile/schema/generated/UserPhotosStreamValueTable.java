@@ -182,9 +182,11 @@ public final class UserPhotosStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(idBytes, blockIdBytes);
+            byte[] __output = new byte[EncodingUtils.sizeOfUnsignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId)];
+            int __index = 0;
+            __index = EncodingUtils.encodeUnsignedVarLong(id, __output, __index);
+            __index = EncodingUtils.encodeUnsignedVarLong(blockId, __output, __index);
+            return __output;
         }
 
         public static final Hydrator<UserPhotosStreamValueRow> BYTES_HYDRATOR = new Hydrator<UserPhotosStreamValueRow>() {
@@ -305,6 +307,7 @@ public final class UserPhotosStreamValueTable implements
 
     public static final class UserPhotosStreamValueRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private UserPhotosStreamValueRow rowName;
 
         public static UserPhotosStreamValueRowResult of(RowResult<byte[]> row) {
             return new UserPhotosStreamValueRowResult(row);
@@ -316,7 +319,10 @@ public final class UserPhotosStreamValueTable implements
 
         @Override
         public UserPhotosStreamValueRow getRowName() {
-            return UserPhotosStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = UserPhotosStreamValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<UserPhotosStreamValueRowResult, UserPhotosStreamValueRow> getRowNameFun() {
@@ -695,5 +701,5 @@ public final class UserPhotosStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "irQPf+iC8Kagft1QMRC2Cw==";
+    static String __CLASS_HASH = "dTXRwCOrT/n7BRFVQexhIA==";
 }
@@ -175,8 +175,8 @@ public final class UserProfileTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUUID(id);
-            return EncodingUtils.add(idBytes);
+            byte[] __output = EncodingUtils.encodeUUID(id);
+            return __output;
         }
 
         public static final Hydrator<UserProfileRow> BYTES_HYDRATOR = new Hydrator<UserProfileRow>() {
@@ -490,6 +490,7 @@ public final class UserProfileTable implements
 
     public static final class UserProfileRowResult implements TypedRowResult {
         private final RowResult<byte[]> row;
+        private UserProfileRow rowName;
 
         public static UserProfileRowResult of(RowResult<byte[]> row) {
             return new UserProfileRowResult(row);
@@ -501,7 +502,10 @@ public final class UserProfileTable implements
 
         @Override
         public UserProfileRow getRowName() {
-            return UserProfileRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            if (rowName == null) {
+                rowName = UserProfileRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+            }
+            return rowName;
         }
 
         public static Function<UserProfileRowResult, UserProfileRow> getRowNameFun() {
@@ -1296,8 +1300,8 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] cookieBytes = PtBytes.toBytes(cookie);
-                return EncodingUtils.add(cookieBytes);
+                byte[] __output = PtBytes.toBytes(cookie);
+                return __output;
             }
 
             public static final Hydrator<CookiesIdxRow> BYTES_HYDRATOR = new Hydrator<CookiesIdxRow>() {
@@ -1411,10 +1415,12 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeUUID(id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<CookiesIdxColumn> BYTES_HYDRATOR = new Hydrator<CookiesIdxColumn>() {
@@ -1432,25 +1438,29 @@ public final class UserProfileTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -1575,39 +1585,60 @@ public final class UserProfileTable implements
         }
 
         public static final class CookiesIdxRowResult implements TypedRowResult {
-            private final CookiesIdxRow rowName;
-            private final ImmutableSet<CookiesIdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private CookiesIdxRow rowName;
+            private ImmutableSet<CookiesIdxColumnValue> columnValues;
 
             public static CookiesIdxRowResult of(RowResult<byte[]> rowResult) {
-                CookiesIdxRow rowName = CookiesIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<CookiesIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    CookiesIdxColumn col = CookiesIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = CookiesIdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(CookiesIdxColumnValue.of(col, value));
-                }
-                return new CookiesIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new CookiesIdxRowResult(rowResult);
             }
 
-            private CookiesIdxRowResult(CookiesIdxRow rowName, ImmutableSet<CookiesIdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private CookiesIdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public CookiesIdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = CookiesIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<CookiesIdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<CookiesIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        CookiesIdxColumn col = CookiesIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = CookiesIdxColumnValue.hydrateValue(e.getValue());
+                        values.add(CookiesIdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<CookiesIdxColumn> getColumns() {
+                Set<CookiesIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(CookiesIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(CookiesIdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return CookiesIdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<CookiesIdxRowResult, CookiesIdxRow> getRowNameFun() {
                 return new Function<CookiesIdxRowResult, CookiesIdxRow>() {
                     @Override
                     public CookiesIdxRow apply(CookiesIdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -1616,7 +1647,7 @@ public final class UserProfileTable implements
                 return new Function<CookiesIdxRowResult, ImmutableSet<CookiesIdxColumnValue>>() {
                     @Override
                     public ImmutableSet<CookiesIdxColumnValue> apply(CookiesIdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -1982,8 +2013,8 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] timeBytes = EncodingUtils.encodeUnsignedVarLong(time);
-                return EncodingUtils.add(timeBytes);
+                byte[] __output = EncodingUtils.encodeUnsignedVarLong(time);
+                return __output;
             }
 
             public static final Hydrator<CreatedIdxRow> BYTES_HYDRATOR = new Hydrator<CreatedIdxRow>() {
@@ -2097,10 +2128,12 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeUUID(id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<CreatedIdxColumn> BYTES_HYDRATOR = new Hydrator<CreatedIdxColumn>() {
@@ -2118,25 +2151,29 @@ public final class UserProfileTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -2261,39 +2298,60 @@ public final class UserProfileTable implements
         }
 
         public static final class CreatedIdxRowResult implements TypedRowResult {
-            private final CreatedIdxRow rowName;
-            private final ImmutableSet<CreatedIdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private CreatedIdxRow rowName;
+            private ImmutableSet<CreatedIdxColumnValue> columnValues;
 
             public static CreatedIdxRowResult of(RowResult<byte[]> rowResult) {
-                CreatedIdxRow rowName = CreatedIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<CreatedIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    CreatedIdxColumn col = CreatedIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = CreatedIdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(CreatedIdxColumnValue.of(col, value));
-                }
-                return new CreatedIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new CreatedIdxRowResult(rowResult);
             }
 
-            private CreatedIdxRowResult(CreatedIdxRow rowName, ImmutableSet<CreatedIdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private CreatedIdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public CreatedIdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = CreatedIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<CreatedIdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<CreatedIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        CreatedIdxColumn col = CreatedIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = CreatedIdxColumnValue.hydrateValue(e.getValue());
+                        values.add(CreatedIdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<CreatedIdxColumn> getColumns() {
+                Set<CreatedIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(CreatedIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(CreatedIdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return CreatedIdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<CreatedIdxRowResult, CreatedIdxRow> getRowNameFun() {
                 return new Function<CreatedIdxRowResult, CreatedIdxRow>() {
                     @Override
                     public CreatedIdxRow apply(CreatedIdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -2302,7 +2360,7 @@ public final class UserProfileTable implements
                 return new Function<CreatedIdxRowResult, ImmutableSet<CreatedIdxColumnValue>>() {
                     @Override
                     public ImmutableSet<CreatedIdxColumnValue> apply(CreatedIdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -2668,8 +2726,8 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] birthdayBytes = EncodingUtils.encodeSignedVarLong(birthday);
-                return EncodingUtils.add(birthdayBytes);
+                byte[] __output = EncodingUtils.encodeSignedVarLong(birthday);
+                return __output;
             }
 
             public static final Hydrator<UserBirthdaysIdxRow> BYTES_HYDRATOR = new Hydrator<UserBirthdaysIdxRow>() {
@@ -2783,10 +2841,12 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                byte[] __output = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __output, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __output, __index);
+                __index = EncodingUtils.encodeUUID(id, __output, __index);
+                return __output;
             }
 
             public static final Hydrator<UserBirthdaysIdxColumn> BYTES_HYDRATOR = new Hydrator<UserBirthdaysIdxColumn>() {
@@ -2804,25 +2864,29 @@ public final class UserProfileTable implements
             };
 
             public static BatchColumnRangeSelection createPrefixRangeUnsorted(byte[] rowName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes), batchSize);
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefixUnsorted(byte[] rowName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                return new Prefix(EncodingUtils.add(rowNameBytes));
+                byte[] __prefix = EncodingUtils.encodeSizedBytes(rowName);
+                return new Prefix(__prefix);
             }
 
             public static BatchColumnRangeSelection createPrefixRange(byte[] rowName, byte[] columnName, int batchSize) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return ColumnRangeSelections.createPrefixRange(EncodingUtils.add(rowNameBytes, columnNameBytes), batchSize);
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return ColumnRangeSelections.createPrefixRange(__prefix, batchSize);
             }
 
             public static Prefix prefix(byte[] rowName, byte[] columnName) {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return new Prefix(EncodingUtils.add(rowNameBytes, columnNameBytes));
+                byte[] __prefix = new byte[EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName)];
+                int __index = 0;
+                __index = EncodingUtils.encodeSizedBytes(rowName, __prefix, __index);
+                __index = EncodingUtils.encodeSizedBytes(columnName, __prefix, __index);
+                return new Prefix(__prefix);
             }
 
             @Override
@@ -2947,39 +3011,60 @@ public final class UserProfileTable implements
         }
 
         public static final class UserBirthdaysIdxRowResult implements TypedRowResult {
-            private final UserBirthdaysIdxRow rowName;
-            private final ImmutableSet<UserBirthdaysIdxColumnValue> columnValues;
+            private final RowResult<byte[]> row;
+            private UserBirthdaysIdxRow rowName;
+            private ImmutableSet<UserBirthdaysIdxColumnValue> columnValues;
 
             public static UserBirthdaysIdxRowResult of(RowResult<byte[]> rowResult) {
-                UserBirthdaysIdxRow rowName = UserBirthdaysIdxRow.BYTES_HYDRATOR.hydrateFromBytes(rowResult.getRowName());
-                Set<UserBirthdaysIdxColumnValue> columnValues = Sets.newHashSetWithExpectedSize(rowResult.getColumns().size());
-                for (Entry<byte[], byte[]> e : rowResult.getColumns().entrySet()) {
-                    UserBirthdaysIdxColumn col = UserBirthdaysIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
-                    Long value = UserBirthdaysIdxColumnValue.hydrateValue(e.getValue());
-                    columnValues.add(UserBirthdaysIdxColumnValue.of(col, value));
-                }
-                return new UserBirthdaysIdxRowResult(rowName, ImmutableSet.copyOf(columnValues));
+                return new UserBirthdaysIdxRowResult(rowResult);
             }
 
-            private UserBirthdaysIdxRowResult(UserBirthdaysIdxRow rowName, ImmutableSet<UserBirthdaysIdxColumnValue> columnValues) {
-                this.rowName = rowName;
-                this.columnValues = columnValues;
+            private UserBirthdaysIdxRowResult(RowResult<byte[]> row) {
+                this.row = row;
             }
 
             @Override
             public UserBirthdaysIdxRow getRowName() {
+                if (rowName == null) {
+                    rowName = UserBirthdaysIdxRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+                }
                 return rowName;
             }
 
             public Set<UserBirthdaysIdxColumnValue> getColumnValues() {
+                if (columnValues == null) {
+                    Set<UserBirthdaysIdxColumnValue> values = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                    for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {
+                        UserBirthdaysIdxColumn col = UserBirthdaysIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(e.getKey());
+                        Long value = UserBirthdaysIdxColumnValue.hydrateValue(e.getValue());
+                        values.add(UserBirthdaysIdxColumnValue.of(col, value));
+                    }
+                    columnValues = ImmutableSet.copyOf(values);
+                }
                 return columnValues;
             }
 
+            public Set<UserBirthdaysIdxColumn> getColumns() {
+                Set<UserBirthdaysIdxColumn> columns = Sets.newHashSetWithExpectedSize(row.getColumns().size());
+                for (byte[] col : row.getColumns().keySet()) {
+                    columns.add(UserBirthdaysIdxColumn.BYTES_HYDRATOR.hydrateFromBytes(col));
+                }
+                return columns;
+            }
+
+            public Long getColumnValue(UserBirthdaysIdxColumn column) {
+                byte[] bytes = row.getColumns().get(column.persistToBytes());
+                if (bytes == null) {
+                    return null;
+                }
+                return UserBirthdaysIdxColumnValue.hydrateValue(bytes);
+            }
+
             public static Function<UserBirthdaysIdxRowResult, UserBirthdaysIdxRow> getRowNameFun() {
                 return new Function<UserBirthdaysIdxRowResult, UserBirthdaysIdxRow>() {
                     @Override
                     public UserBirthdaysIdxRow apply(UserBirthdaysIdxRowResult rowResult) {
-                        return rowResult.rowName;
+                        return rowResult.getRowName();
                     }
                 };
             }
@@ -2988,7 +3073,7 @@ public final class UserProfileTable implements
                 return new Function<UserBirthdaysIdxRowResult, ImmutableSet<UserBirthdaysIdxColumnValue>>() {
                     @Override
                     public ImmutableSet<UserBirthdaysIdxColumnValue> apply(UserBirthdaysIdxRowResult rowResult) {
-                        return rowResult.columnValues;
+                        return ImmutableSet.copyOf(rowResult.getColumnValues());
                     }
                 };
             }
@@ -3349,5 +3434,5 @@ public final class UserProfileTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "2l6vERmYIdNq6v0h//tMEw==";
+    static String __CLASS_HASH = "SenvDz1+7KaUNKeHqs4Ktw==";
 }
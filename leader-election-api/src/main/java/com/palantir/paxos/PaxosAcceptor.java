@@ -63,4 +63,21 @@ public interface PaxosAcceptor {
     @Path("latest-sequence-prepared-or-accepted")
     @Produces(MediaType.APPLICATION_JSON)
     long getLatestSequencePreparedOrAccepted();
+
+    /**
+     * Gets the sequence number of the acceptor's most recent known round and, if that is no later than the given
+     * round, grants the caller a lease: for the given duration, measured on this acceptor's clock from when the
+     * request is received, the acceptor will neither prepare nor accept any round later than the given one.
+     *
+     * @param seq the round the caller believes to be the latest
+     * @param leaseDurationMs how long the acceptor should hold off later rounds for
+     * @return the sequence number of the most recent round known to this acceptor; the lease was granted if and
+     *         only if this is no greater than {@code seq}
+     */
+    @POST
+    @Path("latest-sequence-prepared-or-accepted/{seq}/lease/{leaseDurationMs}")
+    @Produces(MediaType.APPLICATION_JSON)
+    long getLatestSequencePreparedOrAcceptedAndGrantLease(
+            @PathParam("seq") long seq,
+            @PathParam("leaseDurationMs") long leaseDurationMs);
 }
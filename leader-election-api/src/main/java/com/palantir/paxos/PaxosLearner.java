@@ -25,6 +25,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 import com.palantir.common.annotation.Inclusive;
@@ -73,4 +74,22 @@ public interface PaxosLearner {
     @Produces(MediaType.APPLICATION_JSON)
     Collection<PaxosValue> getLearnedValuesSince(@PathParam("seq") @Inclusive long seq);
 
+    /**
+     * Returns the learned values for the most recent rounds since the seq-th round (inclusive), at most limit of them,
+     * in increasing order of round. Unlike {@link #getLearnedValuesSince(long)}, the work done by this call does not
+     * grow with how far behind the caller is; a limit of 1 returns just the greatest learned value, if it is recent
+     * enough.
+     *
+     * @param seq lower round cutoff for returned values
+     * @param limit maximum number of values to return
+     * @return the most recent learned values for rounds since the seq-th round
+     */
+    @Nonnull
+    @GET
+    @Path("latest-learned-values-since/{seq:.+}")
+    @Produces(MediaType.APPLICATION_JSON)
+    Collection<PaxosValue> getLatestLearnedValuesSince(
+            @PathParam("seq") @Inclusive long seq,
+            @QueryParam("limit") int limit);
+
 }
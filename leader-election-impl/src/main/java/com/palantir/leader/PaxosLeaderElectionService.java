@@ -50,7 +50,9 @@ import com.google.common.collect.Sets;
 import com.google.common.net.HostAndPort;
 import com.palantir.common.base.Throwables;
 import com.palantir.paxos.CoalescingPaxosLatestRoundVerifier;
+import com.palantir.paxos.LeasingPaxosLatestRoundVerifier;
 import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLatestRoundVerifier;
 import com.palantir.paxos.PaxosLatestRoundVerifierImpl;
 import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosProposer;
@@ -68,8 +70,15 @@ import com.palantir.paxos.PaxosValue;
 public class PaxosLeaderElectionService implements PingableLeader, LeaderElectionService {
     private static final Logger log = LoggerFactory.getLogger(PaxosLeaderElectionService.class);
 
+    /**
+     * Only the greatest learned value matters for leader election, so catching up from a peer transfers a bounded
+     * window of its most recent rounds rather than every round we have missed.
+     */
+    @VisibleForTesting
+    static final int MAX_LEARNED_VALUES_PER_UPDATE = 100;
+
     private final ReentrantLock lock;
-    private final CoalescingPaxosLatestRoundVerifier latestRoundVerifier;
+    private final PaxosLatestRoundVerifier latestRoundVerifier;
 
     final PaxosProposer proposer;
     final PaxosLearner knowledge;
@@ -100,7 +109,7 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
                                       long leaderPingResponseWaitMs) {
         this(proposer, knowledge, otherPotentialLeadersToHosts, acceptors, learners, executor,
                 updatePollingWaitInMs, randomWaitBeforeProposingLeadership, leaderPingResponseWaitMs,
-                PaxosLeaderElectionEventRecorder.NO_OP);
+                PaxosLeaderElectionEventRecorder.NO_OP, 0L);
     }
 
     PaxosLeaderElectionService(PaxosProposer proposer,
@@ -112,7 +121,8 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
             long updatePollingWaitInMs,
             long randomWaitBeforeProposingLeadership,
             long leaderPingResponseWaitMs,
-            PaxosLeaderElectionEventRecorder eventRecorder) {
+            PaxosLeaderElectionEventRecorder eventRecorder,
+            long leaderLeaseDurationMs) {
         this.proposer = proposer;
         this.knowledge = knowledge;
         // XXX This map uses something that may be proxied as a key! Be very careful if making a new map from this.
@@ -125,8 +135,21 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
         this.leaderPingResponseWaitMs = leaderPingResponseWaitMs;
         lock = new ReentrantLock();
         this.eventRecorder = eventRecorder;
-        this.latestRoundVerifier = new CoalescingPaxosLatestRoundVerifier(
-                new PaxosLatestRoundVerifierImpl(acceptors, proposer.getQuorumSize(), executor));
+        this.latestRoundVerifier = createLatestRoundVerifier(
+                acceptors, proposer.getQuorumSize(), executor, leaderLeaseDurationMs);
+    }
+
+    private static PaxosLatestRoundVerifier createLatestRoundVerifier(
+            List<PaxosAcceptor> acceptors,
+            int quorumSize,
+            ExecutorService executor,
+            long leaderLeaseDurationMs) {
+        PaxosLatestRoundVerifier verifier = new CoalescingPaxosLatestRoundVerifier(
+                new PaxosLatestRoundVerifierImpl(acceptors, quorumSize, executor, leaderLeaseDurationMs));
+        if (leaderLeaseDurationMs <= 0) {
+            return verifier;
+        }
+        return new LeasingPaxosLatestRoundVerifier(verifier, leaderLeaseDurationMs, executor);
     }
 
     @Override
@@ -472,8 +495,8 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
                     @Override
                     @Nullable
                     public PaxosUpdate apply(@Nullable PaxosLearner learner) {
-                        return new PaxosUpdate(
-                                copyOf(learner.getLearnedValuesSince(nextToLearnSeq)));
+                        return new PaxosUpdate(copyOf(
+                                learner.getLatestLearnedValuesSince(nextToLearnSeq, MAX_LEARNED_VALUES_PER_UPDATE)));
                     }
                 },
                 proposer.getQuorumSize(),
@@ -36,6 +36,7 @@ public class PaxosLeaderElectionServiceBuilder {
     private long randomWaitBeforeProposingLeadershipMs;
     private long leaderPingResponseWaitMs;
     private PaxosLeaderElectionEventRecorder eventRecorder = PaxosLeaderElectionEventRecorder.NO_OP;
+    private long leaderLeaseDurationMs;
 
     public PaxosLeaderElectionServiceBuilder proposer(PaxosProposer proposer) {
         this.proposer = proposer;
@@ -92,6 +93,17 @@ public class PaxosLeaderElectionServiceBuilder {
         return this;
     }
 
+    /**
+     * How long a successful leadership check lets the leader confirm its leadership without contacting a quorum of
+     * acceptors. Zero, the default, disables leases. While a lease is held, acceptors will not let another node
+     * become leader, so this also bounds how much longer failover may take if the leader dies. All acceptors must
+     * support leases before this is enabled.
+     */
+    public PaxosLeaderElectionServiceBuilder leaderLeaseDurationMs(long leaderLeaseDurationMs) {
+        this.leaderLeaseDurationMs = leaderLeaseDurationMs;
+        return this;
+    }
+
     public PaxosLeaderElectionService build() {
         return new PaxosLeaderElectionService(
                 proposer,
@@ -103,6 +115,7 @@ public class PaxosLeaderElectionServiceBuilder {
                 pingRateMs,
                 randomWaitBeforeProposingLeadershipMs,
                 leaderPingResponseWaitMs,
-                eventRecorder);
+                eventRecorder,
+                leaderLeaseDurationMs);
     }
 }
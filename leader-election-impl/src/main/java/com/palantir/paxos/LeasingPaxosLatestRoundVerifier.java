@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A verifier that, once a quorum of acceptors has agreed that a round is the latest and granted a lease on it,
+ * answers for that round locally until shortly before the lease runs out. The acceptors that granted the lease
+ * refuse to prepare or accept later rounds while it is held, so no other node can become leader in the meantime.
+ * <p>
+ * The local lease is timed from before the verification was requested, so it never starts later than the acceptors'
+ * leases do, and is shortened by {@link #CLOCK_DRIFT_MARGIN} to allow for the acceptors' clocks running fast relative
+ * to ours. Once half of it has elapsed, the next verification renews it in the background, so a leader that is
+ * serving requests steadily does not wait on the network.
+ * <p>
+ * The delegate must request leases of the configured duration from the acceptors, as
+ * {@link PaxosLatestRoundVerifierImpl} does when constructed with a lease duration.
+ */
+public class LeasingPaxosLatestRoundVerifier implements PaxosLatestRoundVerifier {
+    private static final Logger log = LoggerFactory.getLogger(LeasingPaxosLatestRoundVerifier.class);
+
+    @VisibleForTesting
+    static final double CLOCK_DRIFT_MARGIN = 0.1;
+
+    private final PaxosLatestRoundVerifier delegate;
+    private final long localLeaseDurationNanos;
+    private final Executor renewalExecutor;
+    private final LongSupplier nanoClock;
+    private final AtomicBoolean renewing = new AtomicBoolean();
+
+    // read without locking; only updated in recordVerification
+    @Nullable
+    private volatile Lease lease;
+
+    public LeasingPaxosLatestRoundVerifier(
+            PaxosLatestRoundVerifier delegate,
+            long leaseDurationMs,
+            Executor renewalExecutor) {
+        this(delegate, leaseDurationMs, renewalExecutor, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    LeasingPaxosLatestRoundVerifier(
+            PaxosLatestRoundVerifier delegate,
+            long leaseDurationMs,
+            Executor renewalExecutor,
+            LongSupplier nanoClock) {
+        Preconditions.checkArgument(leaseDurationMs > 0, "Lease duration must be positive; found '%s'.",
+                leaseDurationMs);
+        this.delegate = delegate;
+        this.localLeaseDurationNanos = (long) (TimeUnit.MILLISECONDS.toNanos(leaseDurationMs)
+                * (1 - CLOCK_DRIFT_MARGIN));
+        this.renewalExecutor = renewalExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public PaxosQuorumStatus isLatestRound(long round) {
+        Lease currentLease = lease;
+        long now = nanoClock.getAsLong();
+        if (currentLease != null && currentLease.round == round && currentLease.isHeldAt(now)) {
+            if (currentLease.shouldRenewAt(now)) {
+                renewInBackground(round);
+            }
+            return PaxosQuorumStatus.QUORUM_AGREED;
+        }
+        return verifyAndRecordLease(round);
+    }
+
+    private PaxosQuorumStatus verifyAndRecordLease(long round) {
+        long verificationStart = nanoClock.getAsLong();
+        PaxosQuorumStatus status = delegate.isLatestRound(round);
+        recordVerification(round, verificationStart, status);
+        return status;
+    }
+
+    private synchronized void recordVerification(long round, long verificationStart, PaxosQuorumStatus status) {
+        Lease currentLease = lease;
+        switch (status) {
+            case QUORUM_AGREED:
+                if (currentLease == null
+                        || currentLease.round != round
+                        || verificationStart - currentLease.start > 0) {
+                    lease = new Lease(round, verificationStart);
+                }
+                break;
+            case SOME_DISAGREED:
+                if (currentLease != null && currentLease.round == round) {
+                    lease = null;
+                }
+                break;
+            case NO_QUORUM:
+                // the acceptors still honour any lease we hold, so there is no need to give it up early
+                break;
+            default:
+                throw new IllegalStateException("unknown status: " + status);
+        }
+    }
+
+    private void renewInBackground(long round) {
+        if (!renewing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            renewalExecutor.execute(() -> {
+                try {
+                    verifyAndRecordLease(round);
+                } catch (Throwable t) {
+                    log.info("Failed to renew leader lease on round {}", SafeArg.of("round", round), t);
+                } finally {
+                    renewing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            renewing.set(false);
+            log.info("Could not schedule renewal of leader lease on round {}", SafeArg.of("round", round), e);
+        }
+    }
+
+    private final class Lease {
+        private final long round;
+        private final long start;
+
+        private Lease(long round, long start) {
+            this.round = round;
+            this.start = start;
+        }
+
+        private boolean isHeldAt(long now) {
+            return now - start < localLeaseDurationNanos;
+        }
+
+        private boolean shouldRenewAt(long now) {
+            return now - start >= localLeaseDurationNanos / 2;
+        }
+    }
+}
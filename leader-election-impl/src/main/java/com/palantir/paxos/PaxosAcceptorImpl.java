@@ -15,44 +15,90 @@
  */
 package com.palantir.paxos;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.palantir.common.base.Throwables;
 import com.palantir.logsafe.SafeArg;
 
 public class PaxosAcceptorImpl implements PaxosAcceptor {
     private static final Logger logger = LoggerFactory.getLogger(PaxosAcceptorImpl.class);
 
+    private static final String LEASE_FILE_NAME = "lease";
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
     /**
      * @param logDir string path for directory to place durable logs
      * @param type the type of the objects accepted by the acceptor
      * @return a new acceptor
      */
     public static PaxosAcceptor newAcceptor(String logDir) {
-        PaxosStateLog<PaxosAcceptorState> log = new PaxosStateLogImpl<PaxosAcceptorState>(logDir);
+        return newAcceptor(logDir, PaxosStateLogFormat.LEGACY);
+    }
+
+    public static PaxosAcceptor newAcceptor(String logDir, PaxosStateLogFormat logFormat) {
+        PaxosStateLog<PaxosAcceptorState> log = logFormat.createLog(logDir, "acceptor");
         return new PaxosAcceptorImpl(
                 new ConcurrentSkipListMap<Long, PaxosAcceptorState>(),
                 log,
-                log.getGreatestLogEntry());
+                log.getGreatestLogEntry(),
+                new File(logDir, LEASE_FILE_NAME));
     }
 
     final ConcurrentSkipListMap<Long, PaxosAcceptorState> state;
     final PaxosStateLog<PaxosAcceptorState> log;
     final long greatestInLogAtStartup;
 
+    // Prepares and accepts share this lock, so that granting a lease cannot interleave with a later round being
+    // promised or accepted between reading the latest sequence and recording the lease.
+    private final ReadWriteLock leaseLock = new ReentrantReadWriteLock();
+    private long leasedRound = NO_LOG_ENTRY; // guarded by leaseLock
+    private long leaseExpiryNanos = System.nanoTime(); // guarded by leaseLock
+    private final File leaseFile;
+
     private PaxosAcceptorImpl(ConcurrentSkipListMap<Long, PaxosAcceptorState> state,
                               PaxosStateLog<PaxosAcceptorState> log,
-                              long greatestInLogAtStartup) {
+                              long greatestInLogAtStartup,
+                              File leaseFile) {
         this.state = state;
         this.log = log;
         this.greatestInLogAtStartup = greatestInLogAtStartup;
+        this.leaseFile = leaseFile;
+        recoverLease();
     }
 
     @Override
     public PaxosPromise prepare(long seq, PaxosProposalId pid) {
+        leaseLock.readLock().lock();
+        try {
+            if (isLeasedOut(seq)) {
+                logger.debug("Rejecting prepare for round {} as a lease is held on round {}",
+                        SafeArg.of("sequence", seq), SafeArg.of("leasedRound", leasedRound));
+                return PaxosPromise.reject(pid);
+            }
+            return prepareUnderLease(seq, pid);
+        } finally {
+            leaseLock.readLock().unlock();
+        }
+    }
+
+    private PaxosPromise prepareUnderLease(long seq, PaxosProposalId pid) {
         try {
             checkLogIfNeeded(seq);
         } catch (Exception e) {
@@ -91,6 +137,20 @@ public class PaxosAcceptorImpl implements PaxosAcceptor {
 
     @Override
     public BooleanPaxosResponse accept(long seq, PaxosProposal proposal) {
+        leaseLock.readLock().lock();
+        try {
+            if (isLeasedOut(seq)) {
+                logger.debug("Rejecting accept for round {} as a lease is held on round {}",
+                        SafeArg.of("sequence", seq), SafeArg.of("leasedRound", leasedRound));
+                return new BooleanPaxosResponse(false); // nack
+            }
+            return acceptUnderLease(seq, proposal);
+        } finally {
+            leaseLock.readLock().unlock();
+        }
+    }
+
+    private BooleanPaxosResponse acceptUnderLease(long seq, PaxosProposal proposal) {
         try {
             checkLogIfNeeded(seq);
         } catch (Exception e) {
@@ -127,6 +187,74 @@ public class PaxosAcceptorImpl implements PaxosAcceptor {
         }
     }
 
+    @Override
+    public long getLatestSequencePreparedOrAcceptedAndGrantLease(long seq, long leaseDurationMs) {
+        leaseLock.writeLock().lock();
+        try {
+            // A round that has been leased out is known to have been learned, so we report it even if our own log
+            // has not caught up; this stops a stale leader from being granted a lease on an older round.
+            long latest = Math.max(getLatestSequencePreparedOrAccepted(), leasedRound);
+            if (latest <= seq) {
+                long expiry = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseDurationMs);
+                if (seq > leasedRound || expiry - leaseExpiryNanos > 0) {
+                    // the lease must survive a restart, or this acceptor could help elect another leader while the
+                    // lease holder still serves requests without checking with a quorum
+                    persistLease(seq, leaseDurationMs);
+                    leaseExpiryNanos = expiry;
+                }
+                leasedRound = seq;
+            }
+            return latest;
+        } finally {
+            leaseLock.writeLock().unlock();
+        }
+    }
+
+    private boolean isLeasedOut(long seq) {
+        return seq > leasedRound && System.nanoTime() - leaseExpiryNanos < 0;
+    }
+
+    /**
+     * Records the latest lease granted. As we do not know how long we were down for, a lease recovered on startup is
+     * held for its full duration again, which is conservative.
+     */
+    private void persistLease(long seq, long leaseDurationMs) {
+        File tmpFile = new File(leaseFile.getPath() + TMP_FILE_SUFFIX);
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(tmpFile)) {
+                DataOutputStream out = new DataOutputStream(fileOut);
+                out.writeLong(seq);
+                out.writeLong(leaseDurationMs);
+                out.flush();
+                fileOut.getFD().sync();
+            }
+            Files.move(tmpFile.toPath(), leaseFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel directory = FileChannel.open(leaseFile.getParentFile().toPath(),
+                    StandardOpenOption.READ)) {
+                directory.force(true);
+            }
+        } catch (IOException e) {
+            logger.error("Problem persisting the lease on round {}", SafeArg.of("sequence", seq), e);
+            throw Throwables.throwUncheckedException(e);
+        }
+    }
+
+    private void recoverLease() {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(leaseFile))) {
+            leasedRound = in.readLong();
+            leaseExpiryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(in.readLong());
+            logger.info("Recovered the lease on round {}; later rounds will not be prepared or accepted until it "
+                    + "expires", SafeArg.of("leasedRound", leasedRound));
+        } catch (FileNotFoundException e) {
+            // no lease was ever granted
+        } catch (IOException e) {
+            // the file is replaced atomically, so this is not a torn write and we cannot tell how long to wait
+            throw new IllegalStateException("Could not read the paxos acceptor lease file "
+                    + leaseFile.getAbsolutePath() + "; it must be inspected before the acceptor can be started", e);
+        }
+    }
+
     private void checkLogIfNeeded(long seq) throws TruncatedStateLogException, IOException {
         if (state.containsKey(seq)) {
             return;
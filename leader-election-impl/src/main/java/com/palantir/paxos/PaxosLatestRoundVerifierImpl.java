@@ -26,11 +26,25 @@ public class PaxosLatestRoundVerifierImpl implements PaxosLatestRoundVerifier {
     private final ImmutableList<PaxosAcceptor> acceptors;
     private final int quorumSize;
     private final ExecutorService executor;
+    private final long leaseDurationMs;
 
     public PaxosLatestRoundVerifierImpl(List<PaxosAcceptor> acceptors, int quorumSize, ExecutorService executor) {
+        this(acceptors, quorumSize, executor, 0L);
+    }
+
+    /**
+     * @param leaseDurationMs if positive, each acceptor that agrees a round is the latest is also asked to hold off
+     *        later rounds for this long; see {@link PaxosAcceptor#getLatestSequencePreparedOrAcceptedAndGrantLease}
+     */
+    public PaxosLatestRoundVerifierImpl(
+            List<PaxosAcceptor> acceptors,
+            int quorumSize,
+            ExecutorService executor,
+            long leaseDurationMs) {
         this.acceptors = ImmutableList.copyOf(acceptors);
         this.quorumSize = quorumSize;
         this.executor = executor;
+        this.leaseDurationMs = leaseDurationMs;
     }
 
     @Override
@@ -51,6 +65,9 @@ public class PaxosLatestRoundVerifierImpl implements PaxosLatestRoundVerifier {
     }
 
     private boolean acceptorAgreesIsLatestRound(PaxosAcceptor acceptor, long round) {
+        if (leaseDurationMs > 0) {
+            return round >= acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(round, leaseDurationMs);
+        }
         return round >= acceptor.getLatestSequencePreparedOrAccepted();
     }
 
@@ -16,8 +16,10 @@
 package com.palantir.paxos;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 
@@ -41,7 +43,12 @@ public class PaxosLearnerImpl implements PaxosLearner {
     }
 
     public static PaxosLearner newLearner(String logDir, PaxosKnowledgeEventRecorder eventRecorder) {
-        PaxosStateLogImpl<PaxosValue> log = new PaxosStateLogImpl<PaxosValue>(logDir);
+        return newLearner(logDir, eventRecorder, PaxosStateLogFormat.LEGACY);
+    }
+
+    public static PaxosLearner newLearner(String logDir, PaxosKnowledgeEventRecorder eventRecorder,
+            PaxosStateLogFormat logFormat) {
+        PaxosStateLog<PaxosValue> log = logFormat.createLog(logDir, "learner");
         ConcurrentSkipListMap<Long, PaxosValue> state = new ConcurrentSkipListMap<Long, PaxosValue>();
 
         byte[] greatestValidValue = PaxosStateLogs.getGreatestValidLogEntry(log);
@@ -109,6 +116,25 @@ public class PaxosLearnerImpl implements PaxosLearner {
         return values;
     }
 
+    @Override
+    public Collection<PaxosValue> getLatestLearnedValuesSince(long seq, int limit) {
+        PaxosValue greatestLearnedValue = getGreatestLearnedValue();
+        if (greatestLearnedValue == null || limit <= 0) {
+            return new ArrayList<PaxosValue>();
+        }
+
+        // rounds below the least log entry have been truncated, so there is no point in looking for them
+        long leastSeq = Math.max(seq, log.getLeastLogEntry());
+        Deque<PaxosValue> values = new ArrayDeque<PaxosValue>();
+        for (long i = greatestLearnedValue.seq; i >= leastSeq && values.size() < limit; i--) {
+            PaxosValue value = getLearnedValue(i);
+            if (value != null) {
+                values.addFirst(value);
+            }
+        }
+        return new ArrayList<PaxosValue>(values);
+    }
+
     @Override
     public PaxosValue getGreatestLearnedValue() {
         if (!state.isEmpty()) {
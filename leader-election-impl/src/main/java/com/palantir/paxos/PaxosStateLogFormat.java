@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import com.palantir.common.persist.Persistable;
+
+/**
+ * How acceptors and learners store their rounds on disk.
+ */
+public enum PaxosStateLogFormat {
+    /**
+     * One file per round, written by {@link PaxosStateLogImpl}.
+     */
+    LEGACY,
+    /**
+     * Append-only segments, written by {@link SegmentedPaxosStateLog}. A legacy log in the same directory is
+     * migrated on startup and its files are kept, so that the migration can be checked.
+     */
+    SEGMENTED,
+    /**
+     * As {@link #SEGMENTED}, but the files of a legacy log that has been migrated are deleted.
+     */
+    SEGMENTED_DELETING_MIGRATED_LEGACY_LOG;
+
+    public static PaxosStateLogFormat of(boolean segmented, boolean deleteMigratedLegacyLog) {
+        if (!segmented) {
+            return LEGACY;
+        }
+        return deleteMigratedLegacyLog ? SEGMENTED_DELETING_MIGRATED_LEGACY_LOG : SEGMENTED;
+    }
+
+    <V extends Persistable & Versionable> PaxosStateLog<V> createLog(String path, String logName) {
+        switch (this) {
+            case LEGACY:
+                return new PaxosStateLogImpl<>(path);
+            case SEGMENTED:
+                return new SegmentedPaxosStateLog<>(path, logName, false);
+            case SEGMENTED_DELETING_MIGRATED_LEGACY_LOG:
+                return new SegmentedPaxosStateLog<>(path, logName, true);
+            default:
+                throw new IllegalStateException("Unknown paxos state log format " + this);
+        }
+    }
+}
@@ -0,0 +1,756 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+
+/**
+ * A {@link PaxosStateLog} that appends rounds to a small number of segment files, rather than writing each round to
+ * a file of its own as {@link PaxosStateLogImpl} does.
+ * <p>
+ * Each segment starts with a short header followed by records of the form
+ * {@code [type][seq][payload length][CRC32][payload]}. Rewriting a round appends a new record; an in-memory index from
+ * sequence number to the latest record for it is rebuilt by scanning the segments on startup, so the least and
+ * greatest entries are known without touching the disk. An incomplete record at the end of the newest segment, left
+ * by a crash part way through a write, is discarded; a corrupt record in any other segment fails startup.
+ * <p>
+ * Concurrent writers share fsyncs: a writer appends its record and then either syncs the segment itself, covering
+ * every record appended so far, or waits for a sync already in progress that covers its record. Records are only
+ * added to the index, in the order they were appended, once they have been synced, so that reads never see a round
+ * that a crash could still lose.
+ * <p>
+ * Truncation is recorded durably as a record of its own. Segments other than the one being appended to are deleted
+ * once every round they hold has been truncated.
+ * <p>
+ * A directory holding a log written by {@link PaxosStateLogImpl} is migrated when the log is opened: its rounds are
+ * appended to a segment, which is synced before a marker file recording the migration is written. Migration is
+ * idempotent until then, so a crash part way through it is safe. The legacy files are kept, unless the log is asked
+ * to delete them, so that the migration can be checked; they are not updated afterwards. Startup fails if they were
+ * written to after the migration, as the segments would then be missing those rounds.
+ */
+public class SegmentedPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
+    private static final Logger log = LoggerFactory.getLogger(SegmentedPaxosStateLog.class);
+
+    @VisibleForTesting
+    static final long DEFAULT_SEGMENT_SIZE_BYTES = 4 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String LEGACY_TMP_FILE_SUFFIX = ".tmp";
+    private static final String MIGRATION_MARKER_NAME = "migrated-legacy-log";
+    private static final int SEGMENT_MAGIC = 0x50584c47; // "PXLG"
+    private static final int SEGMENT_FORMAT_VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 1 + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private enum RecordType {
+        ROUND((byte) 1),
+        TRUNCATION((byte) 2),
+        // a round migrated from a legacy log whose checksum did not match; reading it fails as it did before
+        CORRUPT_ROUND((byte) 3);
+
+        private final byte id;
+
+        RecordType(byte id) {
+            this.id = id;
+        }
+
+        @Nullable
+        static RecordType fromId(byte id) {
+            for (RecordType type : values()) {
+                if (type.id == id) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final File directory;
+    private final String segmentPrefix;
+    private final long segmentSizeBytes;
+    private final boolean deleteMigratedLegacyLog;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock
+    private final List<Segment> segments = new ArrayList<>();
+    // guarded by lock; versions of the rounds appended by this instance, as for PaxosStateLogImpl
+    private final NavigableMap<Long, Long> appendedVersions = new TreeMap<>();
+    // guarded by lock; records appended but not yet known to be synced, in the order they were appended
+    private final Deque<PendingRecord> unpublishedRecords = new ArrayDeque<>();
+    // guarded by lock
+    private Segment activeSegment;
+    // guarded by lock; total bytes ever appended by this instance, used to order appends against syncs
+    private long appendedBytes;
+    // guarded by lock
+    private long truncatedThrough = Long.MIN_VALUE;
+
+    private final ConcurrentSkipListMap<Long, RecordLocation> index = new ConcurrentSkipListMap<>();
+
+    private final Object syncMonitor = new Object();
+    // guarded by syncMonitor
+    private long syncedBytes;
+    // guarded by syncMonitor
+    private boolean syncInProgress;
+
+    /**
+     * @param path directory to place the log in
+     * @param logName prefix for the names of segment files, so that logs sharing a directory do not interfere
+     * @param deleteMigratedLegacyLog whether to delete the files of a legacy log once it has been migrated
+     */
+    public SegmentedPaxosStateLog(String path, String logName, boolean deleteMigratedLegacyLog) {
+        this(path, logName, deleteMigratedLegacyLog, DEFAULT_SEGMENT_SIZE_BYTES);
+    }
+
+    @VisibleForTesting
+    SegmentedPaxosStateLog(String path, String logName, boolean deleteMigratedLegacyLog, long segmentSizeBytes) {
+        Preconditions.checkArgument(segmentSizeBytes > SEGMENT_HEADER_SIZE,
+                "Segment size must exceed the segment header size; found '%s'.", segmentSizeBytes);
+        this.directory = new File(path);
+        this.segmentPrefix = logName + "-";
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.deleteMigratedLegacyLog = deleteMigratedLegacyLog;
+        try {
+            FileUtils.forceMkdir(directory);
+            recoverSegments();
+            migrateLegacyLogIfPresent();
+        } catch (IOException e) {
+            throw new RuntimeException("IO problem related to the path " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    @Override
+    public void writeRound(long seq, V round) {
+        byte[] bytes = round.persistToBytes();
+        long appendedUpTo;
+        lock.lock();
+        try {
+            // reject old state
+            Long latestVersion = appendedVersions.get(seq);
+            if (latestVersion != null && round.getVersion() < latestVersion) {
+                return;
+            }
+            appendedUpTo = append(RecordType.ROUND, seq, bytes);
+            appendedVersions.put(seq, round.getVersion());
+        } catch (IOException e) {
+            log.error("problem writing paxos state", e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            lock.unlock();
+        }
+        awaitSynced(appendedUpTo);
+        publishSyncedRecords();
+    }
+
+    @Override
+    public byte[] readRound(long seq) throws IOException {
+        RecordLocation location = index.get(seq);
+        if (location == null) {
+            return null;
+        }
+        if (location.type == RecordType.CORRUPT_ROUND) {
+            throw new CorruptLogFileException();
+        }
+        try {
+            return readPayload(location);
+        } catch (ClosedChannelException e) {
+            // the segment was deleted after we looked the round up, so it has been truncated
+            return null;
+        } catch (CorruptLogFileException e) {
+            throw e;
+        } catch (IOException e) {
+            log.error("Problem reading paxos state, specifically when reading round {} from segment {}",
+                    SafeArg.of("round", seq),
+                    UnsafeArg.of("segment", location.segment.file.getAbsolutePath()));
+            throw Throwables.rewrap(e);
+        }
+    }
+
+    @Override
+    public long getLeastLogEntry() {
+        lock.lock();
+        try {
+            // an untruncated log reports no least entry, as PaxosStateLogImpl does for a new log
+            if (truncatedThrough == Long.MIN_VALUE || index.isEmpty()) {
+                return PaxosAcceptor.NO_LOG_ENTRY;
+            }
+            return index.firstKey();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getGreatestLogEntry() {
+        Map.Entry<Long, RecordLocation> greatest = index.lastEntry();
+        return greatest == null ? PaxosAcceptor.NO_LOG_ENTRY : greatest.getKey();
+    }
+
+    @Override
+    public void truncate(long toDeleteInclusive) {
+        long appendedUpTo;
+        lock.lock();
+        try {
+            long greatestLogEntry = getGreatestLogEntry();
+            if (greatestLogEntry >= 0) {
+                // We never want to remove our most recent entry
+                toDeleteInclusive = Math.min(greatestLogEntry - 1, toDeleteInclusive);
+            }
+            appendedUpTo = append(RecordType.TRUNCATION, toDeleteInclusive, new byte[0]);
+        } catch (IOException e) {
+            log.error("problem writing paxos state", e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            lock.unlock();
+        }
+        // the truncation must be durable before any segment is deleted
+        awaitSynced(appendedUpTo);
+
+        lock.lock();
+        try {
+            publishSyncedRecords();
+            deleteTruncatedSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteTruncatedSegments() {
+        List<Segment> deletable = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment != activeSegment && segment.greatestRound <= truncatedThrough) {
+                deletable.add(segment);
+            }
+        }
+        if (deletable.isEmpty()) {
+            return;
+        }
+        // rounds rewritten after an earlier truncation may still be indexed in a segment we are about to delete
+        index.headMap(truncatedThrough, true).values().removeIf(location -> deletable.contains(location.segment));
+        for (Segment segment : deletable) {
+            segments.remove(segment);
+            closeQuietly(segment);
+            if (!segment.file.delete()) {
+                log.warn("failed to delete log segment {}", UnsafeArg.of("segment", segment.file.getAbsolutePath()));
+            }
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, returning how many bytes must be synced for the record to be durable.
+     * The record is applied to the index by {@link #publishSyncedRecords()} once they have been.
+     */
+    private long append(RecordType type, long seq, byte[] payload) throws IOException {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (activeSegment.size > SEGMENT_HEADER_SIZE && activeSegment.size + recordSize > segmentSizeBytes) {
+            rollSegment();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(recordSize);
+        record.put(type.id).putLong(seq).putInt(payload.length).putInt(checksum(type.id, seq, payload));
+        record.put(payload);
+        record.flip();
+
+        long offset = activeSegment.size;
+        writeFully(activeSegment.channel, record, offset);
+        activeSegment.size += recordSize;
+        appendedBytes += recordSize;
+
+        if (type == RecordType.TRUNCATION) {
+            appendedVersions.headMap(seq, true).clear();
+        } else {
+            // segments are deleted based on this, so it must cover records that are not yet published
+            activeSegment.greatestRound = Math.max(activeSegment.greatestRound, seq);
+        }
+        unpublishedRecords.addLast(new PendingRecord(type, seq,
+                new RecordLocation(type, activeSegment, offset, payload.length), appendedBytes));
+        return appendedBytes;
+    }
+
+    private void publishSyncedRecords() {
+        lock.lock();
+        try {
+            long synced;
+            synchronized (syncMonitor) {
+                synced = syncedBytes;
+            }
+            while (!unpublishedRecords.isEmpty() && unpublishedRecords.peekFirst().appendedUpTo <= synced) {
+                PendingRecord record = unpublishedRecords.removeFirst();
+                apply(record.type, record.seq, record.location);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(RecordType type, long seq, RecordLocation location) {
+        switch (type) {
+            case ROUND:
+            case CORRUPT_ROUND:
+                index.put(seq, location);
+                location.segment.greatestRound = Math.max(location.segment.greatestRound, seq);
+                break;
+            case TRUNCATION:
+                index.headMap(seq, true).clear();
+                truncatedThrough = Math.max(truncatedThrough, seq);
+                break;
+            default:
+                throw new IllegalStateException("unknown record type: " + type);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        // everything in the old segment is synced now, so syncs in progress never need to look at it again
+        activeSegment.channel.force(true);
+        synchronized (syncMonitor) {
+            syncedBytes = Math.max(syncedBytes, appendedBytes);
+            syncMonitor.notifyAll();
+        }
+        activeSegment = createSegment(activeSegment.id + 1);
+    }
+
+    private void awaitSynced(long appendedUpTo) {
+        synchronized (syncMonitor) {
+            while (syncedBytes < appendedUpTo) {
+                if (!syncInProgress) {
+                    syncInProgress = true;
+                    break;
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw Throwables.rewrapAndThrowUncheckedException("Interrupted while waiting for paxos log sync",
+                            e);
+                }
+            }
+            if (syncedBytes >= appendedUpTo) {
+                return;
+            }
+        }
+
+        // we are the syncer: everything appended so far is covered by syncing the active segment, as rolling a
+        // segment syncs it first
+        long syncTarget = appendedUpTo;
+        boolean synced = false;
+        try {
+            FileChannel channel;
+            lock.lock();
+            try {
+                syncTarget = appendedBytes;
+                channel = activeSegment.channel;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                channel.force(true);
+            } catch (ClosedChannelException e) {
+                // the segment was rolled, which synced it, and then deleted by truncation
+            }
+            synced = true;
+        } catch (IOException e) {
+            log.error("problem syncing paxos state", e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            synchronized (syncMonitor) {
+                if (synced) {
+                    syncedBytes = Math.max(syncedBytes, syncTarget);
+                }
+                syncInProgress = false;
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private byte[] readPayload(RecordLocation location) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + location.length);
+        if (readFully(location.segment.channel, record, location.offset) < record.capacity()) {
+            throw new CorruptLogFileException();
+        }
+        record.flip();
+        byte type = record.get();
+        long seq = record.getLong();
+        record.getInt();
+        int expectedChecksum = record.getInt();
+        byte[] payload = new byte[location.length];
+        record.get(payload);
+        if (checksum(type, seq, payload) != expectedChecksum) {
+            throw new CorruptLogFileException();
+        }
+        return payload;
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Long> segmentIds = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Long id = getSegmentIdFromFilename(file.getName());
+                if (id != null) {
+                    segmentIds.add(id);
+                }
+            }
+        }
+        Collections.sort(segmentIds);
+
+        for (int i = 0; i < segmentIds.size(); i++) {
+            boolean isNewest = i == segmentIds.size() - 1;
+            Segment segment = openSegment(segmentIds.get(i), isNewest);
+            segments.add(segment);
+            recoverRecords(segment, isNewest);
+        }
+
+        if (segments.isEmpty()) {
+            activeSegment = createSegment(0L);
+        } else {
+            activeSegment = segments.get(segments.size() - 1);
+        }
+    }
+
+    private void recoverRecords(Segment segment, boolean isNewest) throws IOException {
+        long fileSize = segment.channel.size();
+        long position = SEGMENT_HEADER_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(segment.channel, header, position);
+            header.flip();
+            byte typeId = header.get();
+            long seq = header.getLong();
+            int length = header.getInt();
+            int expectedChecksum = header.getInt();
+
+            RecordType type = RecordType.fromId(typeId);
+            if (type == null || length < 0 || position + RECORD_HEADER_SIZE + length > fileSize) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            readFully(segment.channel, ByteBuffer.wrap(payload), position + RECORD_HEADER_SIZE);
+            if (checksum(typeId, seq, payload) != expectedChecksum) {
+                break;
+            }
+
+            apply(type, seq, new RecordLocation(type, segment, position, length));
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        if (position < fileSize) {
+            if (isNewest) {
+                log.warn("Discarding {} bytes of incomplete paxos log record at the end of segment {}",
+                        SafeArg.of("bytes", fileSize - position),
+                        UnsafeArg.of("segment", segment.file.getAbsolutePath()));
+                segment.channel.truncate(position);
+                segment.channel.force(true);
+            } else {
+                // only the newest segment can have been written to when we crashed, so rounds have been lost
+                throw new IOException("Paxos log segment " + segment.file.getAbsolutePath()
+                        + " is corrupt after offset " + position);
+            }
+        }
+        segment.size = position;
+    }
+
+    private void migrateLegacyLogIfPresent() throws IOException {
+        List<Long> legacySeqs = new ArrayList<>();
+        List<File> legacyFiles = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(LEGACY_TMP_FILE_SUFFIX)) {
+                    legacyFiles.add(file);
+                    continue;
+                }
+                try {
+                    legacySeqs.add(Long.parseLong(file.getName()));
+                    legacyFiles.add(file);
+                } catch (NumberFormatException e) {
+                    // not a legacy round
+                }
+            }
+        }
+        File marker = new File(directory, segmentPrefix + MIGRATION_MARKER_NAME);
+        if (marker.exists()) {
+            checkLegacyLogUnchangedSinceMigration(legacyFiles, marker);
+            if (deleteMigratedLegacyLog) {
+                deleteLegacyFiles(legacyFiles);
+            }
+            return;
+        }
+        if (legacySeqs.isEmpty()) {
+            return;
+        }
+        Collections.sort(legacySeqs);
+        log.info("Migrating {} rounds of paxos state in {} to a segmented log",
+                SafeArg.of("rounds", legacySeqs.size()),
+                UnsafeArg.of("directory", directory.getAbsolutePath()));
+
+        PaxosStateLogImpl<V> legacyLog = new PaxosStateLogImpl<>(directory.getPath());
+        long appendedUpTo = 0L;
+        lock.lock();
+        try {
+            long leastLegacySeq = legacySeqs.get(0);
+            if (leastLegacySeq != PaxosAcceptor.NO_LOG_ENTRY) {
+                // the legacy log had been truncated
+                appendedUpTo = append(RecordType.TRUNCATION, leastLegacySeq - 1, new byte[0]);
+            }
+            for (long seq : legacySeqs) {
+                if (seq == PaxosAcceptor.NO_LOG_ENTRY) {
+                    continue;
+                }
+                byte[] bytes;
+                try {
+                    bytes = legacyLog.readRound(seq);
+                } catch (IOException e) {
+                    // reads of this round failed before migration, so they must keep failing afterwards
+                    log.warn("Could not read round {} of legacy paxos log; migrating it as corrupt",
+                            SafeArg.of("round", seq), e);
+                    appendedUpTo = append(RecordType.CORRUPT_ROUND, seq, new byte[0]);
+                    continue;
+                }
+                if (bytes != null) {
+                    appendedUpTo = append(RecordType.ROUND, seq, bytes);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitSynced(appendedUpTo);
+        publishSyncedRecords();
+
+        // Until the marker is durable, a crash means that the rounds are migrated again on the next startup, which
+        // appends the same records again.
+        FileChannel.open(marker.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE).close();
+        syncDirectory();
+        log.info("Migrated paxos state in {} to a segmented log, synced up to {} bytes",
+                UnsafeArg.of("directory", directory.getAbsolutePath()),
+                SafeArg.of("bytes", appendedUpTo));
+        if (deleteMigratedLegacyLog) {
+            deleteLegacyFiles(legacyFiles);
+        }
+    }
+
+    private void checkLegacyLogUnchangedSinceMigration(List<File> legacyFiles, File marker) throws IOException {
+        long migratedAt = marker.lastModified();
+        for (File file : legacyFiles) {
+            if (file.lastModified() > migratedAt) {
+                throw new IOException("Legacy paxos log file " + file.getAbsolutePath() + " was written after the "
+                        + "log was migrated to segments, so the segments may be missing rounds. Move the segments "
+                        + "and " + marker.getName() + " aside to migrate the legacy log again.");
+            }
+        }
+    }
+
+    private void deleteLegacyFiles(List<File> legacyFiles) throws IOException {
+        for (File file : legacyFiles) {
+            if (!file.delete() && file.exists()) {
+                throw new IOException("Failed to delete migrated paxos log file " + file.getAbsolutePath());
+            }
+        }
+        if (!legacyFiles.isEmpty()) {
+            log.info("Deleted {} migrated legacy paxos log files in {}",
+                    SafeArg.of("files", legacyFiles.size()),
+                    UnsafeArg.of("directory", directory.getAbsolutePath()));
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = openSegment(id, false);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(SEGMENT_MAGIC).putInt(SEGMENT_FORMAT_VERSION).flip();
+        writeFully(segment.channel, header, 0);
+        segment.channel.truncate(SEGMENT_HEADER_SIZE);
+        segment.channel.force(true);
+        syncDirectory();
+        segment.size = SEGMENT_HEADER_SIZE;
+        segments.add(segment);
+        return segment;
+    }
+
+    private Segment openSegment(long id, boolean isNewest) throws IOException {
+        File file = new File(directory, getFilenameFromSegmentId(id));
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(id, file, channel);
+        if (channel.size() == 0) {
+            return segment;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        int read = readFully(channel, header, 0);
+        header.flip();
+        if (read < SEGMENT_HEADER_SIZE && isNewest) {
+            // we crashed while creating this segment
+            ByteBuffer newHeader = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            newHeader.putInt(SEGMENT_MAGIC).putInt(SEGMENT_FORMAT_VERSION).flip();
+            writeFully(channel, newHeader, 0);
+            channel.truncate(SEGMENT_HEADER_SIZE);
+            channel.force(true);
+            return segment;
+        }
+        if (read < SEGMENT_HEADER_SIZE
+                || header.getInt() != SEGMENT_MAGIC
+                || header.getInt() != SEGMENT_FORMAT_VERSION) {
+            closeQuietly(segment);
+            throw new IOException("Unrecognised paxos log segment " + file.getAbsolutePath());
+        }
+        return segment;
+    }
+
+    private void syncDirectory() {
+        Path path = directory.toPath();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not every platform allows directories to be opened; the segment itself has been synced
+            log.debug("Could not sync paxos log directory", e);
+        }
+    }
+
+    private String getFilenameFromSegmentId(long id) {
+        return String.format("%s%019d%s", segmentPrefix, id, SEGMENT_SUFFIX);
+    }
+
+    @Nullable
+    private Long getSegmentIdFromFilename(String name) {
+        if (!name.startsWith(segmentPrefix) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(name.substring(segmentPrefix.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int checksum(byte type, long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES);
+        header.put(type).putLong(seq).putInt(payload.length).flip();
+        crc.update(header.array(), 0, header.limit());
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("failed to close log segment {}", UnsafeArg.of("segment", segment.file.getAbsolutePath()), e);
+        }
+    }
+
+    @VisibleForTesting
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        // guarded by the log's lock
+        private long size;
+        private long greatestRound = Long.MIN_VALUE;
+
+        private Segment(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private static final class RecordLocation {
+        private final RecordType type;
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+
+        private RecordLocation(RecordType type, Segment segment, long offset, int length) {
+            this.type = type;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class PendingRecord {
+        private final RecordType type;
+        private final long seq;
+        private final RecordLocation location;
+        private final long appendedUpTo;
+
+        private PendingRecord(RecordType type, long seq, RecordLocation location, long appendedUpTo) {
+            this.type = type;
+            this.seq = seq;
+            this.location = location;
+            this.appendedUpTo = appendedUpTo;
+        }
+    }
+}
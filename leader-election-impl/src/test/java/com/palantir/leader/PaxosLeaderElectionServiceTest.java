@@ -17,8 +17,14 @@
 package com.palantir.leader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.Optional;
 import java.util.concurrent.Executors;
 
 import org.junit.Test;
@@ -28,25 +34,48 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.net.HostAndPort;
 import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosProposer;
+import com.palantir.paxos.PaxosValue;
 
 public class PaxosLeaderElectionServiceTest {
+    private static final PaxosValue VALUE = new PaxosValue("leader", 5L, new byte[0]);
+
+    private final PaxosProposer proposer = mock(PaxosProposer.class);
+    private final PaxosLearner knowledge = mock(PaxosLearner.class);
+    private final PaxosLearner peer = mock(PaxosLearner.class);
+
     @Test
     public void weAreOneOfThePotentialLeaders() throws Exception {
         PingableLeader other = mock(PingableLeader.class);
-        PaxosLeaderElectionService service = new PaxosLeaderElectionServiceBuilder()
-                .proposer(mock(PaxosProposer.class))
-                .knowledge(mock(PaxosLearner.class))
-                .potentialLeadersToHosts(ImmutableMap.of(other, HostAndPort.fromHost("other")))
+        PaxosLeaderElectionService service = createService(ImmutableMap.of(other, HostAndPort.fromHost("other")));
+
+        assertThat(service.getPotentialLeaders()).containsExactlyInAnyOrder(other, service);
+    }
+
+    @Test
+    public void updatesLearnedStateWithBoundedRequestsToPeers() {
+        when(peer.getLatestLearnedValuesSince(anyLong(), anyInt())).thenReturn(ImmutableList.of(VALUE));
+
+        assertThat(createService(ImmutableMap.of()).updateLearnedStateFromPeers(Optional.empty())).isTrue();
+
+        verify(peer).getLatestLearnedValuesSince(0L, PaxosLeaderElectionService.MAX_LEARNED_VALUES_PER_UPDATE);
+        verify(peer, never()).getLearnedValuesSince(anyLong());
+        verify(knowledge).learn(VALUE.getRound(), VALUE);
+    }
+
+    private PaxosLeaderElectionService createService(ImmutableMap<PingableLeader, HostAndPort> otherLeaders) {
+        when(proposer.getQuorumSize()).thenReturn(1);
+        return new PaxosLeaderElectionServiceBuilder()
+                .proposer(proposer)
+                .knowledge(knowledge)
+                .potentialLeadersToHosts(otherLeaders)
                 .acceptors(ImmutableList.of())
-                .learners(ImmutableList.of())
+                .learners(ImmutableList.of(peer))
                 .executor(Executors.newSingleThreadExecutor())
                 .pingRateMs(0L)
                 .randomWaitBeforeProposingLeadershipMs(0L)
                 .leaderPingResponseWaitMs(0L)
                 .eventRecorder(mock(PaxosLeadershipEventRecorder.class))
                 .build();
-
-        assertThat(service.getPotentialLeaders()).containsExactlyInAnyOrder(other, service);
     }
 
 }
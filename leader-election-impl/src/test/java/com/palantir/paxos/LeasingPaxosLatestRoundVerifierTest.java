@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class LeasingPaxosLatestRoundVerifierTest {
+
+    private static final long ROUND_ONE = 1L;
+    private static final long ROUND_TWO = 2L;
+    private static final long LEASE_DURATION_MS = 1000L;
+    private static final long LOCAL_LEASE_NANOS = (long) (TimeUnit.MILLISECONDS.toNanos(LEASE_DURATION_MS)
+            * (1 - LeasingPaxosLatestRoundVerifier.CLOCK_DRIFT_MARGIN));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PaxosLatestRoundVerifier delegate = mock(PaxosLatestRoundVerifier.class);
+    private final LeasingPaxosLatestRoundVerifier verifier = new LeasingPaxosLatestRoundVerifier(
+            delegate, LEASE_DURATION_MS, MoreExecutors.directExecutor(), clock::get);
+
+    @Test
+    public void servesRoundLocallyWhileLeaseIsHeld() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.QUORUM_AGREED);
+        clock.addAndGet(LOCAL_LEASE_NANOS / 4);
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.QUORUM_AGREED);
+
+        verify(delegate, times(1)).isLatestRound(ROUND_ONE);
+    }
+
+    @Test
+    public void renewsLeaseOnceHalfOfItHasElapsed() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+
+        verifier.isLatestRound(ROUND_ONE);
+        clock.addAndGet(LOCAL_LEASE_NANOS / 2);
+        verifier.isLatestRound(ROUND_ONE);
+        verify(delegate, times(2)).isLatestRound(ROUND_ONE);
+
+        // the renewal started half way through the first lease, so it is still held past the first lease's expiry
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.NO_QUORUM);
+        clock.addAndGet(LOCAL_LEASE_NANOS / 2 + 1);
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.QUORUM_AGREED);
+    }
+
+    @Test
+    public void checksQuorumOnceLeaseHasExpired() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+
+        verifier.isLatestRound(ROUND_ONE);
+        clock.addAndGet(LOCAL_LEASE_NANOS);
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.SOME_DISAGREED);
+
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.SOME_DISAGREED);
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.SOME_DISAGREED);
+    }
+
+    @Test
+    public void doesNotTakeLeaseWithoutQuorumAgreement() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.NO_QUORUM);
+
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.NO_QUORUM);
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.NO_QUORUM);
+
+        verify(delegate, times(2)).isLatestRound(ROUND_ONE);
+    }
+
+    @Test
+    public void leaseOnlyCoversTheRoundItWasGrantedFor() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+        when(delegate.isLatestRound(ROUND_TWO)).thenReturn(PaxosQuorumStatus.SOME_DISAGREED);
+
+        verifier.isLatestRound(ROUND_ONE);
+
+        assertThat(verifier.isLatestRound(ROUND_TWO)).isEqualTo(PaxosQuorumStatus.SOME_DISAGREED);
+    }
+
+    @Test
+    public void dropsLeaseIfRenewalFindsALaterRound() {
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+        verifier.isLatestRound(ROUND_ONE);
+
+        when(delegate.isLatestRound(ROUND_ONE)).thenReturn(PaxosQuorumStatus.SOME_DISAGREED);
+        clock.addAndGet(LOCAL_LEASE_NANOS / 2);
+        verifier.isLatestRound(ROUND_ONE);
+
+        assertThat(verifier.isLatestRound(ROUND_ONE)).isEqualTo(PaxosQuorumStatus.SOME_DISAGREED);
+    }
+
+}
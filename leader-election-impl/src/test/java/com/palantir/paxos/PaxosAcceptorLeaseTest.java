@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PaxosAcceptorLeaseTest {
+
+    private static final long ROUND = 5L;
+    private static final long LONG_LEASE_MS = 60_000L;
+    private static final PaxosProposalId PROPOSAL_ID = new PaxosProposalId(1L, "proposer");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String logDir;
+    private PaxosAcceptor acceptor;
+
+    @Before
+    public void setUp() throws Exception {
+        logDir = temporaryFolder.newFolder().getPath();
+        acceptor = PaxosAcceptorImpl.newAcceptor(logDir);
+        acceptRound(ROUND);
+    }
+
+    @Test
+    public void grantsLeaseOnLatestRound() {
+        assertThat(acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, LONG_LEASE_MS)).isEqualTo(ROUND);
+
+        assertThat(acceptor.prepare(ROUND + 1, PROPOSAL_ID).isSuccessful()).isFalse();
+        assertThat(acceptor.accept(ROUND + 1, proposal(ROUND + 1)).isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void leaseDoesNotAffectLeasedRound() {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, LONG_LEASE_MS);
+
+        assertThat(acceptor.prepare(ROUND, new PaxosProposalId(2L, "proposer")).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void doesNotGrantLeaseOnStaleRound() {
+        assertThat(acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND - 1, LONG_LEASE_MS))
+                .isEqualTo(ROUND);
+
+        assertThat(acceptor.prepare(ROUND + 1, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void reportsLeasedRoundEvenIfNotYetSeenLocally() {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND + 2, LONG_LEASE_MS);
+
+        assertThat(acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, LONG_LEASE_MS))
+                .isEqualTo(ROUND + 2);
+    }
+
+    @Test
+    public void allowsLaterRoundsOnceLeaseExpires() throws InterruptedException {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, 1L);
+        Thread.sleep(10L);
+
+        assertThat(acceptor.prepare(ROUND + 1, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void keepsLeaseAcrossRestarts() {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, LONG_LEASE_MS);
+
+        acceptor = PaxosAcceptorImpl.newAcceptor(logDir);
+
+        assertThat(acceptor.prepare(ROUND + 1, PROPOSAL_ID).isSuccessful()).isFalse();
+        assertThat(acceptor.accept(ROUND + 1, proposal(ROUND + 1)).isSuccessful()).isFalse();
+        assertThat(acceptor.getLatestSequencePreparedOrAccepted()).isEqualTo(ROUND);
+    }
+
+    @Test
+    public void allowsLaterRoundsOnceRecoveredLeaseExpires() throws InterruptedException {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, 1L);
+
+        acceptor = PaxosAcceptorImpl.newAcceptor(logDir);
+        Thread.sleep(10L);
+
+        assertThat(acceptor.prepare(ROUND + 1, PROPOSAL_ID).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void reportsRecoveredLeasedRound() {
+        acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND + 2, LONG_LEASE_MS);
+
+        acceptor = PaxosAcceptorImpl.newAcceptor(logDir);
+
+        assertThat(acceptor.getLatestSequencePreparedOrAcceptedAndGrantLease(ROUND, LONG_LEASE_MS))
+                .isEqualTo(ROUND + 2);
+    }
+
+    private void acceptRound(long round) {
+        assertThat(acceptor.prepare(round, PROPOSAL_ID).isSuccessful()).isTrue();
+        assertThat(acceptor.accept(round, proposal(round)).isSuccessful()).isTrue();
+    }
+
+    private static PaxosProposal proposal(long round) {
+        return new PaxosProposal(PROPOSAL_ID, new PaxosValue("proposer", round, null));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PaxosLearnerImplTest {
+    private static final String LEADER = "leader";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PaxosLearner learner;
+
+    @Before
+    public void setUp() throws IOException {
+        learner = PaxosLearnerImpl.newLearner(temporaryFolder.newFolder().getPath());
+    }
+
+    @Test
+    public void latestLearnedValuesAreEmptyIfNothingHasBeenLearned() {
+        assertThat(learner.getLatestLearnedValuesSince(0L, 10)).isEmpty();
+    }
+
+    @Test
+    public void latestLearnedValuesAreTheMostRecentRoundsInIncreasingOrder() {
+        learnRounds(1L, 10L);
+
+        assertThat(learner.getLatestLearnedValuesSince(0L, 3)).containsExactly(value(8L), value(9L), value(10L));
+    }
+
+    @Test
+    public void latestLearnedValueWithLimitOfOneIsTheGreatestLearnedValue() {
+        learnRounds(1L, 10L);
+
+        assertThat(learner.getLatestLearnedValuesSince(0L, 1)).containsExactly(learner.getGreatestLearnedValue());
+    }
+
+    @Test
+    public void latestLearnedValuesDoNotIncludeRoundsBeforeTheLowerBound() {
+        learnRounds(1L, 10L);
+
+        assertThat(learner.getLatestLearnedValuesSince(9L, 5)).containsExactly(value(9L), value(10L));
+        assertThat(learner.getLatestLearnedValuesSince(11L, 5)).isEmpty();
+    }
+
+    @Test
+    public void latestLearnedValuesSkipRoundsThatWereNotLearned() {
+        learner.learn(2L, value(2L));
+        learner.learn(5L, value(5L));
+
+        assertThat(learner.getLatestLearnedValuesSince(0L, 5)).containsExactly(value(2L), value(5L));
+    }
+
+    @Test
+    public void latestLearnedValuesAreAllValuesSinceTheLowerBoundIfUnderTheLimit() {
+        learnRounds(1L, 10L);
+
+        assertThat(learner.getLatestLearnedValuesSince(4L, 100))
+                .containsExactlyElementsOf(learner.getLearnedValuesSince(4L));
+    }
+
+    private void learnRounds(long fromInclusive, long toInclusive) {
+        for (long seq = fromInclusive; seq <= toInclusive; seq++) {
+            learner.learn(seq, value(seq));
+        }
+    }
+
+    private static PaxosValue value(long seq) {
+        return new PaxosValue(LEADER, seq, new byte[] {(byte) seq});
+    }
+}
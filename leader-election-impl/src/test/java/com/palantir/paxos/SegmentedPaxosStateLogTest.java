@@ -0,0 +1,287 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.palantir.common.persist.Persistable;
+
+public class SegmentedPaxosStateLogTest {
+
+    private static final String LEADER = "leader";
+    private static final String LOG_NAME = "test";
+    private static final long SMALL_SEGMENT_SIZE_BYTES = 256;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = temporaryFolder.newFolder().getPath();
+    }
+
+    @Test
+    public void newLogHasNoEntries() {
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void readsBackWrittenRounds() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+        writeRounds(log, 0, 10);
+
+        assertThat(readValue(log, 3)).isEqualTo(value(3));
+        assertThat(log.readRound(10)).isNull();
+        assertThat(log.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(9L);
+    }
+
+    @Test
+    public void rejectsOlderVersionsOfARound() throws IOException {
+        SegmentedPaxosStateLog<PaxosAcceptorState> log = openLog();
+        PaxosProposalId id = new PaxosProposalId(1L, LEADER);
+        PaxosAcceptorState promised = PaxosAcceptorState.newState(id);
+        PaxosAcceptorState accepted = promised.withState(id, id, value(1));
+
+        log.writeRound(1, accepted);
+        log.writeRound(1, promised);
+
+        assertThat(PaxosAcceptorState.BYTES_HYDRATOR.hydrateFromBytes(log.readRound(1)).lastAcceptedValue)
+                .isEqualTo(value(1));
+    }
+
+    @Test
+    public void recoversRoundsAcrossSegmentsOnReopen() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = openLogWithSmallSegments();
+        writeRounds(log, 0, 50);
+        assertThat(log.segmentCount()).isGreaterThan(1);
+
+        SegmentedPaxosStateLog<PaxosValue> reopened = openLogWithSmallSegments();
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(49L);
+        for (long seq = 0; seq < 50; seq++) {
+            assertThat(readValue(reopened, seq)).isEqualTo(value(seq));
+        }
+    }
+
+    @Test
+    public void discardsIncompleteRecordAtEndOfLog() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+        writeRounds(log, 0, 3);
+        try (FileOutputStream out = new FileOutputStream(newestSegment(), true)) {
+            out.write(new byte[] {1, 0, 0, 0, 0, 0});
+        }
+
+        SegmentedPaxosStateLog<PaxosValue> reopened = openLog();
+        assertThat(reopened.getGreatestLogEntry()).isEqualTo(2L);
+        reopened.writeRound(3, value(3));
+
+        assertThat(readValue(openLog(), 3)).isEqualTo(value(3));
+    }
+
+    @Test
+    public void truncationDeletesWholeSegmentsAndSurvivesReopen() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = openLogWithSmallSegments();
+        writeRounds(log, 0, 50);
+        int segmentsBeforeTruncation = log.segmentCount();
+
+        log.truncate(39);
+
+        assertThat(log.segmentCount()).isLessThan(segmentsBeforeTruncation);
+        assertThat(log.readRound(39)).isNull();
+        assertThat(log.getLeastLogEntry()).isEqualTo(40L);
+
+        SegmentedPaxosStateLog<PaxosValue> reopened = openLogWithSmallSegments();
+        assertThat(reopened.getLeastLogEntry()).isEqualTo(40L);
+        assertThat(reopened.readRound(10)).isNull();
+        assertThat(readValue(reopened, 40)).isEqualTo(value(40));
+    }
+
+    @Test
+    public void truncationKeepsGreatestEntry() {
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+        writeRounds(log, 0, 5);
+
+        log.truncate(log.getGreatestLogEntry());
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(4L);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(4L);
+    }
+
+    @Test
+    public void migratesLegacyLog() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        writeRounds(legacyLog, 0, 5);
+
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(4L);
+        assertThat(readValue(log, 2)).isEqualTo(value(2));
+        assertThat(new File(path, "2")).exists();
+    }
+
+    @Test
+    public void deletesMigratedLegacyLogWhenAsked() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        writeRounds(legacyLog, 0, 5);
+        openLog();
+
+        SegmentedPaxosStateLog<PaxosValue> log = new SegmentedPaxosStateLog<>(path, LOG_NAME, true);
+
+        assertThat(readValue(log, 2)).isEqualTo(value(2));
+        assertThat(new File(path).list()).allMatch(name -> name.startsWith(LOG_NAME + "-"));
+    }
+
+    @Test
+    public void doesNotMigrateLegacyLogAgain() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        writeRounds(legacyLog, 0, 5);
+        PaxosValue newValue = new PaxosValue(LEADER, 2, new byte[] {42});
+        openLog().writeRound(2, newValue);
+
+        assertThat(readValue(openLog(), 2)).isEqualTo(newValue);
+    }
+
+    @Test
+    public void failsToOpenIfLegacyLogWasWrittenAfterMigration() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        writeRounds(legacyLog, 0, 5);
+        openLog();
+        File legacyRound = new File(path, "5");
+        FileUtils.touch(legacyRound);
+        assertThat(legacyRound.setLastModified(System.currentTimeMillis() + 60_000L)).isTrue();
+
+        Throwable thrown = catchThrowable(this::openLog);
+        assertThat(thrown).hasCauseInstanceOf(IOException.class);
+        assertThat(thrown.getCause()).hasMessageContaining("was written after the log was migrated");
+    }
+
+    @Test
+    public void failsToOpenIfOlderSegmentIsCorrupt() throws IOException {
+        SegmentedPaxosStateLog<PaxosValue> log = openLogWithSmallSegments();
+        writeRounds(log, 0, 50);
+        File oldestSegment = Arrays.stream(segments())
+                .min(Comparator.comparing(File::getName))
+                .get();
+        try (RandomAccessFile file = new RandomAccessFile(oldestSegment, "rw")) {
+            long offset = file.length() - 1;
+            file.seek(offset);
+            int lastByte = file.read();
+            file.seek(offset);
+            file.write(lastByte ^ 0xFF);
+        }
+
+        Throwable thrown = catchThrowable(this::openLogWithSmallSegments);
+        assertThat(thrown).hasCauseInstanceOf(IOException.class);
+        assertThat(thrown.getCause()).hasMessageContaining("is corrupt after offset");
+    }
+
+    @Test
+    public void migratesTruncationAndCorruptionOfLegacyLog() throws IOException {
+        PaxosStateLogImpl<PaxosValue> legacyLog = new PaxosStateLogImpl<>(path);
+        writeRounds(legacyLog, 0, 10);
+        legacyLog.truncate(4);
+        FileUtils.writeByteArrayToFile(new File(path, "7"), new byte[] {3, 1, 2, 3});
+
+        SegmentedPaxosStateLog<PaxosValue> log = openLog();
+
+        assertThat(log.getLeastLogEntry()).isEqualTo(5L);
+        assertThat(log.getGreatestLogEntry()).isEqualTo(9L);
+        assertThatThrownBy(() -> log.readRound(7)).isInstanceOf(PaxosStateLog.CorruptLogFileException.class);
+        assertThat(PaxosStateLogs.getGreatestValidLogEntry(log)).isEqualTo(value(9).persistToBytes());
+    }
+
+    @Test
+    public void concurrentWritersAreAllDurable() throws Exception {
+        SegmentedPaxosStateLog<PaxosValue> log = openLogWithSmallSegments();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (long seq = 0; seq < 200; seq++) {
+                long round = seq;
+                writes.add(executor.submit(() -> log.writeRound(round, value(round))));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SegmentedPaxosStateLog<PaxosValue> reopened = openLogWithSmallSegments();
+        for (long seq = 0; seq < 200; seq++) {
+            assertThat(readValue(reopened, seq)).isEqualTo(value(seq));
+        }
+    }
+
+    private <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> openLog() {
+        return new SegmentedPaxosStateLog<>(path, LOG_NAME, false);
+    }
+
+    private <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> openLogWithSmallSegments() {
+        return new SegmentedPaxosStateLog<>(path, LOG_NAME, false, SMALL_SEGMENT_SIZE_BYTES);
+    }
+
+    private File newestSegment() {
+        return Arrays.stream(segments())
+                .max(Comparator.comparing(File::getName))
+                .get();
+    }
+
+    private File[] segments() {
+        return new File(path).listFiles((dir, name) -> name.startsWith(LOG_NAME + "-") && name.endsWith(".log"));
+    }
+
+    private static void writeRounds(PaxosStateLog<PaxosValue> log, long from, long to) {
+        for (long seq = from; seq < to; seq++) {
+            log.writeRound(seq, value(seq));
+        }
+    }
+
+    private static PaxosValue readValue(PaxosStateLog<PaxosValue> log, long seq) throws IOException {
+        return PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(log.readRound(seq));
+    }
+
+    private static PaxosValue value(long seq) {
+        return new PaxosValue(LEADER, seq, new byte[] {(byte) seq});
+    }
+}
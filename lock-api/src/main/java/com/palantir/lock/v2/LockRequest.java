@@ -24,6 +24,7 @@ import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.ImmutableSortedSet;
 import com.palantir.lock.LockDescriptor;
 
 @Value.Immutable
@@ -34,6 +35,10 @@ public interface LockRequest {
     @Value.Parameter
     UUID getRequestId();
 
+    /**
+     * The descriptors of the locks requested. Requests created through the static factory methods list these in
+     * lock order, which saves the server from sorting them.
+     */
     @Value.Parameter
     Set<LockDescriptor> getLockDescriptors();
 
@@ -46,7 +51,7 @@ public interface LockRequest {
     static LockRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs) {
         return ImmutableLockRequest.of(
                 UUID.randomUUID(),
-                lockDescriptors,
+                ImmutableSortedSet.copyOf(lockDescriptors),
                 acquireTimeoutMs,
                 Optional.of("Thread: " + Thread.currentThread().getName()));
     }
@@ -54,7 +59,7 @@ public interface LockRequest {
     static LockRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs, String clientDescription) {
         return ImmutableLockRequest.of(
                 UUID.randomUUID(),
-                lockDescriptors,
+                ImmutableSortedSet.copyOf(lockDescriptors),
                 acquireTimeoutMs,
                 Optional.of(clientDescription));
     }
@@ -24,6 +24,7 @@ import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.ImmutableSortedSet;
 import com.palantir.lock.LockDescriptor;
 
 @Value.Immutable
@@ -34,6 +35,10 @@ public interface WaitForLocksRequest {
     @Value.Parameter
     UUID getRequestId();
 
+    /**
+     * The descriptors of the locks requested. Requests created through the static factory methods list these in
+     * lock order, which saves the server from sorting them.
+     */
     @Value.Parameter
     Set<LockDescriptor> getLockDescriptors();
 
@@ -44,12 +49,14 @@ public interface WaitForLocksRequest {
     Optional<String> getClientDescription();
 
     static WaitForLocksRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs) {
-        return ImmutableWaitForLocksRequest.of(UUID.randomUUID(), lockDescriptors, acquireTimeoutMs, Optional.empty());
+        return ImmutableWaitForLocksRequest.of(
+                UUID.randomUUID(), ImmutableSortedSet.copyOf(lockDescriptors), acquireTimeoutMs, Optional.empty());
     }
 
     static WaitForLocksRequest of(Set<LockDescriptor> lockDescriptors, long acquireTimeoutMs,
             String clientDescription) {
-        return ImmutableWaitForLocksRequest.of(UUID.randomUUID(), lockDescriptors, acquireTimeoutMs,
+        return ImmutableWaitForLocksRequest.of(
+                UUID.randomUUID(), ImmutableSortedSet.copyOf(lockDescriptors), acquireTimeoutMs,
                 Optional.of(clientDescription));
     }
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.impl;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A set multimap that can be updated concurrently without a global lock. Each key's values are held in a concurrent
+ * set; updates to a key are serialised by {@link ConcurrentMap#compute} on that key alone, so that a key is removed
+ * exactly when its last value is, and reads never block.
+ */
+@ThreadSafe
+final class ConcurrentSetMultimap<K, V> {
+    private final ConcurrentMap<K, Set<V>> valuesByKey = new ConcurrentHashMap<>();
+
+    void put(K key, V value) {
+        valuesByKey.compute(key, (unused, values) -> {
+            Set<V> newValues = values == null ? ConcurrentHashMap.newKeySet() : values;
+            newValues.add(value);
+            return newValues;
+        });
+    }
+
+    void remove(K key, V value) {
+        valuesByKey.computeIfPresent(key, (unused, values) -> {
+            values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    /**
+     * Returns a weakly consistent view of the values for the given key.
+     */
+    Set<V> get(K key) {
+        Set<V> values = valuesByKey.get(key);
+        return values == null ? Collections.emptySet() : Collections.unmodifiableSet(values);
+    }
+
+    Map<K, Set<V>> asMap() {
+        return Collections.unmodifiableMap(valuesByKey);
+    }
+
+    int size() {
+        return valuesByKey.values().stream().mapToInt(Set::size).sum();
+    }
+}
@@ -29,14 +29,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -56,7 +56,6 @@ import com.google.common.base.Supplier;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
@@ -65,16 +64,13 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
-import com.google.common.collect.TreeMultiset;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.concurrent.NamedThreadFactory;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.random.SecureRandomPool;
 import com.palantir.common.remoting.ServiceNotAvailableException;
+import com.palantir.common.time.TimingWheel;
 import com.palantir.lock.BlockingMode;
 import com.palantir.lock.CloseableLockService;
 import com.palantir.lock.CloseableRemoteLockService;
@@ -129,7 +125,13 @@ public final class LockServiceImpl
     @VisibleForTesting
     static final long DEBUG_SLOW_LOG_TRIGGER_MILLIS = 100;
 
-    /** Executor for the reaper threads. */
+    /** Granularity of the reaper's timing wheels; expired locks are reaped within this long of being due. */
+    @VisibleForTesting
+    static final long REAPER_TICK_MILLIS = 10;
+
+    private static final int REAPER_SHARDS = Runtime.getRuntime().availableProcessors();
+
+    /** Executor for the reaper thread. */
     private final ExecutorService executor = Tracers.wrap(PTExecutors.newCachedThreadPool(
             new NamedThreadFactory(LockServiceImpl.class.getName(), true)));
 
@@ -197,26 +199,25 @@ public final class LockServiceImpl
     private final ConcurrentMap<HeldLocksGrant, HeldLocks<HeldLocksGrant>> heldLocksGrantMap =
             new MapMaker().makeMap();
 
-    /** The priority queue of lock tokens waiting to be reaped. */
-    private final BlockingQueue<HeldLocksToken> lockTokenReaperQueue =
-            new PriorityBlockingQueue<HeldLocksToken>(1, ExpiringToken.COMPARATOR);
-
-    /** The priority queue of lock grants waiting to be reaped. */
-    private final BlockingQueue<HeldLocksGrant> lockGrantReaperQueue =
-            new PriorityBlockingQueue<HeldLocksGrant>(1, ExpiringToken.COMPARATOR);
+    /**
+     * The lock tokens and grants waiting to be reaped, sharded by token so that threads taking out locks rarely
+     * contend on the same wheel. Tokens are scheduled when they are created, and are neither cancelled when unlocked
+     * nor rescheduled when refreshed; instead, the reaper checks each token that falls due against the held locks
+     * maps, and reschedules those that have been refreshed in the meantime.
+     */
+    private final List<TimingWheel<ExpiringToken>> reaperWheels;
 
     /** The mapping from lock client to the set of tokens held by that client. */
-    private final SetMultimap<LockClient, HeldLocksToken> lockClientMultimap =
-            Multimaps.synchronizedSetMultimap(HashMultimap.<LockClient, HeldLocksToken>create());
+    private final ConcurrentSetMultimap<LockClient, HeldLocksToken> lockClientMultimap =
+            new ConcurrentSetMultimap<>();
 
-    private final SetMultimap<LockClient, LockRequest> outstandingLockRequestMultimap =
-        Multimaps.synchronizedSetMultimap(HashMultimap.<LockClient, LockRequest>create());
+    private final ConcurrentSetMultimap<LockClient, LockRequest> outstandingLockRequestMultimap =
+            new ConcurrentSetMultimap<>();
 
     private final Set<Thread> indefinitelyBlockingThreads =
             Sets.newConcurrentHashSet();
 
-    private final Multimap<LockClient, Long> versionIdMap = Multimaps.synchronizedMultimap(
-            Multimaps.newMultimap(Maps.<LockClient, Collection<Long>>newHashMap(), () -> TreeMultiset.create()));
+    private final LockedVersionIds versionIdMap = new LockedVersionIds();
 
     private static final AtomicInteger instanceCount = new AtomicInteger();
     private static final int MAX_FAILED_LOCKS_TO_LOG = 20;
@@ -249,13 +250,13 @@ public final class LockServiceImpl
         lockStateLoggerDir = options.getLockStateLoggerDir();
 
         slowLogTriggerMillis = options.slowLogTriggerMillis();
+        long now = currentTimeMillis();
+        reaperWheels = IntStream.range(0, REAPER_SHARDS)
+                .mapToObj(shard -> new TimingWheel<ExpiringToken>(REAPER_TICK_MILLIS, now))
+                .collect(Collectors.toList());
         executor.execute(() -> {
-            Thread.currentThread().setName("Held Locks Token Reaper");
-            reapLocks(lockTokenReaperQueue, heldLocksTokenMap);
-        });
-        executor.execute(() -> {
-            Thread.currentThread().setName("Held Locks Grant Reaper");
-            reapLocks(lockGrantReaperQueue, heldLocksGrantMap);
+            Thread.currentThread().setName("Held Locks Reaper");
+            reapLocks();
         });
     }
 
@@ -270,7 +271,7 @@ public final class LockServiceImpl
                     expirationDateMs, lockDescriptorMap, lockTimeout, versionId, requestThread);
             HeldLocks<HeldLocksToken> heldLocks = HeldLocks.of(token, heldLocksMap);
             if (heldLocksTokenMap.putIfAbsent(token, heldLocks) == null) {
-                lockTokenReaperQueue.add(token);
+                scheduleReaping(token);
                 if (!client.isAnonymous()) {
                     lockClientMultimap.put(client, token);
                 }
@@ -294,7 +295,7 @@ public final class LockServiceImpl
                     expirationDateMs, lockDescriptorMap, lockTimeout, versionId);
             HeldLocks<HeldLocksGrant> newHeldLocks = HeldLocks.of(grant, heldLocksMap);
             if (heldLocksGrantMap.putIfAbsent(grant, newHeldLocks) == null) {
-                lockGrantReaperQueue.add(grant);
+                scheduleReaping(grant);
                 return grant;
             }
             log.error("Lock ID collision! "
@@ -391,7 +392,7 @@ public final class LockServiceImpl
                 lockDescriptorMap.put(entry.getKey().getDescriptor(), entry.getValue());
             }
             if (request.getVersionId() != null) {
-                versionIdMap.put(client, request.getVersionId());
+                versionIdMap.add(client, request.getVersionId());
             }
             HeldLocksToken token = createHeldLocksToken(client, LockCollections.of(lockDescriptorMap.build()), LockCollections.of(locks),
                     request.getLockTimeout(), request.getVersionId(), request.getCreatingThreadName());
@@ -588,14 +589,14 @@ public final class LockServiceImpl
         LockClient client = heldLocks.realToken.getClient();
         if (client.isAnonymous()) {
             heldLocksTokenMap.put(token, heldLocks);
-            lockTokenReaperQueue.add(token);
+            scheduleReaping(heldLocks.realToken);
             log.warn(UNLOCK_AND_FREEZE_FROM_ANONYMOUS_CLIENT, heldLocks.realToken);
             throw new IllegalArgumentException(
                     MessageFormatter.format(UNLOCK_AND_FREEZE_FROM_ANONYMOUS_CLIENT, heldLocks.realToken).getMessage());
         }
         if (heldLocks.locks.hasReadLock()) {
             heldLocksTokenMap.put(token, heldLocks);
-            lockTokenReaperQueue.add(token);
+            scheduleReaping(heldLocks.realToken);
             log.warn(UNLOCK_AND_FREEZE, heldLocks.realToken);
             throw new IllegalArgumentException(
                     MessageFormatter.format(UNLOCK_AND_FREEZE, heldLocks.realToken).getMessage());
@@ -650,12 +651,10 @@ public final class LockServiceImpl
             throw new IllegalArgumentException("Illegal client!");
         }
         ImmutableSet.Builder<HeldLocksToken> tokens = ImmutableSet.builder();
-        synchronized (lockClientMultimap) {
-            for (HeldLocksToken token : lockClientMultimap.get(client)) {
-                @Nullable HeldLocks<HeldLocksToken> heldLocks = heldLocksTokenMap.get(token);
-                if ((heldLocks != null) && !isFrozen(heldLocks.locks.getKeys())) {
-                    tokens.add(token);
-                }
+        for (HeldLocksToken token : lockClientMultimap.get(client)) {
+            @Nullable HeldLocks<HeldLocksToken> heldLocks = heldLocksTokenMap.get(token);
+            if ((heldLocks != null) && !isFrozen(heldLocks.locks.getKeys())) {
+                tokens.add(token);
             }
         }
         ImmutableSet<HeldLocksToken> tokenSet = tokens.build();
@@ -797,7 +796,7 @@ public final class LockServiceImpl
         }
         if (isFrozen(heldLocks.locks.getKeys())) {
             heldLocksTokenMap.put(token, heldLocks);
-            lockTokenReaperQueue.add(token);
+            scheduleReaping(heldLocks.realToken);
             log.warn("Cannot convert to grant because token is frozen: {} (token ID {})",
                     UnsafeArg.of("token", token),
                     SafeArg.of("tokenId", token.getTokenId()));
@@ -808,7 +807,7 @@ public final class LockServiceImpl
                     INTERNAL_LOCK_GRANT_CLIENT);
         } catch (IllegalMonitorStateException e) {
             heldLocksTokenMap.put(token, heldLocks);
-            lockTokenReaperQueue.add(token);
+            scheduleReaping(heldLocks.realToken);
             log.warn("Failure converting {} (token ID {}) to grant",
                     UnsafeArg.of("token", token),
                     SafeArg.of("tokenId", token.getTokenId()),
@@ -933,21 +932,19 @@ public final class LockServiceImpl
 
     @Override
     @Nullable public Long getMinLockedInVersionId(LockClient client) {
-        Long versionId = null;
-        synchronized (versionIdMap) {
-            Collection<Long> versionsForClient = versionIdMap.get(client);
-            if (versionsForClient != null && !versionsForClient.isEmpty()) {
-                versionId = versionsForClient.iterator().next();
-            }
-        }
+        Long versionId = versionIdMap.getMin(client);
         if (log.isTraceEnabled()) {
             log.trace(".getMinLockedInVersionId() returns {}", versionId);
         }
         return versionId;
     }
 
-    private <T extends ExpiringToken> void reapLocks(BlockingQueue<T> queue,
-            ConcurrentMap<T, HeldLocks<T>> heldLocksMap) {
+    private void scheduleReaping(ExpiringToken token) {
+        int shard = Math.floorMod(token.hashCode(), reaperWheels.size());
+        reaperWheels.get(shard).schedule(token, token.getExpirationDateMs() + maxAllowedClockDrift.toMillis());
+    }
+
+    private void reapLocks() {
         while (true) {
             // shutdownNow() sends interrupt signal to the running threads to terminate them.
             // If interrupt signal happens right after try {} catch (InterruptedException),
@@ -957,40 +954,24 @@ public final class LockServiceImpl
                 break;
             }
             try {
-                T token = null;
                 try {
-                    token = queue.take();
-                    long timeUntilTokenExpiredMs = token.getExpirationDateMs() - currentTimeMillis()
-                            + maxAllowedClockDrift.toMillis();
-                    // it's possible that new lock requests will come in with a shorter timeout - so limit how long we sleep here
-                    long sleepTimeMs = Math.min(timeUntilTokenExpiredMs, maxAllowedClockDrift.toMillis());
-                    if (sleepTimeMs > 0) {
-                        Thread.sleep(sleepTimeMs);
-                    }
+                    Thread.sleep(REAPER_TICK_MILLIS);
                 } catch (InterruptedException e) {
                     if (isShutDown.get()) {
                         break;
-                    } else {
-                        log.warn("The lock server reaper thread should not be " +
-                                "interrupted if the server is not shutting down.", e);
-                        if (token == null) {
-                            continue;
-                        }
                     }
+                    log.warn("The lock server reaper thread should not be "
+                            + "interrupted if the server is not shutting down.", e);
                 }
-                @Nullable HeldLocks<T> heldLocks = heldLocksMap.get(token);
-                if (heldLocks == null) {
-                    continue;
-                }
-                T realToken = heldLocks.realToken;
-                if (realToken.getExpirationDateMs() > currentTimeMillis()
-                        - maxAllowedClockDrift.toMillis()) {
-                    queue.add(realToken);
-                } else {
-                    // TODO (jkong): Make both types of lock tokens identifiable.
-                    log.warn("Lock token {} was not properly refreshed and is now being reaped.",
-                            UnsafeArg.of("token", realToken));
-                    unlockInternal(realToken, heldLocksMap);
+                long now = currentTimeMillis();
+                for (TimingWheel<ExpiringToken> wheel : reaperWheels) {
+                    for (ExpiringToken token : wheel.advance(now)) {
+                        if (token instanceof HeldLocksToken) {
+                            reapIfExpired((HeldLocksToken) token, heldLocksTokenMap);
+                        } else {
+                            reapIfExpired((HeldLocksGrant) token, heldLocksGrantMap);
+                        }
+                    }
                 }
             } catch (Throwable t) {
                 log.error("Something went wrong while reaping locks. Attempting to continue anyway.", t);
@@ -998,6 +979,23 @@ public final class LockServiceImpl
         }
     }
 
+    private <T extends ExpiringToken> void reapIfExpired(T token, ConcurrentMap<T, HeldLocks<T>> heldLocksMap) {
+        @Nullable HeldLocks<T> heldLocks = heldLocksMap.get(token);
+        if (heldLocks == null) {
+            return;
+        }
+        T realToken = heldLocks.realToken;
+        if (realToken.getExpirationDateMs() > currentTimeMillis()
+                - maxAllowedClockDrift.toMillis()) {
+            scheduleReaping(realToken);
+        } else {
+            // TODO (jkong): Make both types of lock tokens identifiable.
+            log.warn("Lock token {} was not properly refreshed and is now being reaped.",
+                    UnsafeArg.of("token", realToken));
+            unlockInternal(realToken, heldLocksMap);
+        }
+    }
+
     @Override
     public LockServerOptions getLockServerOptions() {
         LockServerOptions options = LockServerOptions.builder()
@@ -1033,7 +1031,7 @@ public final class LockServiceImpl
     private void logAllHeldAndOutstandingLocks() throws IOException {
         LockServiceStateLogger lockServiceStateLogger = new LockServiceStateLogger(
                 heldLocksTokenMap,
-                outstandingLockRequestMultimap,
+                outstandingLockRequestMultimap.asMap(),
                 lockStateLoggerDir);
         lockServiceStateLogger.logLocks();
     }
@@ -1048,10 +1046,10 @@ public final class LockServiceImpl
         logString.append("outstandingLockRequestMultimap.size = ").append(outstandingLockRequestMultimap.size()).append("\n");
         logString.append("heldLocksTokenMap.size = ").append(heldLocksTokenMap.size()).append("\n");
         logString.append("heldLocksGrantMap.size = ").append(heldLocksGrantMap.size()).append("\n");
-        logString.append("lockTokenReaperQueue.size = ").append(lockTokenReaperQueue.size()).append("\n");
-        logString.append("lockGrantReaperQueue.size = ").append(lockGrantReaperQueue.size()).append("\n");
-        logString.append("lockClientMultimap.size = ").append(lockClientMultimap.size()).append("\n");
+        logString.append("reaperWheels.size = ")
+                .append(reaperWheels.stream().mapToInt(TimingWheel::size).sum()).append("\n");
         logString.append("lockClientMultimap.size = ").append(lockClientMultimap.size()).append("\n");
+        logString.append("versionIdMap.size = ").append(versionIdMap.size()).append("\n");
 
         return logString;
     }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.palantir.lock.LockClient;
+
+/**
+ * Tracks the version IDs locked in by each client, so that the minimum can be read without blocking. A version ID may
+ * be locked in by several tokens of the same client, so each one is counted.
+ */
+@ThreadSafe
+final class LockedVersionIds {
+    private final ConcurrentMap<LockClient, ConcurrentNavigableMap<Long, Integer>> countsByClient =
+            new ConcurrentHashMap<>();
+
+    void add(LockClient client, long versionId) {
+        countsByClient.compute(client, (unused, counts) -> {
+            ConcurrentNavigableMap<Long, Integer> newCounts = counts == null ? new ConcurrentSkipListMap<>() : counts;
+            newCounts.merge(versionId, 1, Integer::sum);
+            return newCounts;
+        });
+    }
+
+    void remove(LockClient client, long versionId) {
+        countsByClient.computeIfPresent(client, (unused, counts) -> {
+            counts.computeIfPresent(versionId, (unusedVersionId, count) -> count == 1 ? null : count - 1);
+            return counts.isEmpty() ? null : counts;
+        });
+    }
+
+    @Nullable
+    Long getMin(LockClient client) {
+        ConcurrentNavigableMap<Long, Integer> counts = countsByClient.get(client);
+        if (counts == null) {
+            return null;
+        }
+        Map.Entry<Long, Integer> first = counts.firstEntry();
+        return first == null ? null : first.getKey();
+    }
+
+    int size() {
+        return countsByClient.values().stream()
+                .flatMap(counts -> counts.values().stream())
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+}
@@ -71,8 +71,14 @@ public class LockServiceStateLogger {
 
     public LockServiceStateLogger(ConcurrentMap<HeldLocksToken, LockServiceImpl.HeldLocks<HeldLocksToken>> heldLocksTokenMap,
             SetMultimap<LockClient, LockRequest> outstandingLockRequestMultimap, String outputDir) {
+        this(heldLocksTokenMap, Multimaps.asMap(outstandingLockRequestMultimap), outputDir);
+    }
+
+    public LockServiceStateLogger(
+            ConcurrentMap<HeldLocksToken, LockServiceImpl.HeldLocks<HeldLocksToken>> heldLocksTokenMap,
+            Map<LockClient, Set<LockRequest>> outstandingLockRequests, String outputDir) {
         this.heldLocks = heldLocksTokenMap;
-        this.outstandingLockRequests = Multimaps.asMap(outstandingLockRequestMultimap);
+        this.outstandingLockRequests = outstandingLockRequests;
         this.outputDir = outputDir;
     }
 
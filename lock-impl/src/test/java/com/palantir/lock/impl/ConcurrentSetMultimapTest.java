@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ConcurrentSetMultimapTest {
+    private final ConcurrentSetMultimap<String, Integer> multimap = new ConcurrentSetMultimap<>();
+
+    @Test
+    public void returnsValuesForKey() {
+        multimap.put("a", 1);
+        multimap.put("a", 2);
+        multimap.put("a", 2);
+        multimap.put("b", 3);
+
+        assertThat(multimap.get("a")).containsOnly(1, 2);
+        assertThat(multimap.get("c")).isEmpty();
+        assertThat(multimap.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void removesKeyWithItsLastValue() {
+        multimap.put("a", 1);
+        multimap.put("a", 2);
+
+        multimap.remove("a", 1);
+        assertThat(multimap.asMap()).containsOnlyKeys("a");
+
+        multimap.remove("a", 2);
+        assertThat(multimap.asMap()).isEmpty();
+        assertThat(multimap.get("a")).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.palantir.lock.LockClient;
+
+public class LockedVersionIdsTest {
+    private static final LockClient CLIENT = LockClient.of("client");
+    private static final LockClient OTHER_CLIENT = LockClient.of("other");
+
+    private final LockedVersionIds versionIds = new LockedVersionIds();
+
+    @Test
+    public void returnsNullWhenNothingIsLocked() {
+        assertThat(versionIds.getMin(CLIENT)).isNull();
+    }
+
+    @Test
+    public void returnsMinimumVersionIdForClient() {
+        versionIds.add(CLIENT, 10L);
+        versionIds.add(CLIENT, 5L);
+        versionIds.add(OTHER_CLIENT, 1L);
+
+        assertThat(versionIds.getMin(CLIENT)).isEqualTo(5L);
+        assertThat(versionIds.getMin(OTHER_CLIENT)).isEqualTo(1L);
+    }
+
+    @Test
+    public void versionIdLockedInTwiceIsOnlyReleasedWhenBothAreRemoved() {
+        versionIds.add(CLIENT, 5L);
+        versionIds.add(CLIENT, 5L);
+        versionIds.add(CLIENT, 10L);
+
+        versionIds.remove(CLIENT, 5L);
+        assertThat(versionIds.getMin(CLIENT)).isEqualTo(5L);
+
+        versionIds.remove(CLIENT, 5L);
+        assertThat(versionIds.getMin(CLIENT)).isEqualTo(10L);
+
+        versionIds.remove(CLIENT, 10L);
+        assertThat(versionIds.getMin(CLIENT)).isNull();
+        assertThat(versionIds.size()).isZero();
+    }
+
+    @Test
+    public void removingUnknownVersionIdIsNoOp() {
+        versionIds.add(CLIENT, 5L);
+
+        versionIds.remove(CLIENT, 6L);
+        versionIds.remove(OTHER_CLIENT, 5L);
+
+        assertThat(versionIds.getMin(CLIENT)).isEqualTo(5L);
+        assertThat(versionIds.size()).isEqualTo(1);
+    }
+}
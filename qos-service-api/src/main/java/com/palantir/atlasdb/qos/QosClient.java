@@ -16,7 +16,7 @@
 
 package com.palantir.atlasdb.qos;
 
-public interface QosClient {
+public interface QosClient extends AutoCloseable {
 
     interface Query<T, E extends Exception> {
         T execute() throws E;
@@ -36,4 +36,35 @@ public interface QosClient {
             Query<T, E> query,
             QueryWeigher<T> weigher) throws E;
 
+    /**
+     * Executes a read on behalf of the given class of traffic. Clients that do not distinguish between classes
+     * execute it as any other read.
+     */
+    default <T, E extends Exception> T executeRead(
+            QueryPriority priority,
+            Query<T, E> query,
+            QueryWeigher<T> weigher) throws E {
+        return executeRead(query, weigher);
+    }
+
+    /**
+     * Executes a write on behalf of the given class of traffic. Clients that do not distinguish between classes
+     * execute it as any other write.
+     */
+    default <T, E extends Exception> T executeWrite(
+            QueryPriority priority,
+            Query<T, E> query,
+            QueryWeigher<T> weigher) throws E {
+        return executeWrite(query, weigher);
+    }
+
+    /**
+     * Stops any background work of this client, such as reporting usage to the QoS service. Clients without any
+     * do nothing.
+     */
+    @Override
+    default void close() {
+        // nothing to close
+    }
+
 }
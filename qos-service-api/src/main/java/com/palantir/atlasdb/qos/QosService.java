@@ -31,4 +31,14 @@ public interface QosService {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     long getLimit(@Safe @PathParam("client") String client);
+
+    /**
+     * Records the client's recent usage, and returns the limit allocated to it, as {@link #getLimit(String)} would,
+     * so that reporting clients need only one round trip.
+     */
+    @Path("{client: [a-zA-Z0-9_-]+}/report-usage")
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    long reportUsage(@Safe @PathParam("client") String client, QosUsageReport report);
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A client's recent use of the backing store, which the QoS service uses to divide the available capacity between
+ * clients.
+ */
+@Value.Immutable
+@JsonDeserialize(as = ImmutableQosUsageReport.class)
+@JsonSerialize(as = ImmutableQosUsageReport.class)
+public interface QosUsageReport {
+
+    /**
+     * The units per second the client's queries asked for, including those that were throttled.
+     */
+    long requestedUnitsPerSecond();
+
+    /**
+     * The mean time taken by the client's queries, or zero if it did not make any.
+     */
+    long meanQueryTimeMicros();
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+/**
+ * The class of traffic a query belongs to. Each class has its own share of a client's limits, which it may exceed
+ * only while the other classes are idle.
+ */
+public enum QueryPriority {
+    /**
+     * Queries a user is waiting on. This is the default.
+     */
+    INTERACTIVE,
+    /**
+     * Large jobs that should make steady progress, such as migrations, but are not latency sensitive.
+     */
+    BATCH,
+    /**
+     * Maintenance that can be deferred indefinitely, such as sweep and scrub.
+     */
+    BACKGROUND
+}
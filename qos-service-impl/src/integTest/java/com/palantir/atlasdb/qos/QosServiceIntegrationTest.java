@@ -54,4 +54,14 @@ public class QosServiceIntegrationTest {
         assertThat(service.getLimit("test2")).isEqualTo(20);
     }
 
+    @Test
+    public void acceptsUsageReportsAndReturnsTheLimit() {
+        assertThat(service.reportUsage("test", ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond(100)
+                .meanQueryTimeMicros(1000)
+                .build())).isEqualTo(10);
+
+        assertThat(service.getLimit("test")).isEqualTo(10);
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.atlasdb.qos.config.QosServiceRuntimeConfig;
+
+/**
+ * Divides the configured total limit between the clients that have recently reported their usage.
+ * <p>
+ * Each client is given at most what it asked for, with capacity that it does not need shared out between the other
+ * clients in proportion to their weights (weighted max-min fairness). Any capacity left once every client is satisfied
+ * is also shared out by weight, so that clients can grow into it before their next report. The total limit is scaled
+ * down when the query times reported by clients exceed the configured target, as a sign that the backing store is
+ * overloaded.
+ */
+public class ClientLimitAllocator {
+    @VisibleForTesting
+    static final long REPORT_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    @VisibleForTesting
+    static final double MIN_CAPACITY_FRACTION = 0.1;
+
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private final Supplier<QosServiceRuntimeConfig> config;
+    private final LongSupplier clockMillis;
+    private final Map<String, ReceivedReport> reports = new ConcurrentHashMap<>();
+
+    public ClientLimitAllocator(Supplier<QosServiceRuntimeConfig> config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    ClientLimitAllocator(Supplier<QosServiceRuntimeConfig> config, LongSupplier clockMillis) {
+        this.config = config;
+        this.clockMillis = clockMillis;
+    }
+
+    public void reportUsage(String client, QosUsageReport report) {
+        reports.put(client, new ReceivedReport(report, clockMillis.getAsLong()));
+    }
+
+    public long getLimit(String client) {
+        QosServiceRuntimeConfig currentConfig = config.get();
+        Long fixedLimit = currentConfig.clientLimits().get(client);
+        if (fixedLimit != null) {
+            return fixedLimit;
+        }
+        if (!currentConfig.totalLimit().isPresent()) {
+            return Long.MAX_VALUE;
+        }
+
+        Map<String, QosUsageReport> activeReports = getActiveReports(currentConfig);
+        long capacity = (long) (currentConfig.totalLimit().get() * capacityFraction(currentConfig, activeReports));
+
+        Map<String, Long> demands = new HashMap<>();
+        activeReports.forEach((name, report) -> demands.put(name, report.requestedUnitsPerSecond()));
+        // a client that has not reported yet should not be starved until it does so
+        demands.putIfAbsent(client, Long.MAX_VALUE);
+
+        return allocate(capacity, demands, currentConfig.clientWeights()).get(client);
+    }
+
+    private Map<String, QosUsageReport> getActiveReports(QosServiceRuntimeConfig currentConfig) {
+        long expiry = clockMillis.getAsLong() - REPORT_EXPIRY_MILLIS;
+        reports.values().removeIf(received -> received.receivedMillis < expiry);
+
+        Map<String, QosUsageReport> activeReports = new HashMap<>();
+        reports.forEach((name, received) -> {
+            if (!currentConfig.clientLimits().containsKey(name)) {
+                activeReports.put(name, received.report);
+            }
+        });
+        return activeReports;
+    }
+
+    private static double capacityFraction(
+            QosServiceRuntimeConfig currentConfig,
+            Map<String, QosUsageReport> activeReports) {
+        if (!currentConfig.targetQueryTimeMicros().isPresent()) {
+            return 1.0;
+        }
+
+        double totalUnits = 0;
+        double weightedQueryTime = 0;
+        for (QosUsageReport report : activeReports.values()) {
+            totalUnits += report.requestedUnitsPerSecond();
+            weightedQueryTime += (double) report.requestedUnitsPerSecond() * report.meanQueryTimeMicros();
+        }
+        if (totalUnits == 0 || weightedQueryTime == 0) {
+            return 1.0;
+        }
+
+        double meanQueryTime = weightedQueryTime / totalUnits;
+        double fraction = currentConfig.targetQueryTimeMicros().get() / meanQueryTime;
+        return Math.max(MIN_CAPACITY_FRACTION, Math.min(1.0, fraction));
+    }
+
+    @VisibleForTesting
+    static Map<String, Long> allocate(long capacity, Map<String, Long> demands, Map<String, Integer> weights) {
+        Map<String, Long> allocations = new HashMap<>();
+        Set<String> unsatisfied = new HashSet<>(demands.keySet());
+        double remaining = capacity;
+
+        while (!unsatisfied.isEmpty()) {
+            double sharePerWeight = remaining / totalWeight(unsatisfied, weights);
+            Set<String> satisfied = new HashSet<>();
+            for (String client : unsatisfied) {
+                if (demands.get(client) <= sharePerWeight * weight(client, weights)) {
+                    satisfied.add(client);
+                }
+            }
+
+            if (satisfied.isEmpty()) {
+                for (String client : unsatisfied) {
+                    allocations.put(client, (long) (sharePerWeight * weight(client, weights)));
+                }
+                return allocations;
+            }
+
+            for (String client : satisfied) {
+                allocations.put(client, demands.get(client));
+                remaining -= demands.get(client);
+            }
+            unsatisfied.removeAll(satisfied);
+        }
+
+        double sparePerWeight = remaining / totalWeight(demands.keySet(), weights);
+        allocations.replaceAll((client, allocation) ->
+                allocation + (long) (sparePerWeight * weight(client, weights)));
+        return allocations;
+    }
+
+    private static long totalWeight(Set<String> clients, Map<String, Integer> weights) {
+        return clients.stream().mapToLong(client -> weight(client, weights)).sum();
+    }
+
+    private static int weight(String client, Map<String, Integer> weights) {
+        return weights.getOrDefault(client, DEFAULT_WEIGHT);
+    }
+
+    private static final class ReceivedReport {
+        private final QosUsageReport report;
+        private final long receivedMillis;
+
+        private ReceivedReport(QosUsageReport report, long receivedMillis) {
+            this.report = report;
+            this.receivedMillis = receivedMillis;
+        }
+    }
+}
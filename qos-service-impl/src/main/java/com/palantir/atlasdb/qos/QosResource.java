@@ -22,14 +22,20 @@ import com.palantir.atlasdb.qos.config.QosServiceRuntimeConfig;
 
 public class QosResource implements QosService {
 
-    private Supplier<QosServiceRuntimeConfig> config;
+    private final ClientLimitAllocator allocator;
 
     public QosResource(Supplier<QosServiceRuntimeConfig> config) {
-        this.config = config;
+        this.allocator = new ClientLimitAllocator(config);
     }
 
     @Override
     public long getLimit(String client) {
-        return config.get().clientLimits().getOrDefault(client, Long.MAX_VALUE);
+        return allocator.getLimit(client);
+    }
+
+    @Override
+    public long reportUsage(String client, QosUsageReport report) {
+        allocator.reportUsage(client, report);
+        return allocator.getLimit(client);
     }
 }
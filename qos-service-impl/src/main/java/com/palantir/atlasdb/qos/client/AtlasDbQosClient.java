@@ -27,8 +27,11 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Ticker;
 import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.qos.QueryWeight;
+import com.palantir.atlasdb.qos.client.QosUsageReporter.QueryType;
 import com.palantir.atlasdb.qos.metrics.QosMetrics;
+import com.palantir.atlasdb.qos.ratelimit.QosConcurrencyLimiter;
 import com.palantir.atlasdb.qos.ratelimit.QosRateLimiter;
 import com.palantir.atlasdb.qos.ratelimit.QosRateLimiters;
 import com.palantir.atlasdb.qos.ratelimit.RateLimitExceededException;
@@ -40,45 +43,81 @@ public class AtlasDbQosClient implements QosClient {
     private final QosRateLimiters rateLimiters;
     private final QosMetrics metrics;
     private final Ticker ticker;
+    private final Optional<QosUsageReporter> usageReporter;
 
     public static AtlasDbQosClient create(QosRateLimiters rateLimiters) {
-        return new AtlasDbQosClient(rateLimiters, new QosMetrics(), Ticker.systemTicker());
+        return new AtlasDbQosClient(rateLimiters, new QosMetrics(), Ticker.systemTicker(), Optional.empty());
+    }
+
+    public static AtlasDbQosClient create(QosRateLimiters rateLimiters, QosUsageReporter usageReporter) {
+        return new AtlasDbQosClient(rateLimiters, new QosMetrics(), Ticker.systemTicker(), Optional.of(usageReporter));
     }
 
     @VisibleForTesting
     AtlasDbQosClient(QosRateLimiters rateLimiters, QosMetrics metrics, Ticker ticker) {
+        this(rateLimiters, metrics, ticker, Optional.empty());
+    }
+
+    @VisibleForTesting
+    AtlasDbQosClient(QosRateLimiters rateLimiters, QosMetrics metrics, Ticker ticker,
+            Optional<QosUsageReporter> usageReporter) {
         this.metrics = metrics;
         this.rateLimiters = rateLimiters;
         this.ticker = ticker;
+        this.usageReporter = usageReporter;
+
+        metrics.registerConcurrencyLimit("read", rateLimiters.readConcurrency()::getLimit);
+        metrics.registerConcurrencyLimit("write", rateLimiters.writeConcurrency()::getLimit);
     }
 
     @Override
     public <T, E extends Exception> T executeRead(Query<T, E> query, QueryWeigher<T> weigher) throws E {
-        return execute(query, weigher, rateLimiters.read(), Optional.of(metrics::recordReadEstimate),
-                metrics::recordRead);
+        return executeRead(QueryPriority.INTERACTIVE, query, weigher);
     }
 
     @Override
     public <T, E extends Exception> T executeWrite(Query<T, E> query, QueryWeigher<T> weigher) throws E {
-        return execute(query, weigher, rateLimiters.write(), Optional.empty(), metrics::recordWrite);
+        return executeWrite(QueryPriority.INTERACTIVE, query, weigher);
+    }
+
+    @Override
+    public <T, E extends Exception> T executeRead(QueryPriority priority, Query<T, E> query, QueryWeigher<T> weigher)
+            throws E {
+        return execute(QueryType.READ, priority, query, weigher, rateLimiters.read(), rateLimiters.readConcurrency(),
+                Optional.of(metrics::recordReadEstimate), metrics::recordRead);
+    }
+
+    @Override
+    public <T, E extends Exception> T executeWrite(QueryPriority priority, Query<T, E> query, QueryWeigher<T> weigher)
+            throws E {
+        return execute(QueryType.WRITE, priority, query, weigher, rateLimiters.write(), rateLimiters.writeConcurrency(),
+                Optional.empty(), metrics::recordWrite);
     }
 
     private <T, E extends Exception> T execute(
+            QueryType queryType,
+            QueryPriority priority,
             Query<T, E> query,
             QueryWeigher<T> weigher,
             QosRateLimiter rateLimiter,
+            QosConcurrencyLimiter concurrencyLimiter,
             Optional<Consumer<QueryWeight>> estimatedWeightMetric,
             Consumer<QueryWeight> weightMetric) throws E {
         QueryWeight estimatedWeight = weigher.estimate();
         estimatedWeightMetric.ifPresent(metric -> metric.accept(estimatedWeight));
 
+        QosConcurrencyLimiter.Permit permit;
         try {
+            Duration waitTime = Duration.ZERO;
             if (estimatedWeight.numBytes() > 0) {
-                Duration waitTime = rateLimiter.consumeWithBackoff(estimatedWeight.numBytes());
-                metrics.recordBackoffMicros(TimeUnit.NANOSECONDS.toMicros(waitTime.toNanos()));
+                waitTime = rateLimiter.consumeWithBackoff(priority, estimatedWeight.numBytes());
             }
+            permit = acquireConcurrencyPermit(priority, concurrencyLimiter, rateLimiter, estimatedWeight);
+            waitTime = waitTime.plus(permit.waitTime());
+            metrics.recordBackoffMicros(TimeUnit.NANOSECONDS.toMicros(waitTime.toNanos()));
         } catch (RateLimitExceededException ex) {
             metrics.recordRateLimitedException();
+            usageReporter.ifPresent(reporter -> reporter.recordThrottledQuery(queryType, estimatedWeight.numBytes()));
             throw ex;
         }
 
@@ -94,7 +133,33 @@ public class AtlasDbQosClient implements QosClient {
             throw ex;
         } finally {
             weightMetric.accept(actualWeight);
-            rateLimiter.recordAdjustment(actualWeight.numBytes() - estimatedWeight.numBytes());
+            recordUsage(queryType, actualWeight);
+            rateLimiter.recordAdjustment(priority, actualWeight.numBytes() - estimatedWeight.numBytes());
+            permit.release(actualWeight.timeTakenNanos());
+        }
+    }
+
+    @Override
+    public void close() {
+        usageReporter.ifPresent(QosUsageReporter::close);
+    }
+
+    private void recordUsage(QueryType queryType, QueryWeight actualWeight) {
+        usageReporter.ifPresent(reporter ->
+                reporter.recordQuery(queryType, actualWeight.numBytes(), actualWeight.timeTakenNanos()));
+    }
+
+    private static QosConcurrencyLimiter.Permit acquireConcurrencyPermit(
+            QueryPriority priority,
+            QosConcurrencyLimiter concurrencyLimiter,
+            QosRateLimiter rateLimiter,
+            QueryWeight estimatedWeight) {
+        try {
+            return concurrencyLimiter.acquire();
+        } catch (RateLimitExceededException ex) {
+            // the query will not run, so it should not count against the rate limit either
+            rateLimiter.recordAdjustment(priority, -estimatedWeight.numBytes());
+            throw ex;
         }
     }
 
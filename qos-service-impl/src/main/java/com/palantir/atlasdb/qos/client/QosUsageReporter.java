@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos.client;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.palantir.atlasdb.qos.ImmutableQosUsageReport;
+import com.palantir.atlasdb.qos.QosService;
+import com.palantir.atlasdb.qos.QosUsageReport;
+import com.palantir.atlasdb.qos.config.ImmutableQosLimitsConfig;
+import com.palantir.atlasdb.qos.config.QosLimitsConfig;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Periodically reports this client's usage to the QoS service, which responds with the limit it has allocated to this
+ * client. That limit covers reads and writes together, so it is split between them in proportion to their share of the
+ * units this client asked for, and each part is applied on top of the corresponding locally configured limit.
+ */
+public class QosUsageReporter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(QosUsageReporter.class);
+
+    @VisibleForTesting
+    static final long REPORT_INTERVAL_SECONDS = 10;
+
+    /**
+     * The smallest fraction of the allocated limit that reads or writes are given, so that a client that only read
+     * during one reporting interval is not stopped from writing during the next.
+     */
+    @VisibleForTesting
+    static final double MIN_QUERY_TYPE_SHARE = 0.1;
+
+    public enum QueryType {
+        READ,
+        WRITE
+    }
+
+    private final String client;
+    private final QosService qosService;
+    private final Ticker ticker;
+    private final ScheduledExecutorService executor;
+
+    private final LongAdder requestedReadUnits = new LongAdder();
+    private final LongAdder requestedWriteUnits = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryTimeNanos = new LongAdder();
+
+    private volatile long allocatedLimit = Long.MAX_VALUE;
+    private volatile double readShare = 0.5;
+    private long lastReportNanos;
+
+    public static QosUsageReporter create(String client, QosService qosService) {
+        ScheduledExecutorService executor = PTExecutors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory(QosUsageReporter.class.getSimpleName(), true));
+        QosUsageReporter reporter = new QosUsageReporter(client, qosService, Ticker.systemTicker(), executor);
+        executor.scheduleWithFixedDelay(reporter::reportUsageAndUpdateLimit,
+                0, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return reporter;
+    }
+
+    @VisibleForTesting
+    QosUsageReporter(String client, QosService qosService, Ticker ticker, ScheduledExecutorService executor) {
+        this.client = client;
+        this.qosService = qosService;
+        this.ticker = ticker;
+        this.executor = executor;
+        this.lastReportNanos = ticker.read();
+    }
+
+    public void recordQuery(QueryType type, long units, long timeTakenNanos) {
+        requestedUnits(type).add(units);
+        queries.increment();
+        queryTimeNanos.add(timeTakenNanos);
+    }
+
+    /**
+     * Records units that were asked for but not used, because the query was throttled. These still count towards this
+     * client's demand.
+     */
+    public void recordThrottledQuery(QueryType type, long units) {
+        requestedUnits(type).add(units);
+    }
+
+    private LongAdder requestedUnits(QueryType type) {
+        return type == QueryType.READ ? requestedReadUnits : requestedWriteUnits;
+    }
+
+    public long getAllocatedLimit() {
+        return allocatedLimit;
+    }
+
+    /**
+     * Returns the given limits, lowered to the read and write parts of the limit allocated by the QoS service where
+     * those are smaller.
+     */
+    public Supplier<QosLimitsConfig> applyAllocatedLimit(Supplier<QosLimitsConfig> configuredLimits) {
+        return () -> {
+            QosLimitsConfig limits = configuredLimits.get();
+            long limit = allocatedLimit;
+            if (limit == Long.MAX_VALUE) {
+                return limits;
+            }
+            long readLimit = Math.max(1L, (long) (limit * readShare));
+            long writeLimit = Math.max(1L, limit - readLimit);
+            if (readLimit >= limits.readBytesPerSecond() && writeLimit >= limits.writeBytesPerSecond()) {
+                return limits;
+            }
+            return ImmutableQosLimitsConfig.builder()
+                    .readBytesPerSecond(Math.min(limits.readBytesPerSecond(), readLimit))
+                    .writeBytesPerSecond(Math.min(limits.writeBytesPerSecond(), writeLimit))
+                    .build();
+        };
+    }
+
+    @VisibleForTesting
+    synchronized void reportUsageAndUpdateLimit() {
+        long now = ticker.read();
+        double elapsedSeconds = Math.max(1, now - lastReportNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        lastReportNanos = now;
+
+        long numQueries = queries.sumThenReset();
+        long totalQueryTimeNanos = queryTimeNanos.sumThenReset();
+        long readUnits = requestedReadUnits.sumThenReset();
+        long writeUnits = requestedWriteUnits.sumThenReset();
+        if (readUnits + writeUnits > 0) {
+            double share = (double) readUnits / (readUnits + writeUnits);
+            readShare = Math.min(1 - MIN_QUERY_TYPE_SHARE, Math.max(MIN_QUERY_TYPE_SHARE, share));
+        }
+        QosUsageReport report = ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond((long) ((readUnits + writeUnits) / elapsedSeconds))
+                .meanQueryTimeMicros(numQueries == 0
+                        ? 0
+                        : TimeUnit.NANOSECONDS.toMicros(totalQueryTimeNanos / numQueries))
+                .build();
+
+        try {
+            allocatedLimit = qosService.reportUsage(client, report);
+        } catch (RuntimeException e) {
+            log.warn("Failed to report usage to the QoS service. Keeping the last allocated limit of {}.",
+                    SafeArg.of("allocatedLimit", allocatedLimit), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
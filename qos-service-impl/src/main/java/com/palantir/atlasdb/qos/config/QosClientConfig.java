@@ -44,4 +44,9 @@ public abstract class QosClientConfig {
         return QosLimitsConfig.DEFAULT_NO_LIMITS;
     }
 
+    @Value.Default
+    public QosConcurrencyLimitConfig concurrencyLimit() {
+        return QosConcurrencyLimitConfig.DEFAULT;
+    }
+
 }
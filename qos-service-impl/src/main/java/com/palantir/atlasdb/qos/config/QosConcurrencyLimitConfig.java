@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos.config;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+/**
+ * Configures the adaptive limit on the number of queries a client may have in flight at once. The limit grows while
+ * query latency stays close to its long-term average, and shrinks when latency rises above that average by more than
+ * {@link #latencyTolerance()}.
+ */
+@Value.Immutable
+@JsonDeserialize(as = ImmutableQosConcurrencyLimitConfig.class)
+@JsonSerialize(as = ImmutableQosConcurrencyLimitConfig.class)
+public abstract class QosConcurrencyLimitConfig {
+
+    public static final QosConcurrencyLimitConfig DEFAULT = ImmutableQosConcurrencyLimitConfig.builder().build();
+
+    @Value.Default
+    public boolean enabled() {
+        return false;
+    }
+
+    @Value.Default
+    public int initialLimit() {
+        return 20;
+    }
+
+    @Value.Default
+    public int minLimit() {
+        return 1;
+    }
+
+    @Value.Default
+    public int maxLimit() {
+        return 1000;
+    }
+
+    /**
+     * How many times slower than the long-term average a query may be before the limit is reduced.
+     */
+    @Value.Default
+    public double latencyTolerance() {
+        return 2.0;
+    }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkArgument(minLimit() >= 1, "minLimit must be at least 1");
+        Preconditions.checkArgument(minLimit() <= initialLimit() && initialLimit() <= maxLimit(),
+                "initialLimit must be between minLimit and maxLimit");
+        Preconditions.checkArgument(latencyTolerance() >= 1.0, "latencyTolerance must be at least 1");
+    }
+
+}
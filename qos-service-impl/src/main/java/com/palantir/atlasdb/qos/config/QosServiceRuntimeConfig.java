@@ -17,15 +17,45 @@
 package com.palantir.atlasdb.qos.config;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
 
 @JsonDeserialize(as = ImmutableQosServiceRuntimeConfig.class)
 @JsonSerialize(as = ImmutableQosServiceRuntimeConfig.class)
 @Value.Immutable
 public abstract class QosServiceRuntimeConfig {
+    /**
+     * Fixed limits for individual clients. These take precedence over the dynamically allocated limits.
+     */
     public abstract Map<String, Long> clientLimits();
+
+    /**
+     * The total units per second to divide between clients that do not have a fixed limit, according to their
+     * reported demand. If absent, such clients are not limited.
+     */
+    public abstract Optional<Long> totalLimit();
+
+    /**
+     * Relative weights of clients when dividing the total limit. Clients that are not listed have a weight of 1.
+     */
+    public abstract Map<String, Integer> clientWeights();
+
+    /**
+     * If the mean query time reported by clients rises above this target, the total limit is scaled down in
+     * proportion, on the basis that the backing store is struggling.
+     */
+    public abstract Optional<Long> targetQueryTimeMicros();
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkArgument(clientWeights().values().stream().allMatch(weight -> weight > 0),
+                "Client weights must be positive, but found %s", clientWeights());
+        Preconditions.checkArgument(targetQueryTimeMicros().map(target -> target > 0).orElse(true),
+                "Target query time must be positive, but found %s", targetQueryTimeMicros());
+    }
 }
@@ -16,9 +16,12 @@
 
 package com.palantir.atlasdb.qos.metrics;
 
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Meter;
 import com.palantir.atlasdb.qos.QueryWeight;
 import com.palantir.atlasdb.util.MetricsManager;
@@ -91,6 +94,10 @@ public class QosMetrics {
         }
     }
 
+    public void registerConcurrencyLimit(String limiterName, Supplier<Integer> limit) {
+        metricsManager.registerMetric(QosMetrics.class, limiterName + ".concurrencyLimit", (Gauge<Integer>) limit::get);
+    }
+
     public void recordRateLimitedException() {
         log.info("Rate limit exceeded and backoff time would be more than the configured maximum. "
                 + "Throwing a throttling exception");
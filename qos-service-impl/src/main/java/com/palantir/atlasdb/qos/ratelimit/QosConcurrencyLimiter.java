@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.atlasdb.qos.config.QosConcurrencyLimitConfig;
+import com.palantir.exception.PalantirInterruptedException;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Limits the number of queries in flight, adapting the limit to the latency the queries observe. Each completed query
+ * contributes a latency sample, which is compared against a slowly moving average of previous samples. While queries
+ * are not much slower than the average, the limit grows by roughly the square root of itself; when they are, it is
+ * scaled down in proportion to the slowdown. This lets the limit settle where the database is busy but not queueing,
+ * without needing to be configured for the database's capacity.
+ * <p>
+ * Queries over the limit wait for a slot, or in extreme cases fail with a {@link RateLimitExceededException}.
+ */
+public class QosConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(QosConcurrencyLimiter.class);
+
+    private static final double AVERAGE_LATENCY_SMOOTHING = 0.002;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double RECOVERY_RATIO = 2.0;
+    private static final double RECOVERY_DECAY = 0.95;
+
+    private final Supplier<Long> maxBackoffTimeMillis;
+    private final Supplier<QosConcurrencyLimitConfig> config;
+    private final String limiterName;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+
+    @GuardedBy("lock")
+    private int inFlight = 0;
+    @GuardedBy("lock")
+    private double averageLatencyNanos = Double.NaN;
+    private volatile double limit;
+
+    public static QosConcurrencyLimiter create(Supplier<Long> maxBackoffTimeMillis,
+            Supplier<QosConcurrencyLimitConfig> config, String limiterName) {
+        return new QosConcurrencyLimiter(maxBackoffTimeMillis, config, limiterName);
+    }
+
+    /**
+     * A limiter that never limits, for clients that have not configured one.
+     */
+    public static QosConcurrencyLimiter unlimited() {
+        return new QosConcurrencyLimiter(() -> 0L, () -> QosConcurrencyLimitConfig.DEFAULT, "unlimited");
+    }
+
+    @VisibleForTesting
+    QosConcurrencyLimiter(Supplier<Long> maxBackoffTimeMillis, Supplier<QosConcurrencyLimitConfig> config,
+            String limiterName) {
+        this.maxBackoffTimeMillis = maxBackoffTimeMillis;
+        this.config = config;
+        this.limiterName = limiterName;
+        this.limit = config.get().initialLimit();
+    }
+
+    /**
+     * Takes a slot for a query, waiting for one to be released if the limit has been reached. The returned permit must
+     * be released when the query completes, whether or not it succeeds.
+     */
+    public Permit acquire() {
+        QosConcurrencyLimitConfig currentConfig = config.get();
+        if (!currentConfig.enabled()) {
+            return Permit.UNLIMITED;
+        }
+
+        long startNanos = System.nanoTime();
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffTimeMillis.get());
+        lock.lock();
+        try {
+            while (inFlight >= currentLimit(currentConfig)) {
+                if (remainingNanos <= 0) {
+                    throw new RateLimitExceededException("Rate limited. Too many queries are already in flight.");
+                }
+                remainingNanos = slotReleased.awaitNanos(remainingNanos);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PalantirInterruptedException("Interrupted while waiting for a query slot", e);
+        } finally {
+            lock.unlock();
+        }
+        return new Permit(this, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * The number of queries currently allowed in flight at once, or {@link Integer#MAX_VALUE} if limiting is disabled.
+     */
+    public int getLimit() {
+        QosConcurrencyLimitConfig currentConfig = config.get();
+        return currentConfig.enabled() ? (int) currentLimit(currentConfig) : Integer.MAX_VALUE;
+    }
+
+    private void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            updateLimit(config.get(), Math.max(1L, latencyNanos));
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void updateLimit(QosConcurrencyLimitConfig currentConfig, double latencyNanos) {
+        if (Double.isNaN(averageLatencyNanos)) {
+            averageLatencyNanos = latencyNanos;
+        } else {
+            averageLatencyNanos += (latencyNanos - averageLatencyNanos) * AVERAGE_LATENCY_SMOOTHING;
+        }
+        if (averageLatencyNanos > RECOVERY_RATIO * latencyNanos) {
+            // the database has recovered from a slow period, which inflated the average; let it catch up quickly
+            averageLatencyNanos *= RECOVERY_DECAY;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT,
+                Math.min(1.0, currentConfig.latencyTolerance() * averageLatencyNanos / latencyNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        if (newLimit > limit && inFlight + 1 < limit / 2) {
+            // we are not using the limit we already have, so we have learned nothing about whether it can grow
+            newLimit = limit;
+        }
+        newLimit = limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        newLimit = Math.max(currentConfig.minLimit(), Math.min(currentConfig.maxLimit(), newLimit));
+
+        if ((int) newLimit != (int) limit) {
+            log.debug("Concurrency limit set to {} for limiter {}",
+                    SafeArg.of("limit", (int) newLimit),
+                    SafeArg.of("limiterName", limiterName));
+        }
+        limit = newLimit;
+    }
+
+    private double currentLimit(QosConcurrencyLimitConfig currentConfig) {
+        return Math.max(currentConfig.minLimit(), Math.min(currentConfig.maxLimit(), limit));
+    }
+
+    public static final class Permit {
+        private static final Permit UNLIMITED = new Permit(null, Duration.ZERO);
+
+        private final QosConcurrencyLimiter limiter;
+        private final Duration waitTime;
+
+        private Permit(QosConcurrencyLimiter limiter, Duration waitTime) {
+            this.limiter = limiter;
+            this.waitTime = waitTime;
+        }
+
+        /**
+         * The time spent waiting for a slot to become available.
+         */
+        public Duration waitTime() {
+            return waitTime;
+        }
+
+        /**
+         * Gives up the slot, reporting how long the query took so that the limit can be adjusted.
+         */
+        public void release(long latencyNanos) {
+            if (limiter != null) {
+                limiter.release(latencyNanos);
+            }
+        }
+    }
+
+}
@@ -17,15 +17,21 @@
 package com.palantir.atlasdb.qos.ratelimit;
 
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.google.common.math.LongMath;
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.qos.ratelimit.guava.RateLimiter;
 import com.palantir.atlasdb.qos.ratelimit.guava.SmoothRateLimiter;
 import com.palantir.logsafe.SafeArg;
@@ -35,6 +41,10 @@ import com.palantir.logsafe.SafeArg;
  * throughput in terms of units per second, but allows for bursts in excess of the maximum that follow periods of low
  * inactivity.
  * <p>
+ * Each {@link QueryPriority} has its own budget, a share of the limit proportional to its weight among the priorities
+ * that have been active recently. A priority that is the only one active may use the whole limit, but as soon as
+ * another priority issues a query, the budgets are recomputed and the idle capacity is reclaimed.
+ * <p>
  * Rate limiting is achieved by sleeping prior to performing a request, or in extreme cases, throwing rate limiting
  * exceptions.
  */
@@ -43,14 +53,20 @@ public class QosRateLimiter {
     private static final Logger log = LoggerFactory.getLogger(QosRateLimiter.class);
 
     private static final long MAX_BURST_SECONDS = 5;
+    private static final long ACTIVITY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long NEVER_ACTIVE = Long.MIN_VALUE;
+
+    private static final Map<QueryPriority, Integer> PRIORITY_WEIGHTS = Maps.immutableEnumMap(ImmutableMap.of(
+            QueryPriority.INTERACTIVE, 16,
+            QueryPriority.BATCH, 4,
+            QueryPriority.BACKGROUND, 1));
 
     private final Supplier<Long> maxBackoffTimeMillis;
     private final String rateLimiterName;
     private final Supplier<Long> unitsPerSecond;
     private final RateLimiter.SleepingStopwatch stopwatch;
-
-    private volatile RateLimiter rateLimiter;
-    private volatile long currentRate;
+    private final Map<QueryPriority, PriorityBudget> budgets = new EnumMap<>(QueryPriority.class);
+    private final AtomicLong loggedTotalRate = new AtomicLong(-1L);
 
     public static QosRateLimiter create(Supplier<Long> maxBackoffTimeMillis, Supplier<Long> unitsPerSecond,
             String rateLimiterType) {
@@ -66,19 +82,30 @@ public class QosRateLimiter {
         this.maxBackoffTimeMillis = maxBackoffTimeMillis;
         this.rateLimiterName = rateLimiterName;
 
-        createRateLimiterAtomically();
+        for (QueryPriority priority : QueryPriority.values()) {
+            budgets.put(priority, new PriorityBudget(priority));
+        }
+    }
+
+    /**
+     * Equivalent to {@link #consumeWithBackoff(QueryPriority, long)} for {@link QueryPriority#INTERACTIVE} queries.
+     */
+    public Duration consumeWithBackoff(long estimatedNumUnits) {
+        return consumeWithBackoff(QueryPriority.INTERACTIVE, estimatedNumUnits);
     }
 
     /**
-     * Consumes the given {@code estimatedNumUnits}, and potentially sleeps or throws an exception if backoff is
-     * required. This should be called prior to executing a query.
+     * Consumes the given {@code estimatedNumUnits} from the budget of the given priority, and potentially sleeps or
+     * throws an exception if backoff is required. This should be called prior to executing a query.
      *
      * @return the amount of time slept for, if any
      */
-    public Duration consumeWithBackoff(long estimatedNumUnits) {
-        updateRateIfNeeded();
+    public Duration consumeWithBackoff(QueryPriority priority, long estimatedNumUnits) {
+        PriorityBudget budget = budgets.get(priority);
+        budget.markActive();
+        budget.updateRateIfNeeded();
 
-        Optional<Duration> waitTime = rateLimiter.tryAcquire(
+        Optional<Duration> waitTime = budget.rateLimiter.tryAcquire(
                 estimatedNumUnits,
                 maxBackoffTimeMillis.get(),
                 TimeUnit.MILLISECONDS);
@@ -91,29 +118,10 @@ public class QosRateLimiter {
     }
 
     /**
-     * The RateLimiter's rate requires a lock acquisition to read, and is returned as a double. To avoid
-     * overhead and double comparisons, we maintain the current rate ourselves.
+     * Equivalent to {@link #recordAdjustment(QueryPriority, long)} for {@link QueryPriority#INTERACTIVE} queries.
      */
-    private void updateRateIfNeeded() {
-        if (currentRate != unitsPerSecond.get()) {
-            createRateLimiterAtomically();
-        }
-    }
-
-    /**
-     * Guava's RateLimiter has strange behavior around updating the rate. Namely, if you set the rate very small and ask
-     * for a large number of permits, you will end up having to wait until that small rate is satisfied before acquiring
-     * more, even if you update the rate to something very large. So, we just create a new rate limiter if the rate
-     * changes.
-     */
-    private synchronized void createRateLimiterAtomically() {
-        currentRate = unitsPerSecond.get();
-        rateLimiter = new SmoothRateLimiter.SmoothBursty(stopwatch, MAX_BURST_SECONDS);
-        rateLimiter.setRate(currentRate);
-
-        log.info("Units per second set to {} for rate limiter {}",
-                SafeArg.of("unitsPerSecond", currentRate),
-                SafeArg.of("rateLimiterName", rateLimiterName));
+    public void recordAdjustment(long adjustmentUnits) {
+        recordAdjustment(QueryPriority.INTERACTIVE, adjustmentUnits);
     }
 
     /**
@@ -121,7 +129,8 @@ public class QosRateLimiter {
      * should be called after a query returns, when the exact number of units consumed is known. This value may be
      * positive (if the original estimate was too small) or negative (if the original estimate was too large).
      */
-    public void recordAdjustment(long adjustmentUnits) {
+    public void recordAdjustment(QueryPriority priority, long adjustmentUnits) {
+        RateLimiter rateLimiter = budgets.get(priority).rateLimiter;
         if (adjustmentUnits > 0) {
             rateLimiter.steal(adjustmentUnits);
         } else if (adjustmentUnits < 0) {
@@ -137,4 +146,83 @@ public class QosRateLimiter {
         }
     }
 
+    private long rateFor(QueryPriority priority) {
+        long totalRate = unitsPerSecond.get();
+        if (loggedTotalRate.getAndSet(totalRate) != totalRate) {
+            log.info("Units per second set to {} for rate limiter {}",
+                    SafeArg.of("unitsPerSecond", totalRate),
+                    SafeArg.of("rateLimiterName", rateLimiterName));
+        }
+        if (totalRate == Long.MAX_VALUE) {
+            return totalRate;
+        }
+
+        long now = stopwatch.readNanos();
+        int activeWeight = PRIORITY_WEIGHTS.get(priority);
+        for (PriorityBudget budget : budgets.values()) {
+            if (budget.priority != priority && budget.isActive(now)) {
+                activeWeight += PRIORITY_WEIGHTS.get(budget.priority);
+            }
+        }
+        return Math.max(1L, (long) ((double) totalRate * PRIORITY_WEIGHTS.get(priority) / activeWeight));
+    }
+
+    private final class PriorityBudget {
+        private final QueryPriority priority;
+
+        private volatile RateLimiter rateLimiter;
+        private volatile long currentRate;
+        private volatile long lastActiveNanos = NEVER_ACTIVE;
+
+        private PriorityBudget(QueryPriority priority) {
+            this.priority = priority;
+            createRateLimiterAtomically();
+        }
+
+        private void markActive() {
+            lastActiveNanos = stopwatch.readNanos();
+        }
+
+        private boolean isActive(long now) {
+            long lastActive = lastActiveNanos;
+            return lastActive != NEVER_ACTIVE && now - lastActive < ACTIVITY_WINDOW_NANOS;
+        }
+
+        /**
+         * The RateLimiter's rate requires a lock acquisition to read, and is returned as a double. To avoid
+         * overhead and double comparisons, we maintain the current rate ourselves.
+         */
+        private void updateRateIfNeeded() {
+            if (currentRate != rateFor(priority)) {
+                createRateLimiterAtomically();
+            }
+        }
+
+        /**
+         * Guava's RateLimiter has strange behavior around updating the rate. Namely, if you set the rate very small and
+         * ask for a large number of permits, you will end up having to wait until that small rate is satisfied before
+         * acquiring more, even if you update the rate to something very large. So, we create a new rate limiter if
+         * the rate changes, and carry over the permits still owed to the old one, to be paid back at the new rate.
+         * Budgets are recomputed whenever a priority becomes active or idle, so forgiving that debt would let a
+         * priority exceed its share just by waiting for the others to change.
+         */
+        private synchronized void createRateLimiterAtomically() {
+            currentRate = rateFor(priority);
+            RateLimiter newRateLimiter = new SmoothRateLimiter.SmoothBursty(stopwatch, MAX_BURST_SECONDS);
+            newRateLimiter.setRate(currentRate);
+            RateLimiter oldRateLimiter = rateLimiter;
+            rateLimiter = newRateLimiter;
+
+            long outstandingPermits = oldRateLimiter == null ? 0L : oldRateLimiter.getOutstandingPermits();
+            if (outstandingPermits > 0) {
+                newRateLimiter.steal(outstandingPermits);
+            }
+
+            log.debug("Units per second set to {} for {} queries of rate limiter {}",
+                    SafeArg.of("unitsPerSecond", currentRate),
+                    SafeArg.of("priority", priority),
+                    SafeArg.of("rateLimiterName", rateLimiterName));
+        }
+    }
+
 }
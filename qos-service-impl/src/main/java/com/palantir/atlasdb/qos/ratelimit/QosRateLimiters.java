@@ -20,21 +20,35 @@ import java.util.function.Supplier;
 
 import org.immutables.value.Value;
 
+import com.palantir.atlasdb.qos.config.QosConcurrencyLimitConfig;
 import com.palantir.atlasdb.qos.config.QosLimitsConfig;
 
 @Value.Immutable
 public interface QosRateLimiters {
 
     static QosRateLimiters create(Supplier<Long> maxBackoffSleepTimeMillis, Supplier<QosLimitsConfig> config) {
+        return create(maxBackoffSleepTimeMillis, config, () -> QosConcurrencyLimitConfig.DEFAULT);
+    }
+
+    static QosRateLimiters create(Supplier<Long> maxBackoffSleepTimeMillis, Supplier<QosLimitsConfig> config,
+            Supplier<QosConcurrencyLimitConfig> concurrencyConfig) {
         QosRateLimiter readLimiter = QosRateLimiter.create(maxBackoffSleepTimeMillis,
                 () -> config.get().readBytesPerSecond(), "read");
 
         QosRateLimiter writeLimiter = QosRateLimiter.create(maxBackoffSleepTimeMillis,
                 () -> config.get().writeBytesPerSecond(), "write");
 
+        QosConcurrencyLimiter readConcurrencyLimiter = QosConcurrencyLimiter.create(maxBackoffSleepTimeMillis,
+                concurrencyConfig, "read");
+
+        QosConcurrencyLimiter writeConcurrencyLimiter = QosConcurrencyLimiter.create(maxBackoffSleepTimeMillis,
+                concurrencyConfig, "write");
+
         return ImmutableQosRateLimiters.builder()
                 .read(readLimiter)
                 .write(writeLimiter)
+                .readConcurrency(readConcurrencyLimiter)
+                .writeConcurrency(writeConcurrencyLimiter)
                 .build();
     }
 
@@ -42,4 +56,14 @@ public interface QosRateLimiters {
 
     QosRateLimiter write();
 
+    @Value.Default
+    default QosConcurrencyLimiter readConcurrency() {
+        return QosConcurrencyLimiter.unlimited();
+    }
+
+    @Value.Default
+    default QosConcurrencyLimiter writeConcurrency() {
+        return QosConcurrencyLimiter.unlimited();
+    }
+
 }
@@ -398,6 +398,18 @@ public abstract class RateLimiter {
         }
     }
 
+    // CHANGELOG: new method
+    /**
+     * Returns the number of permits that have been reserved or stolen beyond what the rate has made available so far,
+     * that is, the permits that future callers will have to wait for. Stealing them from a rate limiter that replaces
+     * this one carries the debt over, rather than forgiving it.
+     */
+    public long getOutstandingPermits() {
+        synchronized (mutex()) {
+            return (long) Math.ceil(outstandingPermits(stopwatch.readNanos()));
+        }
+    }
+
     private boolean canAcquire(long nowNanos, long timeoutNanos) {
         return Longs.compare(queryEarliestAvailable(nowNanos) - timeoutNanos, nowNanos) <= 0;
     }
@@ -432,6 +444,9 @@ public abstract class RateLimiter {
 
     abstract void returnPermitsConsumedEarlier(double permitsToReturn, long nowNanos);
 
+    // CHANGELOG: method added
+    abstract double outstandingPermits(long nowNanos);
+
     @Override
     public String toString() {
         return String.format(Locale.ROOT, "RateLimiter[stableRate=%3.1fqps]", getRate());
@@ -411,4 +411,10 @@ public abstract class SmoothRateLimiter extends RateLimiter {
             storedPermits = min(maxPermits, storedPermits + (permitsToReturn - permitsReturnedByNanos));
         }
     }
+
+    // CHANGELOG: method added
+    @Override
+    final double outstandingPermits(long nowNanos) {
+        return nextFreeTicketNanos > nowNanos ? (nextFreeTicketNanos - nowNanos) / stableIntervalNanos : 0.0;
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.qos.config.ImmutableQosServiceRuntimeConfig;
+import com.palantir.atlasdb.qos.config.QosServiceRuntimeConfig;
+
+public class ClientLimitAllocatorTest {
+    private static final long TOTAL_LIMIT = 1000L;
+
+    private long currentTimeMillis = 0;
+    private QosServiceRuntimeConfig config = configWithTotalLimit(TOTAL_LIMIT).build();
+    private final ClientLimitAllocator allocator = new ClientLimitAllocator(() -> config, () -> currentTimeMillis);
+
+    @Test
+    public void fixedLimitsTakePrecedence() {
+        config = configWithTotalLimit(TOTAL_LIMIT).clientLimits(ImmutableMap.of("foo", 10L)).build();
+        report("foo", 500L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(10L);
+    }
+
+    @Test
+    public void clientsAreNotLimitedWithoutTotalLimit() {
+        config = ImmutableQosServiceRuntimeConfig.builder().build();
+        report("foo", 500L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void singleClientGetsTotalLimit() {
+        report("foo", 10L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(TOTAL_LIMIT);
+    }
+
+    @Test
+    public void clientThatHasNotReportedGetsFairShare() {
+        report("foo", 2000L);
+
+        assertThat(allocator.getLimit("bar")).isEqualTo(500L);
+    }
+
+    @Test
+    public void spareCapacityIsGivenToClientsThatNeedIt() {
+        report("foo", 100L);
+        report("bar", 2000L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(100L);
+        assertThat(allocator.getLimit("bar")).isEqualTo(900L);
+    }
+
+    @Test
+    public void busyClientsAreLimitedByWeight() {
+        config = configWithTotalLimit(TOTAL_LIMIT).clientWeights(ImmutableMap.of("foo", 3)).build();
+        report("foo", 2000L);
+        report("bar", 2000L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(750L);
+        assertThat(allocator.getLimit("bar")).isEqualTo(250L);
+    }
+
+    @Test
+    public void expiredReportsAreIgnored() {
+        report("foo", 2000L);
+        currentTimeMillis += ClientLimitAllocator.REPORT_EXPIRY_MILLIS + 1;
+        report("bar", 2000L);
+
+        assertThat(allocator.getLimit("bar")).isEqualTo(TOTAL_LIMIT);
+    }
+
+    @Test
+    public void totalLimitIsReducedWhenQueriesAreSlow() {
+        config = configWithTotalLimit(TOTAL_LIMIT).targetQueryTimeMicros(1000L).build();
+        report("foo", 2000L, 4000L);
+
+        assertThat(allocator.getLimit("foo")).isEqualTo(TOTAL_LIMIT / 4);
+    }
+
+    @Test
+    public void totalLimitIsNotReducedBelowMinimumFraction() {
+        config = configWithTotalLimit(TOTAL_LIMIT).targetQueryTimeMicros(1L).build();
+        report("foo", 2000L, 1_000_000L);
+
+        assertThat(allocator.getLimit("foo"))
+                .isEqualTo((long) (TOTAL_LIMIT * ClientLimitAllocator.MIN_CAPACITY_FRACTION));
+    }
+
+    @Test
+    public void unsatisfiedClientsShareRemainingCapacityByWeight() {
+        Map<String, Long> allocations = ClientLimitAllocator.allocate(
+                120L,
+                ImmutableMap.of("a", 10L, "b", 20L, "c", 1000L, "d", 1000L),
+                ImmutableMap.of("c", 2));
+
+        assertThat(allocations).containsOnly(
+                entry("a", 10L),
+                entry("b", 20L),
+                entry("c", 60L),
+                entry("d", 30L));
+    }
+
+    private void report(String client, long requestedUnitsPerSecond) {
+        report(client, requestedUnitsPerSecond, 0L);
+    }
+
+    private void report(String client, long requestedUnitsPerSecond, long meanQueryTimeMicros) {
+        allocator.reportUsage(client, ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond(requestedUnitsPerSecond)
+                .meanQueryTimeMicros(meanQueryTimeMicros)
+                .build());
+    }
+
+    private static ImmutableQosServiceRuntimeConfig.Builder configWithTotalLimit(long totalLimit) {
+        return ImmutableQosServiceRuntimeConfig.builder().totalLimit(totalLimit);
+    }
+}
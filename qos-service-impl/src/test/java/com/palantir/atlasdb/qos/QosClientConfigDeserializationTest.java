@@ -29,6 +29,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.palantir.atlasdb.qos.config.ImmutableQosClientConfig;
+import com.palantir.atlasdb.qos.config.ImmutableQosConcurrencyLimitConfig;
 import com.palantir.atlasdb.qos.config.ImmutableQosLimitsConfig;
 import com.palantir.atlasdb.qos.config.QosClientConfig;
 import com.palantir.atlasdb.qos.config.QosServiceRuntimeConfig;
@@ -57,6 +58,11 @@ public class QosClientConfigDeserializationTest {
                         .readBytesPerSecond(123)
                         .writeBytesPerSecond(456)
                         .build())
+                .concurrencyLimit(ImmutableQosConcurrencyLimitConfig.builder()
+                        .enabled(true)
+                        .initialLimit(10)
+                        .maxLimit(100)
+                        .build())
                 .build();
 
         File configFile = new File(QosServiceRuntimeConfig.class.getResource("/qos-client.yml").getPath());
@@ -16,6 +16,8 @@
 
 package com.palantir.atlasdb.qos;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
@@ -40,4 +42,12 @@ public class QosServiceRuntimeConfigTest {
                 .clientLimits(ImmutableMap.of("test_client", 10L, "test_client2", 100L))
                 .build();
     }
+
+    @Test
+    public void cannotBuildWithNonPositiveClientWeight() {
+        assertThatThrownBy(() -> ImmutableQosServiceRuntimeConfig.builder()
+                .clientWeights(ImmutableMap.of("test_client", 0))
+                .build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
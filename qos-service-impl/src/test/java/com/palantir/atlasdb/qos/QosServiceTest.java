@@ -52,6 +52,24 @@ public class QosServiceTest {
         assertEquals(20L, resource.getLimit("foo"));
     }
 
+    @Test
+    public void allocatesTotalLimitBetweenReportingClients() {
+        when(config.get()).thenReturn(ImmutableQosServiceRuntimeConfig.builder().totalLimit(100L).build());
+
+        resource.reportUsage("foo", usageReport(10L));
+        assertThat(resource.reportUsage("bar", usageReport(1000L))).isEqualTo(90L);
+
+        assertThat(resource.getLimit("foo")).isEqualTo(10L);
+        assertThat(resource.getLimit("bar")).isEqualTo(90L);
+    }
+
+    private static QosUsageReport usageReport(long requestedUnitsPerSecond) {
+        return ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond(requestedUnitsPerSecond)
+                .meanQueryTimeMicros(0L)
+                .build();
+    }
+
     private QosServiceRuntimeConfig configWithLimits(Map<String, Long> limits) {
         return ImmutableQosServiceRuntimeConfig.builder().clientLimits(limits).build();
     }
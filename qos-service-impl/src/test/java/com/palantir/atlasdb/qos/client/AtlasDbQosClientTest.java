@@ -27,6 +27,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -37,9 +38,14 @@ import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.qos.ImmutableQueryWeight;
 import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.qos.QueryWeight;
+import com.palantir.atlasdb.qos.client.QosUsageReporter.QueryType;
+import com.palantir.atlasdb.qos.config.ImmutableQosConcurrencyLimitConfig;
+import com.palantir.atlasdb.qos.config.QosConcurrencyLimitConfig;
 import com.palantir.atlasdb.qos.metrics.QosMetrics;
 import com.palantir.atlasdb.qos.ratelimit.ImmutableQosRateLimiters;
+import com.palantir.atlasdb.qos.ratelimit.QosConcurrencyLimiter;
 import com.palantir.atlasdb.qos.ratelimit.QosRateLimiter;
 import com.palantir.atlasdb.qos.ratelimit.QosRateLimiters;
 import com.palantir.atlasdb.qos.ratelimit.RateLimitExceededException;
@@ -95,16 +101,16 @@ public final class AtlasDbQosClientTest {
         when(weigher.weighSuccess(any(), anyLong())).thenReturn(actualWeight);
         when(weigher.weighFailure(any(), anyLong())).thenReturn(actualWeight);
 
-        when(readLimiter.consumeWithBackoff(anyLong())).thenReturn(Duration.ZERO);
-        when(writeLimiter.consumeWithBackoff(anyLong())).thenReturn(Duration.ZERO);
+        when(readLimiter.consumeWithBackoff(any(), anyLong())).thenReturn(Duration.ZERO);
+        when(writeLimiter.consumeWithBackoff(any(), anyLong())).thenReturn(Duration.ZERO);
     }
 
     @Test
     public void consumesSpecifiedNumUnitsForReads() {
         qosClient.executeRead(() -> "foo", weigher);
 
-        verify(readLimiter).consumeWithBackoff(ESTIMATED_BYTES);
-        verify(readLimiter).recordAdjustment(actualBytes - ESTIMATED_BYTES);
+        verify(readLimiter).consumeWithBackoff(QueryPriority.INTERACTIVE, ESTIMATED_BYTES);
+        verify(readLimiter).recordAdjustment(QueryPriority.INTERACTIVE, actualBytes - ESTIMATED_BYTES);
         verifyNoMoreInteractions(readLimiter, writeLimiter);
     }
 
@@ -127,8 +133,8 @@ public final class AtlasDbQosClientTest {
     public void consumesSpecifiedNumUnitsForWrites() {
         qosClient.executeWrite(() -> null, weigher);
 
-        verify(writeLimiter).consumeWithBackoff(ESTIMATED_BYTES);
-        verify(writeLimiter).recordAdjustment(actualBytes - ESTIMATED_BYTES);
+        verify(writeLimiter).consumeWithBackoff(QueryPriority.INTERACTIVE, ESTIMATED_BYTES);
+        verify(writeLimiter).recordAdjustment(QueryPriority.INTERACTIVE, actualBytes - ESTIMATED_BYTES);
         verifyNoMoreInteractions(readLimiter, writeLimiter);
     }
 
@@ -186,7 +192,7 @@ public final class AtlasDbQosClientTest {
 
     @Test
     public void recordsBackoffTime() {
-        when(readLimiter.consumeWithBackoff(anyLong())).thenReturn(Duration.ofMillis(1_100));
+        when(readLimiter.consumeWithBackoff(any(), anyLong())).thenReturn(Duration.ofMillis(1_100));
         qosClient.executeRead(() -> "foo", weigher);
 
         verify(metrics).recordBackoffMicros(1_100_000);
@@ -194,7 +200,8 @@ public final class AtlasDbQosClientTest {
 
     @Test
     public void recordsBackoffExceptions() {
-        when(readLimiter.consumeWithBackoff(anyLong())).thenThrow(new RateLimitExceededException("rate limited"));
+        when(readLimiter.consumeWithBackoff(any(), anyLong()))
+                .thenThrow(new RateLimitExceededException("rate limited"));
         assertThatThrownBy(() -> qosClient.executeRead(() -> "foo", weigher)).isInstanceOf(
                 RateLimitExceededException.class);
 
@@ -203,12 +210,101 @@ public final class AtlasDbQosClientTest {
 
     @Test
     public void doesNotRecordRuntimeExceptions() {
-        when(readLimiter.consumeWithBackoff(anyLong())).thenThrow(new RuntimeException("foo"));
+        when(readLimiter.consumeWithBackoff(any(), anyLong())).thenThrow(new RuntimeException("foo"));
         assertThatThrownBy(() -> qosClient.executeRead(() -> "foo", weigher)).isInstanceOf(
                 RuntimeException.class);
 
         verify(metrics, never()).recordRateLimitedException();
     }
 
+    @Test
+    public void releasesConcurrencySlotWhenQueryCompletes() {
+        AtlasDbQosClient client = createClientWithReadConcurrencyLimiter(singleSlotConcurrencyLimiter());
+
+        client.executeRead(() -> "foo", weigher);
+        client.executeRead(() -> "bar", weigher);
+
+        verify(metrics, never()).recordRateLimitedException();
+    }
+
+    @Test
+    public void returnsConsumedUnitsIfNoConcurrencySlotIsAvailable() {
+        QosConcurrencyLimiter concurrencyLimiter = singleSlotConcurrencyLimiter();
+        AtlasDbQosClient client = createClientWithReadConcurrencyLimiter(concurrencyLimiter);
+        concurrencyLimiter.acquire();
+
+        assertThatThrownBy(() -> client.executeRead(() -> "foo", weigher)).isInstanceOf(
+                RateLimitExceededException.class);
+
+        verify(readLimiter).consumeWithBackoff(QueryPriority.INTERACTIVE, ESTIMATED_BYTES);
+        verify(readLimiter).recordAdjustment(QueryPriority.INTERACTIVE, -ESTIMATED_BYTES);
+        verify(metrics).recordRateLimitedException();
+    }
+
+    @Test
+    public void consumesFromTheBudgetOfTheGivenPriority() {
+        qosClient.executeRead(QueryPriority.BACKGROUND, () -> "foo", weigher);
+        qosClient.executeWrite(QueryPriority.BATCH, () -> null, weigher);
+
+        verify(readLimiter).consumeWithBackoff(QueryPriority.BACKGROUND, ESTIMATED_BYTES);
+        verify(readLimiter).recordAdjustment(QueryPriority.BACKGROUND, actualBytes - ESTIMATED_BYTES);
+        verify(writeLimiter).consumeWithBackoff(QueryPriority.BATCH, ESTIMATED_BYTES);
+        verify(writeLimiter).recordAdjustment(QueryPriority.BATCH, actualBytes - ESTIMATED_BYTES);
+        verifyNoMoreInteractions(readLimiter, writeLimiter);
+    }
+
+    @Test
+    public void reportsUsageOfCompletedQueries() {
+        QosUsageReporter usageReporter = mock(QosUsageReporter.class);
+        AtlasDbQosClient client = new AtlasDbQosClient(rateLimiters, metrics, ticker, Optional.of(usageReporter));
+
+        client.executeRead(() -> "foo", weigher);
+        client.executeWrite(() -> null, weigher);
+
+        verify(usageReporter).recordQuery(QueryType.READ, actualBytes, TOTAL_NANOS);
+        verify(usageReporter).recordQuery(QueryType.WRITE, actualBytes, TOTAL_NANOS);
+    }
+
+    @Test
+    public void reportsUsageOfThrottledQueries() {
+        QosUsageReporter usageReporter = mock(QosUsageReporter.class);
+        AtlasDbQosClient client = new AtlasDbQosClient(rateLimiters, metrics, ticker, Optional.of(usageReporter));
+        when(readLimiter.consumeWithBackoff(any(), anyLong()))
+                .thenThrow(new RateLimitExceededException("rate limited"));
+
+        assertThatThrownBy(() -> client.executeRead(() -> "foo", weigher)).isInstanceOf(
+                RateLimitExceededException.class);
+
+        verify(usageReporter).recordThrottledQuery(QueryType.READ, ESTIMATED_BYTES);
+        verify(usageReporter, never()).recordQuery(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void closesUsageReporterWhenClosed() {
+        QosUsageReporter usageReporter = mock(QosUsageReporter.class);
+        AtlasDbQosClient client = new AtlasDbQosClient(rateLimiters, metrics, ticker, Optional.of(usageReporter));
+
+        client.close();
+
+        verify(usageReporter).close();
+    }
+
+    private AtlasDbQosClient createClientWithReadConcurrencyLimiter(QosConcurrencyLimiter concurrencyLimiter) {
+        QosRateLimiters limiters = ImmutableQosRateLimiters.builder()
+                .from(rateLimiters)
+                .readConcurrency(concurrencyLimiter)
+                .build();
+        return new AtlasDbQosClient(limiters, metrics, ticker);
+    }
+
+    private static QosConcurrencyLimiter singleSlotConcurrencyLimiter() {
+        QosConcurrencyLimitConfig config = ImmutableQosConcurrencyLimitConfig.builder()
+                .enabled(true)
+                .initialLimit(1)
+                .maxLimit(1)
+                .build();
+        return QosConcurrencyLimiter.create(() -> 0L, () -> config, "test");
+    }
+
     static class TestCheckedException extends Exception {}
 }
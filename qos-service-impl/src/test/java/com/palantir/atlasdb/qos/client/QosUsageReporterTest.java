@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.palantir.atlasdb.qos.ImmutableQosUsageReport;
+import com.palantir.atlasdb.qos.QosService;
+import com.palantir.atlasdb.qos.client.QosUsageReporter.QueryType;
+import com.palantir.atlasdb.qos.config.ImmutableQosLimitsConfig;
+import com.palantir.atlasdb.qos.config.QosLimitsConfig;
+
+public class QosUsageReporterTest {
+    private static final String CLIENT = "client";
+
+    private final QosService qosService = mock(QosService.class);
+    private final Ticker ticker = mock(Ticker.class);
+    private final QosUsageReporter reporter = createReporter();
+
+    @Test
+    public void reportsRequestedUnitsPerSecondAndMeanQueryTime() {
+        reporter.recordQuery(QueryType.READ, 100L, TimeUnit.MILLISECONDS.toNanos(1));
+        reporter.recordQuery(QueryType.WRITE, 300L, TimeUnit.MILLISECONDS.toNanos(3));
+        reporter.recordThrottledQuery(QueryType.READ, 600L);
+
+        when(ticker.read()).thenReturn(TimeUnit.SECONDS.toNanos(2));
+        reporter.reportUsageAndUpdateLimit();
+
+        verify(qosService).reportUsage(CLIENT, ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond(500L)
+                .meanQueryTimeMicros(2000L)
+                .build());
+    }
+
+    @Test
+    public void resetsUsageAfterReporting() {
+        reporter.recordQuery(QueryType.READ, 100L, 1L);
+        when(ticker.read()).thenReturn(TimeUnit.SECONDS.toNanos(1));
+        reporter.reportUsageAndUpdateLimit();
+
+        when(ticker.read()).thenReturn(TimeUnit.SECONDS.toNanos(2));
+        reporter.reportUsageAndUpdateLimit();
+
+        verify(qosService).reportUsage(CLIENT, ImmutableQosUsageReport.builder()
+                .requestedUnitsPerSecond(0L)
+                .meanQueryTimeMicros(0L)
+                .build());
+    }
+
+    @Test
+    public void getsAllocatedLimitFromTheUsageReport() {
+        when(qosService.reportUsage(eq(CLIENT), any())).thenReturn(50L);
+
+        reporter.reportUsageAndUpdateLimit();
+
+        assertThat(reporter.getAllocatedLimit()).isEqualTo(50L);
+        verify(qosService, never()).getLimit(any());
+    }
+
+    @Test
+    public void splitsAllocatedLimitEvenlyWithoutUsage() {
+        when(qosService.reportUsage(eq(CLIENT), any())).thenReturn(100L);
+        reporter.reportUsageAndUpdateLimit();
+
+        QosLimitsConfig limits = reporter.applyAllocatedLimit(() -> limits(1000L, 1000L)).get();
+
+        assertThat(limits.readBytesPerSecond()).isEqualTo(50L);
+        assertThat(limits.writeBytesPerSecond()).isEqualTo(50L);
+    }
+
+    @Test
+    public void splitsAllocatedLimitBetweenReadsAndWritesByRequestedUnits() {
+        when(qosService.reportUsage(eq(CLIENT), any())).thenReturn(100L);
+        reporter.recordQuery(QueryType.READ, 300L, 1L);
+        reporter.recordThrottledQuery(QueryType.WRITE, 100L);
+        reporter.reportUsageAndUpdateLimit();
+
+        QosLimitsConfig limits = reporter.applyAllocatedLimit(() -> limits(1000L, 1000L)).get();
+
+        assertThat(limits.readBytesPerSecond() + limits.writeBytesPerSecond()).isEqualTo(100L);
+        assertThat(limits.readBytesPerSecond()).isEqualTo(75L);
+        assertThat(limits.writeBytesPerSecond()).isEqualTo(25L);
+    }
+
+    @Test
+    public void leavesSomeOfTheAllocatedLimitForQueryTypesThatWereNotUsed() {
+        when(qosService.reportUsage(eq(CLIENT), any())).thenReturn(100L);
+        reporter.recordQuery(QueryType.READ, 300L, 1L);
+        reporter.reportUsageAndUpdateLimit();
+
+        QosLimitsConfig limits = reporter.applyAllocatedLimit(() -> limits(1000L, 1000L)).get();
+
+        assertThat(limits.readBytesPerSecond()).isEqualTo(90L);
+        assertThat(limits.writeBytesPerSecond()).isEqualTo(10L);
+    }
+
+    @Test
+    public void keepsConfiguredLimitsWhenLowerThanTheirShareOfTheAllocatedLimit() {
+        when(qosService.reportUsage(eq(CLIENT), any())).thenReturn(100L);
+        reporter.reportUsageAndUpdateLimit();
+
+        QosLimitsConfig limits = reporter.applyAllocatedLimit(() -> limits(100L, 20L)).get();
+
+        assertThat(limits.readBytesPerSecond()).isEqualTo(50L);
+        assertThat(limits.writeBytesPerSecond()).isEqualTo(20L);
+    }
+
+    @Test
+    public void keepsLastAllocatedLimitIfServiceIsUnavailable() {
+        when(qosService.reportUsage(eq(CLIENT), any()))
+                .thenReturn(50L)
+                .thenThrow(new RuntimeException("unavailable"));
+
+        reporter.reportUsageAndUpdateLimit();
+        reporter.reportUsageAndUpdateLimit();
+
+        assertThat(reporter.getAllocatedLimit()).isEqualTo(50L);
+        verify(qosService, times(2)).reportUsage(eq(CLIENT), any());
+    }
+
+    private static QosLimitsConfig limits(long readBytesPerSecond, long writeBytesPerSecond) {
+        return ImmutableQosLimitsConfig.builder()
+                .readBytesPerSecond(readBytesPerSecond)
+                .writeBytesPerSecond(writeBytesPerSecond)
+                .build();
+    }
+
+    @Test
+    public void closeStopsReporting() {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        QosUsageReporter reporterWithExecutor = new QosUsageReporter(CLIENT, qosService, ticker, executor);
+
+        reporterWithExecutor.close();
+
+        verify(executor).shutdownNow();
+    }
+
+    private QosUsageReporter createReporter() {
+        when(ticker.read()).thenReturn(0L);
+        return new QosUsageReporter(CLIENT, qosService, ticker, mock(ScheduledExecutorService.class));
+    }
+}
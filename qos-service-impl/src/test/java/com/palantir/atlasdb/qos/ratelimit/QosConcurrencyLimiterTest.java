@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.atlasdb.qos.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.qos.config.ImmutableQosConcurrencyLimitConfig;
+import com.palantir.atlasdb.qos.config.QosConcurrencyLimitConfig;
+
+public class QosConcurrencyLimiterTest {
+
+    private static final Supplier<Long> NO_BACKOFF = () -> 0L;
+    private static final long FAST_QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW_QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final QosConcurrencyLimitConfig CONFIG = ImmutableQosConcurrencyLimitConfig.builder()
+            .enabled(true)
+            .initialLimit(10)
+            .minLimit(5)
+            .maxLimit(100)
+            .build();
+
+    private final QosConcurrencyLimiter limiter = new QosConcurrencyLimiter(NO_BACKOFF, () -> CONFIG, "test");
+
+    @Test
+    public void doesNotLimitIfDisabled() {
+        QosConcurrencyLimiter disabled = QosConcurrencyLimiter.unlimited();
+
+        for (int i = 0; i < 1_000; i++) {
+            disabled.acquire();
+        }
+        assertThat(disabled.getLimit()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void throwsOnceLimitIsReachedAndBackoffIsExhausted() {
+        acquire(10);
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    public void releasingAPermitFreesASlot() {
+        List<QosConcurrencyLimiter.Permit> permits = acquire(10);
+        permits.get(0).release(FAST_QUERY_NANOS);
+
+        limiter.acquire();
+    }
+
+    @Test
+    public void waitsForASlotToBeReleased() throws Exception {
+        QosConcurrencyLimiter waitingLimiter = new QosConcurrencyLimiter(() -> 10_000L, () -> CONFIG, "test");
+        QosConcurrencyLimiter.Permit permit = waitingLimiter.acquire();
+        for (int i = 1; i < CONFIG.initialLimit(); i++) {
+            waitingLimiter.acquire();
+        }
+
+        CompletableFuture<QosConcurrencyLimiter.Permit> waiter = CompletableFuture.supplyAsync(waitingLimiter::acquire);
+        assertThat(waiter.isDone()).isFalse();
+
+        permit.release(FAST_QUERY_NANOS);
+        assertThat(waiter.get(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void limitGrowsWhileLatencyIsStableAndTheLimitIsUsed() {
+        runBatches(5, FAST_QUERY_NANOS);
+
+        assertThat(limiter.getLimit()).isGreaterThan(CONFIG.initialLimit());
+    }
+
+    @Test
+    public void limitDoesNotGrowIfMostOfItIsUnused() {
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().release(FAST_QUERY_NANOS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(CONFIG.initialLimit());
+    }
+
+    @Test
+    public void limitShrinksWhenLatencyRises() {
+        runBatches(5, FAST_QUERY_NANOS);
+        int limitBeforeSlowdown = limiter.getLimit();
+
+        runBatches(1, SLOW_QUERY_NANOS);
+
+        assertThat(limiter.getLimit()).isLessThan(limitBeforeSlowdown);
+    }
+
+    @Test
+    public void limitStaysWithinConfiguredBounds() {
+        runBatches(1, FAST_QUERY_NANOS);
+        runBatches(10, SLOW_QUERY_NANOS);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(CONFIG.minLimit());
+
+        runBatches(50, FAST_QUERY_NANOS);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(CONFIG.maxLimit());
+    }
+
+    private void runBatches(int numBatches, long latencyNanos) {
+        for (int i = 0; i < numBatches; i++) {
+            acquire(limiter.getLimit()).forEach(permit -> permit.release(latencyNanos));
+        }
+    }
+
+    private List<QosConcurrencyLimiter.Permit> acquire(int numPermits) {
+        List<QosConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < numPermits; i++) {
+            permits.add(limiter.acquire());
+        }
+        return permits;
+    }
+}
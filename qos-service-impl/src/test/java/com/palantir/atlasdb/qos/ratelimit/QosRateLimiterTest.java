@@ -28,6 +28,7 @@ import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.palantir.atlasdb.qos.QueryPriority;
 import com.palantir.atlasdb.qos.ratelimit.guava.RateLimiter;
 
 public class QosRateLimiterTest {
@@ -238,6 +239,44 @@ public class QosRateLimiterTest {
         assertThat(limiter.consumeWithBackoff(20)).isGreaterThan(Duration.ZERO);
     }
 
+    @Test
+    public void lowPriorityQueriesCanUseTheWholeLimitWhenAlone() {
+        limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 10);
+        tickMillis(1_000);
+
+        assertThat(limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 1)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void lowPriorityQueriesAreLimitedToTheirShareWhileHigherPrioritiesAreActive() {
+        limiter.consumeWithBackoff(QueryPriority.INTERACTIVE, 1);
+        limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 10);
+        tickMillis(500);
+
+        assertThat(limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 1)).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void prioritiesDoNotShareBacklog() {
+        limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 10);
+
+        assertThat(limiter.consumeWithBackoff(QueryPriority.INTERACTIVE, 1)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void unitsOwedAreCarriedOverWhenBudgetsAreRecomputed() {
+        when(currentRate.get()).thenReturn(100L);
+        limiter.consumeWithBackoff(QueryPriority.INTERACTIVE, 1);
+
+        // the background budget is 100 * 1 / 17 = 5 units per second, and 20 units push it 4 seconds into debt
+        limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 1);
+        limiter.recordAdjustment(QueryPriority.BACKGROUND, 19);
+
+        // once interactive queries go idle, the 12.5 units still owed are paid back at the full 100 units per second
+        tickMillis(1_500);
+        assertThat(limiter.consumeWithBackoff(QueryPriority.BACKGROUND, 1)).isEqualTo(Duration.ofMillis(130));
+    }
+
     private void tickMillis(long millis) {
         long now = stopwatch.readNanos();
         when(stopwatch.readNanos()).thenReturn(now + TimeUnit.MILLISECONDS.toNanos(millis));
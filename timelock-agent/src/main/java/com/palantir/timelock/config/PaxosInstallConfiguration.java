@@ -27,9 +27,31 @@ public interface PaxosInstallConfiguration {
         return new File("var/data/paxos");
     }
 
+    /**
+     * If true, paxos rounds are stored in append-only segments rather than one file per round. Existing logs are
+     * migrated on startup, and their files are kept until {@link #deleteMigratedLegacyLogs()} is set. This must not
+     * be disabled again once rounds have been written to segments.
+     */
+    @JsonProperty("segmented-logs")
+    @Value.Default
+    default boolean segmentedLogs() {
+        return false;
+    }
+
+    /**
+     * If true, the files of paxos logs that have been migrated to segments are deleted on startup.
+     */
+    @JsonProperty("delete-migrated-legacy-logs")
+    @Value.Default
+    default boolean deleteMigratedLegacyLogs() {
+        return false;
+    }
+
     @Value.Check
     default void check() {
         Preconditions.checkArgument(dataDirectory().mkdirs() || dataDirectory().isDirectory(),
                 "Could not create paxos data directory %s", dataDirectory());
+        Preconditions.checkArgument(segmentedLogs() || !deleteMigratedLegacyLogs(),
+                "Migrated legacy paxos logs can only be deleted if segmented logs are used.");
     }
 }
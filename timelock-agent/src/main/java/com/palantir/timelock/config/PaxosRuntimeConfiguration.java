@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.base.Preconditions;
+import com.palantir.timestamp.PersistentUpperLimit;
 
 @JsonDeserialize(as = ImmutablePaxosRuntimeConfiguration.class)
 @JsonSerialize(as = ImmutablePaxosRuntimeConfiguration.class)
@@ -33,6 +34,34 @@ public interface PaxosRuntimeConfiguration {
         return 5000L;
     }
 
+    @JsonProperty("leader-lease-duration-in-ms")
+    @Value.Default
+    default long leaderLeaseDurationMs() {
+        return 0L;
+    }
+
+    /**
+     * If true, the Paxos rounds that persist timestamp bounds for different clients share one prepare, accept and
+     * learn RPC per node, rather than each client making its own. Every node in the cluster must be on a version that
+     * serves the batch endpoints before this is enabled. Only applies to clients created after it is changed.
+     */
+    @JsonProperty("batch-timestamp-paxos")
+    @Value.Default
+    default boolean batchTimestampPaxos() {
+        return false;
+    }
+
+    /**
+     * The fraction of each client's buffer of timestamps that must have been handed out before its timestamp bound is
+     * extended in the background, so that requests do not have to wait for the bound to be stored. Must be in (0, 1];
+     * 1 disables background extension. Only applies to clients created after it is changed.
+     */
+    @JsonProperty("timestamp-preallocation-threshold")
+    @Value.Default
+    default double timestampPreallocationThreshold() {
+        return PersistentUpperLimit.DEFAULT_PREALLOCATION_THRESHOLD;
+    }
+
     @Value.Check
     default void check() {
         Preconditions.checkArgument(pingRateMs() > 0,
@@ -41,5 +70,9 @@ public interface PaxosRuntimeConfiguration {
                 "Maximum wait before proposal must be positive; found '%s'.", maximumWaitBeforeProposalMs());
         Preconditions.checkArgument(leaderPingResponseWaitMs() > 0,
                 "Leader ping response wait interval must be positive; found '%s'.", leaderPingResponseWaitMs());
+        Preconditions.checkArgument(leaderLeaseDurationMs() >= 0,
+                "Leader lease duration must be non-negative; found '%s'.", leaderLeaseDurationMs());
+        Preconditions.checkArgument(timestampPreallocationThreshold() > 0 && timestampPreallocationThreshold() <= 1,
+                "Timestamp preallocation threshold must be in (0, 1]; found '%s'.", timestampPreallocationThreshold());
     }
 }
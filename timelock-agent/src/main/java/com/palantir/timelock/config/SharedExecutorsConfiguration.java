@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ */
+
+package com.palantir.timelock.config;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+/**
+ * Sizes of the thread pools that TimeLock shares between all of its clients.
+ */
+@JsonDeserialize(as = ImmutableSharedExecutorsConfiguration.class)
+@JsonSerialize(as = ImmutableSharedExecutorsConfiguration.class)
+@Value.Immutable
+public interface SharedExecutorsConfiguration {
+    /**
+     * The number of threads used to make timestamp Paxos requests to other nodes, across all clients.
+     */
+    @JsonProperty("paxos-threads")
+    @Value.Default
+    default int paxosThreads() {
+        return 256;
+    }
+
+    /**
+     * The maximum number of timestamp Paxos requests that a single client may have in flight or waiting for a thread
+     * at once. Further requests for that client are queued until one of its earlier requests completes, so that a
+     * busy client cannot take all of the shared Paxos threads.
+     */
+    @JsonProperty("paxos-threads-per-client")
+    @Value.Default
+    default int paxosThreadsPerClient() {
+        return 16;
+    }
+
+    /**
+     * The number of threads used to make timestamp Paxos requests to each other node, across all clients. Requests to
+     * a node whose threads are all busy wait for one, up to the remote call timeout, so a node that stops responding
+     * can only tie up its own threads.
+     */
+    @JsonProperty("paxos-threads-per-remote")
+    @Value.Default
+    default int paxosThreadsPerRemote() {
+        return 64;
+    }
+
+    /**
+     * How long a timestamp Paxos request waits for a response from another node before giving up on that node. The
+     * call to the other node is cancelled, but its thread is only freed once the underlying HTTP request returns.
+     */
+    @JsonProperty("paxos-remote-call-timeout-ms")
+    @Value.Default
+    default long paxosRemoteCallTimeoutMs() {
+        return 5_000;
+    }
+
+    /**
+     * The number of threads used to serve the entries of batched timestamp Paxos requests from other nodes, across
+     * all clients. The entries of a batch are served in parallel, so that their log writes are not made one after
+     * another.
+     */
+    @JsonProperty("batch-paxos-threads")
+    @Value.Default
+    default int batchPaxosThreads() {
+        return 64;
+    }
+
+    /**
+     * The number of threads used to run scheduled tasks, such as expiring held locks and timing out lock requests,
+     * across all clients.
+     */
+    @JsonProperty("scheduler-threads")
+    @Value.Default
+    default int schedulerThreads() {
+        return 4;
+    }
+
+    /**
+     * The number of threads used to write the responses to lock requests that had to wait for their locks, across all
+     * clients. Requests that are served immediately respond on their own server thread.
+     */
+    @JsonProperty("lock-response-threads")
+    @Value.Default
+    default int lockResponseThreads() {
+        return 8;
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(paxosThreads() > 0,
+                "Number of paxos threads must be positive; found '%s'.", paxosThreads());
+        Preconditions.checkArgument(paxosThreadsPerClient() > 0,
+                "Number of paxos threads per client must be positive; found '%s'.", paxosThreadsPerClient());
+        Preconditions.checkArgument(paxosThreadsPerRemote() > 0,
+                "Number of paxos threads per remote must be positive; found '%s'.", paxosThreadsPerRemote());
+        Preconditions.checkArgument(paxosRemoteCallTimeoutMs() > 0,
+                "Paxos remote call timeout must be positive; found '%s'.", paxosRemoteCallTimeoutMs());
+        Preconditions.checkArgument(batchPaxosThreads() > 0,
+                "Number of batch paxos threads must be positive; found '%s'.", batchPaxosThreads());
+        Preconditions.checkArgument(schedulerThreads() > 0,
+                "Number of scheduler threads must be positive; found '%s'.", schedulerThreads());
+        Preconditions.checkArgument(lockResponseThreads() > 0,
+                "Number of lock response threads must be positive; found '%s'.", lockResponseThreads());
+    }
+}
@@ -6,6 +6,7 @@ package com.palantir.timelock.config;
 
 import org.immutables.value.Value;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.atlasdb.timelock.config.AsyncLockConfiguration;
@@ -31,4 +32,10 @@ public interface TimeLockInstallConfiguration {
     default AsyncLockConfiguration asyncLock() {
         return ImmutableAsyncLockConfiguration.builder().build();
     }
+
+    @JsonProperty("shared-executors")
+    @Value.Default
+    default SharedExecutorsConfiguration sharedExecutors() {
+        return ImmutableSharedExecutorsConfiguration.builder().build();
+    }
 }
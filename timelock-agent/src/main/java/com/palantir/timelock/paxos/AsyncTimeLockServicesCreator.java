@@ -16,15 +16,12 @@
 
 package com.palantir.timelock.paxos;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.MetricRegistry;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.palantir.atlasdb.timelock.AsyncTimelockResource;
 import com.palantir.atlasdb.timelock.AsyncTimelockService;
 import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
@@ -44,11 +41,14 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
 
     private final PaxosLeadershipCreator leadershipCreator;
     private final AsyncLockConfiguration asyncLockConfiguration;
+    private final SharedTimeLockExecutors sharedExecutors;
 
     public AsyncTimeLockServicesCreator(PaxosLeadershipCreator leadershipCreator,
-            AsyncLockConfiguration asyncLockConfiguration) {
+            AsyncLockConfiguration asyncLockConfiguration,
+            SharedTimeLockExecutors sharedExecutors) {
         this.leadershipCreator = leadershipCreator;
         this.asyncLockConfiguration = asyncLockConfiguration;
+        this.sharedExecutors = sharedExecutors;
     }
 
     @Override
@@ -60,10 +60,10 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
         AsyncOrLegacyTimelockService asyncOrLegacyTimelockService;
         AsyncTimelockService asyncTimelockService = instrumentInLeadershipProxy(
                 AsyncTimelockService.class,
-                () -> AsyncTimeLockServicesCreator.createRawAsyncTimelockService(client, rawTimestampServiceSupplier),
+                () -> createRawAsyncTimelockService(rawTimestampServiceSupplier),
                 client);
         asyncOrLegacyTimelockService = AsyncOrLegacyTimelockService.createFromAsyncTimelock(
-                new AsyncTimelockResource(asyncTimelockService));
+                new AsyncTimelockResource(asyncTimelockService, sharedExecutors.lockResponseExecutor()));
 
         LockService lockService = instrumentInLeadershipProxy(
                 LockService.class,
@@ -79,21 +79,10 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
                 asyncTimelockService);
     }
 
-    private static AsyncTimelockService createRawAsyncTimelockService(
-            String client,
+    private AsyncTimelockService createRawAsyncTimelockService(
             Supplier<ManagedTimestampService> timestampServiceSupplier) {
-        ScheduledExecutorService reaperExecutor = Executors.newSingleThreadScheduledExecutor(
-                new ThreadFactoryBuilder()
-                        .setNameFormat("async-lock-reaper-" + client + "-%d")
-                        .setDaemon(true)
-                        .build());
-        ScheduledExecutorService timeoutExecutor = Executors.newSingleThreadScheduledExecutor(
-                new ThreadFactoryBuilder()
-                        .setNameFormat("async-lock-timeouts-" + client + "-%d")
-                        .setDaemon(true)
-                        .build());
         return new AsyncTimelockServiceImpl(
-                AsyncLockService.createDefault(reaperExecutor, timeoutExecutor),
+                AsyncLockService.createDefault(sharedExecutors.scheduler(), sharedExecutors.scheduler()),
                 timestampServiceSupplier.get());
     }
 
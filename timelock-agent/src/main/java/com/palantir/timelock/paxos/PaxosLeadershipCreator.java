@@ -99,6 +99,9 @@ public class PaxosLeadershipCreator {
                 .quorumSize(PaxosRemotingUtils.getQuorumSize(PaxosRemotingUtils.getClusterAddresses(install)))
                 .leaderPingResponseWaitMs(paxosRuntimeConfiguration.pingRateMs())
                 .randomWaitBeforeProposingLeadershipMs(paxosRuntimeConfiguration.pingRateMs())
+                .leaderLeaseDurationMs(paxosRuntimeConfiguration.leaderLeaseDurationMs())
+                .useSegmentedPaxosLogs(install.paxos().segmentedLogs())
+                .deleteMigratedLegacyPaxosLogs(install.paxos().deleteMigratedLegacyLogs())
                 .build();
     }
 
@@ -17,20 +17,25 @@
 package com.palantir.timelock.paxos;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLSocketFactory;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.config.LeaderConfig;
-import com.palantir.atlasdb.factory.Leaders;
+import com.palantir.atlasdb.http.AtlasDbHttpClients;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosRemote;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosService;
 import com.palantir.atlasdb.timelock.paxos.DelegatingManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.PaxosResource;
@@ -52,39 +57,28 @@ public class PaxosTimestampCreator implements TimestampCreator {
     private final Set<String> remoteServers;
     private final Optional<SSLSocketFactory> optionalSecurity;
     private final Supplier<PaxosRuntimeConfiguration> paxosRuntime;
+    private final SharedTimeLockExecutors sharedExecutors;
+    private final Map<String, BatchPaxosRemote> batchPaxosRemotes = Maps.newConcurrentMap();
 
     public PaxosTimestampCreator(PaxosResource paxosResource,
             Set<String> remoteServers,
             Optional<SSLSocketFactory> optionalSecurity,
-            Supplier<PaxosRuntimeConfiguration> paxosRuntime) {
+            Supplier<PaxosRuntimeConfiguration> paxosRuntime,
+            SharedTimeLockExecutors sharedExecutors) {
         this.paxosResource = paxosResource;
         this.remoteServers = remoteServers;
         this.optionalSecurity = optionalSecurity;
         this.paxosRuntime = paxosRuntime;
+        this.sharedExecutors = sharedExecutors;
     }
 
     @Override
     public Supplier<ManagedTimestampService> createTimestampService(String client, LeaderConfig unused) {
-        ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
-                .setNameFormat("atlas-consensus-" + client + "-%d")
-                .setDaemon(true)
-                .build());
-
-        Set<String> namespacedUris = PaxosTimeLockUriUtils.getClientPaxosUris(remoteServers, client);
-        List<PaxosAcceptor> acceptors = Leaders.createProxyAndLocalList(
-                paxosResource.getPaxosAcceptor(client),
-                namespacedUris,
-                optionalSecurity,
-                PaxosAcceptor.class,
-                "timestamp-bound-store." + client);
+        ExecutorService executor = sharedExecutors.newClientPaxosExecutor();
 
         PaxosLearner ourLearner = paxosResource.getPaxosLearner(client);
-        List<PaxosLearner> learners = Leaders.createProxyAndLocalList(
-                ourLearner,
-                namespacedUris,
-                optionalSecurity,
-                PaxosLearner.class,
-                "timestamp-bound-store." + client);
+        List<PaxosAcceptor> acceptors = createAcceptors(client);
+        List<PaxosLearner> learners = createLearners(client, ourLearner);
 
         PaxosProposer proposer = instrument(PaxosProposer.class,
                 PaxosProposerImpl.newProposer(
@@ -96,16 +90,55 @@ public class PaxosTimestampCreator implements TimestampCreator {
                         executor),
                 client);
 
-        PaxosSynchronizer.synchronizeLearner(ourLearner, learners);
+        PaxosSynchronizer.synchronizeLearner(ourLearner, learners, executor);
 
-        return () -> createManagedPaxosTimestampService(proposer, client, acceptors, learners);
+        return () -> createManagedPaxosTimestampService(proposer, client, acceptors, learners, executor);
+    }
+
+    private List<PaxosAcceptor> createAcceptors(String client) {
+        boolean batch = paxosRuntime.get().batchTimestampPaxos();
+        ImmutableList.Builder<PaxosAcceptor> acceptors = ImmutableList.builder();
+        for (String server : remoteServers) {
+            PaxosAcceptor clientAcceptor = createClientProxy(server, client, PaxosAcceptor.class);
+            PaxosAcceptor remote = batch
+                    ? getBatchPaxosRemote(server).acceptorFor(client, clientAcceptor)
+                    : clientAcceptor;
+            acceptors.add(sharedExecutors.limitRemoteCalls(server, PaxosAcceptor.class, remote));
+        }
+        return acceptors.add(paxosResource.getPaxosAcceptor(client)).build();
+    }
+
+    private List<PaxosLearner> createLearners(String client, PaxosLearner ourLearner) {
+        boolean batch = paxosRuntime.get().batchTimestampPaxos();
+        ImmutableList.Builder<PaxosLearner> learners = ImmutableList.builder();
+        for (String server : remoteServers) {
+            PaxosLearner clientLearner = createClientProxy(server, client, PaxosLearner.class);
+            PaxosLearner remote = batch
+                    ? getBatchPaxosRemote(server).learnerFor(client, clientLearner)
+                    : clientLearner;
+            learners.add(sharedExecutors.limitRemoteCalls(server, PaxosLearner.class, remote));
+        }
+        return learners.add(ourLearner).build();
+    }
+
+    private <T> T createClientProxy(String server, String client, Class<T> type) {
+        String uri = Iterables.getOnlyElement(
+                PaxosTimeLockUriUtils.getClientPaxosUris(ImmutableSet.of(server), client));
+        return AtlasDbHttpClients.createProxy(optionalSecurity, uri, true, type, "timestamp-bound-store." + client);
+    }
+
+    private BatchPaxosRemote getBatchPaxosRemote(String server) {
+        return batchPaxosRemotes.computeIfAbsent(server, unused -> new BatchPaxosRemote(
+                AtlasDbHttpClients.createProxy(
+                        optionalSecurity, server, true, BatchPaxosService.class, "timestamp-bound-store.batch")));
     }
 
     private ManagedTimestampService createManagedPaxosTimestampService(
             PaxosProposer proposer,
             String client,
             List<PaxosAcceptor> acceptors,
-            List<PaxosLearner> learners) {
+            List<PaxosLearner> learners,
+            ExecutorService executor) {
         // TODO (jkong): live reload ping
         TimestampBoundStore boundStore = instrument(TimestampBoundStore.class,
                 new PaxosTimestampBoundStore(
@@ -113,9 +146,13 @@ public class PaxosTimestampCreator implements TimestampCreator {
                         paxosResource.getPaxosLearner(client),
                         ImmutableList.copyOf(acceptors),
                         ImmutableList.copyOf(learners),
-                        paxosRuntime.get().maximumWaitBeforeProposalMs()),
+                        paxosRuntime.get().maximumWaitBeforeProposalMs(),
+                        executor),
                 client);
-        PersistentTimestampService persistentTimestampService = PersistentTimestampServiceImpl.create(boundStore);
+        PersistentTimestampService persistentTimestampService = PersistentTimestampServiceImpl.create(
+                boundStore,
+                AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC,
+                paxosRuntime.get().timestampPreallocationThreshold());
         return new DelegatingManagedTimestampService(persistentTimestampService, persistentTimestampService);
     }
 
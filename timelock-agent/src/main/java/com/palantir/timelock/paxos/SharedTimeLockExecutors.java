@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timelock.paxos;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.SimpleTimeLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.atlasdb.timelock.util.ConcurrencyLimitedExecutorService;
+import com.palantir.timelock.config.SharedExecutorsConfiguration;
+
+/**
+ * Thread pools shared by the services of all TimeLock clients, so that the number of threads a node uses does not
+ * grow with the number of clients it serves.
+ */
+public final class SharedTimeLockExecutors {
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private final ThreadPoolExecutor paxosExecutor;
+    private final ThreadPoolExecutor batchPaxosExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService lockResponseExecutor;
+    private final int paxosThreads;
+    private final int paxosThreadsPerClient;
+    private final int paxosThreadsPerRemote;
+    private final long paxosRemoteCallTimeoutMs;
+    private final Map<String, SimpleTimeLimiter> remoteCallLimiters = Maps.newConcurrentMap();
+
+    public SharedTimeLockExecutors(SharedExecutorsConfiguration config) {
+        this.paxosExecutor = new ThreadPoolExecutor(
+                config.paxosThreads(),
+                config.paxosThreads(),
+                IDLE_THREAD_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                daemonThreadFactory("atlas-consensus-%d"));
+        this.paxosExecutor.allowCoreThreadTimeOut(true);
+        this.batchPaxosExecutor = new ThreadPoolExecutor(
+                config.batchPaxosThreads(),
+                config.batchPaxosThreads(),
+                IDLE_THREAD_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                daemonThreadFactory("atlas-consensus-batch-%d"));
+        this.batchPaxosExecutor.allowCoreThreadTimeOut(true);
+        this.scheduler = Executors.newScheduledThreadPool(
+                config.schedulerThreads(),
+                daemonThreadFactory("timelock-scheduler-%d"));
+        this.lockResponseExecutor = Executors.newFixedThreadPool(
+                config.lockResponseThreads(),
+                daemonThreadFactory("timelock-lock-responses-%d"));
+        this.paxosThreads = config.paxosThreads();
+        this.paxosThreadsPerClient = config.paxosThreadsPerClient();
+        this.paxosThreadsPerRemote = config.paxosThreadsPerRemote();
+        this.paxosRemoteCallTimeoutMs = config.paxosRemoteCallTimeoutMs();
+    }
+
+    /**
+     * Creates an executor for one client's Paxos requests. Its tasks run on the shared Paxos threads, but at most
+     * {@link SharedExecutorsConfiguration#paxosThreadsPerClient()} of them are handed to those threads at once.
+     */
+    public ExecutorService newClientPaxosExecutor() {
+        return new ConcurrencyLimitedExecutorService(paxosExecutor, paxosThreadsPerClient);
+    }
+
+    /**
+     * Wraps a proxy for a Paxos service on another node, so that its calls run on threads dedicated to that node, and
+     * the calling thread gives up on them after {@link SharedExecutorsConfiguration#paxosRemoteCallTimeoutMs()}.
+     * Calls made while all {@link SharedExecutorsConfiguration#paxosThreadsPerRemote()} of the node's threads are busy
+     * wait for one, and that wait counts towards the timeout. A node that stops responding therefore cannot hold on
+     * to the shared Paxos threads.
+     * <p>
+     * The queue holds as many calls as there are shared Paxos threads, so calls to a node that is responding are
+     * never rejected. Calls that timed out stay in the queue until one of the node's threads is free, so once a hung
+     * node has timed out that many calls, further calls to it fail immediately until it recovers.
+     */
+    public <T> T limitRemoteCalls(String server, Class<T> type, T remote) {
+        SimpleTimeLimiter limiter = remoteCallLimiters.computeIfAbsent(server, unused -> {
+            ThreadPoolExecutor remoteExecutor = new ThreadPoolExecutor(
+                    paxosThreadsPerRemote,
+                    paxosThreadsPerRemote,
+                    IDLE_THREAD_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(paxosThreads),
+                    daemonThreadFactory("atlas-consensus-remote-%d"));
+            remoteExecutor.allowCoreThreadTimeOut(true);
+            return new SimpleTimeLimiter(remoteExecutor);
+        });
+        return limiter.newProxy(remote, type, paxosRemoteCallTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the executor on which the entries of batched Paxos requests from other nodes are served.
+     */
+    public ExecutorService batchPaxosExecutor() {
+        return batchPaxosExecutor;
+    }
+
+    /**
+     * Returns the scheduler shared by all clients. Callers must cancel the tasks they schedule, rather than shutting
+     * the scheduler down.
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the executor on which responses to lock requests that had to wait for their locks are written.
+     */
+    public ExecutorService lockResponseExecutor() {
+        return lockResponseExecutor;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder()
+                .setNameFormat(nameFormat)
+                .setDaemon(true)
+                .build();
+    }
+}
@@ -27,10 +27,12 @@ import com.palantir.atlasdb.timelock.TimeLockResource;
 import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.atlasdb.timelock.TooManyRequestsExceptionMapper;
 import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.paxos.BatchPaxosResource;
 import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
 import com.palantir.atlasdb.timelock.paxos.PaxosResource;
 import com.palantir.atlasdb.util.JavaSuppliers;
 import com.palantir.lock.LockService;
+import com.palantir.paxos.PaxosStateLogFormat;
 import com.palantir.remoting3.config.ssl.SslSocketFactories;
 import com.palantir.timelock.TimeLockStatus;
 import com.palantir.timelock.clock.ClockSkewMonitorCreator;
@@ -49,6 +51,7 @@ public class TimeLockAgent {
     private final Supplier<TimeLockRuntimeConfiguration> runtime;
     private final Consumer<Object> registrar;
 
+    private final SharedTimeLockExecutors sharedExecutors;
     private final PaxosResource paxosResource;
     private final PaxosLeadershipCreator leadershipCreator;
     private final LockCreator lockCreator;
@@ -74,12 +77,14 @@ public class TimeLockAgent {
         this.runtime = runtime;
         this.registrar = registrar;
 
-        this.paxosResource = PaxosResource.create(install.paxos().dataDirectory().toString());
+        this.sharedExecutors = new SharedTimeLockExecutors(install.sharedExecutors());
+        this.paxosResource = PaxosResource.create(install.paxos().dataDirectory().toString(),
+                PaxosStateLogFormat.of(install.paxos().segmentedLogs(), install.paxos().deleteMigratedLegacyLogs()));
         this.leadershipCreator = new PaxosLeadershipCreator(install, runtime, registrar);
         this.lockCreator = new LockCreator(runtime, deprecated);
         this.timestampCreator = getTimestampCreator();
         this.timelockCreator = install.asyncLock().useAsyncLockService()
-                ? new AsyncTimeLockServicesCreator(leadershipCreator, install.asyncLock())
+                ? new AsyncTimeLockServicesCreator(leadershipCreator, install.asyncLock(), sharedExecutors)
                 : new LegacyTimeLockServicesCreator(leadershipCreator);
     }
 
@@ -100,7 +105,8 @@ public class TimeLockAgent {
         return new PaxosTimestampCreator(paxosResource,
                 PaxosRemotingUtils.getRemoteServerPaths(install),
                 PaxosRemotingUtils.getSslConfigurationOptional(install).map(SslSocketFactories::createSslSocketFactory),
-                JavaSuppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime));
+                JavaSuppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime),
+                sharedExecutors);
     }
 
     private void createAndRegisterResources() {
@@ -137,6 +143,7 @@ public class TimeLockAgent {
     // No runtime configuration at the moment.
     private void registerPaxosResource() {
         registrar.accept(paxosResource);
+        registrar.accept(new BatchPaxosResource(paxosResource, sharedExecutors.batchPaxosExecutor()));
     }
 
     private void registerExceptionMappers() {
@@ -65,4 +65,25 @@ public class PaxosRuntimeConfigurationTest {
                 .leaderPingResponseWaitMs(NEGATIVE_LONG)
                 ::build).isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    public void canSpecifyTimestampPreallocationThresholdOfOne() {
+        ImmutablePaxosRuntimeConfiguration.builder()
+                .timestampPreallocationThreshold(1.0)
+                .build();
+    }
+
+    @Test
+    public void throwOnNonPositiveTimestampPreallocationThreshold() {
+        assertThatThrownBy(ImmutablePaxosRuntimeConfiguration.builder()
+                .timestampPreallocationThreshold(0.0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnTimestampPreallocationThresholdAboveOne() {
+        assertThatThrownBy(ImmutablePaxosRuntimeConfiguration.builder()
+                .timestampPreallocationThreshold(1.5)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
 }
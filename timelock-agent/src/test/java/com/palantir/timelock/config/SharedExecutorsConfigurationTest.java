@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timelock.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class SharedExecutorsConfigurationTest {
+    @Test
+    public void canSpecifyPositiveThreadCounts() {
+        SharedExecutorsConfiguration config = ImmutableSharedExecutorsConfiguration.builder()
+                .paxosThreads(8)
+                .paxosThreadsPerClient(2)
+                .schedulerThreads(1)
+                .lockResponseThreads(1)
+                .build();
+
+        assertThat(config.paxosThreadsPerClient()).isEqualTo(2);
+    }
+
+    @Test
+    public void throwOnNonPositivePaxosThreads() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .paxosThreads(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositivePaxosThreadsPerClient() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .paxosThreadsPerClient(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositivePaxosThreadsPerRemote() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .paxosThreadsPerRemote(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositivePaxosRemoteCallTimeout() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .paxosRemoteCallTimeoutMs(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositiveBatchPaxosThreads() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .batchPaxosThreads(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositiveSchedulerThreads() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .schedulerThreads(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnNonPositiveLockResponseThreads() {
+        assertThatThrownBy(ImmutableSharedExecutorsConfiguration.builder()
+                .lockResponseThreads(0)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+}
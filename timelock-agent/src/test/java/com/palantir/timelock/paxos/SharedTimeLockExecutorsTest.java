@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.timelock.config.ImmutableSharedExecutorsConfiguration;
+
+public class SharedTimeLockExecutorsTest {
+    private static final PaxosValue VALUE = new PaxosValue("leader", 1L, null);
+
+    private final SharedTimeLockExecutors executors = new SharedTimeLockExecutors(
+            ImmutableSharedExecutorsConfiguration.builder()
+                    .paxosThreads(1)
+                    .paxosThreadsPerClient(1)
+                    .paxosThreadsPerRemote(1)
+                    .paxosRemoteCallTimeoutMs(100)
+                    .build());
+    private final CountDownLatch hungPeerResponds = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        hungPeerResponds.countDown();
+    }
+
+    @Test
+    public void hungRemoteDoesNotHoldSharedPaxosThreads() throws Exception {
+        PaxosLearner hungPeer = executors.limitRemoteCalls("hung", PaxosLearner.class, hungLearner());
+
+        Future<PaxosValue> hungCall = executors.newClientPaxosExecutor().submit(hungPeer::getGreatestLearnedValue);
+        Future<String> otherClientCall = executors.newClientPaxosExecutor().submit(() -> "done");
+
+        assertThat(otherClientCall.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThatThrownBy(hungCall::get).hasCauseInstanceOf(UncheckedTimeoutException.class);
+    }
+
+    @Test
+    public void callsWaitingForAThreadOfAHungRemoteTimeOut() {
+        PaxosLearner hungPeer = executors.limitRemoteCalls("hung", PaxosLearner.class, hungLearner());
+
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(UncheckedTimeoutException.class);
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(UncheckedTimeoutException.class);
+    }
+
+    @Test
+    public void callsToHungRemoteFailImmediatelyOnceItsQueueIsFullOfTimedOutCalls() {
+        PaxosLearner hungPeer = executors.limitRemoteCalls("hung", PaxosLearner.class, hungLearner());
+
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(UncheckedTimeoutException.class);
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(UncheckedTimeoutException.class);
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void burstOfMoreCallsThanThreadsPerRemoteToResponsiveRemoteAllSucceed() throws Exception {
+        int paxosThreads = 16;
+        SharedTimeLockExecutors burstExecutors = new SharedTimeLockExecutors(
+                ImmutableSharedExecutorsConfiguration.builder()
+                        .paxosThreads(paxosThreads)
+                        .paxosThreadsPerClient(paxosThreads)
+                        .paxosThreadsPerRemote(2)
+                        .paxosRemoteCallTimeoutMs(5_000)
+                        .build());
+        PaxosLearner slowLearner = mock(PaxosLearner.class);
+        when(slowLearner.getGreatestLearnedValue()).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return VALUE;
+        });
+        PaxosLearner peer = burstExecutors.limitRemoteCalls("peer", PaxosLearner.class, slowLearner);
+
+        ExecutorService clientExecutor = burstExecutors.newClientPaxosExecutor();
+        CountDownLatch allStarted = new CountDownLatch(paxosThreads);
+        List<Future<PaxosValue>> calls = Lists.newArrayList();
+        for (int i = 0; i < paxosThreads; i++) {
+            calls.add(clientExecutor.submit(() -> {
+                allStarted.countDown();
+                allStarted.await();
+                return peer.getGreatestLearnedValue();
+            }));
+        }
+
+        for (Future<PaxosValue> call : calls) {
+            assertThat(call.get(5, TimeUnit.SECONDS)).isEqualTo(VALUE);
+        }
+    }
+
+    @Test
+    public void hungRemoteDoesNotAffectCallsToOtherRemotes() {
+        PaxosLearner hungPeer = executors.limitRemoteCalls("hung", PaxosLearner.class, hungLearner());
+        PaxosLearner healthyLearner = mock(PaxosLearner.class);
+        when(healthyLearner.getGreatestLearnedValue()).thenReturn(VALUE);
+        PaxosLearner healthyPeer = executors.limitRemoteCalls("healthy", PaxosLearner.class, healthyLearner);
+
+        assertThatThrownBy(hungPeer::getGreatestLearnedValue).isInstanceOf(UncheckedTimeoutException.class);
+        assertThat(healthyPeer.getGreatestLearnedValue()).isEqualTo(VALUE);
+    }
+
+    private PaxosLearner hungLearner() {
+        PaxosLearner learner = mock(PaxosLearner.class);
+        when(learner.getGreatestLearnedValue()).thenAnswer(invocation -> {
+            // a blocking socket read does not respond to interruption either
+            Uninterruptibles.awaitUninterruptibly(hungPeerResponds);
+            return VALUE;
+        });
+        return learner;
+    }
+}
@@ -17,6 +17,7 @@
 package com.palantir.atlasdb.timelock;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
@@ -27,6 +28,7 @@ import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.timelock.lock.AsyncResult;
 import com.palantir.atlasdb.timelock.lock.LockLog;
 import com.palantir.lock.v2.LockImmutableTimestampRequest;
@@ -39,15 +41,26 @@ import com.palantir.lock.v2.WaitForLocksResponse;
 import com.palantir.logsafe.Safe;
 import com.palantir.timestamp.TimestampRange;
 
+/**
+ * Lock and wait-for-locks requests are suspended while they wait for their locks, so they do not hold a server thread.
+ * If a request cannot be served immediately, its response is written on the response executor once the request
+ * completes, rather than on the thread that released the locks, timed the request out or lost leadership.
+ */
 @Path("/timelock")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class AsyncTimelockResource {
 
     private final AsyncTimelockService timelock;
+    private final Executor responseExecutor;
 
     public AsyncTimelockResource(AsyncTimelockService timelock) {
+        this(timelock, MoreExecutors.directExecutor());
+    }
+
+    public AsyncTimelockResource(AsyncTimelockService timelock, Executor responseExecutor) {
         this.timelock = timelock;
+        this.responseExecutor = responseExecutor;
     }
 
     @POST
@@ -79,7 +92,7 @@ public class AsyncTimelockResource {
     public void lock(@Suspended final AsyncResponse response, LockRequest request) {
         AsyncResult<LockToken> result = timelock.lock(request);
         LockLog.registerRequest(request, result);
-        result.onComplete(() -> {
+        resumeWhenComplete(result, () -> {
             if (result.isFailed()) {
                 response.resume(result.getError());
             } else if (result.isTimedOut()) {
@@ -95,7 +108,7 @@ public class AsyncTimelockResource {
     public void waitForLocks(@Suspended final AsyncResponse response, WaitForLocksRequest request) {
         AsyncResult<Void> result = timelock.waitForLocks(request);
         LockLog.registerRequest(request, result);
-        result.onComplete(() -> {
+        resumeWhenComplete(result, () -> {
             if (result.isFailed()) {
                 response.resume(result.getError());
             } else if (result.isTimedOut()) {
@@ -123,4 +136,12 @@ public class AsyncTimelockResource {
     public long currentTimeMillis() {
         return timelock.currentTimeMillis();
     }
+
+    private void resumeWhenComplete(AsyncResult<?> result, Runnable resume) {
+        if (result.isComplete()) {
+            resume.run();
+        } else {
+            result.onCompleteAsync(resume, responseExecutor);
+        }
+    }
 }
@@ -21,7 +21,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +38,7 @@ public class AsyncLockService implements Closeable {
 
     private final LockCollection locks;
     private final LockAcquirer lockAcquirer;
-    private final ScheduledExecutorService reaperExecutor;
+    private final ScheduledFuture<?> reaperTask;
     private final HeldLocksCollection heldLocks;
     private final AwaitedLocksCollection awaitedLocks;
     private final ImmutableTimestampTracker immutableTsTracker;
@@ -65,19 +67,17 @@ public class AsyncLockService implements Closeable {
         this.lockAcquirer = acquirer;
         this.heldLocks = heldLocks;
         this.awaitedLocks = awaitedLocks;
-        this.reaperExecutor = reaperExecutor;
-
-        scheduleExpiredLockReaper();
+        this.reaperTask = scheduleExpiredLockReaper(reaperExecutor);
     }
 
-    private void scheduleExpiredLockReaper() {
-        reaperExecutor.scheduleAtFixedRate(() -> {
+    private ScheduledFuture<?> scheduleExpiredLockReaper(ScheduledExecutorService reaperExecutor) {
+        return reaperExecutor.scheduleAtFixedRate(() -> {
             try {
                 heldLocks.removeExpired();
             } catch (Throwable t) {
                 log.warn("Error while removing expired lock requests. Trying again on next iteration.", t);
             }
-        }, 0, LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS / 2, TimeUnit.MILLISECONDS);
+        }, 0, HeldLocksCollection.EXPIRY_TICK_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     public AsyncResult<LockToken> lock(UUID requestId, Set<LockDescriptor> lockDescriptors, TimeLimit timeout) {
@@ -105,13 +105,34 @@ public class AsyncLockService implements Closeable {
     private AsyncResult<HeldLocks> acquireLocks(UUID requestId, Set<LockDescriptor> lockDescriptors,
             TimeLimit timeout) {
         OrderedLocks orderedLocks = locks.getAll(lockDescriptors);
-        return lockAcquirer.acquireLocks(requestId, orderedLocks, timeout);
+        AsyncResult<HeldLocks> result = releaseIfThrows(orderedLocks,
+                () -> lockAcquirer.acquireLocks(requestId, orderedLocks, timeout));
+        result.onComplete(() -> {
+            if (result.isCompletedSuccessfully()) {
+                result.get().onUnlock(() -> locks.release(orderedLocks));
+            } else {
+                locks.release(orderedLocks);
+            }
+        });
+        return result;
     }
 
     private AsyncResult<Void> awaitLocks(UUID requestId, Set<LockDescriptor> lockDescriptors,
             TimeLimit timeout) {
         OrderedLocks orderedLocks = locks.getAll(lockDescriptors);
-        return lockAcquirer.waitForLocks(requestId, orderedLocks, timeout);
+        AsyncResult<Void> result = releaseIfThrows(orderedLocks,
+                () -> lockAcquirer.waitForLocks(requestId, orderedLocks, timeout));
+        result.onComplete(() -> locks.release(orderedLocks));
+        return result;
+    }
+
+    private <T> AsyncResult<T> releaseIfThrows(OrderedLocks orderedLocks, Supplier<AsyncResult<T>> acquisition) {
+        try {
+            return acquisition.get();
+        } catch (RuntimeException | Error e) {
+            locks.release(orderedLocks);
+            throw e;
+        }
     }
 
     private AsyncResult<HeldLocks> acquireImmutableTimestampLock(UUID requestId, long timestamp) {
@@ -137,11 +158,12 @@ public class AsyncLockService implements Closeable {
 
     /**
      * Shuts down the lock service, and fails any outstanding requests with a {@link
-     * com.palantir.leader.NotCurrentLeaderException}.
+     * com.palantir.leader.NotCurrentLeaderException}. The executors passed in are not shut down, as they may be
+     * shared with the lock services of other clients.
      */
     @Override
     public void close() {
-        reaperExecutor.shutdown();
+        reaperTask.cancel(false);
         heldLocks.failAllOutstandingRequestsWithNotCurrentLeaderException();
     }
 }
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.timelock.lock;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -188,6 +189,13 @@ public class AsyncResult<T> {
         future.whenCompleteAsync((result, error) -> completionHandler.run());
     }
 
+    /**
+     * Runs {@code completionHandler} on {@code executor} once this result completes, whether successfully or not.
+     */
+    public void onCompleteAsync(Runnable completionHandler, Executor executor) {
+        future.whenCompleteAsync((result, error) -> completionHandler.run(), executor);
+    }
+
     private static boolean isTimeout(Throwable ex) {
         return ex instanceof TimeoutException || ex.getCause() instanceof TimeoutException;
     }
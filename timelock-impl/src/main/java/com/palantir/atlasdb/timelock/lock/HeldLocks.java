@@ -34,6 +34,8 @@ public class HeldLocks {
 
     @GuardedBy("this")
     private boolean isUnlocked = false;
+    @GuardedBy("this")
+    private Runnable unlockCallback = null;
 
     public HeldLocks(Collection<AsyncLock> acquiredLocks, UUID requestId) {
         this(acquiredLocks, requestId, new LeaseExpirationTimer(System::currentTimeMillis));
@@ -77,10 +79,34 @@ public class HeldLocks {
         for (AsyncLock lock : acquiredLocks) {
             lock.unlock(token.getRequestId());
         }
+        if (unlockCallback != null) {
+            unlockCallback.run();
+        }
 
         return true;
     }
 
+    /**
+     * Runs the callback once these locks have been unlocked, or immediately if they already have been.
+     */
+    public void onUnlock(Runnable callback) {
+        synchronized (this) {
+            if (!isUnlocked) {
+                Runnable previousCallback = unlockCallback;
+                unlockCallback = previousCallback == null ? callback : () -> {
+                    previousCallback.run();
+                    callback.run();
+                };
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    public long getExpiryTimeMillis() {
+        return expirationTimer.getExpiryTimeMillis();
+    }
+
     public LockToken getToken() {
         return token;
     }
@@ -13,10 +13,8 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.palantir.atlasdb.timelock.lock;
 
-import java.util.Iterator;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
@@ -26,19 +24,40 @@ import java.util.function.Supplier;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.palantir.common.time.Clock;
+import com.palantir.common.time.TimingWheel;
 import com.palantir.leader.NotCurrentLeaderException;
 import com.palantir.lock.v2.LockToken;
 
+/**
+ * Tracks lock requests by request ID. Lease deadlines are kept in a {@link TimingWheel} and moved whenever a lease is
+ * refreshed, so that {@link #removeExpired} only visits the requests that are due to expire, rather than every
+ * request. Requests that fail or time out are due immediately, and so are removed on the next call.
+ */
 public class HeldLocksCollection {
+    public static final long EXPIRY_TICK_MILLIS = 100;
 
     @VisibleForTesting
     final ConcurrentMap<UUID, AsyncResult<HeldLocks>> heldLocksById = Maps.newConcurrentMap();
 
+    private final Clock clock;
+    private final TimingWheel<UUID> expiryWheel;
+
+    public HeldLocksCollection() {
+        this(System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    HeldLocksCollection(Clock clock) {
+        this.clock = clock;
+        this.expiryWheel = new TimingWheel<>(EXPIRY_TICK_MILLIS, clock.getTimeMillis());
+    }
+
     public AsyncResult<LockToken> getExistingOrAcquire(
             UUID requestId,
             Supplier<AsyncResult<HeldLocks>> lockAcquirer) {
         AsyncResult<HeldLocks> locksFuture = heldLocksById.computeIfAbsent(
-                requestId, ignored -> lockAcquirer.get());
+                requestId, ignored -> acquireAndTrackExpiry(requestId, lockAcquirer));
         return locksFuture.map(HeldLocks::getToken);
     }
 
@@ -46,20 +65,30 @@ public class HeldLocksCollection {
         Set<LockToken> unlocked = filter(tokens, HeldLocks::unlock);
         for (LockToken token : unlocked) {
             heldLocksById.remove(token.getRequestId());
+            expiryWheel.cancel(token.getRequestId());
         }
         return unlocked;
     }
 
     public Set<LockToken> refresh(Set<LockToken> tokens) {
-        return filter(tokens, HeldLocks::refresh);
+        Set<LockToken> refreshed = filter(tokens, HeldLocks::refresh);
+        for (LockToken token : refreshed) {
+            scheduleExpiry(token.getRequestId(), heldLocksById.get(token.getRequestId()));
+        }
+        return refreshed;
     }
 
     public void removeExpired() {
-        Iterator<AsyncResult<HeldLocks>> iterator = heldLocksById.values().iterator();
-        while (iterator.hasNext()) {
-            AsyncResult<HeldLocks> lockResult = iterator.next();
+        for (UUID requestId : expiryWheel.advance(clock.getTimeMillis())) {
+            AsyncResult<HeldLocks> lockResult = heldLocksById.get(requestId);
+            if (lockResult == null) {
+                continue;
+            }
             if (shouldRemove(lockResult)) {
-                iterator.remove();
+                heldLocksById.remove(requestId, lockResult);
+            } else {
+                // The lease was refreshed concurrently with its deadline passing.
+                scheduleExpiry(requestId, lockResult);
             }
         }
     }
@@ -69,6 +98,26 @@ public class HeldLocksCollection {
         heldLocksById.values().forEach(result -> result.failIfNotCompleted(ex));
     }
 
+    private AsyncResult<HeldLocks> acquireAndTrackExpiry(
+            UUID requestId,
+            Supplier<AsyncResult<HeldLocks>> lockAcquirer) {
+        AsyncResult<HeldLocks> lockResult = lockAcquirer.get();
+        lockResult.onComplete(() -> scheduleExpiry(requestId, lockResult));
+        return lockResult;
+    }
+
+    private void scheduleExpiry(UUID requestId, AsyncResult<HeldLocks> lockResult) {
+        if (lockResult == null) {
+            return;
+        }
+        if (lockResult.isCompletedSuccessfully()) {
+            // Leases are only expired once the current time is strictly after the expiry time.
+            expiryWheel.schedule(requestId, lockResult.get().getExpiryTimeMillis() + 1);
+        } else {
+            expiryWheel.schedule(requestId, Long.MIN_VALUE);
+        }
+    }
+
     private boolean shouldRemove(AsyncResult<HeldLocks> lockResult) {
         return lockResult.isFailed()
                 || lockResult.isTimedOut()
@@ -35,7 +35,14 @@ public class LeaseExpirationTimer {
     }
 
     public boolean isExpired() {
-        return clock.getTimeMillis() > lastRefreshTimeMillis + LEASE_TIMEOUT_MILLIS;
+        return clock.getTimeMillis() > getExpiryTimeMillis();
+    }
+
+    /**
+     * Returns the latest time at which the lease is still valid; it is expired at any later time, unless refreshed.
+     */
+    public long getExpiryTimeMillis() {
+        return lastRefreshTimeMillis + LEASE_TIMEOUT_MILLIS;
     }
 
 }
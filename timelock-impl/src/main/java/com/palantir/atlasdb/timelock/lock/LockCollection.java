@@ -13,53 +13,118 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.palantir.atlasdb.timelock.lock;
 
-
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.collect.Lists;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
 import com.palantir.lock.LockDescriptor;
 
+/**
+ * The table of exclusive locks, keyed by descriptor. Locks are created on demand, and reference counted: every call
+ * to {@link #getAll} takes a reference to each lock returned, which must be given back through {@link #release} once
+ * the request is no longer queued for or holding any of them. A lock is dropped from the table once it has no
+ * references, which also means that nothing holds or waits for it.
+ * <p>
+ * The table is split into shards with their own monitors, so that requests for unrelated locks rarely contend.
+ */
 public class LockCollection {
+    private static final int SHARD_BITS = 6;
 
-    private final LoadingCache<LockDescriptor, ExclusiveLock> locksById;
+    private final Shard[] shards = new Shard[1 << SHARD_BITS];
 
     public LockCollection() {
-        locksById = CacheBuilder.newBuilder()
-                .weakValues()
-                .build(new CacheLoader<LockDescriptor, ExclusiveLock>() {
-                    @Override
-                    public ExclusiveLock load(LockDescriptor descriptor) throws Exception {
-                        return new ExclusiveLock(descriptor);
-                    }
-                });
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
     }
 
+    /**
+     * Returns the locks for the given descriptors in lock order, taking a reference to each of them. Clients send
+     * descriptors in lock order, in which case they are not sorted again.
+     */
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
-        List<LockDescriptor> orderedDescriptors = sort(descriptors);
+        LockDescriptor[] orderedDescriptors = descriptors.toArray(new LockDescriptor[descriptors.size()]);
+        if (!isSorted(orderedDescriptors)) {
+            Arrays.sort(orderedDescriptors);
+        }
+
+        AsyncLock[] locks = new AsyncLock[orderedDescriptors.length];
+        for (int i = 0; i < orderedDescriptors.length; i++) {
+            locks[i] = shardFor(orderedDescriptors[i]).retain(orderedDescriptors[i]);
+        }
+        return OrderedLocks.fromOrderedList(Arrays.asList(locks));
+    }
+
+    /**
+     * Gives back the references taken by the {@link #getAll} call that returned these locks.
+     */
+    public void release(OrderedLocks locks) {
+        for (AsyncLock lock : locks.get()) {
+            shardFor(lock.getDescriptor()).release(lock.getDescriptor());
+        }
+    }
 
-        List<AsyncLock> locks = Lists.newArrayListWithExpectedSize(descriptors.size());
-        for (LockDescriptor descriptor : orderedDescriptors) {
-            locks.add(getLock(descriptor));
+    @VisibleForTesting
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
         }
-        return OrderedLocks.fromOrderedList(locks);
+        return size;
     }
 
-    private List<LockDescriptor> sort(Set<LockDescriptor> descriptors) {
-        List<LockDescriptor> orderedDescriptors = Lists.newArrayList(descriptors);
-        orderedDescriptors.sort(Comparator.naturalOrder());
-        return orderedDescriptors;
+    private Shard shardFor(LockDescriptor descriptor) {
+        int hash = descriptor.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
     }
 
-    private AsyncLock getLock(LockDescriptor descriptor) {
-        return locksById.getUnchecked(descriptor);
+    private static boolean isSorted(LockDescriptor[] descriptors) {
+        for (int i = 1; i < descriptors.length; i++) {
+            if (descriptors[i - 1].compareTo(descriptors[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Shard {
+        @GuardedBy("this")
+        private final Map<LockDescriptor, ReferencedLock> locksByDescriptor = Maps.newHashMap();
+
+        synchronized ExclusiveLock retain(LockDescriptor descriptor) {
+            ReferencedLock entry = locksByDescriptor.get(descriptor);
+            if (entry == null) {
+                entry = new ReferencedLock(new ExclusiveLock(descriptor));
+                locksByDescriptor.put(descriptor, entry);
+            }
+            entry.references++;
+            return entry.lock;
+        }
+
+        synchronized void release(LockDescriptor descriptor) {
+            ReferencedLock entry = locksByDescriptor.get(descriptor);
+            if (entry != null && --entry.references == 0) {
+                locksByDescriptor.remove(descriptor);
+            }
+        }
+
+        synchronized int size() {
+            return locksByDescriptor.size();
+        }
     }
 
+    private static final class ReferencedLock {
+        private final ExclusiveLock lock;
+        private int references;
+
+        private ReferencedLock(ExclusiveLock lock) {
+            this.lock = lock;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+import com.palantir.paxos.PaxosValue;
+
+/**
+ * The client side of {@link BatchPaxosService} for a single remote node. Prepare, accept and learn requests made
+ * concurrently for any number of clients are coalesced, so that there is at most one RPC per phase in flight to the
+ * node at a time. The consensus rounds themselves are unchanged: each client still runs its own rounds against its
+ * own acceptors and learners, which only share the transport.
+ */
+public final class BatchPaxosRemote {
+    private final CoalescingBatcher<BatchPrepareRequest, PaxosPromise> prepareBatcher;
+    private final CoalescingBatcher<BatchAcceptRequest, BooleanPaxosResponse> acceptBatcher;
+    private final CoalescingBatcher<BatchLearnRequest, Void> learnBatcher;
+
+    public BatchPaxosRemote(BatchPaxosService service) {
+        this.prepareBatcher = new CoalescingBatcher<>(service::prepare);
+        this.acceptBatcher = new CoalescingBatcher<>(service::accept);
+        this.learnBatcher = new CoalescingBatcher<>(requests -> learnAll(service, requests));
+    }
+
+    /**
+     * Returns an acceptor for the given client on this node, whose prepare and accept requests are batched with
+     * those of other clients. Other requests are sent individually through the given client-specific acceptor.
+     */
+    public PaxosAcceptor acceptorFor(String client, PaxosAcceptor clientAcceptor) {
+        return new BatchingPaxosAcceptor(this, client, clientAcceptor);
+    }
+
+    /**
+     * Returns a learner for the given client on this node, whose learn requests are batched with those of other
+     * clients. Other requests are sent individually through the given client-specific learner.
+     */
+    public PaxosLearner learnerFor(String client, PaxosLearner clientLearner) {
+        return new BatchingPaxosLearner(this, client, clientLearner);
+    }
+
+    PaxosPromise prepare(String client, long seq, PaxosProposalId pid) {
+        return checkProcessed(prepareBatcher.apply(ImmutableBatchPrepareRequest.of(client, seq, pid)), client, seq);
+    }
+
+    BooleanPaxosResponse accept(String client, long seq, PaxosProposal proposal) {
+        return checkProcessed(acceptBatcher.apply(ImmutableBatchAcceptRequest.of(client, seq, proposal)), client, seq);
+    }
+
+    void learn(String client, long seq, PaxosValue value) {
+        learnBatcher.apply(ImmutableBatchLearnRequest.of(client, seq, value));
+    }
+
+    private static List<Void> learnAll(BatchPaxosService service, List<BatchLearnRequest> requests) {
+        service.learn(requests);
+        return Collections.nCopies(requests.size(), null);
+    }
+
+    private static <T> T checkProcessed(T response, String client, long seq) {
+        if (response == null) {
+            throw new IllegalStateException(String.format(
+                    "The remote acceptor failed to process the request for client %s in round %s;"
+                            + " see its logs for details.", client, seq));
+        }
+        return response;
+    }
+}
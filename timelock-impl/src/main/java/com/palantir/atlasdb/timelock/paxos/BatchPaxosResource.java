@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosPromise;
+
+public final class BatchPaxosResource implements BatchPaxosService {
+    private static final Logger log = LoggerFactory.getLogger(BatchPaxosResource.class);
+
+    private final Function<String, PaxosAcceptor> acceptors;
+    private final Function<String, PaxosLearner> learners;
+    private final ExecutorService executor;
+
+    public BatchPaxosResource(PaxosResource paxosResource, ExecutorService executor) {
+        this(paxosResource::getPaxosAcceptor, paxosResource::getPaxosLearner, executor);
+    }
+
+    @VisibleForTesting
+    BatchPaxosResource(
+            Function<String, PaxosAcceptor> acceptors,
+            Function<String, PaxosLearner> learners,
+            ExecutorService executor) {
+        this.acceptors = acceptors;
+        this.learners = learners;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<PaxosPromise> prepare(List<BatchPrepareRequest> requests) {
+        return applyEach(requests, request -> acceptors.apply(request.client())
+                .prepare(request.seq(), request.proposalId()));
+    }
+
+    @Override
+    public List<BooleanPaxosResponse> accept(List<BatchAcceptRequest> requests) {
+        return applyEach(requests, request -> acceptors.apply(request.client())
+                .accept(request.seq(), request.proposal()));
+    }
+
+    @Override
+    public void learn(List<BatchLearnRequest> requests) {
+        applyEach(requests, request -> {
+            learners.apply(request.client()).learn(request.seq(), request.value());
+            return null;
+        });
+    }
+
+    /**
+     * Applies the operation to all of the requests in parallel, since each client's acceptor and learner makes its
+     * own durable log write, and returns the responses in the order of the requests. A failure for one client is
+     * reported as a null entry for that request only, so that it does not affect the rounds of the other clients in
+     * the batch.
+     */
+    private <R, T> List<T> applyEach(List<R> requests, Function<R, T> operation) {
+        List<Future<T>> futures = new ArrayList<>(requests.size());
+        for (R request : requests) {
+            futures.add(executor.submit(() -> operation.apply(request)));
+        }
+        List<T> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                responses.add(Uninterruptibles.getUninterruptibly(futures.get(i)));
+            } catch (ExecutionException e) {
+                log.warn("Failed to process batched paxos request {}.",
+                        UnsafeArg.of("request", requests.get(i)),
+                        e.getCause());
+                responses.add(null);
+            }
+        }
+        return responses;
+    }
+}
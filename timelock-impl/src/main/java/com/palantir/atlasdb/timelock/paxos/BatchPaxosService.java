@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosPromise;
+
+/**
+ * Exposes the Paxos acceptors and learners of all clients on a node through a single set of endpoints, so that
+ * consensus rounds for many clients can share one RPC per node and phase. Each request is applied independently to
+ * the acceptor or learner of its own client, so the state of each client remains exactly as if the requests had been
+ * made individually.
+ */
+@Path("/" + PaxosTimeLockConstants.INTERNAL_NAMESPACE + "/" + PaxosTimeLockConstants.BATCH_PAXOS_NAMESPACE)
+public interface BatchPaxosService {
+    /**
+     * Prepares each of the given proposals on the acceptor of its client.
+     *
+     * @return the promises of the acceptors, in the same order as the requests; an entry is null if the acceptor
+     *         failed to prepare
+     */
+    @POST
+    @Path("acceptor/prepare")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    List<PaxosPromise> prepare(List<BatchPrepareRequest> requests);
+
+    /**
+     * Asks the acceptor of each client to accept the given proposal.
+     *
+     * @return the responses of the acceptors, in the same order as the requests; an entry is null if the acceptor
+     *         failed to process the proposal
+     */
+    @POST
+    @Path("acceptor/accept")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    List<BooleanPaxosResponse> accept(List<BatchAcceptRequest> requests);
+
+    /**
+     * Teaches the learner of each client the given value. Failures to learn individual values are logged, but not
+     * reported to the caller, matching the fire-and-forget way in which learners are usually updated.
+     */
+    @POST
+    @Path("learner/learn")
+    @Consumes(MediaType.APPLICATION_JSON)
+    void learn(List<BatchLearnRequest> requests);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+
+class BatchingPaxosAcceptor implements PaxosAcceptor {
+    private final BatchPaxosRemote remote;
+    private final String client;
+    private final PaxosAcceptor delegate;
+
+    BatchingPaxosAcceptor(BatchPaxosRemote remote, String client, PaxosAcceptor delegate) {
+        this.remote = remote;
+        this.client = client;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PaxosPromise prepare(long seq, PaxosProposalId pid) {
+        return remote.prepare(client, seq, pid);
+    }
+
+    @Override
+    public BooleanPaxosResponse accept(long seq, PaxosProposal proposal) {
+        return remote.accept(client, seq, proposal);
+    }
+
+    @Override
+    public long getLatestSequencePreparedOrAccepted() {
+        return delegate.getLatestSequencePreparedOrAccepted();
+    }
+
+    @Override
+    public long getLatestSequencePreparedOrAcceptedAndGrantLease(long seq, long leaseDurationMs) {
+        return delegate.getLatestSequencePreparedOrAcceptedAndGrantLease(seq, leaseDurationMs);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.Collection;
+
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosValue;
+
+class BatchingPaxosLearner implements PaxosLearner {
+    private final BatchPaxosRemote remote;
+    private final String client;
+    private final PaxosLearner delegate;
+
+    BatchingPaxosLearner(BatchPaxosRemote remote, String client, PaxosLearner delegate) {
+        this.remote = remote;
+        this.client = client;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void learn(long seq, PaxosValue val) {
+        remote.learn(client, seq, val);
+    }
+
+    @Override
+    public PaxosValue getLearnedValue(long seq) {
+        return delegate.getLearnedValue(seq);
+    }
+
+    @Override
+    public PaxosValue getGreatestLearnedValue() {
+        return delegate.getGreatestLearnedValue();
+    }
+
+    @Override
+    public Collection<PaxosValue> getLearnedValuesSince(long seq) {
+        return delegate.getLearnedValuesSince(seq);
+    }
+
+    @Override
+    public Collection<PaxosValue> getLatestLearnedValuesSince(long seq, int limit) {
+        return delegate.getLatestLearnedValuesSince(seq, limit);
+    }
+}
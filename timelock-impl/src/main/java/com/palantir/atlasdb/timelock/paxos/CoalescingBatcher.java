@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.palantir.common.base.Throwables;
+
+/**
+ * Coalesces concurrent calls into batches, such that at most one batch is in flight at a time. Callers that arrive
+ * while a batch is in flight are queued, and once it completes, whichever of them first claims the next batch sends
+ * everything that has been queued so far as a single batch. Every call is included in a batch that starts after the
+ * call was made.
+ * <p>
+ * Queued callers wait for their own result or for the batch in flight, without holding a lock, so they can be
+ * interrupted. A call interrupted before its batch started is not sent.
+ * <p>
+ * The batch function must return one result per argument, in the same order as the arguments. If it throws, every
+ * call in the batch fails with that exception.
+ */
+final class CoalescingBatcher<T, R> {
+    private final Function<List<T>, List<R>> batchFunction;
+    private final Queue<PendingCall<T, R>> pendingCalls = new ConcurrentLinkedQueue<>();
+    // completes when the batch in flight, if any, does
+    private final AtomicReference<CompletableFuture<Void>> inFlightBatch = new AtomicReference<>();
+
+    CoalescingBatcher(Function<List<T>, List<R>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    R apply(T argument) {
+        PendingCall<T, R> call = new PendingCall<>(argument);
+        pendingCalls.add(call);
+
+        try {
+            while (!call.result.isDone()) {
+                CompletableFuture<Void> inFlight = inFlightBatch.get();
+                if (inFlight == null) {
+                    tryProcessPendingCalls(call);
+                } else {
+                    awaitEither(call.result, inFlight);
+                }
+            }
+        } catch (InterruptedException e) {
+            // if our call is still queued, it will not be sent; otherwise it is in flight and its result is ignored
+            pendingCalls.remove(call);
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException("Interrupted while waiting for a batch", e);
+        }
+
+        return getResult(call.result);
+    }
+
+    private void tryProcessPendingCalls(PendingCall<T, R> call) {
+        CompletableFuture<Void> batch = new CompletableFuture<>();
+        if (!inFlightBatch.compareAndSet(null, batch)) {
+            return;
+        }
+        try {
+            if (!call.result.isDone()) {
+                processPendingCalls();
+            }
+        } finally {
+            inFlightBatch.set(null);
+            batch.complete(null);
+        }
+    }
+
+    private static void awaitEither(CompletableFuture<?> first, CompletableFuture<?> second)
+            throws InterruptedException {
+        try {
+            CompletableFuture.anyOf(first, second).get();
+        } catch (ExecutionException e) {
+            // our call failed, which the caller handles
+        }
+    }
+
+    private void processPendingCalls() {
+        List<PendingCall<T, R>> batch = new ArrayList<>();
+        for (PendingCall<T, R> call = pendingCalls.poll(); call != null; call = pendingCalls.poll()) {
+            batch.add(call);
+        }
+
+        List<T> arguments = new ArrayList<>(batch.size());
+        for (PendingCall<T, R> call : batch) {
+            arguments.add(call.argument);
+        }
+
+        try {
+            List<R> results = batchFunction.apply(arguments);
+            Preconditions.checkState(results.size() == batch.size(),
+                    "Expected %s results for the batch, but received %s", batch.size(), results.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (Throwable t) {
+            for (PendingCall<T, R> call : batch) {
+                call.result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private R getResult(CompletableFuture<R> result) {
+        try {
+            return result.getNow(null);
+        } catch (CompletionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
+    private static final class PendingCall<T, R> {
+        private final T argument;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        private PendingCall(T argument) {
+            this.argument = argument;
+        }
+    }
+}
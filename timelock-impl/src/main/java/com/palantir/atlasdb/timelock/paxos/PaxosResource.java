@@ -26,20 +26,24 @@ import org.immutables.value.Value;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.leader.PaxosKnowledgeEventRecorder;
 import com.palantir.paxos.PaxosAcceptor;
 import com.palantir.paxos.PaxosAcceptorImpl;
 import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosLearnerImpl;
+import com.palantir.paxos.PaxosStateLogFormat;
 
 @Path("/" + PaxosTimeLockConstants.INTERNAL_NAMESPACE
         + "/" + PaxosTimeLockConstants.CLIENT_PAXOS_NAMESPACE
         + "/{client: [a-zA-Z0-9_-]+}")
 public final class PaxosResource {
     private final String logDirectory;
+    private final PaxosStateLogFormat logFormat;
     private final Map<String, PaxosComponents> paxosComponentsByClient = Maps.newConcurrentMap();
 
-    private PaxosResource(String logDirectory) {
+    private PaxosResource(String logDirectory, PaxosStateLogFormat logFormat) {
         this.logDirectory = logDirectory;
+        this.logFormat = logFormat;
     }
 
     public static PaxosResource create() {
@@ -47,7 +51,11 @@ public final class PaxosResource {
     }
 
     public static PaxosResource create(String logDirectory) {
-        return new PaxosResource(logDirectory);
+        return create(logDirectory, PaxosStateLogFormat.LEGACY);
+    }
+
+    public static PaxosResource create(String logDirectory, PaxosStateLogFormat logFormat) {
+        return new PaxosResource(logDirectory, logFormat);
     }
 
     public PaxosComponents createInstrumentedComponents(String client) {
@@ -55,14 +63,14 @@ public final class PaxosResource {
                 .toString();
         PaxosLearner learner = instrument(
                 PaxosLearner.class,
-                PaxosLearnerImpl.newLearner(learnerLogDir),
+                PaxosLearnerImpl.newLearner(learnerLogDir, PaxosKnowledgeEventRecorder.NO_OP, logFormat),
                 client);
 
         String acceptorLogDir = Paths.get(logDirectory, client, PaxosTimeLockConstants.ACCEPTOR_SUBDIRECTORY_PATH)
                 .toString();
         PaxosAcceptor acceptor = instrument(
                 PaxosAcceptor.class,
-                PaxosAcceptorImpl.newAcceptor(acceptorLogDir),
+                PaxosAcceptorImpl.newAcceptor(acceptorLogDir, logFormat),
                 client);
 
         return ImmutablePaxosComponents.builder()
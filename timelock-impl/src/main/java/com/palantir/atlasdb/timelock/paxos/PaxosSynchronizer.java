@@ -43,7 +43,22 @@ public final class PaxosSynchronizer {
 
     public static void synchronizeLearner(PaxosLearner learnerToSynchronize,
                                           List<PaxosLearner> paxosLearners) {
-        Optional<PaxosValue> mostRecentValue = getMostRecentLearnedValue(paxosLearners);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            synchronizeLearner(learnerToSynchronize, paxosLearners, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Brings our learner up to date by learning only the most recent value any reachable learner knows about; the
+     * rounds in between are never needed, as each value supersedes the ones before it.
+     */
+    public static void synchronizeLearner(PaxosLearner learnerToSynchronize,
+                                          List<PaxosLearner> paxosLearners,
+                                          ExecutorService executor) {
+        Optional<PaxosValue> mostRecentValue = getMostRecentLearnedValue(paxosLearners, executor);
         if (mostRecentValue.isPresent()) {
             PaxosValue paxosValue = mostRecentValue.get();
             if (paxosValue.equals(learnerToSynchronize.getGreatestLearnedValue())) {
@@ -59,8 +74,8 @@ public final class PaxosSynchronizer {
         }
     }
 
-    private static Optional<PaxosValue> getMostRecentLearnedValue(List<PaxosLearner> paxosLearners) {
-        ExecutorService executor = Executors.newCachedThreadPool();
+    private static Optional<PaxosValue> getMostRecentLearnedValue(List<PaxosLearner> paxosLearners,
+                                                                  ExecutorService executor) {
         List<PaxosValueResponse> responses = PaxosQuorumChecker.collectAsManyResponsesAsPossible(
                 ImmutableList.copyOf(paxosLearners),
                 learner -> ImmutablePaxosValueResponse.of(learner.getGreatestLearnedValue()),
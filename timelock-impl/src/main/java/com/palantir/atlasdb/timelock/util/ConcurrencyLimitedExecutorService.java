@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.util;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that runs its tasks on a shared delegate, but never has more than a
+ * fixed number of them submitted to the delegate at once. Further tasks wait in a local queue, and are handed to the
+ * delegate one at a time as earlier tasks complete.
+ * <p>
+ * Giving each TimeLock client its own instance over one shared pool bounds how many of the pool's threads any single
+ * client can occupy. Because a completed task's successor is resubmitted rather than run in place, clients with long
+ * queues take turns with other clients in the delegate's queue instead of holding on to threads.
+ * <p>
+ * The delegate is expected to accept every task, e.g. by having an unbounded queue. Shutting this executor down stops
+ * it accepting new tasks, but does not affect the delegate.
+ */
+@ThreadSafe
+public final class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+    private final Executor delegate;
+    private final int maxConcurrentTasks;
+
+    @GuardedBy("this")
+    private final Queue<Runnable> queuedTasks = new ArrayDeque<>();
+    @GuardedBy("this")
+    private int submittedTasks = 0;
+    @GuardedBy("this")
+    private boolean shutdown = false;
+
+    public ConcurrencyLimitedExecutorService(Executor delegate, int maxConcurrentTasks) {
+        Preconditions.checkArgument(maxConcurrentTasks > 0,
+                "Maximum number of concurrent tasks must be positive; found '%s'.", maxConcurrentTasks);
+        this.delegate = delegate;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Preconditions.checkNotNull(task, "task");
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            if (submittedTasks >= maxConcurrentTasks) {
+                queuedTasks.add(task);
+                return;
+            }
+            submittedTasks++;
+        }
+        submitToDelegate(task);
+    }
+
+    private void submitToDelegate(Runnable task) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    submitNextTask();
+                }
+            });
+        } catch (RuntimeException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private void submitNextTask() {
+        Runnable nextTask;
+        synchronized (this) {
+            nextTask = queuedTasks.poll();
+        }
+        if (nextTask == null) {
+            releaseSlot();
+        } else {
+            submitToDelegate(nextTask);
+        }
+    }
+
+    private synchronized void releaseSlot() {
+        submittedTasks--;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> unstartedTasks = ImmutableList.copyOf(queuedTasks);
+        queuedTasks.clear();
+        return unstartedTasks;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && submittedTasks == 0;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+
+import javax.ws.rs.container.AsyncResponse;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.WaitForLocksRequest;
+import com.palantir.lock.v2.WaitForLocksResponse;
+
+public class AsyncTimelockResourceTest {
+    private static final LockRequest LOCK_REQUEST = LockRequest.of(
+            ImmutableSet.of(StringLockDescriptor.of("lock")), 1_000L);
+    private static final WaitForLocksRequest WAIT_REQUEST = WaitForLocksRequest.of(
+            ImmutableSet.of(StringLockDescriptor.of("lock")), 1_000L);
+    private static final LockToken TOKEN = LockToken.of(UUID.randomUUID());
+
+    private final AsyncTimelockService timelock = mock(AsyncTimelockService.class);
+    private final Queue<Runnable> responseTasks = new ArrayDeque<>();
+    private final AsyncTimelockResource resource = new AsyncTimelockResource(timelock, responseTasks::add);
+    private final AsyncResponse response = mock(AsyncResponse.class);
+
+    @Test
+    public void respondsOnRequestThreadIfLockIsAcquiredImmediately() {
+        AsyncResult<LockToken> result = new AsyncResult<>();
+        result.complete(TOKEN);
+        when(timelock.lock(any())).thenReturn(result);
+
+        resource.lock(response, LOCK_REQUEST);
+
+        verify(response).resume(LockResponse.successful(TOKEN));
+        assertThat(responseTasks).isEmpty();
+    }
+
+    @Test
+    public void respondsOnResponseExecutorIfLockIsAcquiredLater() {
+        AsyncResult<LockToken> result = new AsyncResult<>();
+        when(timelock.lock(any())).thenReturn(result);
+
+        resource.lock(response, LOCK_REQUEST);
+        result.complete(TOKEN);
+        verifyZeroInteractions(response);
+
+        runResponseTasks();
+        verify(response).resume(LockResponse.successful(TOKEN));
+    }
+
+    @Test
+    public void respondsOnResponseExecutorIfLockRequestTimesOut() {
+        AsyncResult<LockToken> result = new AsyncResult<>();
+        when(timelock.lock(any())).thenReturn(result);
+
+        resource.lock(response, LOCK_REQUEST);
+        result.timeout();
+        runResponseTasks();
+
+        verify(response).resume(LockResponse.timedOut());
+    }
+
+    @Test
+    public void respondsWithErrorIfLockRequestFails() {
+        AsyncResult<LockToken> result = new AsyncResult<>();
+        when(timelock.lock(any())).thenReturn(result);
+        RuntimeException error = new RuntimeException("test");
+
+        resource.lock(response, LOCK_REQUEST);
+        result.fail(error);
+        runResponseTasks();
+
+        verify(response).resume(error);
+    }
+
+    @Test
+    public void respondsOnResponseExecutorOnceLocksAreAvailable() {
+        AsyncResult<Void> result = new AsyncResult<>();
+        when(timelock.waitForLocks(any())).thenReturn(result);
+
+        resource.waitForLocks(response, WAIT_REQUEST);
+        result.complete(null);
+        verifyZeroInteractions(response);
+
+        runResponseTasks();
+        verify(response).resume(WaitForLocksResponse.successful());
+    }
+
+    private void runResponseTasks() {
+        while (!responseTasks.isEmpty()) {
+            responseTasks.poll().run();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.paxos.BooleanPaxosResponse;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+import com.palantir.paxos.PaxosValue;
+
+public class BatchPaxosResourceTest {
+    private static final String CLIENT_1 = "alice";
+    private static final String CLIENT_2 = "bob";
+
+    private static final long ROUND_ONE = 1;
+    private static final long ROUND_TWO = 2;
+    private static final String PAXOS_UUID = "paxos";
+    private static final PaxosProposalId PROPOSAL_ID = new PaxosProposalId(1, PAXOS_UUID);
+    private static final PaxosValue VALUE_ONE = new PaxosValue(PAXOS_UUID, ROUND_ONE, new byte[] { 1 });
+    private static final PaxosValue VALUE_TWO = new PaxosValue(PAXOS_UUID, ROUND_TWO, new byte[] { 2 });
+
+    @ClassRule
+    public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private PaxosResource paxosResource;
+    private BatchPaxosResource batchPaxosResource;
+    private BatchPaxosRemote remote;
+
+    @Before
+    public void setUp() throws IOException {
+        paxosResource = PaxosResource.create(TEMPORARY_FOLDER.newFolder().getPath());
+        batchPaxosResource = new BatchPaxosResource(paxosResource, executor);
+        remote = new BatchPaxosRemote(batchPaxosResource);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void preparesEachClientIndependently() {
+        List<PaxosPromise> promises = batchPaxosResource.prepare(ImmutableList.of(
+                ImmutableBatchPrepareRequest.of(CLIENT_1, ROUND_ONE, PROPOSAL_ID),
+                ImmutableBatchPrepareRequest.of(CLIENT_2, ROUND_TWO, PROPOSAL_ID)));
+
+        assertThat(promises).hasSize(2);
+        assertThat(promises).allMatch(PaxosPromise::isSuccessful);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_1).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(ROUND_ONE);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_2).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(ROUND_TWO);
+    }
+
+    @Test
+    public void acceptsEachClientIndependently() {
+        List<BooleanPaxosResponse> responses = batchPaxosResource.accept(ImmutableList.of(
+                ImmutableBatchAcceptRequest.of(CLIENT_1, ROUND_ONE, new PaxosProposal(PROPOSAL_ID, VALUE_ONE)),
+                ImmutableBatchAcceptRequest.of(CLIENT_2, ROUND_TWO, new PaxosProposal(PROPOSAL_ID, VALUE_TWO))));
+
+        assertThat(responses).allMatch(BooleanPaxosResponse::isSuccessful);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_1).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(ROUND_ONE);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_2).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(ROUND_TWO);
+    }
+
+    @Test
+    public void learnsEachClientIndependently() {
+        batchPaxosResource.learn(ImmutableList.of(
+                ImmutableBatchLearnRequest.of(CLIENT_1, ROUND_ONE, VALUE_ONE),
+                ImmutableBatchLearnRequest.of(CLIENT_2, ROUND_TWO, VALUE_TWO)));
+
+        assertThat(paxosResource.getPaxosLearner(CLIENT_1).getGreatestLearnedValue()).isEqualTo(VALUE_ONE);
+        assertThat(paxosResource.getPaxosLearner(CLIENT_2).getGreatestLearnedValue()).isEqualTo(VALUE_TWO);
+    }
+
+    @Test
+    public void failureOfOneClientDoesNotAffectTheOthers() {
+        PaxosAcceptor failingAcceptor = mock(PaxosAcceptor.class);
+        when(failingAcceptor.prepare(anyLong(), any())).thenThrow(new IllegalStateException("disk full"));
+        BatchPaxosResource resource = new BatchPaxosResource(
+                client -> client.equals(CLIENT_1) ? failingAcceptor : paxosResource.getPaxosAcceptor(client),
+                paxosResource::getPaxosLearner,
+                executor);
+
+        List<PaxosPromise> promises = resource.prepare(ImmutableList.of(
+                ImmutableBatchPrepareRequest.of(CLIENT_1, ROUND_ONE, PROPOSAL_ID),
+                ImmutableBatchPrepareRequest.of(CLIENT_2, ROUND_TWO, PROPOSAL_ID)));
+
+        assertThat(promises.get(0)).isNull();
+        assertThat(promises.get(1).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void batchLatencyDoesNotGrowWithBatchSize() {
+        long logWriteMillis = 100;
+        int batchSize = 20;
+        PaxosAcceptor slowAcceptor = mock(PaxosAcceptor.class);
+        when(slowAcceptor.prepare(anyLong(), any())).thenAnswer(invocation -> {
+            Thread.sleep(logWriteMillis);
+            return PaxosPromise.reject(PROPOSAL_ID);
+        });
+        BatchPaxosResource resource = new BatchPaxosResource(
+                client -> slowAcceptor, paxosResource::getPaxosLearner, executor);
+        List<BatchPrepareRequest> requests = Lists.newArrayList();
+        for (int i = 0; i < batchSize; i++) {
+            requests.add(ImmutableBatchPrepareRequest.of("client" + i, ROUND_ONE, PROPOSAL_ID));
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<PaxosPromise> promises = resource.prepare(requests);
+
+        assertThat(promises).hasSize(batchSize);
+        assertThat(stopwatch.elapsed(TimeUnit.MILLISECONDS)).isLessThan(logWriteMillis * batchSize / 4);
+    }
+
+    @Test
+    public void batchingAcceptorAndLearnerRouteToTheirOwnClient() {
+        PaxosAcceptor acceptor = remote.acceptorFor(CLIENT_1, paxosResource.getPaxosAcceptor(CLIENT_1));
+        PaxosLearner learner = remote.learnerFor(CLIENT_1, paxosResource.getPaxosLearner(CLIENT_1));
+
+        assertThat(acceptor.prepare(ROUND_ONE, PROPOSAL_ID).isSuccessful()).isTrue();
+        assertThat(acceptor.accept(ROUND_ONE, new PaxosProposal(PROPOSAL_ID, VALUE_ONE)).isSuccessful()).isTrue();
+        learner.learn(ROUND_ONE, VALUE_ONE);
+
+        assertThat(acceptor.getLatestSequencePreparedOrAccepted()).isEqualTo(ROUND_ONE);
+        assertThat(learner.getGreatestLearnedValue()).isEqualTo(VALUE_ONE);
+        assertThat(paxosResource.getPaxosAcceptor(CLIENT_2).getLatestSequencePreparedOrAccepted())
+                .isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(paxosResource.getPaxosLearner(CLIENT_2).getGreatestLearnedValue()).isNull();
+    }
+}
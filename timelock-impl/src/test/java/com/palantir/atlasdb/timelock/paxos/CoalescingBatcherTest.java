@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class CoalescingBatcherTest {
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch firstBatchReleased = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CoalescingBatcher<Integer, String> batcher = new CoalescingBatcher<>(arguments -> {
+        batches.add(ImmutableList.copyOf(arguments));
+        if (batches.size() == 1) {
+            firstBatchStarted.countDown();
+            Uninterruptibles.awaitUninterruptibly(firstBatchReleased);
+        }
+        return arguments.stream().map(String::valueOf).collect(Collectors.toList());
+    });
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void returnsResultForOwnArgument() {
+        firstBatchReleased.countDown();
+
+        assertThat(batcher.apply(1)).isEqualTo("1");
+        assertThat(batcher.apply(2)).isEqualTo("2");
+        assertThat(batches).containsExactly(ImmutableList.of(1), ImmutableList.of(2));
+    }
+
+    @Test
+    public void batchesCallsMadeWhileABatchIsInFlight() throws Exception {
+        Future<String> first = executor.submit(() -> batcher.apply(0));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> rest = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> executor.submit(() -> batcher.apply(i)))
+                .collect(Collectors.toList());
+        // give the threads a chance to queue up
+        Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        firstBatchReleased.countDown();
+
+        assertThat(first.get()).isEqualTo("0");
+        for (int i = 0; i < rest.size(); i++) {
+            assertThat(rest.get(i).get()).isEqualTo(String.valueOf(i + 1));
+        }
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void waitingCallsCanBeInterruptedAndAreNotSent() throws Exception {
+        Future<String> first = executor.submit(() -> batcher.apply(0));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> interrupted = executor.submit(() -> batcher.apply(1));
+        Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        interrupted.cancel(true);
+        // give the interrupted thread a chance to leave the queue
+        Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        firstBatchReleased.countDown();
+
+        assertThat(first.get()).isEqualTo("0");
+        assertThat(batcher.apply(2)).isEqualTo("2");
+        assertThat(batches).containsExactly(ImmutableList.of(0), ImmutableList.of(2));
+    }
+
+    @Test
+    public void failuresArePropagatedToEveryCallInTheBatch() {
+        CoalescingBatcher<Integer, String> failingBatcher = new CoalescingBatcher<>(arguments -> {
+            throw new IllegalStateException("foo");
+        });
+
+        assertThatThrownBy(() -> failingBatcher.apply(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("foo");
+    }
+
+    @Test
+    public void throwsIfBatchFunctionReturnsTheWrongNumberOfResults() {
+        CoalescingBatcher<Integer, String> badBatcher = new CoalescingBatcher<>(arguments -> ImmutableList.of());
+
+        assertThatThrownBy(() -> badBatcher.apply(1)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
@@ -130,4 +132,17 @@ public class PaxosSynchronizerTest {
         PaxosSynchronizer.synchronizeLearner(ourLearner, learners);
         assertThat(ourLearner.getGreatestLearnedValue()).isEqualTo(VALUE_ONE);
     }
+
+    @Test
+    public void synchronizeCanUseAProvidedExecutorWithoutShuttingItDown() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            learners.get(1).learn(SEQUENCE_ONE, VALUE_ONE);
+            PaxosSynchronizer.synchronizeLearner(ourLearner, learners, executor);
+            assertThat(ourLearner.getGreatestLearnedValue()).isEqualTo(VALUE_ONE);
+            assertThat(executor.isShutdown()).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
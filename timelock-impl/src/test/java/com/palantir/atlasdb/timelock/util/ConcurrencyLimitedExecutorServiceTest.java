@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+public class ConcurrencyLimitedExecutorServiceTest {
+    private static final int MAX_CONCURRENT_TASKS = 2;
+
+    private final Queue<Runnable> delegatedTasks = new ArrayDeque<>();
+    private final List<Integer> completedTasks = new CopyOnWriteArrayList<>();
+    private final ConcurrencyLimitedExecutorService executor =
+            new ConcurrencyLimitedExecutorService(delegatedTasks::add, MAX_CONCURRENT_TASKS);
+
+    @Test
+    public void submitsAtMostTheMaximumNumberOfTasksToTheDelegate() {
+        submitTasks(5);
+
+        assertThat(delegatedTasks).hasSize(MAX_CONCURRENT_TASKS);
+    }
+
+    @Test
+    public void submitsQueuedTaskOnceAnEarlierTaskCompletes() {
+        submitTasks(3);
+
+        delegatedTasks.poll().run();
+
+        assertThat(delegatedTasks).hasSize(MAX_CONCURRENT_TASKS);
+        assertThat(completedTasks).containsExactly(0);
+    }
+
+    @Test
+    public void runsQueuedTasksInSubmissionOrder() {
+        submitTasks(5);
+
+        runDelegatedTasks();
+
+        assertThat(completedTasks).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void submitsQueuedTaskEvenIfAnEarlierTaskThrows() {
+        executor.execute(() -> {
+            throw new IllegalStateException("test");
+        });
+        submitTasks(2);
+
+        assertThatThrownBy(() -> delegatedTasks.poll().run()).isInstanceOf(IllegalStateException.class);
+        runDelegatedTasks();
+
+        assertThat(completedTasks).containsExactly(0, 1);
+    }
+
+    @Test
+    public void rejectsTasksAfterShutdown() {
+        executor.shutdown();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void runsAlreadySubmittedTasksAfterShutdown() {
+        submitTasks(3);
+        executor.shutdown();
+
+        assertThat(executor.isTerminated()).isFalse();
+        runDelegatedTasks();
+
+        assertThat(completedTasks).containsExactly(0, 1, 2);
+        assertThat(executor.isTerminated()).isTrue();
+    }
+
+    @Test
+    public void shutdownNowReturnsTasksThatWereNotSubmittedToTheDelegate() {
+        submitTasks(5);
+
+        assertThat(executor.shutdownNow()).hasSize(5 - MAX_CONCURRENT_TASKS);
+        runDelegatedTasks();
+
+        assertThat(completedTasks).containsExactly(0, 1);
+        assertThat(executor.isTerminated()).isTrue();
+    }
+
+    @Test
+    public void throwsIfMaximumNumberOfConcurrentTasksIsNotPositive() {
+        assertThatThrownBy(() -> new ConcurrencyLimitedExecutorService(delegatedTasks::add, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void submitTasks(int numTasks) {
+        for (int i = 0; i < numTasks; i++) {
+            int task = i;
+            executor.execute(() -> completedTasks.add(task));
+        }
+    }
+
+    private void runDelegatedTasks() {
+        while (!delegatedTasks.isEmpty()) {
+            delegatedTasks.poll().run();
+        }
+    }
+}
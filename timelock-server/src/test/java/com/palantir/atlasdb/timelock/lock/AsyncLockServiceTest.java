@@ -50,7 +50,7 @@ public class AsyncLockServiceTest {
 
     private static final String LOCK_A = "a";
     private static final String LOCK_B = "b";
-    public static final long REAPER_PERIOD_MS = LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS / 2;
+    public static final long REAPER_PERIOD_MS = HeldLocksCollection.EXPIRY_TICK_MILLIS;
 
     private static final TimeLimit DEADLINE = TimeLimit.of(123L);
 
@@ -144,6 +144,16 @@ public class AsyncLockServiceTest {
         verify(heldLocks, times(2)).removeExpired();
     }
 
+    @Test
+    public void stopsReaperWhenClosed() {
+        triggerNextReaperIteration();
+        lockService.close();
+        triggerNextReaperIteration();
+        triggerNextReaperIteration();
+
+        verify(heldLocks, times(1)).removeExpired();
+    }
+
     @Test
     public void propagatesTimeoutExceptionIfRequestTimesOut() {
         AsyncResult<HeldLocks> timedOutResult = new AsyncResult<>();
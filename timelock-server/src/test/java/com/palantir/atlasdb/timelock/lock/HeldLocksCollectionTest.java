@@ -24,11 +24,13 @@ import static org.mockito.Mockito.when;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.palantir.lock.v2.LockToken;
 
@@ -36,6 +38,7 @@ public class HeldLocksCollectionTest {
 
     private static final UUID REQUEST_ID = UUID.randomUUID();
 
+    private final AtomicLong clock = new AtomicLong(1_000_000);
     private final HeldLocksCollection heldLocksCollection = new HeldLocksCollection();
 
     @Test
@@ -121,6 +124,58 @@ public class HeldLocksCollectionTest {
         assertThat(heldLocksCollection.heldLocksById.isEmpty()).isTrue();
     }
 
+    @Test
+    public void removesLocksOnlyOnceTheirLeaseExpires() {
+        HeldLocksCollection collection = new HeldLocksCollection(clock::get);
+        LockToken token = acquireWithLease(collection);
+
+        clock.addAndGet(LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS);
+        collection.removeExpired();
+        assertThat(collection.heldLocksById).containsKey(token.getRequestId());
+
+        clock.addAndGet(HeldLocksCollection.EXPIRY_TICK_MILLIS);
+        collection.removeExpired();
+        assertThat(collection.heldLocksById).isEmpty();
+    }
+
+    @Test
+    public void refreshPostponesExpiry() {
+        HeldLocksCollection collection = new HeldLocksCollection(clock::get);
+        LockToken token = acquireWithLease(collection);
+
+        clock.addAndGet(LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS / 2);
+        assertThat(collection.refresh(ImmutableSet.of(token))).containsExactly(token);
+
+        clock.addAndGet(LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS / 2 + HeldLocksCollection.EXPIRY_TICK_MILLIS);
+        collection.removeExpired();
+        assertThat(collection.heldLocksById).containsKey(token.getRequestId());
+
+        clock.addAndGet(LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS / 2);
+        collection.removeExpired();
+        assertThat(collection.heldLocksById).isEmpty();
+    }
+
+    @Test
+    public void unlockedLocksAreNotVisitedOnExpiry() {
+        HeldLocksCollection collection = new HeldLocksCollection(clock::get);
+        LockToken token = acquireWithLease(collection);
+        collection.unlock(ImmutableSet.of(token));
+
+        clock.addAndGet(2 * LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS);
+        collection.removeExpired();
+
+        assertThat(collection.heldLocksById).isEmpty();
+    }
+
+    private LockToken acquireWithLease(HeldLocksCollection collection) {
+        UUID requestId = UUID.randomUUID();
+        HeldLocks heldLocks = new HeldLocks(ImmutableList.of(), requestId, new LeaseExpirationTimer(clock::get));
+        AsyncResult<HeldLocks> completedResult = new AsyncResult<>();
+        completedResult.complete(heldLocks);
+        collection.getExistingOrAcquire(requestId, () -> completedResult);
+        return heldLocks.getToken();
+    }
+
     private LockToken mockExpiredRequest() {
         return mockHeldLocksForNewRequest(
                 heldLocks -> when(heldLocks.unlockIfExpired()).thenReturn(true));
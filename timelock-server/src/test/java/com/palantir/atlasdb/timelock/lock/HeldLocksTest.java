@@ -19,7 +19,9 @@ package com.palantir.atlasdb.timelock.lock;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -91,6 +93,26 @@ public class HeldLocksTest {
         assertFalse(heldLocks.unlockIfExpired());
     }
 
+    @Test
+    public void runsUnlockCallbackOnceUnlocked() {
+        Runnable callback = mock(Runnable.class);
+        heldLocks.onUnlock(callback);
+        verify(callback, never()).run();
+
+        heldLocks.unlock();
+        heldLocks.unlock();
+        verify(callback, times(1)).run();
+    }
+
+    @Test
+    public void runsUnlockCallbackImmediatelyIfAlreadyUnlocked() {
+        heldLocks.unlock();
+
+        Runnable callback = mock(Runnable.class);
+        heldLocks.onUnlock(callback);
+        verify(callback).run();
+    }
+
     @Test
     public void refreshRefreshesExpirationTimer() {
         heldLocks.refresh();
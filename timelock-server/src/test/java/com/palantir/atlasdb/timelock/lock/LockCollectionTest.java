@@ -19,6 +19,7 @@ package com.palantir.atlasdb.timelock.lock;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -28,6 +29,7 @@ import java.util.stream.IntStream;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.StringLockDescriptor;
 
@@ -71,6 +73,43 @@ public class LockCollectionTest {
         assertThat(actualOrder).isEqualTo(expectedOrder);
     }
 
+    @Test
+    public void sortsDescriptorsThatAreNotInLockOrder() {
+        List<LockDescriptor> orderedDescriptors = IntStream.range(0, 10)
+                .mapToObj(i -> StringLockDescriptor.of("lock" + i))
+                .collect(Collectors.toList());
+        Set<LockDescriptor> reversedDescriptors = new LinkedHashSet<>(Lists.reverse(orderedDescriptors));
+
+        List<LockDescriptor> actualOrder = lockCollection.getAll(reversedDescriptors).get().stream()
+                .map(AsyncLock::getDescriptor)
+                .collect(Collectors.toList());
+
+        assertThat(actualOrder).isEqualTo(orderedDescriptors);
+    }
+
+    @Test
+    public void dropsLocksOnceAllReferencesAreReleased() {
+        OrderedLocks locks1 = lockCollection.getAll(descriptors("foo", "bar"));
+        OrderedLocks locks2 = lockCollection.getAll(descriptors("foo"));
+        assertThat(lockCollection.size()).isEqualTo(2);
+
+        lockCollection.release(locks1);
+        assertThat(lockCollection.size()).isEqualTo(1);
+        assertThat(lockCollection.getAll(descriptors("foo")).get()).isEqualTo(locks2.get());
+
+        lockCollection.release(locks2);
+        assertThat(lockCollection.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void createsNewLockAfterOldOneIsDropped() {
+        OrderedLocks locks = lockCollection.getAll(descriptors("foo"));
+        lockCollection.release(locks);
+
+        assertThat(lockCollection.size()).isZero();
+        assertThat(lockCollection.getAll(descriptors("foo")).get().get(0)).isNotSameAs(locks.get().get(0));
+    }
+
     private Set<LockDescriptor> descriptors(String... names) {
         return Arrays.stream(names)
                 .map(StringLockDescriptor::of)
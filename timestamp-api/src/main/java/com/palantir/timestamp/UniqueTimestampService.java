@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timestamp;
+
+/**
+ * Issues timestamps that are unique among all users of the same underlying {@link TimestampService}, and strictly
+ * increasing across calls to the same instance (that is, per client), but that are NOT fresh. A timestamp returned by
+ * {@link #getUniqueTimestamp()} may be smaller than timestamps that other clients, or other instances in the same
+ * process, obtained before the call began.
+ * <p>
+ * Such timestamps are therefore suitable for identifiers that only need to be unique and ordered per issuer, such as
+ * stream ids and sequence numbers. They must never be used where {@link TimestampService#getFreshTimestamp()} is
+ * required, such as for transaction start or commit timestamps, or for anything compared against those.
+ */
+public interface UniqueTimestampService {
+    /**
+     * Returns a timestamp that has not been and will not be returned to any other caller, and that is greater than
+     * every timestamp previously returned by this instance.
+     */
+    long getUniqueTimestamp();
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timestamp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+/**
+ * Leases contiguous ranges of fresh timestamps from a {@link TimestampService}, and hands them out locally one at a
+ * time until the range is used up or the lease expires. This takes almost all {@link UniqueTimestampService} traffic
+ * off the timestamp service, at the cost of the weaker guarantees described there.
+ * <p>
+ * The lease duration bounds how stale a returned timestamp can be: every timestamp is handed out within that duration
+ * of its range being fetched. Timestamps that are left in a range when its lease expires are discarded.
+ */
+@ThreadSafe
+public class TimestampRangeLeasingService implements UniqueTimestampService {
+    public static final int DEFAULT_LEASE_SIZE = 1000;
+    public static final long DEFAULT_LEASE_DURATION_MILLIS = 1000L;
+
+    private final TimestampService delegate;
+    private final int leaseSize;
+    private final long leaseDurationNanos;
+    private final LongSupplier nanoTime;
+
+    private volatile Lease currentLease = Lease.EXPIRED;
+
+    public TimestampRangeLeasingService(TimestampService delegate) {
+        this(delegate, DEFAULT_LEASE_SIZE, DEFAULT_LEASE_DURATION_MILLIS);
+    }
+
+    public TimestampRangeLeasingService(TimestampService delegate, int leaseSize, long leaseDurationMillis) {
+        this(delegate, leaseSize, leaseDurationMillis, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    TimestampRangeLeasingService(
+            TimestampService delegate,
+            int leaseSize,
+            long leaseDurationMillis,
+            LongSupplier nanoTime) {
+        Preconditions.checkArgument(leaseSize > 0, "Lease size must be positive; found '%s'.", leaseSize);
+        Preconditions.checkArgument(leaseDurationMillis > 0,
+                "Lease duration must be positive; found '%s'.", leaseDurationMillis);
+        this.delegate = delegate;
+        this.leaseSize = leaseSize;
+        this.leaseDurationNanos = TimeUnit.MILLISECONDS.toNanos(leaseDurationMillis);
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public long getUniqueTimestamp() {
+        while (true) {
+            Lease lease = currentLease;
+            if (!lease.isExpired(nanoTime.getAsLong())) {
+                long timestamp = lease.next.getAndIncrement();
+                if (timestamp <= lease.upperBound) {
+                    return timestamp;
+                }
+            }
+            renewLease(lease);
+        }
+    }
+
+    private synchronized void renewLease(Lease expiredLease) {
+        if (currentLease != expiredLease) {
+            // Another thread has already renewed it.
+            return;
+        }
+        long leasedAtNanos = nanoTime.getAsLong();
+        TimestampRange range = delegate.getFreshTimestamps(leaseSize);
+        currentLease = new Lease(range, leasedAtNanos + leaseDurationNanos);
+    }
+
+    private static final class Lease {
+        // Holds no timestamps, so that the first call leases a range.
+        static final Lease EXPIRED = new Lease(0L, -1L, 0L);
+
+        final AtomicLong next;
+        final long upperBound;
+        final long expiryNanos;
+
+        Lease(TimestampRange range, long expiryNanos) {
+            this(range.getLowerBound(), range.getUpperBound(), expiryNanos);
+        }
+
+        private Lease(long lowerBound, long upperBound, long expiryNanos) {
+            this.next = new AtomicLong(lowerBound);
+            this.upperBound = upperBound;
+            this.expiryNanos = expiryNanos;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiryNanos >= 0;
+        }
+    }
+}
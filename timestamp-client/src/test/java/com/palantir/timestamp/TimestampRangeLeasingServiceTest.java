@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timestamp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.palantir.common.concurrent.PTExecutors;
+
+public class TimestampRangeLeasingServiceTest {
+    private static final int LEASE_SIZE = 3;
+    private static final long LEASE_DURATION_MILLIS = 100L;
+
+    private final TimestampService delegate = spy(new InMemoryTimestampService());
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final TimestampRangeLeasingService service = new TimestampRangeLeasingService(
+            delegate, LEASE_SIZE, LEASE_DURATION_MILLIS, nanoTime::get);
+
+    @Test
+    public void handsOutConsecutiveTimestampsFromOneLease() {
+        long first = service.getUniqueTimestamp();
+
+        assertEquals(first + 1, service.getUniqueTimestamp());
+        assertEquals(first + 2, service.getUniqueTimestamp());
+        verify(delegate, times(1)).getFreshTimestamps(LEASE_SIZE);
+    }
+
+    @Test
+    public void leasesNewRangeOnceCurrentRangeIsUsedUp() {
+        long lastTimestampOfFirstLease = 0;
+        for (int i = 0; i < LEASE_SIZE; i++) {
+            lastTimestampOfFirstLease = service.getUniqueTimestamp();
+        }
+
+        assertTrue(service.getUniqueTimestamp() > lastTimestampOfFirstLease);
+        verify(delegate, times(2)).getFreshTimestamps(LEASE_SIZE);
+    }
+
+    @Test
+    public void leasesNewRangeOnceCurrentLeaseExpires() {
+        long first = service.getUniqueTimestamp();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(LEASE_DURATION_MILLIS));
+
+        long second = service.getUniqueTimestamp();
+
+        assertTrue(second > first + 1);
+        verify(delegate, times(2)).getFreshTimestamps(anyInt());
+    }
+
+    @Test
+    public void doesNotLeaseNewRangeBeforeCurrentLeaseExpires() {
+        service.getUniqueTimestamp();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(LEASE_DURATION_MILLIS) - 1);
+
+        service.getUniqueTimestamp();
+
+        verify(delegate, times(1)).getFreshTimestamps(anyInt());
+    }
+
+    @Test
+    public void handsOutUniqueTimestampsAcrossThreads() throws Exception {
+        int numThreads = 8;
+        int timestampsPerThread = 1000;
+        Set<Long> timestamps = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = PTExecutors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    long previous = Long.MIN_VALUE;
+                    for (int j = 0; j < timestampsPerThread; j++) {
+                        long timestamp = service.getUniqueTimestamp();
+                        assertTrue(timestamp > previous);
+                        timestamps.add(timestamp);
+                        previous = timestamp;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(numThreads * timestampsPerThread, timestamps.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsIfLeaseSizeIsNotPositive() {
+        new TimestampRangeLeasingService(delegate, 0, LEASE_DURATION_MILLIS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsIfLeaseDurationIsNotPositive() {
+        new TimestampRangeLeasingService(delegate, LEASE_SIZE, 0L);
+    }
+}
@@ -47,6 +47,7 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
     private static final int MAX_TIMESTAMPS_PER_REQUEST = 10_000;
 
     private ErrorCheckingTimestampBoundStore store;
+    private double preallocationThreshold = PersistentUpperLimit.DEFAULT_PREALLOCATION_THRESHOLD;
     private PersistentTimestamp timestamp;
     private final InitializingWrapper wrapper = new InitializingWrapper();
 
@@ -64,7 +65,23 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
 
     public static PersistentTimestampService create(ErrorCheckingTimestampBoundStore store,
             boolean initializeAsync) {
-        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store);
+        return create(store, initializeAsync, PersistentUpperLimit.DEFAULT_PREALLOCATION_THRESHOLD);
+    }
+
+    /**
+     * @param preallocationThreshold the fraction of the buffer of timestamps that must have been handed out before
+     * the upper limit is extended in the background; see {@link PersistentUpperLimit}.
+     */
+    public static PersistentTimestampService create(TimestampBoundStore store,
+            boolean initializeAsync,
+            double preallocationThreshold) {
+        return create(new ErrorCheckingTimestampBoundStore(store), initializeAsync, preallocationThreshold);
+    }
+
+    private static PersistentTimestampService create(ErrorCheckingTimestampBoundStore store,
+            boolean initializeAsync,
+            double preallocationThreshold) {
+        PersistentTimestampServiceImpl service = new PersistentTimestampServiceImpl(store, preallocationThreshold);
         service.wrapper.initialize(initializeAsync);
         return service.wrapper.isInitialized() ? service : service.wrapper;
     }
@@ -74,13 +91,14 @@ public class PersistentTimestampServiceImpl implements PersistentTimestampServic
         this.timestamp = timestamp;
     }
 
-    private PersistentTimestampServiceImpl(ErrorCheckingTimestampBoundStore store) {
+    private PersistentTimestampServiceImpl(ErrorCheckingTimestampBoundStore store, double preallocationThreshold) {
         this.store = store;
+        this.preallocationThreshold = preallocationThreshold;
     }
 
     private void tryInitialize() {
         long latestTimestamp = store.getUpperLimit();
-        PersistentUpperLimit upperLimit = new PersistentUpperLimit(store);
+        PersistentUpperLimit upperLimit = new PersistentUpperLimit(store, preallocationThreshold);
         timestamp = new PersistentTimestamp(upperLimit, latestTimestamp);
     }
 
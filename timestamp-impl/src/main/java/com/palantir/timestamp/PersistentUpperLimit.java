@@ -15,18 +15,93 @@
  */
 package com.palantir.timestamp;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
 
+/**
+ * The persisted limit below which timestamps may be handed out. Whenever a timestamp beyond the limit is needed, the
+ * limit is raised to {@link #BUFFER} past it, and the caller waits for the new limit to be stored.
+ * <p>
+ * To keep callers from waiting on the bound store in the common case, the limit is also extended in the background,
+ * once the fraction of the buffer given by the preallocation threshold has been handed out. Callers then only wait if
+ * timestamps are handed out faster than the background extension completes. The limit is never raised before the new
+ * value has been stored. After a background extension fails, further ones are not attempted until an exponentially
+ * growing backoff has passed, so that a struggling bound store is not hit on every request.
+ */
 public class PersistentUpperLimit {
+    private static final Logger log = LoggerFactory.getLogger(PersistentUpperLimit.class);
 
     @VisibleForTesting
     static final long BUFFER = 1_000_000;
 
+    public static final double DEFAULT_PREALLOCATION_THRESHOLD = 0.5;
+
+    private static final long MIN_PREALLOCATION_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_PREALLOCATION_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final Executor DEFAULT_PREALLOCATION_EXECUTOR =
+            PTExecutors.newCachedThreadPool(PTExecutors.newNamedThreadFactory(true));
+
+    private final MetricsManager metricsManager = new MetricsManager();
+    private final Timer storeTimer = metricsManager.registerOrGetTimer(PersistentUpperLimit.class, "storeUpperLimit");
+    private final Timer waitTimer = metricsManager.registerOrGetTimer(PersistentUpperLimit.class, "waitForUpperLimit");
+
     private volatile long currentLimit;
     private final TimestampBoundStore store;
+    private final Executor preallocationExecutor;
+    private final long preallocationHeadroom;
+    private final AtomicBoolean preallocating = new AtomicBoolean(false);
+    private final LongSupplier nanoTime;
+
+    // Only written by the single in-flight background extension.
+    private volatile long nextPreallocationNanos;
+    private volatile long preallocationBackoffNanos = 0;
 
     public PersistentUpperLimit(TimestampBoundStore boundStore) {
+        this(boundStore, DEFAULT_PREALLOCATION_THRESHOLD);
+    }
+
+    public PersistentUpperLimit(TimestampBoundStore boundStore, double preallocationThreshold) {
+        this(boundStore, DEFAULT_PREALLOCATION_EXECUTOR, preallocationThreshold);
+    }
+
+    /**
+     * @param preallocationThreshold the fraction of the buffer that must have been handed out before the limit is
+     * extended in the background. Must be in (0, 1]; 1 disables background extension.
+     */
+    public PersistentUpperLimit(
+            TimestampBoundStore boundStore,
+            Executor preallocationExecutor,
+            double preallocationThreshold) {
+        this(boundStore, preallocationExecutor, preallocationThreshold, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    PersistentUpperLimit(
+            TimestampBoundStore boundStore,
+            Executor preallocationExecutor,
+            double preallocationThreshold,
+            LongSupplier nanoTime) {
+        Preconditions.checkArgument(preallocationThreshold > 0 && preallocationThreshold <= 1,
+                "Preallocation threshold must be in (0, 1]; found '%s'.", preallocationThreshold);
         this.store = boundStore;
+        this.preallocationExecutor = preallocationExecutor;
+        this.preallocationHeadroom = (long) (BUFFER * (1 - preallocationThreshold));
+        this.nanoTime = nanoTime;
+        this.nextPreallocationNanos = nanoTime.getAsLong();
         this.currentLimit = boundStore.getUpperLimit();
     }
 
@@ -35,7 +110,16 @@ public class PersistentUpperLimit {
     }
 
     public void increaseToAtLeast(long newLimit) {
-        if (newLimit > currentLimit) {
+        long limit = currentLimit;
+        if (newLimit > limit) {
+            waitForLimit(newLimit);
+        } else if (limit - newLimit < preallocationHeadroom) {
+            preallocate(newLimit + BUFFER);
+        }
+    }
+
+    private void waitForLimit(long newLimit) {
+        try (Timer.Context ignored = waitTimer.time()) {
             updateLimit(newLimit);
         }
     }
@@ -45,14 +129,56 @@ public class PersistentUpperLimit {
             return;
         }
 
-        long newLimitWithBuffer = newLimit + BUFFER;
+        extendLimit(newLimit + BUFFER);
+    }
+
+    private void preallocate(long newLimitWithBuffer) {
+        if (nanoTime.getAsLong() - nextPreallocationNanos < 0 || !preallocating.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            preallocationExecutor.execute(() -> {
+                try {
+                    extendLimit(newLimitWithBuffer);
+                    preallocationBackoffNanos = 0;
+                } catch (Throwable t) {
+                    backOffPreallocation();
+                    log.warn("Failed to extend the timestamp upper limit in the background. It will be extended"
+                            + " when it is next needed, or in the background after {} ms.",
+                            SafeArg.of("backoffMillis", TimeUnit.NANOSECONDS.toMillis(preallocationBackoffNanos)), t);
+                } finally {
+                    preallocating.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            preallocating.set(false);
+            log.warn("Could not schedule a background extension of the timestamp upper limit.", e);
+        }
+    }
+
+    private void backOffPreallocation() {
+        long backoff = preallocationBackoffNanos == 0
+                ? MIN_PREALLOCATION_BACKOFF_NANOS
+                : Math.min(preallocationBackoffNanos * 2, MAX_PREALLOCATION_BACKOFF_NANOS);
+        preallocationBackoffNanos = backoff;
+        nextPreallocationNanos = nanoTime.getAsLong() + backoff;
+    }
+
+    private synchronized void extendLimit(long newLimitWithBuffer) {
+        if (currentLimit >= newLimitWithBuffer) {
+            return;
+        }
+
         storeUpperLimit(newLimitWithBuffer);
         currentLimit = newLimitWithBuffer;
     }
 
     private void storeUpperLimit(long upperLimit) {
         DebugLogger.willStoreNewUpperLimit(upperLimit);
-        store.storeUpperLimit(upperLimit);
+        try (Timer.Context ignored = storeTimer.time()) {
+            store.storeUpperLimit(upperLimit);
+        }
         DebugLogger.didStoreNewUpperLimit(upperLimit);
     }
 
@@ -24,6 +24,9 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.TimeUnit;
+
+import org.jmock.lib.concurrent.DeterministicScheduler;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -33,9 +36,14 @@ public class PersistentUpperLimitTest {
     private static final long TIMESTAMP = 12345L;
     private static final long INITIAL_UPPER_LIMIT = 10L;
     private static final long BUFFER = PersistentUpperLimit.BUFFER;
+    private static final double PREALLOCATION_THRESHOLD = 0.5;
+    private static final long PREALLOCATION_POINT = (long) (BUFFER * PREALLOCATION_THRESHOLD);
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
     private TimestampBoundStore boundStore;
     private PersistentUpperLimit upperLimit;
+    private final DeterministicScheduler preallocationExecutor = new DeterministicScheduler();
+    private long nowNanos = 0;
 
     @Rule
     public ExpectedException exception = ExpectedException.none();
@@ -45,7 +53,8 @@ public class PersistentUpperLimitTest {
     public void setup() {
         boundStore = mock(TimestampBoundStore.class);
         when(boundStore.getUpperLimit()).thenReturn(INITIAL_UPPER_LIMIT);
-        upperLimit = new PersistentUpperLimit(boundStore);
+        upperLimit = new PersistentUpperLimit(
+                boundStore, preallocationExecutor, PREALLOCATION_THRESHOLD, () -> nowNanos);
     }
 
     @Test
@@ -112,4 +121,106 @@ public class PersistentUpperLimitTest {
         assertThat(upperLimit.get(), is(INITIAL_UPPER_LIMIT));
     }
 
+    @Test
+    public void shouldExtendTheLimitInTheBackgroundOnceThePreallocationThresholdIsPassed() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+        long handedOut = TIMESTAMP + PREALLOCATION_POINT + 1;
+
+        upperLimit.increaseToAtLeast(handedOut);
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+
+        preallocationExecutor.runUntilIdle();
+        assertThat(upperLimit.get(), is(handedOut + BUFFER));
+        verify(boundStore).storeUpperLimit(handedOut + BUFFER);
+    }
+
+    @Test
+    public void shouldNotExtendTheLimitInTheBackgroundBeforeThePreallocationThresholdIsPassed() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + PREALLOCATION_POINT);
+        preallocationExecutor.runUntilIdle();
+
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+        verify(boundStore, times(1)).storeUpperLimit(anyLong());
+    }
+
+    @Test
+    public void shouldOnlyRunOneBackgroundExtensionAtATime() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + PREALLOCATION_POINT + 1);
+        upperLimit.increaseToAtLeast(TIMESTAMP + PREALLOCATION_POINT + 2);
+        preallocationExecutor.runUntilIdle();
+
+        verify(boundStore, times(2)).storeUpperLimit(anyLong());
+    }
+
+    @Test
+    public void shouldRetryTheBackgroundExtensionOnceItsBackoffHasPassed() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+        doThrow(RuntimeException.class).when(boundStore).storeUpperLimit(anyLong());
+
+        failBackgroundExtension();
+        assertThat(upperLimit.get(), is(TIMESTAMP + BUFFER));
+
+        nowNanos += INITIAL_BACKOFF_NANOS - 1;
+        failBackgroundExtension();
+        verify(boundStore, times(2)).storeUpperLimit(anyLong());
+
+        nowNanos += 1;
+        failBackgroundExtension();
+        verify(boundStore, times(3)).storeUpperLimit(anyLong());
+    }
+
+    @Test
+    public void shouldDoubleTheBackoffAfterRepeatedBackgroundExtensionFailures() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+        doThrow(RuntimeException.class).when(boundStore).storeUpperLimit(anyLong());
+
+        failBackgroundExtension();
+        nowNanos += INITIAL_BACKOFF_NANOS;
+        failBackgroundExtension();
+
+        nowNanos += INITIAL_BACKOFF_NANOS;
+        failBackgroundExtension();
+        verify(boundStore, times(3)).storeUpperLimit(anyLong());
+
+        nowNanos += INITIAL_BACKOFF_NANOS;
+        failBackgroundExtension();
+        verify(boundStore, times(4)).storeUpperLimit(anyLong());
+    }
+
+    @Test
+    public void shouldStillWaitForTheLimitWhileBackingOff() {
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+        doThrow(RuntimeException.class).doNothing().when(boundStore).storeUpperLimit(anyLong());
+        failBackgroundExtension();
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + BUFFER + 1);
+
+        assertThat(upperLimit.get(), is(TIMESTAMP + 2 * BUFFER + 1));
+    }
+
+    @Test
+    public void shouldNotExtendTheLimitInTheBackgroundIfThePreallocationThresholdIsOne() {
+        upperLimit = new PersistentUpperLimit(boundStore, preallocationExecutor, 1.0);
+        upperLimit.increaseToAtLeast(TIMESTAMP);
+
+        upperLimit.increaseToAtLeast(TIMESTAMP + BUFFER);
+        preallocationExecutor.runUntilIdle();
+
+        verify(boundStore, times(1)).storeUpperLimit(anyLong());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectANonPositivePreallocationThreshold() {
+        new PersistentUpperLimit(boundStore, preallocationExecutor, 0.0);
+    }
+
+    private void failBackgroundExtension() {
+        upperLimit.increaseToAtLeast(TIMESTAMP + PREALLOCATION_POINT + 1);
+        preallocationExecutor.runUntilIdle();
+    }
+
 }